@@ -21,6 +21,12 @@ public class DockitAgent {
         try {
             jobScheduler.scheduleJobs();
             jobScheduler.startJobs();
+            if (configContainer.getConfig().getSPOOL_PATH() != null) {
+                applicationGuiceInitialiser.getSpoolUploader().start();
+            }
+            if (configContainer.getConfig().isDOCKER() && configContainer.getConfig().isDOCKER_EVENTS()) {
+                applicationGuiceInitialiser.getDockerEventSubscriber().start();
+            }
         } catch (SchedulerException e) {
             logger.error("Failed to schedule the jobs, {}", e.getMessage());
             // Just terminate if they can't be scheduled
@@ -0,0 +1,11 @@
+package org.dockit.dockitagent.alert;
+
+/**
+ * Class containing the constants of the alert thresholds requests of the server and of the alert signals
+ */
+public final class AlertConstants {
+    public static final String DATA = "data";
+    public static final String LOW = "low";
+    public static final String MEDIUM = "medium";
+    public static final String CRITICAL = "critical";
+}
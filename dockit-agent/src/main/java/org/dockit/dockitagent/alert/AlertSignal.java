@@ -0,0 +1,93 @@
+package org.dockit.dockitagent.alert;
+
+import com.google.gson.Gson;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Small message signalling a usage which reached an alert threshold, sent to the server as soon as it is detected.
+ * Unlike audits it is not encrypted, so the server can create the alert without decrypting and analyzing the data. The
+ * subject, such as the mount point of a file system, is therefore sent in clear text.
+ */
+public class AlertSignal {
+    private final String vmId;
+    private final String category;
+    private final Importance importance;
+    private final double value;
+    private final String subject;
+    private final String timeStamp;
+    private final long detectedAt;
+
+    /**
+     * @param vmId id of the running vm
+     * @param category category of the audit the usage was collected for
+     * @param importance importance of the usage
+     * @param value usage in percentage
+     * @param subject what the usage belongs to, such as the name of a file system, null for the whole vm
+     * @param timeStamp time of the detection in ISO local date time format, in the zone of the agent
+     * @param detectedAt time of the detection in milliseconds since the epoch
+     */
+    public AlertSignal(String vmId, String category, Importance importance, double value, String subject,
+                       String timeStamp, long detectedAt) {
+        this.vmId = vmId;
+        this.category = category;
+        this.importance = importance;
+        this.value = value;
+        this.subject = subject;
+        this.timeStamp = timeStamp;
+        this.detectedAt = detectedAt;
+    }
+
+    /**
+     * @return category
+     */
+    public String getCategory() {
+        return category;
+    }
+
+    /**
+     * @return importance
+     */
+    public Importance getImportance() {
+        return importance;
+    }
+
+    /**
+     * @return usage in percentage
+     */
+    public double getValue() {
+        return value;
+    }
+
+    /**
+     * @return subject of the usage, null for the whole vm
+     */
+    public String getSubject() {
+        return subject;
+    }
+
+    /**
+     * @return time of the detection in milliseconds since the epoch
+     */
+    public long getDetectedAt() {
+        return detectedAt;
+    }
+
+    /**
+     * @return {@link String} representation of the signal in JSON format
+     */
+    public String toMap() {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("vmId", vmId);
+        fields.put("category", category);
+        fields.put("importance", importance.name());
+        fields.put("value", value);
+        if (subject != null) {
+            fields.put("subject", subject);
+        }
+        fields.put("timeStamp", timeStamp);
+        fields.put("detectedAt", detectedAt);
+        return new Gson().toJson(fields);
+    }
+}
@@ -0,0 +1,53 @@
+package org.dockit.dockitagent.alert;
+
+import com.google.inject.Singleton;
+
+/**
+ * Percentage thresholds from which a usage is given an {@link Importance}. They start with the defaults of the server
+ * and are replaced by the ones it pushes, so the agent evaluates the usages the same way the server analyzes audits.
+ */
+@Singleton
+public class AlertThresholds {
+    static final int DEFAULT_LOW = 50;
+    static final int DEFAULT_MEDIUM = 75;
+    static final int DEFAULT_CRITICAL = 90;
+
+    private volatile Levels levels = new Levels(DEFAULT_LOW, DEFAULT_MEDIUM, DEFAULT_CRITICAL);
+
+    /**
+     * Determine the {@link Importance} of a usage
+     *
+     * @param percentage usage in percentage
+     * @return importance of the usage, {@link Importance#NONE} if it is under every threshold
+     */
+    public Importance getImportance(double percentage) {
+        Levels current = levels;
+        if (percentage >= current.critical()) {
+            return Importance.CRITICAL;
+        } else if (percentage >= current.medium()) {
+            return Importance.MEDIUM;
+        } else if (percentage >= current.low()) {
+            return Importance.LOW;
+        }
+        return Importance.NONE;
+    }
+
+    /**
+     * Replace the thresholds
+     *
+     * @param low threshold of {@link Importance#LOW}
+     * @param medium threshold of {@link Importance#MEDIUM}
+     * @param critical threshold of {@link Importance#CRITICAL}
+     * @return true if the thresholds were replaced, false if they are not increasing percentages
+     */
+    public boolean update(int low, int medium, int critical) {
+        if (low < 0 || low > medium || medium > critical || critical > 100) {
+            return false;
+        }
+        levels = new Levels(low, medium, critical);
+        return true;
+    }
+
+    private record Levels(int low, int medium, int critical) {
+    }
+}
@@ -0,0 +1,11 @@
+package org.dockit.dockitagent.alert;
+
+/**
+ * Importance of an alert, in the same order as the importance of the alerts of the server, from the most important
+ */
+public enum Importance {
+    CRITICAL,
+    MEDIUM,
+    LOW,
+    NONE
+}
@@ -0,0 +1,203 @@
+package org.dockit.dockitagent.alert;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import org.dockit.dockitagent.collector.docker.collectors.DockerContainerResourceCollector;
+import org.dockit.dockitagent.collector.utils.InformationBuilderHelper;
+import org.dockit.dockitagent.collector.vm.collectors.VmCpuUsageCollector;
+import org.dockit.dockitagent.collector.vm.collectors.VmFileSystemCollector;
+import org.dockit.dockitagent.collector.vm.collectors.VmMemoryResourcesCollector;
+import org.dockit.dockitagent.collector.vm.collectors.constants.VmCollectorConstants;
+import org.dockit.dockitagent.config.Config;
+import org.dockit.dockitagent.config.templates.Container;
+import org.dockit.dockitagent.entity.CategoryGenerator;
+import org.dockit.dockitagent.sender.AlertSignalSender;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Evaluates the collected cpu, memory, file system and container resource usages against the {@link AlertThresholds},
+ * computing the same percentages the analyzers of the server do. When a usage rises to a more important level than it
+ * had at its previous evaluation, an {@link AlertSignal} is sent to the server right away, so the alert does not wait
+ * for the audit to be sent, stored and analyzed.
+ */
+@Singleton
+public class ThresholdEvaluator {
+    private static final Logger logger = LoggerFactory.getLogger(ThresholdEvaluator.class);
+    static final String CPU = CategoryGenerator.getCategory(VmCpuUsageCollector.class);
+    static final String MEMORY = CategoryGenerator.getCategory(VmMemoryResourcesCollector.class);
+    static final String FILESYSTEM = CategoryGenerator.getCategory(VmFileSystemCollector.class);
+    static final String CONTAINER_RESOURCE = CategoryGenerator.getCategory(DockerContainerResourceCollector.class);
+
+    private static final String CONTAINER_ID = "Id";
+    private static final String PARTIAL = "partial";
+    private static final String CPU_PERCENT = "cpu_percent";
+    private static final String MEMORY_PERCENT = "memory_percent";
+    // Raw stats of the docker engine, sent when the stats are not streamed
+    private static final String MEMORY_STATS = "memory_stats";
+    private static final String MEMORY_STATS_USAGE = "usage";
+    private static final String MEMORY_STATS_LIMIT = "limit";
+    private static final String CPU_STATS = "cpu_stats";
+    private static final String PRE_CPU_STATS = "precpu_stats";
+    private static final String CPU_STATS_USAGE = "cpu_usage";
+    private static final String TOTAL_USAGE = "total_usage";
+    private static final String SYSTEM_CPU_USAGE = "system_cpu_usage";
+    private static final String ONLINE_CPUS = "online_cpus";
+    // Subjects of the container usages, named as in the alerts of the server
+    private static final String CPU_USAGE = "cpu_usage";
+    private static final String MEMORY_USAGE = "memory_usage";
+    private static final String KEY_SEPARATOR = "/";
+
+    private final Container container;
+    private final AlertThresholds thresholds;
+    private final AlertSignalSender sender;
+    private final Map<String, Importance> importances = new ConcurrentHashMap<>();
+
+    /**
+     * @param container {@link Container} instance to be injected
+     * @param thresholds {@link AlertThresholds} instance to be injected
+     * @param sender {@link AlertSignalSender} instance to be injected
+     */
+    @Inject
+    public ThresholdEvaluator(Container container, AlertThresholds thresholds, AlertSignalSender sender) {
+        this.container = container;
+        this.thresholds = thresholds;
+        this.sender = sender;
+    }
+
+    /**
+     * Evaluate the usages in the collected data if edge alerts are enabled, signalling the ones which became more
+     * important
+     *
+     * @param category category of the collector the data was collected by, other categories are ignored
+     * @param data collected data
+     */
+    public void evaluate(String category, String data) {
+        Config config = container.getConfig();
+        if (data == null || !config.isEDGE_ALERTS()) {
+            return;
+        }
+        long detectedAt = System.currentTimeMillis();
+        List<Usage> usages;
+        try {
+            usages = readUsages(category, data);
+        } catch (JsonParseException | IllegalStateException | UnsupportedOperationException e) {
+            logger.debug("Could not read the {} usages to be evaluated: {}", category, e.getMessage());
+            return;
+        }
+
+        for (Usage usage : usages) {
+            Importance importance = thresholds.getImportance(usage.value());
+            Importance previous = importances.put(category + KEY_SEPARATOR + usage.key(), importance);
+            if (importance.compareTo(previous == null ? Importance.NONE : previous) < 0) {
+                String timeStamp = ZonedDateTime.now(config.getZONE_ID()).toLocalDateTime().toString();
+                sender.send(new AlertSignal(config.getVM_ID(), category, importance, usage.value(),
+                        usage.subject(), timeStamp, detectedAt));
+            }
+        }
+    }
+
+    private static List<Usage> readUsages(String category, String data) {
+        List<Usage> usages = new ArrayList<>();
+        if (CPU.equals(category)) {
+            // Read as the server reads it, so both evaluate the same value
+            JsonObject json = JsonParser.parseString(data).getAsJsonObject();
+            addUsage(usages, "", null, number(json, VmCollectorConstants.CPU_LOAD));
+        } else if (MEMORY.equals(category)) {
+            JsonObject json = JsonParser.parseString(data).getAsJsonObject();
+            addUsage(usages, "", null, percentage(number(json, VmCollectorConstants.MEMORY_TOTAL),
+                    number(json, VmCollectorConstants.MEMORY_AVAILABLE)));
+        } else if (FILESYSTEM.equals(category)) {
+            for (JsonObject json : records(data)) {
+                if (!json.has(VmCollectorConstants.FILE_SYSTEM_NAME)) {
+                    continue;
+                }
+                String name = json.get(VmCollectorConstants.FILE_SYSTEM_NAME).getAsString();
+                addUsage(usages, name, name,
+                        percentage(number(json, VmCollectorConstants.FILE_SYSTEM_TOTAL_SPACE),
+                                number(json, VmCollectorConstants.FILE_SYSTEM_FREE_SPACE)));
+            }
+        } else if (CONTAINER_RESOURCE.equals(category)) {
+            for (JsonObject json : records(data)) {
+                // Containers which did not respond in time have no usage
+                if (json.has(PARTIAL) || !json.has(CONTAINER_ID)) {
+                    continue;
+                }
+                String id = json.get(CONTAINER_ID).getAsString();
+                addUsage(usages, id + KEY_SEPARATOR + MEMORY_USAGE, MEMORY_USAGE, containerMemory(json));
+                addUsage(usages, id + KEY_SEPARATOR + CPU_USAGE, CPU_USAGE, containerCpu(json));
+            }
+        }
+        return usages;
+    }
+
+    private static double containerMemory(JsonObject json) {
+        if (json.has(MEMORY_PERCENT)) {
+            return number(json, MEMORY_PERCENT);
+        }
+        JsonObject memoryStats = object(json, MEMORY_STATS);
+        double limit = number(memoryStats, MEMORY_STATS_LIMIT);
+        return limit > 0 ? number(memoryStats, MEMORY_STATS_USAGE) / limit * 100 : Double.NaN;
+    }
+
+    private static double containerCpu(JsonObject json) {
+        if (json.has(CPU_PERCENT)) {
+            return number(json, CPU_PERCENT);
+        }
+        // Computed from the stats of the engine and its previous read, as the server does
+        JsonObject cpuStats = object(json, CPU_STATS);
+        JsonObject preCpuStats = object(json, PRE_CPU_STATS);
+        double cpuDelta = number(object(cpuStats, CPU_STATS_USAGE), TOTAL_USAGE)
+                - number(object(preCpuStats, CPU_STATS_USAGE), TOTAL_USAGE);
+        double systemCpuDelta = number(cpuStats, SYSTEM_CPU_USAGE) - number(preCpuStats, SYSTEM_CPU_USAGE);
+        return systemCpuDelta > 0
+                ? cpuDelta / systemCpuDelta * number(cpuStats, ONLINE_CPUS) * 100
+                : Double.NaN;
+    }
+
+    private static List<JsonObject> records(String data) {
+        List<JsonObject> records = new ArrayList<>();
+        for (String record : data.split(InformationBuilderHelper.DELIMITER)) {
+            if (!record.isEmpty()) {
+                records.add(JsonParser.parseString(record).getAsJsonObject());
+            }
+        }
+        return records;
+    }
+
+    private static JsonObject object(JsonObject json, String key) {
+        JsonElement element = json == null ? null : json.get(key);
+        return element != null && element.isJsonObject() ? element.getAsJsonObject() : null;
+    }
+
+    private static double number(JsonObject json, String key) {
+        JsonElement element = json == null ? null : json.get(key);
+        // Missing values and aggregated summaries are not evaluated
+        return element != null && element.isJsonPrimitive() && element.getAsJsonPrimitive().isNumber()
+                ? element.getAsDouble()
+                : Double.NaN;
+    }
+
+    private static double percentage(double total, double free) {
+        return total > 0 ? (total - free) / total * 100 : Double.NaN;
+    }
+
+    private static void addUsage(List<Usage> usages, String key, String subject, double value) {
+        if (!Double.isNaN(value)) {
+            usages.add(new Usage(key, subject, value));
+        }
+    }
+
+    private record Usage(String key, String subject, double value) {
+    }
+}
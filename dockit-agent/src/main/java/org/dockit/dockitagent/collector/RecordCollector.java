@@ -0,0 +1,25 @@
+package org.dockit.dockitagent.collector;
+
+import org.dockit.dockitagent.collector.utils.InformationBuilderHelper;
+
+import java.util.Iterator;
+
+/**
+ * {@link Collector} producing a json record per collected item, such as a process or a connection. The records are
+ * built one at a time as they are iterated, so the audit can be streamed without holding the whole data in memory.
+ */
+public interface RecordCollector extends Collector {
+
+    /**
+     * @return iterator building the json records of the collected items as it advances
+     */
+    Iterator<String> records();
+
+    /**
+     * @return the records joined with {@link InformationBuilderHelper#DELIMITER}
+     */
+    @Override
+    default String collect() {
+        return InformationBuilderHelper.build(records());
+    }
+}
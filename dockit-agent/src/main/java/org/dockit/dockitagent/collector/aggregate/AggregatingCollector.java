@@ -0,0 +1,49 @@
+package org.dockit.dockitagent.collector.aggregate;
+
+import org.dockit.dockitagent.collector.Collector;
+
+/**
+ * {@link Collector} sampling another collector between the collections, and returning its samples aggregated by a
+ * {@link WindowAggregator} over the window since the previous collection
+ */
+public class AggregatingCollector implements Collector {
+    private final Collector delegate;
+    private final WindowAggregator aggregator;
+
+    /**
+     * @param delegate {@link Collector} to be sampled
+     * @param aggregator {@link WindowAggregator} to aggregate the samples with
+     */
+    public AggregatingCollector(Collector delegate, WindowAggregator aggregator) {
+        this.delegate = delegate;
+        this.aggregator = aggregator;
+    }
+
+    /**
+     * Collect a sample from the sampled collector and add it to the window
+     *
+     * @return the collected sample
+     */
+    public String sample() {
+        String sample = delegate.collect();
+        aggregator.add(sample);
+        return sample;
+    }
+
+    /**
+     * Aggregate the samples since the previous collection, or collect directly if there are none yet
+     *
+     * @return aggregated data in the form of the sampled collector
+     */
+    @Override
+    public String collect() {
+        return aggregator.drain().orElseGet(delegate::collect);
+    }
+
+    /**
+     * @return the sampled {@link Collector}
+     */
+    public Collector getDelegate() {
+        return delegate;
+    }
+}
@@ -0,0 +1,110 @@
+package org.dockit.dockitagent.collector.aggregate;
+
+import java.util.Arrays;
+
+/**
+ * Fixed size ring of the samples of a numeric metric in a window, kept as primitives so sampling does not allocate.
+ * The minimum, maximum, mean and count cover every sample added since the ring was cleared, while the percentiles
+ * are computed over the latest samples which fit in the ring.
+ */
+public final class MetricRing {
+    private final double[] samples;
+    private int next;
+    private int size;
+
+    private long count;
+    private double sum;
+    private double min;
+    private double max;
+    private double last;
+
+    /**
+     * @param capacity maximum amount of samples kept for the percentiles
+     */
+    public MetricRing(int capacity) {
+        this.samples = new double[Math.max(1, capacity)];
+        clear();
+    }
+
+    /**
+     * Add a sample to the ring, replacing the oldest one if the ring is full
+     *
+     * @param value value of the sample
+     */
+    public void add(double value) {
+        samples[next] = value;
+        next = (next + 1) % samples.length;
+        size = Math.min(size + 1, samples.length);
+
+        count++;
+        sum += value;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+        last = value;
+    }
+
+    /**
+     * Remove every sample from the ring
+     */
+    public void clear() {
+        next = 0;
+        size = 0;
+        count = 0;
+        sum = 0;
+        min = Double.POSITIVE_INFINITY;
+        max = Double.NEGATIVE_INFINITY;
+        last = Double.NaN;
+    }
+
+    /**
+     * @return amount of samples added since the ring was cleared
+     */
+    public long count() {
+        return count;
+    }
+
+    /**
+     * @return minimum of the samples, positive infinity if there are none
+     */
+    public double min() {
+        return min;
+    }
+
+    /**
+     * @return maximum of the samples, negative infinity if there are none
+     */
+    public double max() {
+        return max;
+    }
+
+    /**
+     * @return mean of the samples, NaN if there are none
+     */
+    public double mean() {
+        return count > 0 ? sum / count : Double.NaN;
+    }
+
+    /**
+     * @return latest sample, NaN if there are none
+     */
+    public double last() {
+        return last;
+    }
+
+    /**
+     * Compute a percentile of the samples in the ring using the nearest rank method, so the result is one of the
+     * samples
+     *
+     * @param percentile percentile between 0 exclusive and 100 inclusive
+     * @return the percentile, NaN if there are no samples
+     */
+    public double percentile(double percentile) {
+        if (size == 0) {
+            return Double.NaN;
+        }
+        double[] sorted = Arrays.copyOf(samples, size);
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(percentile / 100 * size);
+        return sorted[Math.min(size, Math.max(1, rank)) - 1];
+    }
+}
@@ -0,0 +1,134 @@
+package org.dockit.dockitagent.collector.aggregate;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import org.dockit.dockitagent.alert.ThresholdEvaluator;
+import org.dockit.dockitagent.collector.Collector;
+import org.dockit.dockitagent.collector.docker.collectors.DockerContainerResourceCollector;
+import org.dockit.dockitagent.collector.vm.collectors.VmCpuUsageCollector;
+import org.dockit.dockitagent.collector.vm.collectors.VmFileSystemCollector;
+import org.dockit.dockitagent.collector.vm.collectors.VmMemoryResourcesCollector;
+import org.dockit.dockitagent.config.Config;
+import org.dockit.dockitagent.config.templates.Container;
+import org.dockit.dockitagent.entity.CategoryGenerator;
+import org.dockit.dockitagent.history.MetricHistory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Single background sampler of the collectors of numeric metrics, used when the metrics are aggregated or kept in the
+ * {@link MetricHistory}. When aggregated, each of them is wrapped in an {@link AggregatingCollector} sampled every
+ * sample interval, whose window holds the samples of up to twice the interval of its category, so the percentile
+ * also covers the intervals moved later by the jitter, and each sample is evaluated by the {@link ThresholdEvaluator}
+ * so breaches are detected within a sample interval. When only kept in the history, a separate instance of each
+ * collector is sampled, so the collectors reporting usage since their previous collection keep covering the whole
+ * interval in the audits of their jobs, which are left unchanged.
+ */
+@Singleton
+public class MetricSampler {
+    private static final Logger logger = LoggerFactory.getLogger(MetricSampler.class);
+    private static final int MAX_CAPACITY = 3600;
+    static final Set<String> CATEGORIES = Set.of(
+            CategoryGenerator.getCategory(VmCpuUsageCollector.class),
+            CategoryGenerator.getCategory(VmMemoryResourcesCollector.class),
+            CategoryGenerator.getCategory(VmFileSystemCollector.class),
+            CategoryGenerator.getCategory(DockerContainerResourceCollector.class));
+
+    private final Container container;
+    private final ThresholdEvaluator evaluator;
+    private final MetricHistory history;
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "metric-sampler");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * @param container {@link Container} instance to be injected
+     * @param evaluator {@link ThresholdEvaluator} instance to be injected
+     * @param history {@link MetricHistory} instance to be injected
+     */
+    @Inject
+    public MetricSampler(Container container, ThresholdEvaluator evaluator, MetricHistory history) {
+        this.container = container;
+        this.evaluator = evaluator;
+        this.history = history;
+    }
+
+    /**
+     * Start sampling a collector if its metrics are aggregated or kept in the history
+     *
+     * @param collector {@link Collector} to be sampled
+     * @param sampledCollector supplier of a separate instance of the collector, sampled for the history when the
+     *                         metrics are not aggregated
+     * @return the sampling {@link AggregatingCollector}, or the given collector if its metrics are not aggregated
+     */
+    public Collector wrap(Collector collector, Supplier<Optional<Collector>> sampledCollector) {
+        Config config = container.getConfig();
+        String category = CategoryGenerator.getCategory(collector);
+        if (!CATEGORIES.contains(category) || (!config.isAGGREGATE_METRICS() && !history.isEnabled())) {
+            return collector;
+        }
+        int sampleInterval = config.getSAMPLE_INTERVAL();
+        if (!config.isAGGREGATE_METRICS()) {
+            // Sampling the collector of the job would move its baseline, so its audits would only cover a sample
+            Optional<Collector> sampled = sampledCollector.get();
+            if (sampled.isEmpty()) {
+                logger.error("Could not initialise the collector sampling the {} metrics for the history", category);
+                return collector;
+            }
+            executor.scheduleWithFixedDelay(() -> record(sampled.get(), category),
+                    sampleInterval, sampleInterval, TimeUnit.SECONDS);
+            return collector;
+        }
+        int capacity = Math.min(MAX_CAPACITY, 2 * config.getINTERVAL(category) / sampleInterval + 1);
+        AggregatingCollector aggregatingCollector = new AggregatingCollector(collector,
+                new WindowAggregator(capacity, config.isAGGREGATE_PERCENTILE()));
+        executor.scheduleWithFixedDelay(() -> sample(aggregatingCollector, category),
+                sampleInterval, sampleInterval, TimeUnit.SECONDS);
+        return aggregatingCollector;
+    }
+
+    /**
+     * Stop sampling the collectors
+     */
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    private void sample(AggregatingCollector collector, String category) {
+        // An exception would cancel the sampling of the collector for good
+        try {
+            String sample = collector.sample();
+            evaluator.evaluate(category, sample);
+            keep(category, sample);
+        } catch (RuntimeException e) {
+            logger.error("Could not sample the {} metrics: {}", category, e.getMessage());
+        }
+    }
+
+    private void record(Collector collector, String category) {
+        // The collections of the job are evaluated as they are sent, so the samples are only kept in the history
+        try {
+            keep(category, collector.collect());
+        } catch (RuntimeException e) {
+            logger.error("Could not sample the {} metrics: {}", category, e.getMessage());
+        }
+    }
+
+    private void keep(String category, String sample) {
+        try {
+            history.record(category, sample);
+        } catch (IOException | RuntimeException e) {
+            logger.error("Could not keep the {} sample in the history: {}", category, e.getMessage());
+        }
+    }
+}
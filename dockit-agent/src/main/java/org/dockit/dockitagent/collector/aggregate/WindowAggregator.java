@@ -0,0 +1,191 @@
+package org.dockit.dockitagent.collector.aggregate;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+import org.dockit.dockitagent.collector.utils.InformationBuilderHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Aggregates the samples of a collector over a window. Every numeric value of the collected json, found by its path
+ * in the record, is kept in a {@link MetricRing}, and when the window is drained it is replaced by an object holding
+ * the min, max, mean, last value and count of its samples, and optionally their 95th percentile. Other values are
+ * sent as they were in the latest sample. Data made of records joined with {@link InformationBuilderHelper#DELIMITER}
+ * is aggregated per record, a record being identified by its top level string values, such as the name of a file
+ * system or the id of a container.
+ */
+public final class WindowAggregator {
+    private static final Logger logger = LoggerFactory.getLogger(WindowAggregator.class);
+    private static final String PATH_SEPARATOR = ".";
+    private static final double PERCENTILE = 95;
+
+    static final String MIN = "min";
+    static final String MAX = "max";
+    static final String MEAN = "mean";
+    static final String LAST = "last";
+    static final String COUNT = "count";
+    static final String P95 = "p95";
+
+    private final int capacity;
+    private final boolean percentile;
+    private final Map<String, Record> records = new LinkedHashMap<>();
+    private final Gson gson = new Gson();
+    private boolean delimited;
+
+    /**
+     * @param capacity maximum amount of samples kept per metric for the percentile
+     * @param percentile if the 95th percentile should be computed
+     */
+    public WindowAggregator(int capacity, boolean percentile) {
+        this.capacity = capacity;
+        this.percentile = percentile;
+    }
+
+    /**
+     * Add a sample of the collector to the window
+     *
+     * @param data collected data, ignored if it is null or not json
+     */
+    public synchronized void add(String data) {
+        if (data == null) {
+            return;
+        }
+        boolean delimitedData = data.endsWith(InformationBuilderHelper.DELIMITER);
+        String[] entries = delimitedData ? data.split(InformationBuilderHelper.DELIMITER) : new String[]{data};
+        List<JsonElement> elements = new ArrayList<>(entries.length);
+        try {
+            for (String entry : entries) {
+                elements.add(JsonParser.parseString(entry));
+            }
+        } catch (JsonParseException e) {
+            logger.debug("Could not parse the sample to be aggregated: {}", e.getMessage());
+            return;
+        }
+
+        delimited = delimitedData;
+        for (JsonElement element : elements) {
+            String key = delimitedData ? identify(element) : "";
+            records.computeIfAbsent(key, ignored -> new Record()).sample(element);
+        }
+    }
+
+    /**
+     * Aggregate the samples of the window and start a new one
+     *
+     * @return aggregated data, in the same form as the collected data, empty if no sample was added
+     */
+    public synchronized Optional<String> drain() {
+        // Records which were not sampled in the window are gone, the rings of the others are reused
+        records.values().removeIf(record -> record.latest == null);
+        if (records.isEmpty()) {
+            return Optional.empty();
+        }
+        List<String> aggregated = new ArrayList<>(records.size());
+        for (Record record : records.values()) {
+            aggregated.add(gson.toJson(record.aggregate(record.latest, "")));
+            record.clear();
+        }
+        return Optional.of(delimited ? InformationBuilderHelper.build(aggregated) : aggregated.get(0));
+    }
+
+    private static String identify(JsonElement element) {
+        // Non object records have no fields to be identified by, so they are identified by their whole value
+        if (!element.isJsonObject()) {
+            return element.toString();
+        }
+        Map<String, String> identity = new TreeMap<>();
+        for (Map.Entry<String, JsonElement> field : element.getAsJsonObject().entrySet()) {
+            JsonElement value = field.getValue();
+            if (value.isJsonPrimitive() && value.getAsJsonPrimitive().isString()) {
+                identity.put(field.getKey(), value.getAsString());
+            }
+        }
+        return identity.toString();
+    }
+
+    private final class Record {
+        private final Map<String, MetricRing> metrics = new HashMap<>();
+        // Paths whose samples were written with a fraction or an exponent, the others are sent as integers
+        private final Set<String> decimals = new HashSet<>();
+        private JsonElement latest;
+
+        private void sample(JsonElement element) {
+            latest = element;
+            sample(element, "");
+        }
+
+        private void clear() {
+            latest = null;
+            metrics.values().forEach(MetricRing::clear);
+        }
+
+        private void sample(JsonElement element, String path) {
+            if (element.isJsonObject()) {
+                element.getAsJsonObject().entrySet()
+                        .forEach(field -> sample(field.getValue(), path + PATH_SEPARATOR + field.getKey()));
+            } else if (element.isJsonArray()) {
+                JsonArray array = element.getAsJsonArray();
+                for (int i = 0; i < array.size(); i++) {
+                    sample(array.get(i), path + PATH_SEPARATOR + i);
+                }
+            } else if (element.isJsonPrimitive() && element.getAsJsonPrimitive().isNumber()) {
+                String literal = element.getAsString();
+                metrics.computeIfAbsent(path, ignored -> new MetricRing(capacity)).add(element.getAsDouble());
+                if (literal.contains(".") || literal.contains("e") || literal.contains("E")) {
+                    decimals.add(path);
+                }
+            }
+        }
+
+        private JsonElement aggregate(JsonElement element, String path) {
+            if (element.isJsonObject()) {
+                JsonObject object = new JsonObject();
+                element.getAsJsonObject().entrySet()
+                        .forEach(field -> object.add(field.getKey(),
+                                aggregate(field.getValue(), path + PATH_SEPARATOR + field.getKey())));
+                return object;
+            } else if (element.isJsonArray()) {
+                JsonArray source = element.getAsJsonArray();
+                JsonArray array = new JsonArray(source.size());
+                for (int i = 0; i < source.size(); i++) {
+                    array.add(aggregate(source.get(i), path + PATH_SEPARATOR + i));
+                }
+                return array;
+            }
+            MetricRing metric = metrics.get(path);
+            if (metric == null || !element.isJsonPrimitive() || !element.getAsJsonPrimitive().isNumber()) {
+                return element;
+            }
+            boolean decimal = decimals.contains(path);
+            JsonObject summary = new JsonObject();
+            summary.add(MIN, number(metric.min(), decimal));
+            summary.add(MAX, number(metric.max(), decimal));
+            summary.add(MEAN, new JsonPrimitive(metric.mean()));
+            summary.add(LAST, number(metric.last(), decimal));
+            summary.addProperty(COUNT, metric.count());
+            if (percentile) {
+                summary.add(P95, number(metric.percentile(PERCENTILE), decimal));
+            }
+            return summary;
+        }
+    }
+
+    private static JsonPrimitive number(double value, boolean decimal) {
+        return decimal ? new JsonPrimitive(value) : new JsonPrimitive((long) value);
+    }
+}
@@ -0,0 +1,133 @@
+package org.dockit.dockitagent.collector.docker;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import org.dockit.dockitagent.connection.DockerConnectionManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.LongSupplier;
+
+/**
+ * Inventory of the running containers shared by the docker collectors. The container list is fetched from the docker
+ * engine api at most once per time to live, so the collectors of the same tick reuse a single request and parse.
+ * While the {@link ContainerRegistry} is active the list is only fetched again after the registry changed.
+ */
+@Singleton
+public class ContainerInventory {
+    private static final Logger logger = LoggerFactory.getLogger(ContainerInventory.class);
+    private static final String CONTAINERS_ENDPOINT = "/containers/json";
+    private static final String ID_KEY = "Id";
+    private static final Duration TIME_TO_LIVE = Duration.ofSeconds(2);
+    private static final Gson gson = new Gson();
+
+    private final DockerConnectionManager connectionManager;
+    private final ContainerRegistry containerRegistry;
+    private final long timeToLiveNanos;
+    private final LongSupplier nanoTime;
+
+    private Snapshot snapshot;
+    private long fetchedAt;
+    private long fetchedGeneration;
+
+    /**
+     * @param connectionManager {@link DockerConnectionManager} instance to be injected
+     * @param containerRegistry {@link ContainerRegistry} instance to be injected
+     */
+    @Inject
+    public ContainerInventory(DockerConnectionManager connectionManager, ContainerRegistry containerRegistry) {
+        this(connectionManager, containerRegistry, TIME_TO_LIVE, System::nanoTime);
+    }
+
+    ContainerInventory(DockerConnectionManager connectionManager, ContainerRegistry containerRegistry,
+                       Duration timeToLive, LongSupplier nanoTime) {
+        this.connectionManager = connectionManager;
+        this.containerRegistry = containerRegistry;
+        this.timeToLiveNanos = timeToLive.toNanos();
+        this.nanoTime = nanoTime;
+    }
+
+    /**
+     * @return {@link Snapshot} of the running containers, fetched again if the cached one expired, empty if the
+     * container list could not be retrieved
+     */
+    public synchronized Optional<Snapshot> get() {
+        if (snapshot != null) {
+            boolean fresh = containerRegistry.isActive()
+                    ? fetchedGeneration == containerRegistry.getGeneration()
+                    : nanoTime.getAsLong() - fetchedAt < timeToLiveNanos;
+            if (fresh) {
+                return Optional.of(snapshot);
+            }
+        }
+        return refresh();
+    }
+
+    /**
+     * @return {@link Snapshot} of the running containers fetched regardless of the cached one, empty if the
+     * container list could not be retrieved
+     */
+    public synchronized Optional<Snapshot> refresh() {
+        // Read before the request, so changes of the registry during it cause another fetch
+        long generation = containerRegistry.getGeneration();
+        long now = nanoTime.getAsLong();
+        Optional<String> response = connectionManager.sendRequest(CONTAINERS_ENDPOINT);
+        if (response.isEmpty()) {
+            return Optional.empty();
+        }
+        try {
+            snapshot = parse(response.get());
+            fetchedAt = now;
+            fetchedGeneration = generation;
+            return Optional.of(snapshot);
+        } catch (JsonParseException | ClassCastException e) {
+            logger.error("Could not parse the container list: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private static Snapshot parse(String response) {
+        List<Map<String, ?>> containers = gson.fromJson(response, List.class);
+        List<String> ids = new ArrayList<>(containers.size());
+        List<String> json = new ArrayList<>(containers.size());
+        for (Map<String, ?> container : containers) {
+            ids.add((String) container.get(ID_KEY));
+            json.add(gson.toJson(container));
+        }
+        return new Snapshot(ids, json);
+    }
+
+    /**
+     * Container list as returned by the docker engine api at a point in time
+     */
+    public static final class Snapshot {
+        private final List<String> ids;
+        private final List<String> containers;
+
+        private Snapshot(List<String> ids, List<String> containers) {
+            this.ids = List.copyOf(ids);
+            this.containers = List.copyOf(containers);
+        }
+
+        /**
+         * @return ids of the running containers
+         */
+        public List<String> getIds() {
+            return ids;
+        }
+
+        /**
+         * @return json representation of each running container, in the order of {@link #getIds()}
+         */
+        public List<String> getContainers() {
+            return containers;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package org.dockit.dockitagent.collector.docker;
+
+import com.google.inject.Singleton;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Set;
+
+/**
+ * In-memory registry of the running containers kept up to date by the {@link DockerEventSubscriber}. Every state
+ * change of a container assigns it a new version, and every change of the registry increases its generation, so
+ * readers can tell which containers changed since they last looked.
+ */
+@Singleton
+public class ContainerRegistry {
+    private static final Set<String> RUNNING_ACTIONS = Set.of("start", "restart", "unpause", "pause");
+    private static final Set<String> STOPPED_ACTIONS = Set.of("die", "stop", "kill", "oom", "destroy");
+    private static final Set<String> UPDATED_ACTIONS = Set.of("rename", "update");
+
+    private final Map<String, Long> versions = new HashMap<>();
+    private long generation;
+    private boolean active;
+
+    /**
+     * Replace the registry with the given running containers and mark it active, every container gets a new version
+     *
+     * @param ids ids of the running containers
+     */
+    public synchronized void resync(Collection<String> ids) {
+        versions.clear();
+        generation++;
+        for (String id : ids) {
+            versions.put(id, generation);
+        }
+        active = true;
+    }
+
+    /**
+     * Apply a container event received from the docker engine
+     *
+     * @param action action of the event, e.g. start, die or destroy
+     * @param id id of the container
+     * @return true if the event changed the registry, false if it is not relevant, e.g. exec_start
+     */
+    public synchronized boolean apply(String action, String id) {
+        if (RUNNING_ACTIONS.contains(action)) {
+            versions.put(id, ++generation);
+        } else if (STOPPED_ACTIONS.contains(action)) {
+            versions.remove(id);
+            generation++;
+        } else if (UPDATED_ACTIONS.contains(action)) {
+            generation++;
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Mark the registry inactive, e.g. when the event subscription was lost and events may be missed
+     */
+    public synchronized void deactivate() {
+        active = false;
+    }
+
+    /**
+     * @return true if the registry reflects the running containers, false if the readers should poll instead
+     */
+    public synchronized boolean isActive() {
+        return active;
+    }
+
+    /**
+     * @return number increasing on every change of the registry
+     */
+    public synchronized long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * @param id id of the container
+     * @return version of the container, changing on every state change of it, empty if it is not running
+     */
+    public synchronized OptionalLong getVersion(String id) {
+        Long version = versions.get(id);
+        return version == null ? OptionalLong.empty() : OptionalLong.of(version);
+    }
+}
@@ -0,0 +1,163 @@
+package org.dockit.dockitagent.collector.docker;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import org.dockit.dockitagent.connection.DockerConnectionManager;
+import org.dockit.dockitagent.connection.DockerStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Long-lived subscription to the container events of the Docker Engine API keeping the {@link ContainerRegistry} up
+ * to date. The registry is resynchronised from the container list every time the subscription is (re)opened, and
+ * marked inactive while the subscription is down so the collectors fall back to polling.
+ */
+@Singleton
+public class DockerEventSubscriber {
+    private static final Logger logger = LoggerFactory.getLogger(DockerEventSubscriber.class);
+
+    // filters={"type":["container"]}
+    static final String EVENTS_ENDPOINT = "/events?filters=%7B%22type%22%3A%5B%22container%22%5D%7D";
+    static final long INITIAL_BACKOFF_MILLIS = 1000;
+    static final long MAX_BACKOFF_MILLIS = 30 * 1000;
+
+    private static final String TYPE_KEY = "Type";
+    private static final String ACTION_KEY = "Action";
+    private static final String ACTOR_KEY = "Actor";
+    private static final String ACTOR_ID_KEY = "ID";
+    private static final String CONTAINER_TYPE = "container";
+    private static final Gson gson = new Gson();
+
+    private final DockerConnectionManager connectionManager;
+    private final ContainerInventory containerInventory;
+    private final ContainerRegistry containerRegistry;
+
+    private volatile boolean running;
+    private volatile DockerStream stream;
+    private Thread thread;
+
+    /**
+     * @param connectionManager {@link DockerConnectionManager} instance to be injected
+     * @param containerInventory {@link ContainerInventory} instance to be injected
+     * @param containerRegistry {@link ContainerRegistry} instance to be injected
+     */
+    @Inject
+    public DockerEventSubscriber(DockerConnectionManager connectionManager, ContainerInventory containerInventory,
+                                 ContainerRegistry containerRegistry) {
+        this.connectionManager = connectionManager;
+        this.containerInventory = containerInventory;
+        this.containerRegistry = containerRegistry;
+    }
+
+    /**
+     * Start the subscription in the background, it is reopened with a backoff whenever it is lost
+     */
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        thread = new Thread(this::run, "docker-events");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Close the subscription and stop reopening it
+     */
+    public synchronized void stop() {
+        running = false;
+        DockerStream current = stream;
+        if (current != null) {
+            current.close();
+        }
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    private void run() {
+        long backoff = INITIAL_BACKOFF_MILLIS;
+        while (running) {
+            if (subscribe()) {
+                backoff = INITIAL_BACKOFF_MILLIS;
+            }
+            if (!running) {
+                return;
+            }
+            try {
+                Thread.sleep(backoff);
+            } catch (InterruptedException e) {
+                return;
+            }
+            backoff = Math.min(backoff * 2, MAX_BACKOFF_MILLIS);
+        }
+    }
+
+    /**
+     * Open the subscription, resynchronise the registry and apply the events until the subscription is lost
+     *
+     * @return true if the subscription was established, false if it could not be opened
+     */
+    boolean subscribe() {
+        Optional<DockerStream> opened = connectionManager.openStream(EVENTS_ENDPOINT);
+        if (opened.isEmpty()) {
+            return false;
+        }
+        stream = opened.get();
+        try (DockerStream events = opened.get()) {
+            // The stream is opened before listing the containers, so no event between the two is missed
+            Optional<ContainerInventory.Snapshot> snapshot = containerInventory.refresh();
+            if (snapshot.isEmpty()) {
+                return false;
+            }
+            containerRegistry.resync(snapshot.get().getIds());
+            logger.info("Subscribed to the docker events, tracking {} containers", snapshot.get().getIds().size());
+
+            String line = events.readLine();
+            while (line != null) {
+                apply(line);
+                line = events.readLine();
+            }
+            logger.info("Docker events subscription ended");
+        } catch (IOException e) {
+            if (running) {
+                logger.warn("Docker events subscription was lost: {}", e.getMessage());
+            }
+        } finally {
+            containerRegistry.deactivate();
+            stream = null;
+        }
+        return true;
+    }
+
+    /**
+     * Apply a single event of the stream to the registry
+     *
+     * @param line json representation of the event
+     */
+    void apply(String line) {
+        if (line.isBlank()) {
+            return;
+        }
+        try {
+            Map<String, ?> event = gson.fromJson(line, Map.class);
+            if (!CONTAINER_TYPE.equals(event.get(TYPE_KEY)) || !(event.get(ACTOR_KEY) instanceof Map<?, ?> actor)) {
+                return;
+            }
+            Object action = event.get(ACTION_KEY);
+            Object id = actor.get(ACTOR_ID_KEY);
+            if (action instanceof String && id instanceof String) {
+                containerRegistry.apply((String) action, (String) id);
+            }
+        } catch (JsonParseException | ClassCastException e) {
+            logger.warn("Could not parse the docker event: {}", e.getMessage());
+        }
+    }
+}
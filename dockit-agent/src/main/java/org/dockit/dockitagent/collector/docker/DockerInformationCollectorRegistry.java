@@ -1,12 +1,14 @@
 package org.dockit.dockitagent.collector.docker;
 
 import org.dockit.dockitagent.collector.Collector;
+import org.dockit.dockitagent.collector.docker.collectors.CgroupContainerResourceCollector;
 import org.dockit.dockitagent.collector.docker.collectors.DockerContainerCollector;
 import org.dockit.dockitagent.collector.docker.collectors.DockerContainerFileSystemCollector;
 import org.dockit.dockitagent.collector.docker.collectors.DockerContainerProcessCollector;
 import org.dockit.dockitagent.collector.docker.collectors.DockerContainerResourceCollector;
 
 import java.util.List;
+import java.util.Map;
 
 public final class DockerInformationCollectorRegistry {
     public static final List<Class<? extends Collector>> dockerCollectors = List.of(
@@ -15,4 +17,11 @@ public final class DockerInformationCollectorRegistry {
             DockerContainerProcessCollector.class,
             DockerContainerResourceCollector.class
     );
+
+    /**
+     * Linux fast path collectors reading cgroup v2 directly, replacing the docker api collectors they are mapped from
+     */
+    public static final Map<Class<? extends Collector>, Class<? extends Collector>> cgroupDockerCollectors = Map.of(
+            DockerContainerResourceCollector.class, CgroupContainerResourceCollector.class
+    );
 }
@@ -0,0 +1,174 @@
+package org.dockit.dockitagent.collector.docker.collectors;
+
+import com.google.gson.Gson;
+import com.google.inject.Inject;
+import com.sun.management.OperatingSystemMXBean;
+import org.dockit.dockitagent.collector.Collector;
+import org.dockit.dockitagent.collector.docker.ContainerInventory;
+import org.dockit.dockitagent.collector.utils.InformationBuilderHelper;
+import org.dockit.dockitagent.collector.utils.ProcFileReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.LongSupplier;
+
+/**
+ * Linux fast path of {@link DockerContainerResourceCollector}, reads the cpu and memory usage of each container from
+ * its cgroup v2 directory instead of requesting the stats from the docker engine api. The usage is reported in the
+ * same form as the streamed stats, the cpu usage is computed since the previous collection, so containers seen for
+ * the first time are reported as partial.
+ */
+public class CgroupContainerResourceCollector extends DockerCollector implements Collector {
+    private static final Logger logger = LoggerFactory.getLogger(CgroupContainerResourceCollector.class);
+    private static final Gson gson = new Gson();
+    // Cgroup of a container with the systemd cgroup driver, and with the cgroupfs driver
+    private static final List<String> CGROUP_PATHS = List.of("system.slice/docker-%s.scope", "docker/%s");
+    private static final String CPU_STAT = "cpu.stat";
+    private static final String CPU_USAGE = "usage_usec";
+    private static final String MEMORY_CURRENT = "memory.current";
+    private static final String MEMORY_MAX = "memory.max";
+    private static final String MEMORY_STAT = "memory.stat";
+    private static final String INACTIVE_FILE = "inactive_file";
+    private static final double NANOS_PER_MICRO = 1_000d;
+
+    private final ContainerInventory containerInventory;
+    private final Path cgroupRoot;
+    private final LongSupplier nanoTime;
+    private final long hostMemory;
+    private final ProcFileReader reader = new ProcFileReader();
+    private final Map<String, Path> cgroups = new HashMap<>();
+    private final Map<String, CpuSample> previousSamples = new HashMap<>();
+
+    /**
+     * @param containerInventory {@link ContainerInventory} instance to be injected
+     */
+    @Inject
+    public CgroupContainerResourceCollector(ContainerInventory containerInventory) {
+        this(containerInventory, Path.of("/sys/fs/cgroup"), System::nanoTime,
+                ((OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean()).getTotalMemorySize());
+    }
+
+    CgroupContainerResourceCollector(ContainerInventory containerInventory, Path cgroupRoot, LongSupplier nanoTime,
+                                     long hostMemory) {
+        this.containerInventory = containerInventory;
+        this.cgroupRoot = cgroupRoot;
+        this.nanoTime = nanoTime;
+        this.hostMemory = hostMemory;
+    }
+
+    /**
+     * Collect the cpu and memory usage of all running docker containers
+     *
+     * @return null if the container list could not be retrieved,
+     * or string representation of data for container resource usages
+     */
+    @Override
+    public synchronized String collect() {
+        Optional<ContainerInventory.Snapshot> snapshot = containerInventory.get();
+        if (snapshot.isEmpty()) {
+            return null;
+        }
+        List<String> ids = snapshot.get().getIds();
+        cgroups.keySet().retainAll(ids);
+        previousSamples.keySet().retainAll(ids);
+
+        List<String> data = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            Optional<Map<String, Object>> usage = read(id);
+            if (usage.isPresent()) {
+                Map<String, Object> item = new LinkedHashMap<>();
+                item.put(ID_KEY, id);
+                item.putAll(usage.get());
+                data.add(gson.toJson(item));
+            } else {
+                data.add(partial(id));
+            }
+        }
+        return InformationBuilderHelper.build(data);
+    }
+
+    private Optional<Map<String, Object>> read(String id) {
+        Path cgroup = cgroups.computeIfAbsent(id, this::locate);
+        if (cgroup == null) {
+            logger.debug("Could not find the cgroup of the container {}", id);
+            return Optional.empty();
+        }
+        try {
+            long now = nanoTime.getAsLong();
+            long cpuUsage = readKey(cgroup.resolve(CPU_STAT), CPU_USAGE);
+            long memoryCurrent = readValue(cgroup.resolve(MEMORY_CURRENT));
+            long memoryMax = readValue(cgroup.resolve(MEMORY_MAX));
+            long inactiveFile = Math.max(0, readKey(cgroup.resolve(MEMORY_STAT), INACTIVE_FILE));
+
+            CpuSample previous = previousSamples.put(id, new CpuSample(now, cpuUsage));
+            if (previous == null || cpuUsage < 0 || now <= previous.nanoTime || cpuUsage < previous.usage) {
+                return Optional.empty();
+            }
+            double cpuPercent = (cpuUsage - previous.usage) * NANOS_PER_MICRO / (now - previous.nanoTime) * 100;
+            // Same as the docker cli, the inactive file cache can be reclaimed so it is not counted as used
+            long memoryUsage = Math.max(0, memoryCurrent - inactiveFile);
+            // memory.max is "max" if the container has no limit, it is then limited by the memory of the host
+            long memoryLimit = memoryMax < 0 ? hostMemory : memoryMax;
+
+            Map<String, Object> usage = new LinkedHashMap<>();
+            usage.put("cpu_percent", cpuPercent);
+            usage.put("memory_usage", memoryUsage);
+            usage.put("memory_limit", memoryLimit);
+            usage.put("memory_percent", memoryLimit > 0 ? (double) memoryUsage / memoryLimit * 100 : 0d);
+            return Optional.of(usage);
+        } catch (IOException e) {
+            // The container stopped since the container list was retrieved
+            cgroups.remove(id);
+            previousSamples.remove(id);
+            logger.debug("Could not read the cgroup of the container {}: {}", id, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private Path locate(String id) {
+        return CGROUP_PATHS.stream()
+                .map(path -> cgroupRoot.resolve(path.formatted(id)))
+                .filter(Files::isDirectory)
+                .findFirst()
+                .orElse(null);
+    }
+
+    private long readValue(Path path) throws IOException {
+        reader.read(path);
+        return reader.nextLong();
+    }
+
+    private long readKey(Path path, String key) throws IOException {
+        reader.read(path);
+        while (reader.hasMore()) {
+            if (reader.nextTokenEquals(key)) {
+                return reader.nextLong();
+            }
+            reader.nextLine();
+        }
+        return -1;
+    }
+
+    /**
+     * Cpu usage of a container in microseconds at a point in time
+     */
+    private static final class CpuSample {
+        private final long nanoTime;
+        private final long usage;
+
+        private CpuSample(long nanoTime, long usage) {
+            this.nanoTime = nanoTime;
+            this.usage = usage;
+        }
+    }
+}
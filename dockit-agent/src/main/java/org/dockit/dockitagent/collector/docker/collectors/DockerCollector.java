@@ -1,43 +1,160 @@
 package org.dockit.dockitagent.collector.docker.collectors;
 
-import org.dockit.dockitagent.collector.utils.GetContainerIds;
+import com.google.gson.Gson;
+import org.dockit.dockitagent.collector.docker.ContainerInventory;
+import org.dockit.dockitagent.collector.docker.ContainerRegistry;
 import org.dockit.dockitagent.collector.utils.InformationBuilderHelper;
 import org.dockit.dockitagent.connection.DockerConnectionManager;
 import org.slf4j.Logger;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
 
 
 /**
  * Abstract class to be used in some of the docker collector classes which obtain container-specific data
  */
 public abstract class DockerCollector {
+    static final String ID_KEY = "Id";
+    static final String PARTIAL_KEY = "partial";
+
+    private static final Gson gson = new Gson();
+
+    private final Map<String, CachedResponse> cachedResponses = new ConcurrentHashMap<>();
 
     /**
+     * Per container requests are sent concurrently, containers whose request does not complete before the configured
+     * deadline are reported as partial, i.e. {"Id": "...", "partial": true}, instead of stalling the whole collection.
+     *
      * @param connectionManager {@link org.dockit.dockitagent.connection.DockerConnectionManager} instance to be used
-     * @param id_endpoint endpoint to retrieve container ids
+     * @param containerInventory {@link ContainerInventory} providing the ids of the running containers
      * @param response_endpoint endpoint to send the request to
      * @param logger {@link Logger} instance to log incidents
      * @return response body in string format
      */
-    protected String send(DockerConnectionManager connectionManager, String id_endpoint, String response_endpoint, Logger logger) {
-        Optional<String> idResponse = connectionManager.sendRequest(id_endpoint);
-        if (idResponse.isEmpty()) {
+    protected String send(DockerConnectionManager connectionManager, ContainerInventory containerInventory,
+                          String response_endpoint, Logger logger) {
+        Optional<ContainerInventory.Snapshot> snapshot = containerInventory.get();
+        if (snapshot.isEmpty()) {
             return null;
         }
-        List<String> ids = GetContainerIds.getContainerIds(idResponse.get());
+        List<String> ids = snapshot.get().getIds();
+        return build(ids, fetch(connectionManager, ids, response_endpoint), logger);
+    }
+
+    /**
+     * Same as {@link #send(DockerConnectionManager, ContainerInventory, String, Logger)}, except that while the
+     * {@link ContainerRegistry} is active the request is only sent again for the containers whose state changed since
+     * the previous collection, the previous response is reused for the others.
+     *
+     * @param connectionManager {@link org.dockit.dockitagent.connection.DockerConnectionManager} instance to be used
+     * @param containerInventory {@link ContainerInventory} providing the ids of the running containers
+     * @param containerRegistry {@link ContainerRegistry} tracking the state changes of the containers
+     * @param response_endpoint endpoint to send the request to
+     * @param logger {@link Logger} instance to log incidents
+     * @return response body in string format
+     */
+    protected String sendChanged(DockerConnectionManager connectionManager, ContainerInventory containerInventory,
+                                 ContainerRegistry containerRegistry, String response_endpoint, Logger logger) {
+        if (!containerRegistry.isActive()) {
+            cachedResponses.clear();
+            return send(connectionManager, containerInventory, response_endpoint, logger);
+        }
+        Optional<ContainerInventory.Snapshot> snapshot = containerInventory.get();
+        if (snapshot.isEmpty()) {
+            return null;
+        }
+        List<String> ids = snapshot.get().getIds();
+        Map<String, Optional<String>> responses = new HashMap<>();
+        Map<String, Long> versions = new HashMap<>();
+        List<String> changed = new ArrayList<>();
+
+        for (String id : ids) {
+            OptionalLong version = containerRegistry.getVersion(id);
+            CachedResponse cached = cachedResponses.get(id);
+            if (version.isPresent() && cached != null && cached.version == version.getAsLong()) {
+                responses.put(id, Optional.of(cached.data));
+            } else {
+                changed.add(id);
+                version.ifPresent(value -> versions.put(id, value));
+            }
+        }
+        Map<String, Optional<String>> fetched = fetch(connectionManager, changed, response_endpoint);
+        fetched.forEach((id, response) -> {
+            if (response.isPresent() && versions.containsKey(id)) {
+                cachedResponses.put(id, new CachedResponse(versions.get(id), response.get()));
+            }
+        });
+        responses.putAll(fetched);
+        cachedResponses.keySet().retainAll(ids);
+        return build(ids, responses, logger);
+    }
+
+    /**
+     * @return response of each container completed before the deadline, missing if it did not complete
+     */
+    private Map<String, Optional<String>> fetch(DockerConnectionManager connectionManager, List<String> ids,
+                                                String response_endpoint) {
+        List<String> endpoints = ids.stream()
+                .map(response_endpoint::formatted)
+                .toList();
+        Map<String, Optional<String>> responses = connectionManager.sendRequests(endpoints);
+        Map<String, Optional<String>> responsesById = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            Optional<String> response = responses.get(endpoints.get(i));
+            if (response != null) {
+                responsesById.put(ids.get(i), response);
+            }
+        }
+        return responsesById;
+    }
+
+    private String build(List<String> ids, Map<String, Optional<String>> responses, Logger logger) {
         List<String> data = new ArrayList<>();
+        int partialCount = 0;
 
-        for(String id : ids) {
-            Optional<String> response = connectionManager.sendRequest(response_endpoint.formatted(id));
+        for (String id : ids) {
+            Optional<String> response = responses.get(id);
+            if (response == null) {
+                data.add(partial(id));
+                partialCount++;
+                continue;
+            }
             if (response.isEmpty()) {
                 logger.info("Could not retrieve information for the container {}", id);
                 continue;
             }
             data.add(response.get());
         }
+        if (partialCount > 0) {
+            logger.warn("{} of {} containers did not respond before the deadline", partialCount, ids.size());
+        }
         return InformationBuilderHelper.build(data);
     }
+
+    /**
+     * @param id id of the container
+     * @return json representation of a container whose data could not be obtained in time
+     */
+    protected static String partial(String id) {
+        return gson.toJson(Map.of(ID_KEY, id, PARTIAL_KEY, true));
+    }
+
+    /**
+     * Response of a container along with the registry version of the container it was received for
+     */
+    private static final class CachedResponse {
+        private final long version;
+        private final String data;
+
+        private CachedResponse(long version, String data) {
+            this.version = version;
+            this.data = data;
+        }
+    }
 }
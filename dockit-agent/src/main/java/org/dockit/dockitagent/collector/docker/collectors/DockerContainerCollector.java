@@ -1,30 +1,24 @@
 package org.dockit.dockitagent.collector.docker.collectors;
 
-import com.google.gson.Gson;
 import com.google.inject.Inject;
 import org.dockit.dockitagent.collector.Collector;
+import org.dockit.dockitagent.collector.docker.ContainerInventory;
 import org.dockit.dockitagent.collector.utils.InformationBuilderHelper;
-import org.dockit.dockitagent.connection.DockerConnectionManager;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 
 /**
  * Utility class to collect information about running containers from docker
  */
 public class DockerContainerCollector implements Collector {
-    private static final String ENDPOINT = "/containers/json";
-
-    private final DockerConnectionManager connectionManager;
+    private final ContainerInventory containerInventory;
 
     /**
-     * @param connectionManager {@link DockerConnectionManager} instance to be injected
+     * @param containerInventory {@link ContainerInventory} instance to be injected
      */
     @Inject
-    public DockerContainerCollector(DockerConnectionManager connectionManager) {
-        this.connectionManager = connectionManager;
+    public DockerContainerCollector(ContainerInventory containerInventory) {
+        this.containerInventory = containerInventory;
     }
 
     /**
@@ -35,18 +29,7 @@ public class DockerContainerCollector implements Collector {
      */
     @Override
     public String collect() {
-        Optional<String> response = connectionManager.sendRequest(ENDPOINT);
-        if (response.isEmpty()) {
-            return null;
-        }
-        Gson gson = new Gson();
-        List<Map<String, String>> dataList = gson.fromJson(response.get(), List.class);
-        List<String> data = new ArrayList<>();
-
-        for (Map<String, String> dataItem : dataList) {
-            data.add(gson.toJson(dataItem));
-        }
-
-        return InformationBuilderHelper.build(data);
+        Optional<ContainerInventory.Snapshot> snapshot = containerInventory.get();
+        return snapshot.map(value -> InformationBuilderHelper.build(value.getContainers())).orElse(null);
     }
 }
@@ -2,6 +2,8 @@ package org.dockit.dockitagent.collector.docker.collectors;
 
 import com.google.inject.Inject;
 import org.dockit.dockitagent.collector.Collector;
+import org.dockit.dockitagent.collector.docker.ContainerInventory;
+import org.dockit.dockitagent.collector.docker.ContainerRegistry;
 import org.dockit.dockitagent.connection.DockerConnectionManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -11,17 +13,24 @@ import org.slf4j.LoggerFactory;
  */
 public class DockerContainerFileSystemCollector extends DockerCollector implements Collector {
     private static final Logger logger = LoggerFactory.getLogger(DockerContainerFileSystemCollector.class);
-    private static final String CONTAINERS_ENDPOINT = "/containers/json";
     private static final String FILE_SYSTEM_ENDPOINT = "/containers/%s/changes";
 
     private final DockerConnectionManager connectionManager;
+    private final ContainerInventory containerInventory;
+    private final ContainerRegistry containerRegistry;
 
     /**
      * @param connectionManager {@link DockerConnectionManager} instance to be injected
+     * @param containerInventory {@link ContainerInventory} instance to be injected
+     * @param containerRegistry {@link ContainerRegistry} instance to be injected
      */
     @Inject
-    public DockerContainerFileSystemCollector(DockerConnectionManager connectionManager) {
+    public DockerContainerFileSystemCollector(DockerConnectionManager connectionManager,
+                                              ContainerInventory containerInventory,
+                                              ContainerRegistry containerRegistry) {
         this.connectionManager = connectionManager;
+        this.containerInventory = containerInventory;
+        this.containerRegistry = containerRegistry;
     }
 
     /**
@@ -32,6 +41,6 @@ public class DockerContainerFileSystemCollector extends DockerCollector implemen
      */
     @Override
     public String collect() {
-        return send(connectionManager, CONTAINERS_ENDPOINT, FILE_SYSTEM_ENDPOINT, logger);
+        return sendChanged(connectionManager, containerInventory, containerRegistry, FILE_SYSTEM_ENDPOINT, logger);
     }
 }
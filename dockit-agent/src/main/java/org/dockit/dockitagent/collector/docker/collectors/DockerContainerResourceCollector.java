@@ -1,37 +1,79 @@
 package org.dockit.dockitagent.collector.docker.collectors;
 
+import com.google.gson.Gson;
 import com.google.inject.Inject;
 import org.dockit.dockitagent.collector.Collector;
+import org.dockit.dockitagent.collector.docker.ContainerInventory;
+import org.dockit.dockitagent.collector.docker.stats.ContainerStatsStreamer;
+import org.dockit.dockitagent.collector.utils.InformationBuilderHelper;
 import org.dockit.dockitagent.connection.DockerConnectionManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
 /**
  * Utility class to collect information about resource usage of containers
  */
 public class DockerContainerResourceCollector extends DockerCollector implements Collector {
     private static final Logger logger = LoggerFactory.getLogger(DockerContainerResourceCollector.class);
-    private static final String CONTAINERS_ENDPOINT = "/containers/json";
     private static final String RESOURCE_ENDPOINT = "/containers/%s/stats?stream=false&one-shot=true";
+    private static final Gson gson = new Gson();
 
     private final DockerConnectionManager connectionManager;
+    private final ContainerInventory containerInventory;
+    private final ContainerStatsStreamer statsStreamer;
 
     /**
      * @param connectionManager {@link DockerConnectionManager} instance to be injected
+     * @param containerInventory {@link ContainerInventory} instance to be injected
+     * @param statsStreamer {@link ContainerStatsStreamer} instance to be injected
      */
     @Inject
-    public DockerContainerResourceCollector(DockerConnectionManager connectionManager) {
+    public DockerContainerResourceCollector(DockerConnectionManager connectionManager,
+                                            ContainerInventory containerInventory,
+                                            ContainerStatsStreamer statsStreamer) {
         this.connectionManager = connectionManager;
+        this.containerInventory = containerInventory;
+        this.statsStreamer = statsStreamer;
     }
 
     /**
-     * Collect information about all running docker containers
+     * Collect information about all running docker containers. If the stats stream is enabled, the usage computed
+     * from the streamed samples is returned instead of the raw stats, and containers without enough samples yet are
+     * reported as partial.
      *
      * @return null if there is an error with the request,
      * or string representation of data for container resource usages
      */
     @Override
     public String collect() {
-        return send(connectionManager, CONTAINERS_ENDPOINT, RESOURCE_ENDPOINT, logger);
+        if (!statsStreamer.isEnabled()) {
+            return send(connectionManager, containerInventory, RESOURCE_ENDPOINT, logger);
+        }
+        Optional<ContainerInventory.Snapshot> snapshot = containerInventory.get();
+        if (snapshot.isEmpty()) {
+            return null;
+        }
+        List<String> ids = snapshot.get().getIds();
+        Map<String, Map<String, Object>> usages = statsStreamer.collect(ids);
+        List<String> data = new ArrayList<>();
+
+        for (String id : ids) {
+            Map<String, Object> usage = usages.get(id);
+            if (usage == null) {
+                data.add(partial(id));
+                continue;
+            }
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put(ID_KEY, id);
+            item.putAll(usage);
+            data.add(gson.toJson(item));
+        }
+        return InformationBuilderHelper.build(data);
     }
 }
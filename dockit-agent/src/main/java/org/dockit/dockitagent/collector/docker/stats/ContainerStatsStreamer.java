@@ -0,0 +1,175 @@
+package org.dockit.dockitagent.collector.docker.stats;
+
+import com.google.gson.JsonParseException;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import org.dockit.dockitagent.collector.docker.collectors.DockerContainerResourceCollector;
+import org.dockit.dockitagent.config.templates.Container;
+import org.dockit.dockitagent.connection.DockerConnectionManager;
+import org.dockit.dockitagent.connection.DockerStream;
+import org.dockit.dockitagent.entity.CategoryGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps one stats stream (stream=true) open per running container and a rolling window of its samples in memory, so
+ * the resource usage of the containers is computed from memory on every collection instead of requesting the stats of
+ * every container. The window covers one collection interval, the docker engine emits a sample every second.
+ */
+@Singleton
+public class ContainerStatsStreamer {
+    private static final Logger logger = LoggerFactory.getLogger(ContainerStatsStreamer.class);
+    private static final String STATS_ENDPOINT = "/containers/%s/stats?stream=true";
+    private static final int MAX_WINDOW_SIZE = 61;
+
+    private final Container configContainer;
+    private final DockerConnectionManager connectionManager;
+    private final Map<String, StatsStream> streams = new ConcurrentHashMap<>();
+    private final ExecutorService executor;
+
+    /**
+     * @param configContainer {@link org.dockit.dockitagent.config.ConfigContainer} instance to be injected
+     * @param connectionManager {@link DockerConnectionManager} instance to be injected
+     */
+    @Inject
+    public ContainerStatsStreamer(Container configContainer, DockerConnectionManager connectionManager) {
+        this.configContainer = configContainer;
+        this.connectionManager = connectionManager;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "docker-stats-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * @return true if the resource usage should be computed from the streamed stats
+     */
+    public boolean isEnabled() {
+        return configContainer.getConfig().isDOCKER_STATS_STREAM();
+    }
+
+    /**
+     * Open the streams of the given containers if they are not open yet, close the streams of containers which are no
+     * longer running, and summarise the window of each container
+     *
+     * @param ids ids of the running containers
+     * @return usage of each container with enough samples, keyed by the container id in the order of the given ids
+     */
+    public Map<String, Map<String, Object>> collect(List<String> ids) {
+        Set<String> running = new HashSet<>(ids);
+        streams.keySet().stream()
+                .filter(id -> !running.contains(id))
+                .toList()
+                .forEach(this::close);
+
+        Map<String, Map<String, Object>> usages = new LinkedHashMap<>();
+        for (String id : ids) {
+            StatsStream stream = streams.computeIfAbsent(id, this::open);
+            stream.window.summarize().ifPresent(usage -> usages.put(id, usage));
+        }
+        return usages;
+    }
+
+    /**
+     * Close every open stream
+     */
+    public void stop() {
+        List.copyOf(streams.keySet()).forEach(this::close);
+        executor.shutdownNow();
+    }
+
+    private StatsStream open(String id) {
+        int interval = configContainer.getConfig()
+                .getINTERVAL(CategoryGenerator.getCategory(DockerContainerResourceCollector.class));
+        int windowSize = Math.min(MAX_WINDOW_SIZE, interval + 1);
+        StatsStream stream = new StatsStream(new StatsWindow(windowSize));
+        executor.execute(() -> read(id, stream));
+        return stream;
+    }
+
+    private void close(String id) {
+        StatsStream stream = streams.remove(id);
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    private void read(String id, StatsStream stream) {
+        Optional<DockerStream> opened = connectionManager.openStream(STATS_ENDPOINT.formatted(id));
+        if (opened.isEmpty()) {
+            // Opened again on the next collection if the container is still running
+            streams.remove(id, stream);
+            return;
+        }
+        if (!stream.attach(opened.get())) {
+            return;
+        }
+        try (DockerStream stats = opened.get()) {
+            String line = stats.readLine();
+            while (line != null) {
+                if (!line.isBlank()) {
+                    stream.window.add(StatsSample.parse(line, System.nanoTime()));
+                }
+                line = stats.readLine();
+            }
+        } catch (IOException e) {
+            if (!stream.isClosed()) {
+                logger.warn("Stats stream of the container {} was lost: {}", id, e.getMessage());
+            }
+        } catch (JsonParseException | IllegalStateException e) {
+            logger.warn("Could not parse the stats of the container {}: {}", id, e.getMessage());
+        } finally {
+            streams.remove(id, stream);
+        }
+    }
+
+    /**
+     * Open stream of a container along with its window of samples
+     */
+    private static final class StatsStream {
+        private final StatsWindow window;
+        private DockerStream stream;
+        private boolean closed;
+
+        private StatsStream(StatsWindow window) {
+            this.window = window;
+        }
+
+        /**
+         * @return false if the stream was closed before the connection was attached, the connection is closed then
+         */
+        private synchronized boolean attach(DockerStream stream) {
+            if (closed) {
+                stream.close();
+                return false;
+            }
+            this.stream = stream;
+            return true;
+        }
+
+        private synchronized boolean isClosed() {
+            return closed;
+        }
+
+        private synchronized void close() {
+            closed = true;
+            if (stream != null) {
+                stream.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package org.dockit.dockitagent.collector.docker.stats;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import java.util.Map;
+
+/**
+ * Counters of a single stats sample of a container, reduced from the json emitted by the Docker Engine API to the
+ * values needed to compute the usage over a window of samples
+ */
+public final class StatsSample {
+    private final long nanoTime;
+    private final long cpuUsage;
+    private final long systemCpuUsage;
+    private final int onlineCpus;
+    private final long memoryUsage;
+    private final long memoryLimit;
+    private final long networkRxBytes;
+    private final long networkTxBytes;
+    private final long blockReadBytes;
+    private final long blockWriteBytes;
+
+    StatsSample(long nanoTime, long cpuUsage, long systemCpuUsage, int onlineCpus, long memoryUsage, long memoryLimit,
+                long networkRxBytes, long networkTxBytes, long blockReadBytes, long blockWriteBytes) {
+        this.nanoTime = nanoTime;
+        this.cpuUsage = cpuUsage;
+        this.systemCpuUsage = systemCpuUsage;
+        this.onlineCpus = onlineCpus;
+        this.memoryUsage = memoryUsage;
+        this.memoryLimit = memoryLimit;
+        this.networkRxBytes = networkRxBytes;
+        this.networkTxBytes = networkTxBytes;
+        this.blockReadBytes = blockReadBytes;
+        this.blockWriteBytes = blockWriteBytes;
+    }
+
+    /**
+     * Parse a line of the stats stream, missing values are read as 0
+     *
+     * @param line json representation of the stats
+     * @param nanoTime time the sample was received at, see {@link System#nanoTime()}
+     * @return parsed {@link StatsSample}
+     * @throws com.google.gson.JsonParseException if the line is not a json object
+     * @throws IllegalStateException if the line is not a json object
+     */
+    public static StatsSample parse(String line, long nanoTime) {
+        JsonObject stats = JsonParser.parseString(line).getAsJsonObject();
+        JsonObject cpuStats = object(stats, "cpu_stats");
+        JsonObject cpuUsage = object(cpuStats, "cpu_usage");
+        JsonObject memoryStats = object(stats, "memory_stats");
+        JsonObject memoryDetails = object(memoryStats, "stats");
+
+        int onlineCpus = (int) number(cpuStats, "online_cpus");
+        if (onlineCpus == 0 && cpuUsage.get("percpu_usage") instanceof JsonArray perCpu) {
+            onlineCpus = perCpu.size();
+        }
+        // Same as the docker cli, the inactive file cache can be reclaimed so it is not counted as used
+        long inactiveFile = memoryDetails.has("inactive_file")
+                ? number(memoryDetails, "inactive_file")
+                : number(memoryDetails, "total_inactive_file");
+        long memoryUsage = Math.max(0, number(memoryStats, "usage") - inactiveFile);
+
+        long rxBytes = 0;
+        long txBytes = 0;
+        for (Map.Entry<String, JsonElement> network : object(stats, "networks").entrySet()) {
+            if (network.getValue().isJsonObject()) {
+                rxBytes += number(network.getValue().getAsJsonObject(), "rx_bytes");
+                txBytes += number(network.getValue().getAsJsonObject(), "tx_bytes");
+            }
+        }
+
+        long readBytes = 0;
+        long writeBytes = 0;
+        if (object(stats, "blkio_stats").get("io_service_bytes_recursive") instanceof JsonArray entries) {
+            for (JsonElement entry : entries) {
+                if (!entry.isJsonObject() || !entry.getAsJsonObject().has("op")) {
+                    continue;
+                }
+                String op = entry.getAsJsonObject().get("op").getAsString();
+                if (op.equalsIgnoreCase("read")) {
+                    readBytes += number(entry.getAsJsonObject(), "value");
+                } else if (op.equalsIgnoreCase("write")) {
+                    writeBytes += number(entry.getAsJsonObject(), "value");
+                }
+            }
+        }
+
+        return new StatsSample(nanoTime, number(cpuUsage, "total_usage"), number(cpuStats, "system_cpu_usage"),
+                onlineCpus, memoryUsage, number(memoryStats, "limit"), rxBytes, txBytes, readBytes, writeBytes);
+    }
+
+    private static JsonObject object(JsonObject parent, String key) {
+        JsonElement element = parent.get(key);
+        return element != null && element.isJsonObject() ? element.getAsJsonObject() : new JsonObject();
+    }
+
+    private static long number(JsonObject parent, String key) {
+        JsonElement element = parent.get(key);
+        return element != null && element.isJsonPrimitive() && element.getAsJsonPrimitive().isNumber()
+                ? element.getAsLong()
+                : 0;
+    }
+
+    long getNanoTime() {
+        return nanoTime;
+    }
+
+    long getCpuUsage() {
+        return cpuUsage;
+    }
+
+    long getSystemCpuUsage() {
+        return systemCpuUsage;
+    }
+
+    int getOnlineCpus() {
+        return onlineCpus;
+    }
+
+    long getMemoryUsage() {
+        return memoryUsage;
+    }
+
+    long getMemoryLimit() {
+        return memoryLimit;
+    }
+
+    long getNetworkRxBytes() {
+        return networkRxBytes;
+    }
+
+    long getNetworkTxBytes() {
+        return networkTxBytes;
+    }
+
+    long getBlockReadBytes() {
+        return blockReadBytes;
+    }
+
+    long getBlockWriteBytes() {
+        return blockWriteBytes;
+    }
+}
@@ -0,0 +1,88 @@
+package org.dockit.dockitagent.collector.docker.stats;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Rolling window of the latest stats samples of a container, the usage is computed between the oldest and the newest
+ * sample of the window
+ */
+public class StatsWindow {
+    private static final double NANOS_PER_SECOND = 1_000_000_000d;
+
+    private final StatsSample[] samples;
+    private int next;
+    private int size;
+
+    /**
+     * @param capacity maximum amount of samples kept in the window
+     */
+    public StatsWindow(int capacity) {
+        this.samples = new StatsSample[Math.max(2, capacity)];
+    }
+
+    /**
+     * Add a sample to the window, replacing the oldest one if the window is full
+     *
+     * @param sample {@link StatsSample} to be added
+     */
+    public synchronized void add(StatsSample sample) {
+        samples[next] = sample;
+        next = (next + 1) % samples.length;
+        size = Math.min(size + 1, samples.length);
+    }
+
+    /**
+     * @return amount of samples in the window
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Compute the usage over the window: cpu and memory percentages as the docker cli does, memory of the newest
+     * sample, and network and block io rates in bytes per second
+     *
+     * @return usage keyed by name, empty if the window has less than two samples
+     */
+    public synchronized Optional<Map<String, Object>> summarize() {
+        if (size < 2) {
+            return Optional.empty();
+        }
+        StatsSample oldest = samples[(next - size + samples.length) % samples.length];
+        StatsSample newest = samples[(next - 1 + samples.length) % samples.length];
+        double seconds = (newest.getNanoTime() - oldest.getNanoTime()) / NANOS_PER_SECOND;
+
+        long cpuDelta = newest.getCpuUsage() - oldest.getCpuUsage();
+        long systemCpuDelta = newest.getSystemCpuUsage() - oldest.getSystemCpuUsage();
+        double cpuPercent = systemCpuDelta > 0 && cpuDelta >= 0
+                ? (double) cpuDelta / systemCpuDelta * newest.getOnlineCpus() * 100
+                : 0;
+        double memoryPercent = newest.getMemoryLimit() > 0
+                ? (double) newest.getMemoryUsage() / newest.getMemoryLimit() * 100
+                : 0;
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("cpu_percent", cpuPercent);
+        summary.put("memory_usage", newest.getMemoryUsage());
+        summary.put("memory_limit", newest.getMemoryLimit());
+        summary.put("memory_percent", memoryPercent);
+        summary.put("network_rx_bytes_per_second",
+                rate(oldest.getNetworkRxBytes(), newest.getNetworkRxBytes(), seconds));
+        summary.put("network_tx_bytes_per_second",
+                rate(oldest.getNetworkTxBytes(), newest.getNetworkTxBytes(), seconds));
+        summary.put("block_read_bytes_per_second",
+                rate(oldest.getBlockReadBytes(), newest.getBlockReadBytes(), seconds));
+        summary.put("block_write_bytes_per_second",
+                rate(oldest.getBlockWriteBytes(), newest.getBlockWriteBytes(), seconds));
+        summary.put("samples", size);
+        summary.put("window_seconds", seconds);
+        return Optional.of(summary);
+    }
+
+    private static double rate(long oldest, long newest, double seconds) {
+        // Counters are reset when the container restarts
+        return seconds > 0 && newest >= oldest ? (newest - oldest) / seconds : 0;
+    }
+}
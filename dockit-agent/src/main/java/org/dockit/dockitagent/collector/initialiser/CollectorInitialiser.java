@@ -2,7 +2,12 @@ package org.dockit.dockitagent.collector.initialiser;
 
 import com.google.inject.Inject;
 import org.dockit.dockitagent.collector.Collector;
+import org.dockit.dockitagent.collector.aggregate.MetricSampler;
+import org.dockit.dockitagent.collector.docker.ContainerInventory;
+import org.dockit.dockitagent.collector.docker.ContainerRegistry;
 import org.dockit.dockitagent.collector.docker.DockerInformationCollectorRegistry;
+import org.dockit.dockitagent.collector.docker.stats.ContainerStatsStreamer;
+import org.dockit.dockitagent.collector.vm.HostInventory;
 import org.dockit.dockitagent.collector.vm.VMInformationCollectorRegistry;
 import org.dockit.dockitagent.config.templates.Container;
 import org.dockit.dockitagent.connection.DockerConnectionManager;
@@ -10,8 +15,14 @@ import org.dockit.dockitagent.exceptions.collector.CollectorInitialisationExcept
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Stream;
 
 /**
@@ -19,26 +30,51 @@ import java.util.stream.Stream;
  */
 public class CollectorInitialiser {
     private static final Logger logger = LoggerFactory.getLogger(CollectorInitialiser.class);
+    private static final Path PROC_STAT = Path.of("/proc/stat");
+    private static final Path CGROUP_CONTROLLERS = Path.of("/sys/fs/cgroup/cgroup.controllers");
 
     private final Container configContainer;
 
     private final DockerConnectionManager dockerConnectionManager;
 
+    private final ContainerInventory containerInventory;
+
+    private final ContainerRegistry containerRegistry;
+
+    private final ContainerStatsStreamer statsStreamer;
+
+    private final HostInventory hostInventory;
+
+    private final MetricSampler metricSampler;
+
     /**
      *
      *
      * @param configContainer {@link org.dockit.dockitagent.config.ConfigContainer} instance to be injected
      * @param dockerConnectionManager {@link DockerConnectionManager} instance to be injected
+     * @param containerInventory {@link ContainerInventory} instance to be injected
+     * @param containerRegistry {@link ContainerRegistry} instance to be injected
+     * @param statsStreamer {@link ContainerStatsStreamer} instance to be injected
+     * @param hostInventory {@link HostInventory} instance to be injected
+     * @param metricSampler {@link MetricSampler} instance to be injected
      */
     @Inject
-    public CollectorInitialiser(Container configContainer, DockerConnectionManager dockerConnectionManager) {
+    public CollectorInitialiser(Container configContainer, DockerConnectionManager dockerConnectionManager,
+                                ContainerInventory containerInventory, ContainerRegistry containerRegistry,
+                                ContainerStatsStreamer statsStreamer, HostInventory hostInventory,
+                                MetricSampler metricSampler) {
         this.configContainer = configContainer;
         this.dockerConnectionManager = dockerConnectionManager;
+        this.containerInventory = containerInventory;
+        this.containerRegistry = containerRegistry;
+        this.statsStreamer = statsStreamer;
+        this.hostInventory = hostInventory;
+        this.metricSampler = metricSampler;
     }
 
     /**
      * Initialise collectors from {@link DockerInformationCollectorRegistry} and {@link VMInformationCollectorRegistry}
-     * using reflection
+     * using reflection, the collectors of the aggregated metrics are sampled by the {@link MetricSampler}
      *
      * @return {@link List} of {@link Collector} objects
      * @throws CollectorInitialisationException when there is a problem with initialisation of the object, or both vm
@@ -61,41 +97,74 @@ public class CollectorInitialiser {
     }
 
     private List<Collector> initialiseDockerCollectors() throws CollectorInitialisationException {
-        return initialiseCollectors(DockerInformationCollectorRegistry.dockerCollectors,
-                DockerConnectionManager.class, dockerConnectionManager);
+        List<Class<? extends Collector>> collectors = fastPath(DockerInformationCollectorRegistry.dockerCollectors,
+                DockerInformationCollectorRegistry.cgroupDockerCollectors, CGROUP_CONTROLLERS);
+        return initialiseCollectors(collectors, Map.of(
+                DockerConnectionManager.class, dockerConnectionManager,
+                ContainerInventory.class, containerInventory,
+                ContainerRegistry.class, containerRegistry,
+                ContainerStatsStreamer.class, statsStreamer));
     }
 
     private List<Collector> initialiseVmCollectors() throws CollectorInitialisationException {
-        return initialiseCollectors(VMInformationCollectorRegistry.vmCollectors,
-                null, null);
+        List<Class<? extends Collector>> collectors = fastPath(VMInformationCollectorRegistry.vmCollectors,
+                VMInformationCollectorRegistry.linuxVmCollectors, PROC_STAT);
+        return initialiseCollectors(collectors, Map.of(HostInventory.class, hostInventory));
     }
 
-    private <T> List<Collector> initialiseCollectors(List<Class<? extends Collector>> collectors,
-                                                     Class<T> clazz, T object) throws CollectorInitialisationException {
+    /**
+     * Replace the collectors which have a linux fast path if it is enabled in the config, and the host exposes the
+     * given pseudo file
+     */
+    private List<Class<? extends Collector>> fastPath(
+            List<Class<? extends Collector>> collectors,
+            Map<Class<? extends Collector>, Class<? extends Collector>> replacements, Path probe) {
+        if (!configContainer.getConfig().isLINUX_FAST_PATH()) {
+            return collectors;
+        }
+        if (!Files.isReadable(probe)) {
+            logger.warn("Linux fast path is enabled but {} is not readable, using the default collectors", probe);
+            return collectors;
+        }
+        return collectors.stream()
+                .<Class<? extends Collector>>map(collector -> replacements.getOrDefault(collector, collector))
+                .toList();
+    }
+
+    private List<Collector> initialiseCollectors(List<Class<? extends Collector>> collectors,
+                                                 Map<Class<?>, Object> dependencies)
+            throws CollectorInitialisationException {
         List<Collector> collectorClasses = collectors.stream()
-                .map(collectorClass -> {
-                    try {
-                        // Use reflection to initialize all the registered classes for docker collectors
-                        if (clazz != null) {
-                            // This is for docker collectors since they need constructor args
-                            return collectorClass
-                                    .getDeclaredConstructor(clazz)
-                                    .newInstance(object);
-                        } else {
-                            // This is for vm collectors since they do not need constructor args
-                            return collectorClass
-                                    .getDeclaredConstructor()
-                                    .newInstance();
-                        }
-                    } catch (NoSuchMethodException | InvocationTargetException | InstantiationException |
-                             IllegalAccessException e) {
-                        return null;
-                    }
-                }).toList();
+                .map(collectorClass -> instantiate(collectorClass, dependencies).orElse(null))
+                .toList();
         if (collectorClasses.contains(null)) {
             logger.error("Could not initialise collectors!");
             throw new CollectorInitialisationException();
         }
-        return collectorClasses;
+        return collectorClasses.stream()
+                .map(collector -> metricSampler.wrap(collector,
+                        () -> instantiate(collector.getClass(), dependencies)))
+                .toList();
+    }
+
+    private Optional<Collector> instantiate(Class<? extends Collector> collectorClass,
+                                            Map<Class<?>, Object> dependencies) {
+        // Use reflection to initialize the registered class, using the constructor whose arguments are all
+        // available in the given dependencies
+        Optional<Constructor<?>> constructor = Arrays.stream(collectorClass.getDeclaredConstructors())
+                .filter(candidate -> dependencies.keySet()
+                        .containsAll(Arrays.asList(candidate.getParameterTypes())))
+                .findFirst();
+        if (constructor.isEmpty()) {
+            return Optional.empty();
+        }
+        try {
+            Object[] arguments = Arrays.stream(constructor.get().getParameterTypes())
+                    .map(dependencies::get)
+                    .toArray();
+            return Optional.of((Collector) constructor.get().newInstance(arguments));
+        } catch (InvocationTargetException | InstantiationException | IllegalAccessException e) {
+            return Optional.empty();
+        }
     }
 }
@@ -1,5 +1,6 @@
 package org.dockit.dockitagent.collector.utils;
 
+import java.util.Iterator;
 import java.util.List;
 
 /**
@@ -22,4 +23,19 @@ public final class InformationBuilderHelper {
         }
         return stringBuilder.toString();
     }
+
+    /**
+     * Build one large string with a delimiter from the data of an iterator
+     *
+     * @param givenData {@link Iterator} of data items
+     * @return string representation of produced data
+     */
+    public static String build(Iterator<String> givenData) {
+        StringBuilder stringBuilder = new StringBuilder();
+        while (givenData.hasNext()) {
+            stringBuilder.append(givenData.next());
+            stringBuilder.append(DELIMITER);
+        }
+        return stringBuilder.toString();
+    }
 }
@@ -0,0 +1,210 @@
+package org.dockit.dockitagent.collector.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Reader of the pseudo files of /proc and /sys, the whole file is read into a buffer reused between the reads and
+ * parsed in place through a cursor, so no line or token is allocated unless it is needed as a string.
+ * Not thread safe, each collector keeps its own instance.
+ */
+public final class ProcFileReader {
+    private static final int INITIAL_CAPACITY = 4096;
+
+    private byte[] buffer = new byte[INITIAL_CAPACITY];
+    private int length;
+    private int position;
+
+    /**
+     * Read the whole file into the buffer and move the cursor to its start. The size of the pseudo files is not known
+     * in advance, so the buffer is grown until the end of the file is reached.
+     *
+     * @param path path of the file to read
+     * @throws IOException if the file could not be read
+     */
+    public void read(Path path) throws IOException {
+        length = 0;
+        position = 0;
+        try (InputStream inputStream = Files.newInputStream(path)) {
+            int read;
+            while ((read = inputStream.read(buffer, length, buffer.length - length)) != -1) {
+                length += read;
+                if (length == buffer.length) {
+                    buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return true if the cursor did not reach the end of the file
+     */
+    public boolean hasMore() {
+        return position < length;
+    }
+
+    /**
+     * @param prefix ascii prefix to look for
+     * @return true if the content at the cursor starts with the given prefix, the cursor is not moved
+     */
+    public boolean startsWith(String prefix) {
+        if (position + prefix.length() > length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length(); i++) {
+            if (buffer[position + i] != prefix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Move the cursor to the start of the next line
+     */
+    public void nextLine() {
+        while (position < length && buffer[position] != '\n') {
+            position++;
+        }
+        if (position < length) {
+            position++;
+        }
+    }
+
+    /**
+     * Move the cursor past the next token of the current line
+     */
+    public void skipToken() {
+        skipSpaces();
+        skipRemainder();
+    }
+
+    /**
+     * @return true if the current line has another token after the cursor
+     */
+    public boolean hasToken() {
+        skipSpaces();
+        return position < length && buffer[position] != '\n';
+    }
+
+    /**
+     * Parse the next token of the current line as a non-negative integer
+     *
+     * @return parsed value, -1 if the next token does not start with a digit
+     */
+    public long nextLong() {
+        skipSpaces();
+        if (position >= length || !isDigit(buffer[position])) {
+            return -1;
+        }
+        long value = 0;
+        while (position < length && isDigit(buffer[position])) {
+            value = value * 10 + (buffer[position++] - '0');
+        }
+        skipRemainder();
+        return value;
+    }
+
+    /**
+     * Parse the next token of the current line as a non-negative decimal number, e.g. 0.52
+     *
+     * @return parsed value, -1 if the next token does not start with a digit
+     */
+    public double nextDecimal() {
+        skipSpaces();
+        if (position >= length || !isDigit(buffer[position])) {
+            return -1;
+        }
+        long value = 0;
+        long scale = 1;
+        boolean fraction = false;
+        while (position < length && (isDigit(buffer[position]) || (!fraction && buffer[position] == '.'))) {
+            if (buffer[position] == '.') {
+                fraction = true;
+            } else {
+                value = value * 10 + (buffer[position] - '0');
+                if (fraction) {
+                    scale *= 10;
+                }
+            }
+            position++;
+        }
+        skipRemainder();
+        return (double) value / scale;
+    }
+
+    /**
+     * Return the next token of the current line as a string, decoding the octal escapes the kernel uses for spaces
+     * and other special characters in paths, e.g. \040
+     *
+     * @return next token, empty if there is none
+     */
+    public String nextToken() {
+        skipSpaces();
+        int start = position;
+        while (position < length && !isSeparator(buffer[position])) {
+            position++;
+        }
+        byte[] token = new byte[position - start];
+        int size = 0;
+        for (int i = start; i < position; i++) {
+            if (buffer[i] == '\\' && i + 3 < position && isOctal(buffer, i + 1)) {
+                token[size++] = (byte) ((buffer[i + 1] - '0') * 64 + (buffer[i + 2] - '0') * 8 + buffer[i + 3] - '0');
+                i += 3;
+            } else {
+                token[size++] = buffer[i];
+            }
+        }
+        return new String(token, 0, size, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @param token ascii token to compare with
+     * @return true if the next token of the current line equals the given one, the cursor is moved past it if so
+     */
+    public boolean nextTokenEquals(String token) {
+        skipSpaces();
+        if (!startsWith(token)) {
+            return false;
+        }
+        int end = position + token.length();
+        if (end < length && !isSeparator(buffer[end])) {
+            return false;
+        }
+        position = end;
+        return true;
+    }
+
+    private void skipRemainder() {
+        while (position < length && !isSeparator(buffer[position])) {
+            position++;
+        }
+    }
+
+    private void skipSpaces() {
+        while (position < length && (buffer[position] == ' ' || buffer[position] == '\t')) {
+            position++;
+        }
+    }
+
+    private boolean isOctal(byte[] bytes, int offset) {
+        for (int i = offset; i < offset + 3; i++) {
+            if (i >= length || bytes[i] < '0' || bytes[i] > '7') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isSeparator(byte value) {
+        return value == ' ' || value == '\t' || value == '\n';
+    }
+
+    private static boolean isDigit(byte value) {
+        return value >= '0' && value <= '9';
+    }
+}
@@ -0,0 +1,186 @@
+package org.dockit.dockitagent.collector.vm;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import oshi.SystemInfo;
+import oshi.hardware.CentralProcessor;
+import oshi.hardware.GlobalMemory;
+import oshi.hardware.HWDiskStore;
+import oshi.hardware.HardwareAbstractionLayer;
+import oshi.software.os.InternetProtocolStats;
+import oshi.software.os.OSFileStore;
+import oshi.software.os.OSProcess;
+import oshi.software.os.OSSession;
+import oshi.software.os.OperatingSystem;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Shared OSHI context of the host read by the vm collectors. The hardware abstraction layer and the operating system
+ * are initialised once, and each part of the host is read at most once per time to live, so the collectors of the
+ * same tick reuse a single {@link Snapshot} and report the same point in time. Parts are read lazily, so collecting
+ * the memory does not walk the processes and connections of the host.
+ */
+@Singleton
+public class HostInventory {
+    private static final Duration TIME_TO_LIVE = Duration.ofSeconds(2);
+
+    private final HardwareAbstractionLayer hardware;
+    private final OperatingSystem operatingSystem;
+    private final long timeToLiveNanos;
+    private final LongSupplier nanoTime;
+
+    private Snapshot snapshot;
+    private long takenAt;
+
+    /**
+     * Initialise the OSHI context of the host
+     */
+    @Inject
+    public HostInventory() {
+        this(new SystemInfo(), TIME_TO_LIVE, System::nanoTime);
+    }
+
+    HostInventory(SystemInfo systemInfo, Duration timeToLive, LongSupplier nanoTime) {
+        this.hardware = systemInfo.getHardware();
+        this.operatingSystem = systemInfo.getOperatingSystem();
+        this.timeToLiveNanos = timeToLive.toNanos();
+        this.nanoTime = nanoTime;
+    }
+
+    /**
+     * @return {@link CentralProcessor} of the host, shared between the collections
+     */
+    public CentralProcessor getProcessor() {
+        return hardware.getProcessor();
+    }
+
+    /**
+     * @return {@link OperatingSystem} of the host, shared with the components reading the agent process
+     */
+    public OperatingSystem getOperatingSystem() {
+        return operatingSystem;
+    }
+
+    /**
+     * @return {@link Snapshot} of the host, taken again if the cached one expired
+     */
+    public synchronized Snapshot get() {
+        if (snapshot == null || nanoTime.getAsLong() - takenAt >= timeToLiveNanos) {
+            return refresh();
+        }
+        return snapshot;
+    }
+
+    /**
+     * @return {@link Snapshot} of the host taken regardless of the cached one
+     */
+    public synchronized Snapshot refresh() {
+        long now = nanoTime.getAsLong();
+        snapshot = new Snapshot(
+                () -> {
+                    GlobalMemory memory = hardware.getMemory();
+                    return new long[]{memory.getTotal(), memory.getAvailable()};
+                },
+                hardware::getDiskStores,
+                () -> operatingSystem.getFileSystem().getFileStores(true),
+                () -> operatingSystem.getInternetProtocolStats().getConnections(),
+                operatingSystem::getProcesses,
+                operatingSystem::getSessions);
+        takenAt = now;
+        return snapshot;
+    }
+
+    /**
+     * State of the host at a point in time. Each part of the host is only read when it is first requested, and then
+     * kept for the lifetime of the snapshot, so a collector only pays for the parts it reads.
+     */
+    public static final class Snapshot {
+        private final Part<long[]> memory;
+        private final Part<List<HWDiskStore>> diskStores;
+        private final Part<List<OSFileStore>> fileStores;
+        private final Part<List<InternetProtocolStats.IPConnection>> connections;
+        private final Part<List<OSProcess>> processes;
+        private final Part<List<OSSession>> sessions;
+
+        private Snapshot(Supplier<long[]> memory, Supplier<List<HWDiskStore>> diskStores,
+                         Supplier<List<OSFileStore>> fileStores,
+                         Supplier<List<InternetProtocolStats.IPConnection>> connections,
+                         Supplier<List<OSProcess>> processes, Supplier<List<OSSession>> sessions) {
+            this.memory = new Part<>(memory);
+            this.diskStores = new Part<>(() -> List.copyOf(diskStores.get()));
+            this.fileStores = new Part<>(() -> List.copyOf(fileStores.get()));
+            this.connections = new Part<>(() -> List.copyOf(connections.get()));
+            this.processes = new Part<>(() -> List.copyOf(processes.get()));
+            this.sessions = new Part<>(() -> List.copyOf(sessions.get()));
+        }
+
+        /**
+         * @return total memory of the host in bytes
+         */
+        public long getMemoryTotal() {
+            return memory.get()[0];
+        }
+
+        /**
+         * @return available memory of the host in bytes
+         */
+        public long getMemoryAvailable() {
+            return memory.get()[1];
+        }
+
+        /**
+         * @return disk stores of the host
+         */
+        public List<HWDiskStore> getDiskStores() {
+            return diskStores.get();
+        }
+
+        /**
+         * @return local file stores of the host
+         */
+        public List<OSFileStore> getFileStores() {
+            return fileStores.get();
+        }
+
+        /**
+         * @return network connections of the host
+         */
+        public List<InternetProtocolStats.IPConnection> getConnections() {
+            return connections.get();
+        }
+
+        /**
+         * @return running processes of the host
+         */
+        public List<OSProcess> getProcesses() {
+            return processes.get();
+        }
+
+        /**
+         * @return active sessions of the host
+         */
+        public List<OSSession> getSessions() {
+            return sessions.get();
+        }
+    }
+
+    private static final class Part<T> {
+        private final Supplier<T> reader;
+        private T value;
+
+        private Part(Supplier<T> reader) {
+            this.reader = reader;
+        }
+
+        private synchronized T get() {
+            if (value == null) {
+                value = reader.get();
+            }
+            return value;
+        }
+    }
+}
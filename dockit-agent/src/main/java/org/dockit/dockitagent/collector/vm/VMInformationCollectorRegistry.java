@@ -1,6 +1,9 @@
 package org.dockit.dockitagent.collector.vm;
 
 import org.dockit.dockitagent.collector.Collector;
+import org.dockit.dockitagent.collector.vm.collectors.ProcCpuUsageCollector;
+import org.dockit.dockitagent.collector.vm.collectors.ProcFileSystemCollector;
+import org.dockit.dockitagent.collector.vm.collectors.ProcMemoryResourcesCollector;
 import org.dockit.dockitagent.collector.vm.collectors.VmCpuUsageCollector;
 import org.dockit.dockitagent.collector.vm.collectors.VmDiskUsageCollector;
 import org.dockit.dockitagent.collector.vm.collectors.VmFileSystemCollector;
@@ -10,6 +13,7 @@ import org.dockit.dockitagent.collector.vm.collectors.VmProcessesCollector;
 import org.dockit.dockitagent.collector.vm.collectors.VmUsersCollector;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * Registry class that contains all the collectors for instantiation later on.
@@ -24,4 +28,13 @@ public final class VMInformationCollectorRegistry {
             VmProcessesCollector.class,
             VmUsersCollector.class
     );
+
+    /**
+     * Linux fast path collectors reading /proc directly, replacing the oshi collectors they are mapped from
+     */
+    public static final Map<Class<? extends Collector>, Class<? extends Collector>> linuxVmCollectors = Map.of(
+            VmCpuUsageCollector.class, ProcCpuUsageCollector.class,
+            VmFileSystemCollector.class, ProcFileSystemCollector.class,
+            VmMemoryResourcesCollector.class, ProcMemoryResourcesCollector.class
+    );
 }
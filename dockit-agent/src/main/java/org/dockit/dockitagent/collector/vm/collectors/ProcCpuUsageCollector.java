@@ -0,0 +1,132 @@
+package org.dockit.dockitagent.collector.vm.collectors;
+
+import com.google.gson.Gson;
+import org.dockit.dockitagent.collector.Collector;
+import org.dockit.dockitagent.collector.utils.ProcFileReader;
+import org.dockit.dockitagent.collector.vm.collectors.constants.VmCollectorConstants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Linux fast path of {@link VmCpuUsageCollector}, reads the tick counters from /proc/stat and the load averages from
+ * /proc/loadavg directly
+ */
+public class ProcCpuUsageCollector implements Collector {
+    private static final Logger logger = LoggerFactory.getLogger(ProcCpuUsageCollector.class);
+    private static final String STAT = "stat";
+    private static final String LOAD_AVERAGE = "loadavg";
+    private static final String CPU_PREFIX = "cpu";
+    private static final int LOAD_AVERAGES = 3;
+    // user, nice, system, idle, iowait, irq, softirq and steal, guest time is already counted in user and nice
+    private static final int TICK_FIELDS = 8;
+    private static final int IDLE = 3;
+    private static final int IOWAIT = 4;
+
+    private final Path stat;
+    private final Path loadAverage;
+    private final ProcFileReader reader = new ProcFileReader();
+
+    // Total and idle ticks of the system followed by those of each logical processor
+    private long[] previousTotal = new long[0];
+    private long[] previousIdle = new long[0];
+
+    /**
+     * The tick counters are read once here, so the first collection covers the time since the initialisation
+     */
+    public ProcCpuUsageCollector() {
+        this(Path.of("/proc"));
+    }
+
+    ProcCpuUsageCollector(Path procRoot) {
+        this.stat = procRoot.resolve(STAT);
+        this.loadAverage = procRoot.resolve(LOAD_AVERAGE);
+        try {
+            readTicks();
+        } catch (IOException e) {
+            logger.warn("Could not read the cpu ticks: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Collect cpu load of the system and of each logical processor since the previous collection, along with the
+     * 1, 5 and 15 minute load averages
+     *
+     * @return JSON representation of collected data in string format, null if /proc could not be read
+     */
+    @Override
+    public synchronized String collect() {
+        try {
+            long[] lastTotal = previousTotal;
+            long[] lastIdle = previousIdle;
+            readTicks();
+
+            List<Double> coreLoad = new ArrayList<>(previousTotal.length);
+            for (int i = 1; i < previousTotal.length; i++) {
+                coreLoad.add(i < lastTotal.length
+                        ? load(lastTotal[i], lastIdle[i], previousTotal[i], previousIdle[i])
+                        : 0d);
+            }
+            double cpuLoad = lastTotal.length > 0
+                    ? load(lastTotal[0], lastIdle[0], previousTotal[0], previousIdle[0])
+                    : 0d;
+
+            Gson gson = new Gson();
+            Map<String, ?> data = Map.of(
+                    VmCollectorConstants.CPU_LOAD, cpuLoad,
+                    VmCollectorConstants.CPU_CORE_LOAD, coreLoad,
+                    VmCollectorConstants.CPU_LOAD_AVERAGE, readLoadAverages()
+            );
+            return gson.toJson(data);
+        } catch (IOException e) {
+            logger.error("Could not read the cpu usage from /proc: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private void readTicks() throws IOException {
+        reader.read(stat);
+        long[] total = new long[previousTotal.length];
+        long[] idle = new long[previousIdle.length];
+        int count = 0;
+        while (reader.hasMore() && reader.startsWith(CPU_PREFIX)) {
+            if (count == total.length) {
+                total = Arrays.copyOf(total, count + 1);
+                idle = Arrays.copyOf(idle, count + 1);
+            }
+            reader.skipToken();
+            for (int field = 0; field < TICK_FIELDS && reader.hasToken(); field++) {
+                long ticks = reader.nextLong();
+                total[count] += ticks;
+                if (field == IDLE || field == IOWAIT) {
+                    idle[count] += ticks;
+                }
+            }
+            count++;
+            reader.nextLine();
+        }
+        previousTotal = Arrays.copyOf(total, count);
+        previousIdle = Arrays.copyOf(idle, count);
+    }
+
+    private List<Double> readLoadAverages() throws IOException {
+        reader.read(loadAverage);
+        List<Double> loadAverages = new ArrayList<>(LOAD_AVERAGES);
+        for (int i = 0; i < LOAD_AVERAGES; i++) {
+            loadAverages.add(reader.nextDecimal());
+        }
+        return loadAverages;
+    }
+
+    private static double load(long previousTotal, long previousIdle, long total, long idle) {
+        long totalDelta = total - previousTotal;
+        long idleDelta = idle - previousIdle;
+        return totalDelta > 0 && idleDelta >= 0 ? (double) (totalDelta - idleDelta) / totalDelta : 0d;
+    }
+}
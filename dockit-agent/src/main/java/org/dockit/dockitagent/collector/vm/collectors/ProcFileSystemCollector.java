@@ -0,0 +1,87 @@
+package org.dockit.dockitagent.collector.vm.collectors;
+
+import com.google.gson.Gson;
+import org.dockit.dockitagent.collector.Collector;
+import org.dockit.dockitagent.collector.utils.InformationBuilderHelper;
+import org.dockit.dockitagent.collector.utils.ProcFileReader;
+import org.dockit.dockitagent.collector.vm.collectors.constants.VmCollectorConstants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Linux fast path of {@link VmFileSystemCollector}, reads the mounted file systems from /proc/mounts directly and
+ * their space through statvfs
+ */
+public class ProcFileSystemCollector implements Collector {
+    private static final Logger logger = LoggerFactory.getLogger(ProcFileSystemCollector.class);
+    private static final String MOUNTS = "mounts";
+    // Pseudo and network file systems, skipped like the non local file stores of oshi
+    private static final Set<String> SKIPPED_TYPES = Set.of(
+            "autofs", "binfmt_misc", "bpf", "cgroup", "cgroup2", "cifs", "configfs", "debugfs", "devpts", "devtmpfs",
+            "efivarfs", "fusectl", "hugetlbfs", "mqueue", "ncpfs", "nfs", "nfs4", "nfsd", "nsfs", "proc", "pstore",
+            "ramfs", "rpc_pipefs", "securityfs", "selinuxfs", "smbfs", "squashfs", "sysfs", "tmpfs", "tracefs");
+
+    private final Path mounts;
+    private final ProcFileReader reader = new ProcFileReader();
+
+    public ProcFileSystemCollector() {
+        this(Path.of("/proc"));
+    }
+
+    ProcFileSystemCollector(Path procRoot) {
+        this.mounts = procRoot.resolve(MOUNTS);
+    }
+
+    /**
+     * Collect total and free space for each local file system mounted in the system
+     *
+     * @return JSON representation of the collected data in string format, null if /proc could not be read
+     */
+    @Override
+    public synchronized String collect() {
+        List<String> mountPoints = new ArrayList<>();
+        try {
+            reader.read(mounts);
+            Set<String> seen = new HashSet<>();
+            while (reader.hasMore()) {
+                reader.skipToken();
+                String mountPoint = reader.nextToken();
+                String type = reader.nextToken();
+                if (!SKIPPED_TYPES.contains(type) && seen.add(mountPoint)) {
+                    mountPoints.add(mountPoint);
+                }
+                reader.nextLine();
+            }
+        } catch (IOException e) {
+            logger.error("Could not read the mounted file systems from /proc: {}", e.getMessage());
+            return null;
+        }
+
+        Gson gson = new Gson();
+        List<String> fileStoreInformation = new ArrayList<>(mountPoints.size());
+        for (String mountPoint : mountPoints) {
+            // Both are read through statvfs, 0 if the mount point is not accessible
+            File file = new File(mountPoint);
+            long totalSpace = file.getTotalSpace();
+            if (totalSpace == 0) {
+                continue;
+            }
+            Map<String, ?> data = Map.of(
+                    VmCollectorConstants.FILE_SYSTEM_NAME, mountPoint,
+                    VmCollectorConstants.FILE_SYSTEM_TOTAL_SPACE, totalSpace,
+                    VmCollectorConstants.FILE_SYSTEM_FREE_SPACE, file.getFreeSpace()
+            );
+            fileStoreInformation.add(gson.toJson(data));
+        }
+        return InformationBuilderHelper.build(fileStoreInformation);
+    }
+}
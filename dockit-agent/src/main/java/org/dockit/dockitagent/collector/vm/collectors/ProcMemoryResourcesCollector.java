@@ -0,0 +1,70 @@
+package org.dockit.dockitagent.collector.vm.collectors;
+
+import com.google.gson.Gson;
+import org.dockit.dockitagent.collector.Collector;
+import org.dockit.dockitagent.collector.utils.ProcFileReader;
+import org.dockit.dockitagent.collector.vm.collectors.constants.VmCollectorConstants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * Linux fast path of {@link VmMemoryResourcesCollector}, reads the memory of the system from /proc/meminfo directly
+ */
+public class ProcMemoryResourcesCollector implements Collector {
+    private static final Logger logger = LoggerFactory.getLogger(ProcMemoryResourcesCollector.class);
+    private static final String MEMORY_INFO = "meminfo";
+    private static final String MEMORY_TOTAL = "MemTotal:";
+    private static final String MEMORY_AVAILABLE = "MemAvailable:";
+    private static final long KILOBYTE = 1024;
+
+    private final Path memoryInfo;
+    private final ProcFileReader reader = new ProcFileReader();
+
+    public ProcMemoryResourcesCollector() {
+        this(Path.of("/proc"));
+    }
+
+    ProcMemoryResourcesCollector(Path procRoot) {
+        this.memoryInfo = procRoot.resolve(MEMORY_INFO);
+    }
+
+    /**
+     * Collect total and available memory in bytes
+     *
+     * @return JSON representation of collected data in string format, null if /proc could not be read
+     */
+    @Override
+    public synchronized String collect() {
+        long total = -1;
+        long available = -1;
+        try {
+            reader.read(memoryInfo);
+            while (reader.hasMore() && (total < 0 || available < 0)) {
+                if (reader.nextTokenEquals(MEMORY_TOTAL)) {
+                    total = reader.nextLong() * KILOBYTE;
+                } else if (reader.nextTokenEquals(MEMORY_AVAILABLE)) {
+                    available = reader.nextLong() * KILOBYTE;
+                }
+                reader.nextLine();
+            }
+        } catch (IOException e) {
+            logger.error("Could not read the memory usage from /proc: {}", e.getMessage());
+            return null;
+        }
+        if (total < 0 || available < 0) {
+            logger.error("Could not find the total and available memory in /proc/meminfo");
+            return null;
+        }
+
+        Gson gson = new Gson();
+        Map<String, ?> data = Map.of(
+                VmCollectorConstants.MEMORY_TOTAL, total,
+                VmCollectorConstants.MEMORY_AVAILABLE, available
+        );
+        return gson.toJson(data);
+    }
+}
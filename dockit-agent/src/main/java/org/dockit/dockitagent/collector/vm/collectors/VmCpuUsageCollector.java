@@ -1,34 +1,57 @@
 package org.dockit.dockitagent.collector.vm.collectors;
 
 import com.google.gson.Gson;
+import com.google.inject.Inject;
 import org.dockit.dockitagent.collector.Collector;
+import org.dockit.dockitagent.collector.vm.HostInventory;
 import org.dockit.dockitagent.collector.vm.collectors.constants.VmCollectorConstants;
-import oshi.SystemInfo;
 import oshi.hardware.CentralProcessor;
-import oshi.hardware.HardwareAbstractionLayer;
 
+import java.util.Arrays;
 import java.util.Map;
 
 /**
  * Utility class to collect information about the system's CPU usage
  */
 public class VmCpuUsageCollector implements Collector {
-    private static final int DELAY = 500;
+    private static final int LOAD_AVERAGES = 3;
+
+    private final CentralProcessor processor;
+
+    private long[] previousTicks;
+    private long[][] previousProcessorTicks;
+
+    /**
+     * The tick counters are read once here, so the first collection covers the time since the initialisation
+     *
+     * @param hostInventory {@link HostInventory} instance to be injected
+     */
+    @Inject
+    public VmCpuUsageCollector(HostInventory hostInventory) {
+        this.processor = hostInventory.getProcessor();
+        this.previousTicks = processor.getSystemCpuLoadTicks();
+        this.previousProcessorTicks = processor.getProcessorCpuLoadTicks();
+    }
 
     /**
-     * Collect cpu load of the system
+     * Collect cpu load of the system and of each logical processor since the previous collection, along with the
+     * 1, 5 and 15 minute load averages, negative if they are not available on the system
      *
      * @return JSON representation of collected data in string format
      */
     @Override
-    public String collect() {
-        SystemInfo systemInfo = new SystemInfo();
-        HardwareAbstractionLayer hardware = systemInfo.getHardware();
-        CentralProcessor processor = hardware.getProcessor();
+    public synchronized String collect() {
+        double cpuLoad = processor.getSystemCpuLoadBetweenTicks(previousTicks);
+        double[] coreLoad = processor.getProcessorCpuLoadBetweenTicks(previousProcessorTicks);
+        previousTicks = processor.getSystemCpuLoadTicks();
+        previousProcessorTicks = processor.getProcessorCpuLoadTicks();
+
         Gson gson = new Gson();
         Map<String, ?> data = Map.of(
-                // Delay is the milliseconds to wait
-                VmCollectorConstants.CPU_LOAD, processor.getSystemCpuLoad(DELAY)
+                VmCollectorConstants.CPU_LOAD, cpuLoad,
+                VmCollectorConstants.CPU_CORE_LOAD, Arrays.stream(coreLoad).boxed().toList(),
+                VmCollectorConstants.CPU_LOAD_AVERAGE,
+                Arrays.stream(processor.getSystemLoadAverage(LOAD_AVERAGES)).boxed().toList()
         );
         return gson.toJson(data);
     }
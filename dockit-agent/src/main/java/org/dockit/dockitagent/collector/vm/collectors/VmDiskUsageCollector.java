@@ -1,12 +1,12 @@
 package org.dockit.dockitagent.collector.vm.collectors;
 
 import com.google.gson.Gson;
+import com.google.inject.Inject;
 import org.dockit.dockitagent.collector.Collector;
 import org.dockit.dockitagent.collector.utils.InformationBuilderHelper;
+import org.dockit.dockitagent.collector.vm.HostInventory;
 import org.dockit.dockitagent.collector.vm.collectors.constants.VmCollectorConstants;
-import oshi.SystemInfo;
 import oshi.hardware.HWDiskStore;
-import oshi.hardware.HardwareAbstractionLayer;
 
 import java.util.List;
 import java.util.Map;
@@ -16,6 +16,16 @@ import java.util.Map;
  */
 public class VmDiskUsageCollector implements Collector {
 
+    private final HostInventory hostInventory;
+
+    /**
+     * @param hostInventory {@link HostInventory} instance to be injected
+     */
+    @Inject
+    public VmDiskUsageCollector(HostInventory hostInventory) {
+        this.hostInventory = hostInventory;
+    }
+
     /**
      * Collect name, size and bytes written/read from the disk.
      *
@@ -23,9 +33,7 @@ public class VmDiskUsageCollector implements Collector {
      */
     @Override
     public String collect() {
-        SystemInfo systemInfo = new SystemInfo();
-        HardwareAbstractionLayer hardware = systemInfo.getHardware();
-        List<HWDiskStore> diskStores = hardware.getDiskStores();
+        List<HWDiskStore> diskStores = hostInventory.get().getDiskStores();
         List<String> diskInformation = diskStores.stream()
                 .map(diskStore -> {
                     Gson gson = new Gson();
@@ -1,13 +1,12 @@
 package org.dockit.dockitagent.collector.vm.collectors;
 
 import com.google.gson.Gson;
+import com.google.inject.Inject;
 import org.dockit.dockitagent.collector.Collector;
 import org.dockit.dockitagent.collector.utils.InformationBuilderHelper;
+import org.dockit.dockitagent.collector.vm.HostInventory;
 import org.dockit.dockitagent.collector.vm.collectors.constants.VmCollectorConstants;
-import oshi.SystemInfo;
-import oshi.software.os.FileSystem;
 import oshi.software.os.OSFileStore;
-import oshi.software.os.OperatingSystem;
 
 import java.util.List;
 import java.util.Map;
@@ -17,6 +16,16 @@ import java.util.Map;
  */
 public class VmFileSystemCollector implements Collector {
 
+    private final HostInventory hostInventory;
+
+    /**
+     * @param hostInventory {@link HostInventory} instance to be injected
+     */
+    @Inject
+    public VmFileSystemCollector(HostInventory hostInventory) {
+        this.hostInventory = hostInventory;
+    }
+
     /**
      * Collect total and free space for each fileStore in the system
      *
@@ -24,10 +33,7 @@ public class VmFileSystemCollector implements Collector {
      */
     @Override
     public String collect() {
-        SystemInfo systemInfo = new SystemInfo();
-        OperatingSystem operatingSystem = systemInfo.getOperatingSystem();
-        FileSystem fileSystem = operatingSystem.getFileSystem();
-        List<OSFileStore> fileStores = fileSystem.getFileStores(true);
+        List<OSFileStore> fileStores = hostInventory.get().getFileStores();
         List<String> fileStoreInformation = fileStores.stream()
                 .map(fileStore -> {
                     Gson gson = new Gson();
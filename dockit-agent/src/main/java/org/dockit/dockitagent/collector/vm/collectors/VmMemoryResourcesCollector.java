@@ -1,11 +1,10 @@
 package org.dockit.dockitagent.collector.vm.collectors;
 
 import com.google.gson.Gson;
+import com.google.inject.Inject;
 import org.dockit.dockitagent.collector.Collector;
+import org.dockit.dockitagent.collector.vm.HostInventory;
 import org.dockit.dockitagent.collector.vm.collectors.constants.VmCollectorConstants;
-import oshi.SystemInfo;
-import oshi.hardware.GlobalMemory;
-import oshi.hardware.HardwareAbstractionLayer;
 
 import java.util.Map;
 
@@ -14,6 +13,16 @@ import java.util.Map;
  */
 public class VmMemoryResourcesCollector implements Collector {
 
+    private final HostInventory hostInventory;
+
+    /**
+     * @param hostInventory {@link HostInventory} instance to be injected
+     */
+    @Inject
+    public VmMemoryResourcesCollector(HostInventory hostInventory) {
+        this.hostInventory = hostInventory;
+    }
+
     /**
      * Collect total and available memory in bytes
      *
@@ -21,14 +30,12 @@ public class VmMemoryResourcesCollector implements Collector {
      */
     @Override
     public String collect() {
-        SystemInfo systemInfo = new SystemInfo();
-        HardwareAbstractionLayer hardware = systemInfo.getHardware();
-        GlobalMemory memory = hardware.getMemory();
+        HostInventory.Snapshot snapshot = hostInventory.get();
 
         Gson gson = new Gson();
         Map<String, ?> data = Map.of(
-                VmCollectorConstants.MEMORY_TOTAL, memory.getTotal(),
-                VmCollectorConstants.MEMORY_AVAILABLE, memory.getAvailable()
+                VmCollectorConstants.MEMORY_TOTAL, snapshot.getMemoryTotal(),
+                VmCollectorConstants.MEMORY_AVAILABLE, snapshot.getMemoryAvailable()
         );
         return gson.toJson(data);
     }
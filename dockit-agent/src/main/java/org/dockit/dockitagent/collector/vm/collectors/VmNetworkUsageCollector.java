@@ -1,35 +1,40 @@
 package org.dockit.dockitagent.collector.vm.collectors;
 
 import com.google.gson.Gson;
-import org.dockit.dockitagent.collector.Collector;
-import org.dockit.dockitagent.collector.utils.InformationBuilderHelper;
+import com.google.inject.Inject;
+import org.dockit.dockitagent.collector.RecordCollector;
+import org.dockit.dockitagent.collector.vm.HostInventory;
 import org.dockit.dockitagent.collector.vm.collectors.constants.VmCollectorConstants;
-import oshi.SystemInfo;
-import oshi.software.os.InternetProtocolStats;
-import oshi.software.os.OperatingSystem;
 
-import java.util.List;
+import java.util.Iterator;
 import java.util.Map;
 
 /**
  * Utility class to collect information about the system's network usage
  */
-public class VmNetworkUsageCollector implements Collector {
+public class VmNetworkUsageCollector implements RecordCollector {
+
+    private final HostInventory hostInventory;
+
+    /**
+     * @param hostInventory {@link HostInventory} instance to be injected
+     */
+    @Inject
+    public VmNetworkUsageCollector(HostInventory hostInventory) {
+        this.hostInventory = hostInventory;
+    }
 
     /**
+     * Collect network connection i    /**
      * Collect network connection information about the system.
      *
-     * @return JSON representation of collected data in string format
+     * @return iterator building the JSON representation of each connection
      */
     @Override
-    public String collect() {
-        SystemInfo systemInfo = new SystemInfo();
-        OperatingSystem operatingSystem = systemInfo.getOperatingSystem();
-        InternetProtocolStats internetProtocolStats = operatingSystem.getInternetProtocolStats();
-        List<InternetProtocolStats.IPConnection> connections = internetProtocolStats.getConnections();
-        List<String> connectionInformation = connections.stream()
+    public Iterator<String> records() {
+        Gson gson = new Gson();
+        return hostInventory.get().getConnections().stream()
                 .map(connection -> {
-                    Gson gson = new Gson();
                     Map<String, ?> data = Map.of(
                             VmCollectorConstants.NETWORK_PID, connection.getowningProcessId(),
                             VmCollectorConstants.NETWORK_FOREIGN_ADDRESS, connection.getForeignAddress(),
@@ -39,7 +44,7 @@ public class VmNetworkUsageCollector implements Collector {
                             VmCollectorConstants.NETWORK_TYPE, connection.getType()
                     );
                     return gson.toJson(data);
-                }).toList();
-        return InformationBuilderHelper.build(connectionInformation);
+                })
+                .iterator();
     }
 }
@@ -1,34 +1,40 @@
 package org.dockit.dockitagent.collector.vm.collectors;
 
 import com.google.gson.Gson;
-import org.dockit.dockitagent.collector.Collector;
-import org.dockit.dockitagent.collector.utils.InformationBuilderHelper;
+import com.google.inject.Inject;
+import org.dockit.dockitagent.collector.RecordCollector;
+import org.dockit.dockitagent.collector.vm.HostInventory;
 import org.dockit.dockitagent.collector.vm.collectors.constants.VmCollectorConstants;
-import oshi.SystemInfo;
-import oshi.software.os.OSProcess;
-import oshi.software.os.OperatingSystem;
 
-import java.util.List;
+import java.util.Iterator;
 import java.util.Map;
 
 /**
  * Utility class to collect information about the system's processes
  */
-public class VmProcessesCollector implements Collector {
+public class VmProcessesCollector implements RecordCollector {
+
+    private final HostInventory hostInventory;
+
+    /**
+     * @param hostInventory {@link HostInventory} instance to be injected
+     */
+    @Inject
+    public VmProcessesCollector(HostInventory hostInventory) {
+        this.hostInventory = hostInventory;
+    }
 
     /**
+     * Collect running     /**
      * Collect running processes and information about them in the system
      *
-     * @return JSON representation of collected data in string format
+     * @return iterator building the JSON representation of each process
      */
     @Override
-    public String collect() {
-        SystemInfo systemInfo = new SystemInfo();
-        OperatingSystem operatingSystem = systemInfo.getOperatingSystem();
-        List<OSProcess> processes = operatingSystem.getProcesses();
-        List<String> processInformation = processes.stream()
+    public Iterator<String> records() {
+        Gson gson = new Gson();
+        return hostInventory.get().getProcesses().stream()
                 .map(process -> {
-                    Gson gson = new Gson();
                     Map<String, ?> data = Map.of(
                             VmCollectorConstants.PROCESS_USER, process.getUser(),
                             VmCollectorConstants.PROCESS_PID, process.getProcessID(),
@@ -36,8 +42,7 @@ public class VmProcessesCollector implements Collector {
                             VmCollectorConstants.PROCESS_UP_TIME, process.getUpTime()
                     );
                     return gson.toJson(data);
-                        })
-                .toList();
-        return InformationBuilderHelper.build(processInformation);
+                })
+                .iterator();
     }
 }
@@ -1,12 +1,12 @@
 package org.dockit.dockitagent.collector.vm.collectors;
 
 import com.google.gson.Gson;
+import com.google.inject.Inject;
 import org.dockit.dockitagent.collector.Collector;
 import org.dockit.dockitagent.collector.utils.InformationBuilderHelper;
+import org.dockit.dockitagent.collector.vm.HostInventory;
 import org.dockit.dockitagent.collector.vm.collectors.constants.VmCollectorConstants;
-import oshi.SystemInfo;
 import oshi.software.os.OSSession;
-import oshi.software.os.OperatingSystem;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -17,6 +17,16 @@ import java.util.Map;
  */
 public class VmUsersCollector implements Collector {
 
+    private final HostInventory hostInventory;
+
+    /**
+     * @param hostInventory {@link HostInventory} instance to be injected
+     */
+    @Inject
+    public VmUsersCollector(HostInventory hostInventory) {
+        this.hostInventory = hostInventory;
+    }
+
     /**
      * Collect information about the active sessions in the system
      *
@@ -24,9 +34,7 @@ public class VmUsersCollector implements Collector {
      */
     @Override
     public String collect() {
-        SystemInfo systemInfo = new SystemInfo();
-        OperatingSystem operatingSystem = systemInfo.getOperatingSystem();
-        List<OSSession> sessions = operatingSystem.getSessions();
+        List<OSSession> sessions = hostInventory.get().getSessions();
         List<String> sessionInformation = new ArrayList<>();
         sessions.forEach(session -> {
                     Gson gson = new Gson();
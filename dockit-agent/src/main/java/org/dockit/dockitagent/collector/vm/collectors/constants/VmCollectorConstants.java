@@ -2,6 +2,8 @@ package org.dockit.dockitagent.collector.vm.collectors.constants;
 
 public final class VmCollectorConstants {
     public static final String CPU_LOAD = "cpu_load";
+    public static final String CPU_CORE_LOAD = "core_load";
+    public static final String CPU_LOAD_AVERAGE = "load_average";
     public static final String DISK_STORE_NAME = "name";
     public static final String DISK_STORE_SIZE = "size";
     public static final String DISK_STORE_READ = "read_bytes";
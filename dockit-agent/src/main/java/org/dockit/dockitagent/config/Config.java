@@ -2,6 +2,7 @@ package org.dockit.dockitagent.config;
 
 
 import java.time.ZoneId;
+import java.util.Map;
 
 /**
  * Singleton configuration enum for config information of the agent.
@@ -20,6 +21,36 @@ public enum Config {
     private String DOCKER_URL;
     private String SERVER_URL;
     private String VM_ID;
+    private boolean BATCH;
+    private String SPOOL_PATH;
+    private int SPOOL_SIZE;
+    private int HTTP_TIMEOUT;
+    private int HTTP_THREADS;
+    private int PROBE_INTERVAL;
+    private int DOCKER_PARALLELISM;
+    private int DOCKER_DEADLINE;
+    private boolean DOCKER_EVENTS;
+    private boolean DOCKER_STATS_STREAM;
+    private boolean LINUX_FAST_PATH;
+    private boolean CHANGE_ONLY;
+    private int KEYFRAME_INTERVAL;
+    private boolean BINARY_FORMAT;
+    private boolean COMPRESS_PAYLOAD;
+    private boolean STREAM_AUDITS;
+    private Map<String, Integer> INTERVALS;
+    private boolean RANDOM_START;
+    private int JITTER;
+    private int OVERHEAD_BUDGET;
+    private int MEMORY_BUDGET;
+    private int LOAD_THRESHOLD;
+    private int MAX_STRETCH;
+    private boolean AGGREGATE_METRICS;
+    private int SAMPLE_INTERVAL;
+    private boolean AGGREGATE_PERCENTILE;
+    private boolean EDGE_ALERTS;
+    private String HISTORY_PATH;
+    private int HISTORY_MINUTES;
+    private int HISTORY_SIZE;
 
     /**
      * @return an instance of {@link Config}
@@ -42,6 +73,14 @@ public enum Config {
         this.INTERVAL = INTERVAL;
     }
 
+    /**
+     * @param category category of the audits
+     * @return audit request interval of the category, or the audit request interval if it does not have its own
+     */
+    public int getINTERVAL(String category) {
+        return category == null ? INTERVAL : INTERVALS.getOrDefault(category, INTERVAL);
+    }
+
     /**
      * @return if Docker information should be audited or not
      */
@@ -184,4 +223,427 @@ public enum Config {
     void setVM_ID(String VM_ID) {
         this.VM_ID = VM_ID;
     }
+
+    /**
+     * @return if the audits of a tick should be sent to the server in a single batch request
+     */
+    public boolean isBATCH() {
+        return BATCH;
+    }
+
+    /**
+     * @param BATCH set true to send the audits of a tick in a single batch request, false to send them one by one
+     */
+    void setBATCH(boolean BATCH) {
+        this.BATCH = BATCH;
+    }
+
+    /**
+     * @return directory to spool the collected audits in before uploading them, null if spooling is disabled
+     */
+    public String getSPOOL_PATH() {
+        return SPOOL_PATH;
+    }
+
+    /**
+     * @param SPOOL_PATH directory to spool the collected audits in, null to disable spooling
+     */
+    void setSPOOL_PATH(String SPOOL_PATH) {
+        this.SPOOL_PATH = SPOOL_PATH;
+    }
+
+    /**
+     * @return maximum size of the spool in megabytes
+     */
+    public int getSPOOL_SIZE() {
+        return SPOOL_SIZE;
+    }
+
+    /**
+     * @param SPOOL_SIZE maximum size of the spool in megabytes
+     */
+    void setSPOOL_SIZE(int SPOOL_SIZE) {
+        this.SPOOL_SIZE = SPOOL_SIZE;
+    }
+
+    /**
+     * @return timeout for the http requests in seconds
+     */
+    public int getHTTP_TIMEOUT() {
+        return HTTP_TIMEOUT;
+    }
+
+    /**
+     * @param HTTP_TIMEOUT timeout for the http requests in seconds
+     */
+    void setHTTP_TIMEOUT(int HTTP_TIMEOUT) {
+        this.HTTP_TIMEOUT = HTTP_TIMEOUT;
+    }
+
+    /**
+     * @return amount of threads used by each http client
+     */
+    public int getHTTP_THREADS() {
+        return HTTP_THREADS;
+    }
+
+    /**
+     * @param HTTP_THREADS amount of threads used by each http client
+     */
+    void setHTTP_THREADS(int HTTP_THREADS) {
+        this.HTTP_THREADS = HTTP_THREADS;
+    }
+
+    /**
+     * @return seconds to wait before probing the server again after the requests to it failed
+     */
+    public int getPROBE_INTERVAL() {
+        return PROBE_INTERVAL;
+    }
+
+    /**
+     * @param PROBE_INTERVAL seconds to wait before probing the server again after the requests to it failed
+     */
+    void setPROBE_INTERVAL(int PROBE_INTERVAL) {
+        this.PROBE_INTERVAL = PROBE_INTERVAL;
+    }
+
+    /**
+     * @return maximum amount of concurrent requests sent to the docker engine api by a collector
+     */
+    public int getDOCKER_PARALLELISM() {
+        return DOCKER_PARALLELISM;
+    }
+
+    /**
+     * @param DOCKER_PARALLELISM maximum amount of concurrent requests sent to the docker engine api by a collector
+     */
+    void setDOCKER_PARALLELISM(int DOCKER_PARALLELISM) {
+        this.DOCKER_PARALLELISM = DOCKER_PARALLELISM;
+    }
+
+    /**
+     * @return seconds a docker collector waits for the per container requests
+     */
+    public int getDOCKER_DEADLINE() {
+        return DOCKER_DEADLINE;
+    }
+
+    /**
+     * @param DOCKER_DEADLINE seconds a docker collector waits for the per container requests
+     */
+    void setDOCKER_DEADLINE(int DOCKER_DEADLINE) {
+        this.DOCKER_DEADLINE = DOCKER_DEADLINE;
+    }
+
+    /**
+     * @return if the container inventory should be kept up to date by subscribing to the docker events
+     */
+    public boolean isDOCKER_EVENTS() {
+        return DOCKER_EVENTS;
+    }
+
+    /**
+     * @param DOCKER_EVENTS set true to keep the container inventory up to date by subscribing to the docker events
+     */
+    void setDOCKER_EVENTS(boolean DOCKER_EVENTS) {
+        this.DOCKER_EVENTS = DOCKER_EVENTS;
+    }
+
+    /**
+     * @return if the container resource usage should be computed from streamed stats instead of requested every tick
+     */
+    public boolean isDOCKER_STATS_STREAM() {
+        return DOCKER_STATS_STREAM;
+    }
+
+    /**
+     * @param DOCKER_STATS_STREAM set true to compute the container resource usage from streamed stats
+     */
+    void setDOCKER_STATS_STREAM(boolean DOCKER_STATS_STREAM) {
+        this.DOCKER_STATS_STREAM = DOCKER_STATS_STREAM;
+    }
+
+    /**
+     * @return if the cpu, memory and file system usage should be read directly from /proc and cgroup v2 on linux
+     */
+    public boolean isLINUX_FAST_PATH() {
+        return LINUX_FAST_PATH;
+    }
+
+    /**
+     * @param LINUX_FAST_PATH set true to read the usage from /proc and cgroup v2 instead of oshi and the docker api
+     */
+    void setLINUX_FAST_PATH(boolean LINUX_FAST_PATH) {
+        this.LINUX_FAST_PATH = LINUX_FAST_PATH;
+    }
+
+    /**
+     * @return if only the changes since the previous audit of a category should be sent
+     */
+    public boolean isCHANGE_ONLY() {
+        return CHANGE_ONLY;
+    }
+
+    /**
+     * @param CHANGE_ONLY set true to send unchanged heartbeats and deltas instead of the full audits
+     */
+    void setCHANGE_ONLY(boolean CHANGE_ONLY) {
+        this.CHANGE_ONLY = CHANGE_ONLY;
+    }
+
+    /**
+     * @return amount of audits of a category after which the full data is sent again even if it did not change
+     */
+    public int getKEYFRAME_INTERVAL() {
+        return KEYFRAME_INTERVAL;
+    }
+
+    /**
+     * @param KEYFRAME_INTERVAL amount of audits of a category after which the full data is sent again
+     */
+    void setKEYFRAME_INTERVAL(int KEYFRAME_INTERVAL) {
+        this.KEYFRAME_INTERVAL = KEYFRAME_INTERVAL;
+    }
+
+    /**
+     * @return if the audits should be sent to the server in the compact binary format
+     */
+    public boolean isBINARY_FORMAT() {
+        return BINARY_FORMAT;
+    }
+
+    /**
+     * @param BINARY_FORMAT set true to send length prefixed binary records instead of json
+     */
+    void setBINARY_FORMAT(boolean BINARY_FORMAT) {
+        this.BINARY_FORMAT = BINARY_FORMAT;
+    }
+
+    /**
+     * @return if the audit payloads should be compressed with deflate before they are encrypted
+     */
+    public boolean isCOMPRESS_PAYLOAD() {
+        return COMPRESS_PAYLOAD;
+    }
+
+    /**
+     * @param COMPRESS_PAYLOAD set true to compress the audit payloads before encrypting them
+     */
+    void setCOMPRESS_PAYLOAD(boolean COMPRESS_PAYLOAD) {
+        this.COMPRESS_PAYLOAD = COMPRESS_PAYLOAD;
+    }
+
+    /**
+     * @return if the audits of the collectors producing records should be streamed to the server
+     */
+    public boolean isSTREAM_AUDITS() {
+        return STREAM_AUDITS;
+    }
+
+    /**
+     * @param STREAM_AUDITS set true to stream the audits to the server instead of building them in memory
+     */
+    void setSTREAM_AUDITS(boolean STREAM_AUDITS) {
+        this.STREAM_AUDITS = STREAM_AUDITS;
+    }
+
+    /**
+     * @return audit request intervals in seconds mapped to the categories which do not use the default interval
+     */
+    public Map<String, Integer> getINTERVALS() {
+        return INTERVALS;
+    }
+
+    /**
+     * @param INTERVALS audit request intervals in seconds of the categories which do not use the default interval
+     */
+    void setINTERVALS(Map<String, Integer> INTERVALS) {
+        this.INTERVALS = INTERVALS;
+    }
+
+    /**
+     * @return if the first audit of each category should be sent after a random part of its interval
+     */
+    public boolean isRANDOM_START() {
+        return RANDOM_START;
+    }
+
+    /**
+     * @param RANDOM_START set true to delay the first audit of each category by a random part of its interval
+     */
+    void setRANDOM_START(boolean RANDOM_START) {
+        this.RANDOM_START = RANDOM_START;
+    }
+
+    /**
+     * @return percentage of the interval by which each audit request is randomly moved earlier or later
+     */
+    public int getJITTER() {
+        return JITTER;
+    }
+
+    /**
+     * @param JITTER percentage of the interval by which each audit request is randomly moved
+     */
+    void setJITTER(int JITTER) {
+        this.JITTER = JITTER;
+    }
+
+    /**
+     * @return percentage of a single cpu the agent may use before the intervals of its expensive collectors are
+     * stretched, 0 if not limited
+     */
+    public int getOVERHEAD_BUDGET() {
+        return OVERHEAD_BUDGET;
+    }
+
+    /**
+     * @param OVERHEAD_BUDGET percentage of a single cpu the agent may use, 0 to not limit it
+     */
+    void setOVERHEAD_BUDGET(int OVERHEAD_BUDGET) {
+        this.OVERHEAD_BUDGET = OVERHEAD_BUDGET;
+    }
+
+    /**
+     * @return resident memory in megabytes the agent may use before the intervals of its expensive collectors are
+     * stretched, 0 if not limited
+     */
+    public int getMEMORY_BUDGET() {
+        return MEMORY_BUDGET;
+    }
+
+    /**
+     * @param MEMORY_BUDGET resident memory in megabytes the agent may use, 0 to not limit it
+     */
+    void setMEMORY_BUDGET(int MEMORY_BUDGET) {
+        this.MEMORY_BUDGET = MEMORY_BUDGET;
+    }
+
+    /**
+     * @return cpu load percentage of the host above which the intervals of the expensive collectors are stretched,
+     * 0 if not limited
+     */
+    public int getLOAD_THRESHOLD() {
+        return LOAD_THRESHOLD;
+    }
+
+    /**
+     * @param LOAD_THRESHOLD cpu load percentage of the host above which the collections are slowed down
+     */
+    void setLOAD_THRESHOLD(int LOAD_THRESHOLD) {
+        this.LOAD_THRESHOLD = LOAD_THRESHOLD;
+    }
+
+    /**
+     * @return maximum factor by which the interval of a collector is stretched under load
+     */
+    public int getMAX_STRETCH() {
+        return MAX_STRETCH;
+    }
+
+    /**
+     * @param MAX_STRETCH maximum factor by which the interval of a collector is stretched
+     */
+    void setMAX_STRETCH(int MAX_STRETCH) {
+        this.MAX_STRETCH = MAX_STRETCH;
+    }
+
+    /**
+     * @return if the numeric metrics should be sampled between the audits and sent aggregated over the interval
+     */
+    public boolean isAGGREGATE_METRICS() {
+        return AGGREGATE_METRICS;
+    }
+
+    /**
+     * @param AGGREGATE_METRICS set true to send the numeric metrics aggregated over the samples of each interval
+     */
+    void setAGGREGATE_METRICS(boolean AGGREGATE_METRICS) {
+        this.AGGREGATE_METRICS = AGGREGATE_METRICS;
+    }
+
+    /**
+     * @return interval between the samples of the aggregated metrics in seconds
+     */
+    public int getSAMPLE_INTERVAL() {
+        return SAMPLE_INTERVAL;
+    }
+
+    /**
+     * @param SAMPLE_INTERVAL interval between the samples of the aggregated metrics in seconds
+     */
+    void setSAMPLE_INTERVAL(int SAMPLE_INTERVAL) {
+        this.SAMPLE_INTERVAL = SAMPLE_INTERVAL;
+    }
+
+    /**
+     * @return if the 95th percentile should be sent along with the aggregated metrics
+     */
+    public boolean isAGGREGATE_PERCENTILE() {
+        return AGGREGATE_PERCENTILE;
+    }
+
+    /**
+     * @param AGGREGATE_PERCENTILE set true to send the 95th percentile of the aggregated metrics
+     */
+    void setAGGREGATE_PERCENTILE(boolean AGGREGATE_PERCENTILE) {
+        this.AGGREGATE_PERCENTILE = AGGREGATE_PERCENTILE;
+    }
+
+    /**
+     * @return if the alert thresholds should be evaluated on the agent and breaches signalled to the server directly
+     */
+    public boolean isEDGE_ALERTS() {
+        return EDGE_ALERTS;
+    }
+
+    /**
+     * @param EDGE_ALERTS set true to evaluate the alert thresholds on the agent
+     */
+    void setEDGE_ALERTS(boolean EDGE_ALERTS) {
+        this.EDGE_ALERTS = EDGE_ALERTS;
+    }
+
+    /**
+     * @return directory to keep the history of the sampled metrics in, null if the history is disabled
+     */
+    public String getHISTORY_PATH() {
+        return HISTORY_PATH;
+    }
+
+    /**
+     * @param HISTORY_PATH directory to keep the history of the sampled metrics in, null to disable the history
+     */
+    void setHISTORY_PATH(String HISTORY_PATH) {
+        this.HISTORY_PATH = HISTORY_PATH;
+    }
+
+    /**
+     * @return minutes of sampled metrics kept in the history
+     */
+    public int getHISTORY_MINUTES() {
+        return HISTORY_MINUTES;
+    }
+
+    /**
+     * @param HISTORY_MINUTES minutes of sampled metrics kept in the history
+     */
+    void setHISTORY_MINUTES(int HISTORY_MINUTES) {
+        this.HISTORY_MINUTES = HISTORY_MINUTES;
+    }
+
+    /**
+     * @return maximum size of the history in megabytes
+     */
+    public int getHISTORY_SIZE() {
+        return HISTORY_SIZE;
+    }
+
+    /**
+     * @param HISTORY_SIZE maximum size of the history in megabytes
+     */
+    void setHISTORY_SIZE(int HISTORY_SIZE) {
+        this.HISTORY_SIZE = HISTORY_SIZE;
+    }
 }
@@ -15,5 +15,35 @@ public final class ConfigConstants {
     public static final String DOCKER_URL = "docker_url";
     public static final String SERVER_URL = "server_url";
     public static final String VM_ID = "vm_id";
+    public static final String BATCH = "batch";
+    public static final String SPOOL_PATH = "spool_path";
+    public static final String SPOOL_SIZE = "spool_size";
+    public static final String HTTP_TIMEOUT = "http_timeout";
+    public static final String HTTP_THREADS = "http_threads";
+    public static final String PROBE_INTERVAL = "probe_interval";
+    public static final String DOCKER_PARALLELISM = "docker_parallelism";
+    public static final String DOCKER_DEADLINE = "docker_deadline";
+    public static final String DOCKER_EVENTS = "docker_events";
+    public static final String DOCKER_STATS_STREAM = "docker_stats_stream";
+    public static final String LINUX_FAST_PATH = "linux_fast_path";
+    public static final String CHANGE_ONLY = "change_only";
+    public static final String KEYFRAME_INTERVAL = "keyframe_interval";
+    public static final String BINARY_FORMAT = "binary_format";
+    public static final String COMPRESS_PAYLOAD = "compress_payload";
+    public static final String STREAM_AUDITS = "stream_audits";
+    public static final String INTERVALS = "intervals";
+    public static final String RANDOM_START = "random_start";
+    public static final String JITTER = "jitter";
+    public static final String OVERHEAD_BUDGET = "overhead_budget";
+    public static final String MEMORY_BUDGET = "memory_budget";
+    public static final String LOAD_THRESHOLD = "load_threshold";
+    public static final String MAX_STRETCH = "max_stretch";
+    public static final String AGGREGATE_METRICS = "aggregate_metrics";
+    public static final String SAMPLE_INTERVAL = "sample_interval";
+    public static final String AGGREGATE_PERCENTILE = "aggregate_percentile";
+    public static final String EDGE_ALERTS = "edge_alerts";
+    public static final String HISTORY_PATH = "history_path";
+    public static final String HISTORY_MINUTES = "history_minutes";
+    public static final String HISTORY_SIZE = "history_size";
 
 }
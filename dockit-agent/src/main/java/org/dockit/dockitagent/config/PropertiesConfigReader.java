@@ -10,6 +10,8 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.time.DateTimeException;
 import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Properties;
 
@@ -18,6 +20,19 @@ import java.util.Properties;
  */
 public class PropertiesConfigReader implements ConfigReader {
     private static final Logger logger = LoggerFactory.getLogger(PropertiesConfigReader.class);
+    private static final String DEFAULT_SPOOL_SIZE = "64";
+    private static final String DEFAULT_HTTP_TIMEOUT = "10";
+    private static final String DEFAULT_HTTP_THREADS = "2";
+    private static final String DEFAULT_PROBE_INTERVAL = "30";
+    private static final String DEFAULT_DOCKER_PARALLELISM = "8";
+    private static final String DEFAULT_KEYFRAME_INTERVAL = "10";
+    private static final String DEFAULT_JITTER = "0";
+    private static final int MAX_JITTER = 50;
+    private static final String DEFAULT_BUDGET = "0";
+    private static final String DEFAULT_MAX_STRETCH = "8";
+    private static final String DEFAULT_SAMPLE_INTERVAL = "1";
+    private static final String DEFAULT_HISTORY_MINUTES = "15";
+    private static final String DEFAULT_HISTORY_SIZE = "16";
 
     /**
      * Read the properties file from the filesystem.
@@ -58,6 +73,61 @@ public class PropertiesConfigReader implements ConfigReader {
             String docker_url = (String) properties.get(ConfigConstants.DOCKER_URL);
             String server_url = (String) properties.get(ConfigConstants.SERVER_URL);
             String vm_id = (String) properties.get(ConfigConstants.VM_ID);
+            boolean batch = Boolean.parseBoolean((String) properties.get(ConfigConstants.BATCH));
+            String spool_path = (String) properties.get(ConfigConstants.SPOOL_PATH);
+            int spool_size = Integer.parseInt(properties.getProperty(ConfigConstants.SPOOL_SIZE, DEFAULT_SPOOL_SIZE));
+            int http_timeout = Integer.parseInt(properties.getProperty(ConfigConstants.HTTP_TIMEOUT,
+                    DEFAULT_HTTP_TIMEOUT));
+            int http_threads = Integer.parseInt(properties.getProperty(ConfigConstants.HTTP_THREADS,
+                    DEFAULT_HTTP_THREADS));
+            int probe_interval = Integer.parseInt(properties.getProperty(ConfigConstants.PROBE_INTERVAL,
+                    DEFAULT_PROBE_INTERVAL));
+            int docker_parallelism = Integer.parseInt(properties.getProperty(ConfigConstants.DOCKER_PARALLELISM,
+                    DEFAULT_DOCKER_PARALLELISM));
+            // Per container requests of a collection should not outlive the interval by default
+            int docker_deadline = Integer.parseInt(properties.getProperty(ConfigConstants.DOCKER_DEADLINE,
+                    String.valueOf(interval)));
+            boolean docker_events = Boolean.parseBoolean((String) properties.get(ConfigConstants.DOCKER_EVENTS));
+            boolean docker_stats_stream = Boolean.parseBoolean(
+                    (String) properties.get(ConfigConstants.DOCKER_STATS_STREAM));
+            boolean linux_fast_path = Boolean.parseBoolean(
+                    (String) properties.get(ConfigConstants.LINUX_FAST_PATH));
+            boolean change_only = Boolean.parseBoolean((String) properties.get(ConfigConstants.CHANGE_ONLY));
+            int keyframe_interval = Integer.parseInt(properties.getProperty(ConfigConstants.KEYFRAME_INTERVAL,
+                    DEFAULT_KEYFRAME_INTERVAL));
+            boolean binary_format = Boolean.parseBoolean((String) properties.get(ConfigConstants.BINARY_FORMAT));
+            boolean compress_payload = Boolean.parseBoolean(
+                    (String) properties.get(ConfigConstants.COMPRESS_PAYLOAD));
+            boolean stream_audits = Boolean.parseBoolean((String) properties.get(ConfigConstants.STREAM_AUDITS));
+            Map<String, Integer> intervals = parseIntervals(properties.getProperty(ConfigConstants.INTERVALS, ""));
+            boolean random_start = Boolean.parseBoolean((String) properties.get(ConfigConstants.RANDOM_START));
+            int jitter = Integer.parseInt(properties.getProperty(ConfigConstants.JITTER, DEFAULT_JITTER));
+            int overhead_budget = Integer.parseInt(properties.getProperty(ConfigConstants.OVERHEAD_BUDGET,
+                    DEFAULT_BUDGET));
+            int memory_budget = Integer.parseInt(properties.getProperty(ConfigConstants.MEMORY_BUDGET,
+                    DEFAULT_BUDGET));
+            int load_threshold = Integer.parseInt(properties.getProperty(ConfigConstants.LOAD_THRESHOLD,
+                    DEFAULT_BUDGET));
+            int max_stretch = Integer.parseInt(properties.getProperty(ConfigConstants.MAX_STRETCH,
+                    DEFAULT_MAX_STRETCH));
+            boolean aggregate_metrics = Boolean.parseBoolean(
+                    (String) properties.get(ConfigConstants.AGGREGATE_METRICS));
+            int sample_interval = Integer.parseInt(properties.getProperty(ConfigConstants.SAMPLE_INTERVAL,
+                    DEFAULT_SAMPLE_INTERVAL));
+            boolean aggregate_percentile = Boolean.parseBoolean(
+                    (String) properties.get(ConfigConstants.AGGREGATE_PERCENTILE));
+            boolean edge_alerts = Boolean.parseBoolean((String) properties.get(ConfigConstants.EDGE_ALERTS));
+            String history_path = (String) properties.get(ConfigConstants.HISTORY_PATH);
+            int history_minutes = Integer.parseInt(properties.getProperty(ConfigConstants.HISTORY_MINUTES,
+                    DEFAULT_HISTORY_MINUTES));
+            int history_size = Integer.parseInt(properties.getProperty(ConfigConstants.HISTORY_SIZE,
+                    DEFAULT_HISTORY_SIZE));
+            if (http_timeout < 1 || http_threads < 1 || docker_deadline < 1
+                    || jitter < 0 || jitter > MAX_JITTER || overhead_budget < 0 || memory_budget < 0
+                    || load_threshold < 0 || load_threshold > 100 || max_stretch < 1 || sample_interval < 1
+                    || history_minutes < 1 || history_size < 1) {
+                throw new IllegalArgumentException();
+            }
 
             ZoneId zoneIdObject = ZoneId.of(zoneId);
 
@@ -73,9 +143,65 @@ public class PropertiesConfigReader implements ConfigReader {
             config.setDOCKER_URL(docker_url);
             config.setSERVER_URL(server_url);
             config.setVM_ID(vm_id);
-        } catch (ClassCastException | NumberFormatException | DateTimeException e) {
+            config.setBATCH(batch);
+            config.setSPOOL_PATH(spool_path);
+            config.setSPOOL_SIZE(spool_size);
+            config.setHTTP_TIMEOUT(http_timeout);
+            config.setHTTP_THREADS(http_threads);
+            config.setPROBE_INTERVAL(probe_interval);
+            config.setDOCKER_PARALLELISM(docker_parallelism);
+            config.setDOCKER_DEADLINE(docker_deadline);
+            config.setDOCKER_EVENTS(docker_events);
+            config.setDOCKER_STATS_STREAM(docker_stats_stream);
+            config.setLINUX_FAST_PATH(linux_fast_path);
+            config.setCHANGE_ONLY(change_only);
+            config.setKEYFRAME_INTERVAL(keyframe_interval);
+            config.setBINARY_FORMAT(binary_format);
+            config.setCOMPRESS_PAYLOAD(compress_payload);
+            config.setSTREAM_AUDITS(stream_audits);
+            config.setINTERVALS(intervals);
+            config.setRANDOM_START(random_start);
+            config.setJITTER(jitter);
+            config.setOVERHEAD_BUDGET(overhead_budget);
+            config.setMEMORY_BUDGET(memory_budget);
+            config.setLOAD_THRESHOLD(load_threshold);
+            config.setMAX_STRETCH(max_stretch);
+            config.setAGGREGATE_METRICS(aggregate_metrics);
+            config.setSAMPLE_INTERVAL(sample_interval);
+            config.setAGGREGATE_PERCENTILE(aggregate_percentile);
+            config.setEDGE_ALERTS(edge_alerts);
+            config.setHISTORY_PATH(history_path);
+            config.setHISTORY_MINUTES(history_minutes);
+            config.setHISTORY_SIZE(history_size);
+        } catch (ClassCastException | IllegalArgumentException | DateTimeException e) {
             logger.error("Could not parse the input properties, check their types are correct!");
             throw new ConfigException();
         }
     }
+
+    /**
+     * Parse the per category intervals, given as comma separated category:seconds pairs
+     *
+     * @param value value of the intervals property
+     * @return intervals in seconds mapped to their categories
+     * @throws IllegalArgumentException if a pair is malformed or an interval is not positive
+     */
+    private static Map<String, Integer> parseIntervals(String value) {
+        Map<String, Integer> intervals = new HashMap<>();
+        for (String pair : value.split(",")) {
+            if (pair.isBlank()) {
+                continue;
+            }
+            String[] parts = pair.split(":");
+            if (parts.length != 2 || parts[0].isBlank()) {
+                throw new IllegalArgumentException();
+            }
+            int interval = Integer.parseInt(parts[1].strip());
+            if (interval <= 0) {
+                throw new IllegalArgumentException();
+            }
+            intervals.put(parts[0].strip(), interval);
+        }
+        return Map.copyOf(intervals);
+    }
 }
@@ -0,0 +1,119 @@
+package org.dockit.dockitagent.connection;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import org.dockit.dockitagent.config.templates.Container;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.function.BooleanSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * Circuit breaker tracking the health of the server passively from the outcomes of the write requests. After
+ * consecutive failures the circuit opens and requests are rejected locally. Once the probe interval passes, a single
+ * health probe is sent in the half-open state, which closes the circuit if the server is healthy again.
+ */
+@Singleton
+public class CircuitBreaker {
+    private static final Logger logger = LoggerFactory.getLogger(CircuitBreaker.class);
+
+    private static final int FAILURE_THRESHOLD = 3;
+
+    private final int failureThreshold;
+    private final long probeIntervalNanos;
+    private final LongSupplier nanoTime;
+
+    private CircuitState state = CircuitState.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+
+    /**
+     * @param container {@link org.dockit.dockitagent.config.ConfigContainer} instance to be injected
+     */
+    @Inject
+    public CircuitBreaker(Container container) {
+        this(FAILURE_THRESHOLD, Duration.ofSeconds(container.getConfig().getPROBE_INTERVAL()), System::nanoTime);
+    }
+
+    /**
+     * @param failureThreshold consecutive failures which open the circuit
+     * @param probeInterval time to wait in the open state before probing the server
+     * @param nanoTime source of the current time in nanoseconds
+     */
+    CircuitBreaker(int failureThreshold, Duration probeInterval, LongSupplier nanoTime) {
+        this.failureThreshold = failureThreshold;
+        this.probeIntervalNanos = probeInterval.toNanos();
+        this.nanoTime = nanoTime;
+    }
+
+    /**
+     * Check if a request may be sent. In the open state, the probe is run once the probe interval passed, and the
+     * request is allowed if the probe succeeds.
+     *
+     * @param probe health probe of the server, only called in the half-open state
+     * @return true if the request may be sent, false otherwise
+     */
+    public boolean allowRequest(BooleanSupplier probe) {
+        synchronized (this) {
+            if (state == CircuitState.CLOSED) {
+                return true;
+            }
+            if (state == CircuitState.HALF_OPEN || nanoTime.getAsLong() - openedAt < probeIntervalNanos) {
+                return false;
+            }
+            state = CircuitState.HALF_OPEN;
+        }
+        boolean healthy = probe.getAsBoolean();
+        if (healthy) {
+            recordSuccess();
+        } else {
+            synchronized (this) {
+                open();
+            }
+        }
+        return healthy;
+    }
+
+    /**
+     * Record a request which reached a healthy server, closing the circuit
+     */
+    public synchronized void recordSuccess() {
+        if (state != CircuitState.CLOSED) {
+            logger.info("Server is reachable again, closing the circuit");
+        }
+        state = CircuitState.CLOSED;
+        consecutiveFailures = 0;
+    }
+
+    /**
+     * Record a request which failed because the server was unreachable or unhealthy
+     */
+    public synchronized void recordFailure() {
+        consecutiveFailures++;
+        if (state == CircuitState.CLOSED && consecutiveFailures >= failureThreshold) {
+            logger.error("{} consecutive requests to the server failed, opening the circuit", consecutiveFailures);
+            open();
+        }
+    }
+
+    /**
+     * @return current {@link CircuitState}
+     */
+    public synchronized CircuitState getState() {
+        return state;
+    }
+
+    /**
+     * @return amount of consecutive failed requests
+     */
+    public synchronized int getConsecutiveFailures() {
+        return consecutiveFailures;
+    }
+
+    private void open() {
+        state = CircuitState.OPEN;
+        openedAt = nanoTime.getAsLong();
+    }
+}
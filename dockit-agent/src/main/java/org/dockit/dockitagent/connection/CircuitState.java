@@ -0,0 +1,19 @@
+package org.dockit.dockitagent.connection;
+
+/**
+ * States of the {@link CircuitBreaker}
+ */
+public enum CircuitState {
+    /**
+     * Requests are sent to the server
+     */
+    CLOSED,
+    /**
+     * Requests are rejected without contacting the server until the probe interval passes
+     */
+    OPEN,
+    /**
+     * A health probe is in flight, requests are rejected until it completes
+     */
+    HALF_OPEN
+}
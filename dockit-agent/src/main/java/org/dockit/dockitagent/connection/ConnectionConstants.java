@@ -0,0 +1,9 @@
+package org.dockit.dockitagent.connection;
+
+/**
+ * Class containing the names of the {@link PooledHttpClient} instances
+ */
+public final class ConnectionConstants {
+    public static final String SERVER_CLIENT = "server";
+    public static final String DOCKER_CLIENT = "docker";
+}
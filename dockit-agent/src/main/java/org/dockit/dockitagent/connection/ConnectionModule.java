@@ -1,15 +1,75 @@
 package org.dockit.dockitagent.connection;
 
 import com.google.inject.AbstractModule;
+import com.google.inject.Provider;
+import com.google.inject.Provides;
+import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+import org.dockit.dockitagent.config.Config;
+import org.dockit.dockitagent.config.templates.Container;
+
+import java.nio.file.Path;
+import java.time.Duration;
 
 /**
  * Guice bindings for connection classes
  */
 public class ConnectionModule extends AbstractModule {
+    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(5);
+    private static final String UNIX_SCHEME = "unix://";
 
     @Override
     public void configure() {
-        bind(DockerConnectionManager.class);
+        bind(DockerConnectionManager.class).in(Singleton.class);
         bind(ServerConnectionManager.class);
     }
+
+    /**
+     * @param container {@link org.dockit.dockitagent.config.ConfigContainer} instance to be injected
+     * @return {@link PooledHttpClient} shared by the requests sent to the server
+     */
+    @Provides
+    @Singleton
+    @Named(ConnectionConstants.SERVER_CLIENT)
+    PooledHttpClient provideServerClient(Container container) {
+        Config config = container.getConfig();
+        return new PooledHttpClient(ConnectionConstants.SERVER_CLIENT, config.getSERVER_URL(),
+                config.getHTTP_THREADS(), CONNECT_TIMEOUT, Duration.ofSeconds(config.getHTTP_TIMEOUT()));
+    }
+
+    /**
+     * @param container {@link org.dockit.dockitagent.config.ConfigContainer} instance to be injected
+     * @return {@link PooledHttpClient} shared by the requests sent to the docker engine api
+     */
+    @Provides
+    @Singleton
+    @Named(ConnectionConstants.DOCKER_CLIENT)
+    PooledHttpClient provideDockerClient(Container container) {
+        Config config = container.getConfig();
+        return new PooledHttpClient(ConnectionConstants.DOCKER_CLIENT, config.getDOCKER_URL(),
+                config.getHTTP_THREADS(), CONNECT_TIMEOUT, Duration.ofSeconds(config.getHTTP_TIMEOUT()));
+    }
+
+    /**
+     * Use the unix socket transport if the docker url has the unix scheme, e.g. unix:///var/run/docker.sock, and the
+     * TCP socket otherwise
+     *
+     * @param container {@link org.dockit.dockitagent.config.ConfigContainer} instance to be injected
+     * @param dockerClient provider for the {@link PooledHttpClient} of the docker engine api
+     * @return {@link DockerTransport} to be used for the requests sent to the docker engine api
+     */
+    @Provides
+    @Singleton
+    DockerTransport provideDockerTransport(Container container,
+                                           @Named(ConnectionConstants.DOCKER_CLIENT)
+                                           Provider<PooledHttpClient> dockerClient) {
+        Config config = container.getConfig();
+        String url = config.getDOCKER_URL();
+        if (url != null && url.startsWith(UNIX_SCHEME)) {
+            return new UnixSocketDockerTransport(Path.of(url.substring(UNIX_SCHEME.length())),
+                    Math.max(config.getHTTP_THREADS(), config.getDOCKER_PARALLELISM()),
+                    Duration.ofSeconds(config.getHTTP_TIMEOUT()));
+        }
+        return new HttpDockerTransport(container, dockerClient.get());
+    }
 }
@@ -7,11 +7,20 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
-import java.net.URI;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Manage interaction with the Docker Engine API. See the link for the API documentation
@@ -24,13 +33,17 @@ public class DockerConnectionManager {
     private static final String PING_ENDPOINT = "/_ping";
 
     private final Container configContainer;
+    private final DockerTransport transport;
+    private ExecutorService executor;
 
     /**
      * @param configContainer {@link ConfigContainer} instance to be injected
+     * @param transport {@link DockerTransport} to send the requests to the docker engine api with
      */
     @Inject
-    public DockerConnectionManager(Container configContainer) {
+    public DockerConnectionManager(Container configContainer, DockerTransport transport) {
         this.configContainer = configContainer;
+        this.transport = transport;
     }
 
     /**
@@ -40,8 +53,8 @@ public class DockerConnectionManager {
      */
     public boolean isAlive() {
         try {
-            HttpResponse<String> response = getResponse(PING_ENDPOINT, HttpResponse.BodyHandlers.ofString());
-            if (response.statusCode() == 200) {
+            DockerResponse response = transport.get(PING_ENDPOINT);
+            if (response.getStatusCode() == 200) {
                 logger.info("Connection established with host {}", configContainer.getConfig().getDOCKER_URL());
                 return true;
             } else {
@@ -62,29 +75,103 @@ public class DockerConnectionManager {
      */
     public Optional<String> sendRequest(String endpoint) {
         try {
-            HttpResponse<String> response = getResponse(endpoint, HttpResponse.BodyHandlers.ofString());
-            if (response.statusCode() != 200) {
-                logger.info(response.body());
+            DockerResponse response = transport.get(endpoint);
+            if (response.getStatusCode() != 200) {
+                logger.info(response.getBody());
                 return Optional.empty();
             }
-            return Optional.of(response.body());
-        } catch (IOException | InterruptedException e) {
+            return Optional.of(response.getBody());
+        } catch (IOException e) {
             logger.error(e.getMessage());
             return Optional.empty();
+        } catch (InterruptedException e) {
+            // Cancelled, e.g. the deadline of concurrent requests passed
+            Thread.currentThread().interrupt();
+            logger.debug("Request to {} was interrupted", endpoint);
+            return Optional.empty();
         }
     }
 
-    private <T> HttpResponse<T> getResponse(String endpoint, HttpResponse.BodyHandler<T> bodyHandler)
-            throws IOException, InterruptedException {
-        String url = configContainer.getConfig().getDOCKER_URL();
+    /**
+     * Open a streamed get request to the docker engine api, e.g. for the events
+     *
+     * @return {@link DockerStream} to be closed by the caller if OK response is received, empty if there was an
+     * error.
+     */
+    public Optional<DockerStream> openStream(String endpoint) {
+        try {
+            DockerStream stream = transport.stream(endpoint);
+            if (stream.getStatusCode() != 200) {
+                logger.info("Could not open the stream {}, status {}", endpoint, stream.getStatusCode());
+                stream.close();
+                return Optional.empty();
+            }
+            return Optional.of(stream);
+        } catch (IOException e) {
+            logger.error(e.getMessage());
+            return Optional.empty();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Optional.empty();
+        }
+    }
 
-        HttpClient client = HttpClient.newHttpClient();
+    /**
+     * Send the specified get requests concurrently to the docker engine api, at most docker_parallelism at a time,
+     * waiting docker_deadline seconds for them to complete
+     *
+     * @param endpoints endpoints to send the requests to
+     * @return see {@link #sendRequests(List, Duration)}
+     */
+    public Map<String, Optional<String>> sendRequests(List<String> endpoints) {
+        return sendRequests(endpoints, Duration.ofSeconds(configContainer.getConfig().getDOCKER_DEADLINE()));
+    }
 
-        HttpRequest request = HttpRequest.newBuilder(URI.create(url + endpoint))
-                .GET()
-                .header("accept", "application/json")
-                .build();
+    /**
+     * Send the specified get requests concurrently to the docker engine api. Requests still running when the deadline
+     * passes are cancelled.
+     *
+     * @param endpoints endpoints to send the requests to
+     * @param deadline time to wait for all the requests to complete
+     * @return response of each endpoint completed before the deadline, in the order of the given endpoints. Endpoints
+     * missing from the map did not complete before the deadline.
+     */
+    public Map<String, Optional<String>> sendRequests(List<String> endpoints, Duration deadline) {
+        Map<String, Optional<String>> responses = new LinkedHashMap<>();
+        if (endpoints.isEmpty()) {
+            return responses;
+        }
+        List<Callable<Optional<String>>> tasks = new ArrayList<>(endpoints.size());
+        for (String endpoint : endpoints) {
+            tasks.add(() -> sendRequest(endpoint));
+        }
+        try {
+            List<Future<Optional<String>>> futures = executor().invokeAll(tasks, deadline.toMillis(),
+                    TimeUnit.MILLISECONDS);
+            for (int i = 0; i < futures.size(); i++) {
+                Future<Optional<String>> future = futures.get(i);
+                if (!future.isCancelled()) {
+                    responses.put(endpoints.get(i), future.get());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (CancellationException | ExecutionException e) {
+            logger.error(e.toString());
+        }
+        return responses;
+    }
 
-        return client.send(request, bodyHandler);
+    private synchronized ExecutorService executor() {
+        if (executor == null) {
+            AtomicInteger threadCount = new AtomicInteger();
+            executor = Executors.newFixedThreadPool(Math.max(1, configContainer.getConfig().getDOCKER_PARALLELISM()),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, "docker-request-" + threadCount.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+        }
+        return executor;
     }
 }
@@ -0,0 +1,32 @@
+package org.dockit.dockitagent.connection;
+
+/**
+ * Response received from the Docker Engine API through a {@link DockerTransport}
+ */
+public class DockerResponse {
+    private final int statusCode;
+    private final String body;
+
+    /**
+     * @param statusCode http status code of the response
+     * @param body response body
+     */
+    public DockerResponse(int statusCode, String body) {
+        this.statusCode = statusCode;
+        this.body = body;
+    }
+
+    /**
+     * @return http status code of the response
+     */
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    /**
+     * @return response body
+     */
+    public String getBody() {
+        return body;
+    }
+}
@@ -0,0 +1,57 @@
+package org.dockit.dockitagent.connection;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Streamed response of the Docker Engine API, e.g. of the events or the stats with stream=true, which emits one json
+ * object per line for as long as the stream is open
+ */
+public class DockerStream implements Closeable {
+    private final int statusCode;
+    private final InputStream body;
+    private final BufferedReader reader;
+
+    /**
+     * @param statusCode status code of the response
+     * @param body stream of the response body, closed when this stream is closed
+     */
+    public DockerStream(int statusCode, InputStream body) {
+        this.statusCode = statusCode;
+        this.body = body;
+        this.reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return status code of the response
+     */
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    /**
+     * Block until the next line of the response body is received
+     *
+     * @return next line without the line terminator, null if the stream ended
+     * @throws IOException if the stream could not be read, e.g. it was closed while waiting
+     */
+    public String readLine() throws IOException {
+        return reader.readLine();
+    }
+
+    /**
+     * Close the stream and its connection, unblocking a pending {@link #readLine()}
+     */
+    @Override
+    public void close() {
+        try {
+            body.close();
+        } catch (IOException e) {
+            // ignore exception, the stream is discarded anyway
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package org.dockit.dockitagent.connection;
+
+import java.io.IOException;
+
+/**
+ * Transport used by the {@link DockerConnectionManager} to send requests to the Docker Engine API
+ */
+public interface DockerTransport {
+
+    /**
+     * Send a GET request to the Docker Engine API
+     *
+     * @param endpoint endpoint of the request, including the query string
+     * @return {@link DockerResponse} of the request
+     * @throws IOException if the request could not be sent or timed out
+     * @throws InterruptedException if the thread was interrupted while waiting for the response
+     */
+    DockerResponse get(String endpoint) throws IOException, InterruptedException;
+
+    /**
+     * Send a GET request to the Docker Engine API and keep its response open to read the streamed body, the request
+     * timeout only applies until the response headers are received
+     *
+     * @param endpoint endpoint of the request, including the query string
+     * @return {@link DockerStream} of the response, to be closed by the caller
+     * @throws IOException if the request could not be sent or timed out
+     * @throws InterruptedException if the thread was interrupted while waiting for the response
+     */
+    DockerStream stream(String endpoint) throws IOException, InterruptedException;
+
+    /**
+     * @return {@link RequestMetrics} of the requests sent through this transport
+     */
+    RequestMetrics getMetrics();
+}
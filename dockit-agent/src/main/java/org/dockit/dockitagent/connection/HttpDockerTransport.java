@@ -0,0 +1,56 @@
+package org.dockit.dockitagent.connection;
+
+import org.dockit.dockitagent.config.templates.Container;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+/**
+ * {@link DockerTransport} sending the requests to the TCP socket of the Docker Engine API through a
+ * {@link PooledHttpClient}
+ */
+public class HttpDockerTransport implements DockerTransport {
+    private final Container container;
+    private final PooledHttpClient client;
+
+    /**
+     * @param container {@link org.dockit.dockitagent.config.ConfigContainer} instance containing the docker url
+     * @param client {@link PooledHttpClient} shared by the requests sent to the docker engine api
+     */
+    public HttpDockerTransport(Container container, PooledHttpClient client) {
+        this.container = container;
+        this.client = client;
+    }
+
+    @Override
+    public DockerResponse get(String endpoint) throws IOException, InterruptedException {
+        String url = container.getConfig().getDOCKER_URL();
+
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(url + endpoint))
+                .GET()
+                .header("accept", "application/json");
+
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        return new DockerResponse(response.statusCode(), response.body());
+    }
+
+    @Override
+    public DockerStream stream(String endpoint) throws IOException, InterruptedException {
+        String url = container.getConfig().getDOCKER_URL();
+
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(url + endpoint))
+                .GET()
+                .header("accept", "application/json");
+
+        HttpResponse<InputStream> response = client.send(request, HttpResponse.BodyHandlers.ofInputStream());
+        return new DockerStream(response.statusCode(), response.body());
+    }
+
+    @Override
+    public RequestMetrics getMetrics() {
+        return client.getMetrics();
+    }
+}
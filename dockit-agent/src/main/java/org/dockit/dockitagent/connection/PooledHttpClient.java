@@ -0,0 +1,80 @@
+package org.dockit.dockitagent.connection;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Long-lived {@link HttpClient} shared by every request sent to a single target. Connections are kept alive and
+ * pooled by the client, and its executor is bounded to the configured amount of threads. HTTP/2 is preferred for
+ * https targets, plain http targets use HTTP/1.1.
+ */
+public class PooledHttpClient {
+    private static final String HTTPS = "https";
+
+    private final HttpClient client;
+    private final Duration requestTimeout;
+    private final RequestMetrics metrics = new RequestMetrics();
+
+    /**
+     * @param target name of the target, used to name the executor threads
+     * @param url base url of the target
+     * @param threads maximum amount of threads used by the client
+     * @param connectTimeout timeout to establish a connection
+     * @param requestTimeout timeout for a request to receive its response
+     */
+    public PooledHttpClient(String target, String url, int threads, Duration connectTimeout,
+                            Duration requestTimeout) {
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, threads), runnable -> {
+            Thread thread = new Thread(runnable, "%s-http-%d".formatted(target, threadCount.incrementAndGet()));
+            thread.setDaemon(true);
+            return thread;
+        });
+        HttpClient.Version version = url != null && url.startsWith(HTTPS)
+                ? HttpClient.Version.HTTP_2
+                : HttpClient.Version.HTTP_1_1;
+        this.client = HttpClient.newBuilder()
+                .version(version)
+                .connectTimeout(connectTimeout)
+                .executor(executor)
+                .build();
+        this.requestTimeout = requestTimeout;
+    }
+
+    /**
+     * Apply the request timeout to the request, send it and record its duration
+     *
+     * @param requestBuilder {@link HttpRequest.Builder} of the request to send
+     * @param bodyHandler {@link HttpResponse.BodyHandler} for the response body
+     * @return {@link HttpResponse} of the request
+     * @param <T> type of the response body
+     * @throws IOException if the request could not be sent or timed out
+     * @throws InterruptedException if the thread was interrupted while waiting for the response
+     */
+    public <T> HttpResponse<T> send(HttpRequest.Builder requestBuilder, HttpResponse.BodyHandler<T> bodyHandler)
+            throws IOException, InterruptedException {
+        HttpRequest request = requestBuilder.timeout(requestTimeout).build();
+        long start = System.nanoTime();
+        try {
+            HttpResponse<T> response = client.send(request, bodyHandler);
+            metrics.recordResponse(System.nanoTime() - start);
+            return response;
+        } catch (IOException | InterruptedException e) {
+            metrics.recordError(System.nanoTime() - start);
+            throw e;
+        }
+    }
+
+    /**
+     * @return {@link RequestMetrics} of the requests sent by this client
+     */
+    public RequestMetrics getMetrics() {
+        return metrics;
+    }
+}
@@ -0,0 +1,89 @@
+package org.dockit.dockitagent.connection;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Request level metrics of a {@link PooledHttpClient} or a {@link DockerTransport}
+ */
+public class RequestMetrics {
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    /**
+     * Record a request which received a response
+     *
+     * @param nanos duration of the request in nanoseconds
+     */
+    void recordResponse(long nanos) {
+        record(nanos);
+    }
+
+    /**
+     * Record a request which failed without a response
+     *
+     * @param nanos duration of the request in nanoseconds
+     */
+    void recordError(long nanos) {
+        errors.increment();
+        record(nanos);
+    }
+
+    /**
+     * @return amount of requests sent
+     */
+    public long getRequests() {
+        return requests.sum();
+    }
+
+    /**
+     * @return amount of requests which failed without a response
+     */
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    /**
+     * @return mean duration of the requests in milliseconds
+     */
+    public double getMeanLatencyMillis() {
+        long count = requests.sum();
+        return count == 0 ? 0 : totalNanos.sum() / NANOS_PER_MILLI / count;
+    }
+
+    /**
+     * @return longest duration of a request in milliseconds
+     */
+    public double getMaxLatencyMillis() {
+        return maxNanos.get() / NANOS_PER_MILLI;
+    }
+
+    /**
+     * @return the metrics keyed by their name, to be reported as json
+     */
+    public Map<String, Object> toMap() {
+        return Map.of(
+                "requests", getRequests(),
+                "errors", getErrors(),
+                "meanLatencyMillis", getMeanLatencyMillis(),
+                "maxLatencyMillis", getMaxLatencyMillis()
+        );
+    }
+
+    @Override
+    public String toString() {
+        return "requests=%d, errors=%d, mean=%.2fms, max=%.2fms".formatted(getRequests(), getErrors(),
+                getMeanLatencyMillis(), getMaxLatencyMillis());
+    }
+
+    private void record(long nanos) {
+        requests.increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulateAndGet(nanos, Math::max);
+    }
+}
@@ -3,13 +3,14 @@ package org.dockit.dockitagent.connection;
 import com.google.gson.Gson;
 import com.google.gson.JsonSyntaxException;
 import com.google.inject.Inject;
+import com.google.inject.name.Named;
 import org.dockit.dockitagent.config.templates.Container;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
-import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.util.Map;
@@ -24,15 +25,26 @@ public class ServerConnectionManager {
     private final static Logger logger = LoggerFactory.getLogger(ServerConnectionManager.class);
 
     private final Container container;
+    private final PooledHttpClient client;
+    private final CircuitBreaker circuitBreaker;
 
     private static final String LIVENESS_ENDPOINT = "/actuator/health/liveness";
+    private static final int SERVER_ERROR_STATUS = 500;
+    private static final int UNSUPPORTED_MEDIA_TYPE_STATUS = 415;
+    private static final String JSON_CONTENT_TYPE = "application/json";
 
     /**
      * @param container {@link org.dockit.dockitagent.config.ConfigContainer} instance to be injected
+     * @param client {@link PooledHttpClient} shared by the requests sent to the server
+     * @param circuitBreaker {@link CircuitBreaker} tracking the health of the server
      */
     @Inject
-    public ServerConnectionManager(Container container) {
+    public ServerConnectionManager(Container container,
+                                   @Named(ConnectionConstants.SERVER_CLIENT) PooledHttpClient client,
+                                   CircuitBreaker circuitBreaker) {
         this.container = container;
+        this.client = client;
+        this.circuitBreaker = circuitBreaker;
     }
 
     /**
@@ -54,7 +66,7 @@ public class ServerConnectionManager {
                 return true;
             } else {
                 logger.info("Connection could not be established with host {}",
-                        container.getConfig().getDOCKER_URL());
+                        container.getConfig().getSERVER_URL());
                 return false;
             }
         } catch (IOException | InterruptedException | JsonSyntaxException e) {
@@ -64,14 +76,63 @@ public class ServerConnectionManager {
     }
 
     /**
-     * Send the given POST request to the server's write endpoint
+     * Send the given POST request to the server's write endpoint. The request is not sent while the
+     * {@link CircuitBreaker} is open, and its outcome is recorded in the circuit breaker otherwise.
      *
      * @return response body in string format if OK response is received, empty if there was an error.
      */
 
     public Optional<String> sendRequest(String endPoint, String body) {
+        return sendRequest(endPoint, HttpRequest.BodyPublishers.ofString(body), JSON_CONTENT_TYPE);
+    }
+
+    /**
+     * Send the given binary POST request to the server's write endpoint, see {@link #sendRequest(String, String)}
+     *
+     * @param endPoint endpoint of the server
+     * @param body body of the request
+     * @param contentType content type of the body
+     * @return response body in string format if OK response is received, empty if there was an error.
+     */
+    public Optional<String> sendRequest(String endPoint, byte[] body, String contentType) {
+        return sendRequest(endPoint, HttpRequest.BodyPublishers.ofByteArray(body), contentType);
+    }
+
+    /**
+     * Send the given POST request to the server's write endpoint, with a body which is read by the http client while
+     * the request is sent, see {@link #sendRequest(String, String)}. The body is sent in chunks of unknown length.
+     *
+     * @param endPoint endpoint of the server
+     * @param body stream producing the body of the request, closed once read
+     * @param contentType content type of the body
+     * @return response body in string format if OK response is received, empty if there was an error.
+     */
+    public Optional<String> sendRequest(String endPoint, InputStream body, String contentType) {
+        try (body) {
+            return sendRequest(endPoint, HttpRequest.BodyPublishers.ofInputStream(() -> body), contentType);
+        } catch (IOException e) {
+            logger.error(e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private Optional<String> sendRequest(String endPoint, HttpRequest.BodyPublisher body, String contentType) {
+        if (!circuitBreaker.allowRequest(this::isAlive)) {
+            logger.info("Circuit to the server is {}, not sending the request", circuitBreaker.getState());
+            return Optional.empty();
+        }
         try {
-            HttpResponse<String> response = postResponse(endPoint, body, HttpResponse.BodyHandlers.ofString());
+            HttpResponse<String> response = postResponse(endPoint, body, contentType,
+                    HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() >= SERVER_ERROR_STATUS) {
+                circuitBreaker.recordFailure();
+            } else {
+                circuitBreaker.recordSuccess();
+            }
+            if (response.statusCode() == UNSUPPORTED_MEDIA_TYPE_STATUS) {
+                logger.error("Server does not accept requests of type {}", contentType);
+                return Optional.empty();
+            }
             if (response.statusCode() != 200) {
                 logger.info(response.body());
                 return Optional.empty();
@@ -79,6 +140,7 @@ public class ServerConnectionManager {
             return Optional.of(response.body());
         } catch (IOException | InterruptedException e) {
             logger.error(e.getMessage());
+            circuitBreaker.recordFailure();
             return Optional.empty();
         }
     }
@@ -87,29 +149,25 @@ public class ServerConnectionManager {
             throws IOException, InterruptedException {
         String url = container.getConfig().getSERVER_URL();
 
-        HttpClient client = HttpClient.newHttpClient();
-
-        HttpRequest request = HttpRequest.newBuilder(URI.create(url + endpoint))
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(url + endpoint))
                 .GET()
-                .header("accept", "application/json")
-                .build();
+                .header("accept", "application/json");
 
         return client.send(request, bodyHandler);
     }
 
-    private <T> HttpResponse<T> postResponse(String endpoint, String body, HttpResponse.BodyHandler<T> bodyHandler)
+    private <T> HttpResponse<T> postResponse(String endpoint, HttpRequest.BodyPublisher body, String contentType,
+                                             HttpResponse.BodyHandler<T> bodyHandler)
             throws IOException, InterruptedException {
         String url = container.getConfig().getSERVER_URL();
-        HttpClient client = HttpClient.newHttpClient();
 
         String uriString = url + endpoint + "?id=%s".formatted(container.getConfig().getID());
 
-        HttpRequest request = HttpRequest.newBuilder(URI.create(uriString))
-                .POST(HttpRequest.BodyPublishers.ofString(body))
-                .headers("accept", "application/json",
-                        "Content-Type", "application/json",
-                        AUTH_TOKEN_HEADER_NAME, container.getConfig().getAPI_KEY())
-                .build();
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(uriString))
+                .POST(body)
+                .headers("accept", JSON_CONTENT_TYPE,
+                        "Content-Type", contentType,
+                        AUTH_TOKEN_HEADER_NAME, container.getConfig().getAPI_KEY());
 
         return client.send(request, bodyHandler);
     }
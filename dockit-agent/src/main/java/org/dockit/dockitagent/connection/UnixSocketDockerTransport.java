@@ -0,0 +1,373 @@
+package org.dockit.dockitagent.connection;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link DockerTransport} sending the requests to the unix socket of the Docker Engine API, e.g.
+ * /var/run/docker.sock, using a minimal HTTP/1.1 client. Connections are kept alive and reused by later requests, up
+ * to the given amount of idle connections.
+ */
+public class UnixSocketDockerTransport implements DockerTransport {
+    private static final String HOST = "docker";
+    private static final String CRLF = "\r\n";
+    private static final int NO_CONTENT_STATUS = 204;
+    private static final int NOT_MODIFIED_STATUS = 304;
+
+    private final UnixDomainSocketAddress address;
+    private final Duration requestTimeout;
+    private final BlockingQueue<Connection> idleConnections;
+    private final RequestMetrics metrics = new RequestMetrics();
+    private final ScheduledExecutorService timeoutExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "docker-socket-timeout");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * @param socketPath path of the unix socket of the docker engine
+     * @param maxIdleConnections maximum amount of connections kept alive between requests
+     * @param requestTimeout timeout for a request to receive its response
+     */
+    public UnixSocketDockerTransport(Path socketPath, int maxIdleConnections, Duration requestTimeout) {
+        this.address = UnixDomainSocketAddress.of(socketPath);
+        this.idleConnections = new ArrayBlockingQueue<>(Math.max(1, maxIdleConnections));
+        this.requestTimeout = requestTimeout;
+    }
+
+    @Override
+    public DockerResponse get(String endpoint) throws IOException {
+        long start = System.nanoTime();
+        try {
+            DockerResponse response = send(endpoint);
+            metrics.recordResponse(System.nanoTime() - start);
+            return response;
+        } catch (IOException e) {
+            metrics.recordError(System.nanoTime() - start);
+            throw e;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * The stream uses a dedicated connection which is closed with the stream instead of being reused.
+     */
+    @Override
+    public DockerStream stream(String endpoint) throws IOException {
+        long start = System.nanoTime();
+        Connection connection = new Connection(address);
+        ScheduledFuture<?> timeout = timeoutExecutor.schedule(connection::close, requestTimeout.toMillis(),
+                TimeUnit.MILLISECONDS);
+        try {
+            writeRequest(connection, endpoint);
+            int status = readStatus(connection.input);
+            Map<String, String> headers = readHeaders(connection.input);
+
+            InputStream body;
+            if ("chunked".equalsIgnoreCase(headers.get("transfer-encoding"))) {
+                body = new ChunkedInputStream(connection.input);
+            } else if (headers.containsKey("content-length")) {
+                body = new ByteArrayInputStream(readFully(connection.input,
+                        parseLength(headers.get("content-length"))));
+            } else {
+                body = connection.input;
+            }
+            timeout.cancel(false);
+            metrics.recordResponse(System.nanoTime() - start);
+            return new DockerStream(status, new FilterInputStream(body) {
+                @Override
+                public void close() {
+                    connection.close();
+                }
+            });
+        } catch (IOException e) {
+            timeout.cancel(false);
+            connection.close();
+            metrics.recordError(System.nanoTime() - start);
+            throw e;
+        }
+    }
+
+    @Override
+    public RequestMetrics getMetrics() {
+        return metrics;
+    }
+
+    private DockerResponse send(String endpoint) throws IOException {
+        Connection connection = idleConnections.poll();
+        if (connection != null) {
+            try {
+                return exchange(connection, endpoint);
+            } catch (IOException e) {
+                // The engine may have closed the idle connection, GET requests are safe to send again
+            }
+        }
+        return exchange(new Connection(address), endpoint);
+    }
+
+    private DockerResponse exchange(Connection connection, String endpoint) throws IOException {
+        ScheduledFuture<?> timeout = timeoutExecutor.schedule(connection::close, requestTimeout.toMillis(),
+                TimeUnit.MILLISECONDS);
+        boolean reusable = false;
+        try {
+            writeRequest(connection, endpoint);
+            int status = readStatus(connection.input);
+            Map<String, String> headers = readHeaders(connection.input);
+
+            byte[] body;
+            boolean framed = true;
+            if (status == NO_CONTENT_STATUS || status == NOT_MODIFIED_STATUS) {
+                body = new byte[0];
+            } else if ("chunked".equalsIgnoreCase(headers.get("transfer-encoding"))) {
+                body = readChunked(connection.input);
+            } else if (headers.containsKey("content-length")) {
+                body = readFully(connection.input, parseLength(headers.get("content-length")));
+            } else {
+                body = connection.input.readAllBytes();
+                framed = false;
+            }
+            reusable = framed && !"close".equalsIgnoreCase(headers.get("connection"));
+            return new DockerResponse(status, new String(body, StandardCharsets.UTF_8));
+        } finally {
+            timeout.cancel(false);
+            if (!reusable || !connection.isOpen() || !idleConnections.offer(connection)) {
+                connection.close();
+            }
+        }
+    }
+
+    private static void writeRequest(Connection connection, String endpoint) throws IOException {
+        String request = "GET " + endpoint + " HTTP/1.1" + CRLF
+                + "Host: " + HOST + CRLF
+                + "Accept: application/json" + CRLF
+                + CRLF;
+        connection.output.write(request.getBytes(StandardCharsets.US_ASCII));
+        connection.output.flush();
+    }
+
+    private static int readStatus(InputStream input) throws IOException {
+        String statusLine = readLine(input);
+        if (statusLine == null) {
+            throw new EOFException("Connection closed by the docker engine");
+        }
+        String[] statusParts = statusLine.split(" ", 3);
+        if (statusParts.length < 2) {
+            throw new IOException("Malformed status line: " + statusLine);
+        }
+        return parseStatus(statusParts[1]);
+    }
+
+    private static Map<String, String> readHeaders(InputStream input) throws IOException {
+        Map<String, String> headers = new HashMap<>();
+        String line = readLine(input);
+        while (line != null && !line.isEmpty()) {
+            int separator = line.indexOf(':');
+            if (separator > 0) {
+                headers.put(line.substring(0, separator).trim().toLowerCase(Locale.ROOT),
+                        line.substring(separator + 1).trim());
+            }
+            line = readLine(input);
+        }
+        if (line == null) {
+            throw new EOFException("Connection closed while reading the headers");
+        }
+        return headers;
+    }
+
+    private static byte[] readChunked(InputStream input) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        while (true) {
+            int chunkSize = readChunkSize(input);
+            if (chunkSize == 0) {
+                // Skip the trailers
+                readHeaders(input);
+                return body.toByteArray();
+            }
+            body.write(readFully(input, chunkSize));
+            readLine(input);
+        }
+    }
+
+    private static int readChunkSize(InputStream input) throws IOException {
+        String sizeLine = readLine(input);
+        if (sizeLine == null) {
+            throw new EOFException("Connection closed while reading a chunk");
+        }
+        int extension = sizeLine.indexOf(';');
+        String size = extension < 0 ? sizeLine : sizeLine.substring(0, extension);
+        try {
+            return Integer.parseInt(size.trim(), 16);
+        } catch (NumberFormatException e) {
+            throw new IOException("Malformed chunk size: " + sizeLine);
+        }
+    }
+
+    private static byte[] readFully(InputStream input, int length) throws IOException {
+        byte[] bytes = input.readNBytes(length);
+        if (bytes.length != length) {
+            throw new EOFException("Connection closed while reading the body");
+        }
+        return bytes;
+    }
+
+    /**
+     * @return line without the line terminator, null if the stream ended before any byte was read
+     */
+    private static String readLine(InputStream input) throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        int current = input.read();
+        if (current < 0) {
+            return null;
+        }
+        while (current >= 0 && current != '\n') {
+            line.write(current);
+            current = input.read();
+        }
+        byte[] bytes = line.toByteArray();
+        int length = bytes.length > 0 && bytes[bytes.length - 1] == '\r' ? bytes.length - 1 : bytes.length;
+        return new String(bytes, 0, length, StandardCharsets.US_ASCII);
+    }
+
+    private static int parseStatus(String status) throws IOException {
+        try {
+            return Integer.parseInt(status);
+        } catch (NumberFormatException e) {
+            throw new IOException("Malformed status code: " + status);
+        }
+    }
+
+    private static int parseLength(String length) throws IOException {
+        try {
+            return Integer.parseInt(length);
+        } catch (NumberFormatException e) {
+            throw new IOException("Malformed content length: " + length);
+        }
+    }
+
+    /**
+     * Body of a chunked response decoded as it is read, so streamed responses are readable before they end
+     */
+    private static final class ChunkedInputStream extends InputStream {
+        private final InputStream input;
+        private int remaining;
+        private boolean started;
+        private boolean finished;
+
+        private ChunkedInputStream(InputStream input) {
+            this.input = input;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (!nextChunk()) {
+                return -1;
+            }
+            int value = input.read();
+            if (value < 0) {
+                throw new EOFException("Connection closed while reading a chunk");
+            }
+            remaining--;
+            return value;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            if (!nextChunk()) {
+                return -1;
+            }
+            int read = input.read(bytes, offset, Math.min(length, remaining));
+            if (read < 0) {
+                throw new EOFException("Connection closed while reading a chunk");
+            }
+            remaining -= read;
+            return read;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return finished ? 0 : Math.min(remaining, input.available());
+        }
+
+        /**
+         * @return true if there are bytes left in the current or the next chunk, false if the body ended
+         */
+        private boolean nextChunk() throws IOException {
+            if (finished) {
+                return false;
+            }
+            if (remaining > 0) {
+                return true;
+            }
+            if (started) {
+                // Line terminator of the previous chunk
+                readLine(input);
+            }
+            started = true;
+            remaining = readChunkSize(input);
+            if (remaining == 0) {
+                finished = true;
+                readHeaders(input);
+                return false;
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Single connection to the unix socket with its buffered streams
+     */
+    private static final class Connection {
+        private final SocketChannel channel;
+        private final InputStream input;
+        private final OutputStream output;
+
+        private Connection(UnixDomainSocketAddress address) throws IOException {
+            this.channel = SocketChannel.open(StandardProtocolFamily.UNIX);
+            try {
+                channel.connect(address);
+            } catch (IOException e) {
+                channel.close();
+                throw e;
+            }
+            this.input = new BufferedInputStream(Channels.newInputStream(channel));
+            this.output = Channels.newOutputStream(channel);
+        }
+
+        private boolean isOpen() {
+            return channel.isOpen();
+        }
+
+        private void close() {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                // ignore exception, the connection is discarded anyway
+            }
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package org.dockit.dockitagent.delta;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import org.dockit.dockitagent.collector.vm.collectors.VmNetworkUsageCollector;
+import org.dockit.dockitagent.collector.vm.collectors.VmProcessesCollector;
+import org.dockit.dockitagent.collector.vm.collectors.constants.VmCollectorConstants;
+import org.dockit.dockitagent.config.Config;
+import org.dockit.dockitagent.config.templates.Container;
+import org.dockit.dockitagent.entity.CategoryGenerator;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tracks the last snapshot of each category acknowledged by the server, and encodes the collected data against it.
+ * An unchanged snapshot is sent as a heartbeat only holding its hash, the list valued categories are sent as the
+ * entries added, removed and changed since the acknowledged snapshot, and a full keyframe is sent periodically, when
+ * there is no acknowledged snapshot, or when the delta would not be smaller than the data itself.
+ * <p>
+ * The encoded data is prefixed with {@link #PREFIX} and a json header line, followed by the body:
+ * <pre>
+ * dockit-change:{"type":"delta","base":"&lt;hash&gt;","hash":"&lt;hash&gt;","key":["pid"]}
+ * {"removed":[...],"changed":[...],"added":[...]}
+ * </pre>
+ */
+@Singleton
+public class ChangeTracker {
+    public static final String PREFIX = "dockit-change:";
+    public static final String KEYFRAME = "keyframe";
+    public static final String UNCHANGED = "unchanged";
+    public static final String DELTA = "delta";
+
+    private static final String HEADER_TYPE = "type";
+    private static final String HEADER_BASE = "base";
+    private static final String HEADER_HASH = "hash";
+    private static final String HEADER_KEY = "key";
+    private static final String SEPARATOR = "\n";
+
+    // Fields identifying an entry of the list valued categories
+    private static final Map<String, List<String>> ENTRY_KEYS = Map.of(
+            CategoryGenerator.getCategory(VmProcessesCollector.class),
+            List.of(VmCollectorConstants.PROCESS_PID),
+            CategoryGenerator.getCategory(VmNetworkUsageCollector.class),
+            List.of(VmCollectorConstants.NETWORK_PID, VmCollectorConstants.NETWORK_LOCAL_ADDRESS,
+                    VmCollectorConstants.NETWORK_LOCAL_PORT, VmCollectorConstants.NETWORK_FOREIGN_ADDRESS,
+                    VmCollectorConstants.NETWORK_FOREIGN_PORT, VmCollectorConstants.NETWORK_TYPE));
+
+    private final boolean enabled;
+    private final int keyframeInterval;
+    private final Map<String, State> states = new HashMap<>();
+
+    /**
+     * Change only reporting is disabled when the audits are spooled, since a spooled change is acknowledged before
+     * the server received it, and the spool uploader counts a change of an unknown base as delivered
+     *
+     * @param container {@link org.dockit.dockitagent.config.ConfigContainer} instance to be injected
+     */
+    @Inject
+    public ChangeTracker(Container container) {
+        this(isEnabled(container.getConfig()), container.getConfig().getKEYFRAME_INTERVAL());
+    }
+
+    ChangeTracker(boolean enabled, int keyframeInterval) {
+        this.enabled = enabled;
+        this.keyframeInterval = keyframeInterval;
+    }
+
+    /**
+     * Encode the collected data of a category against its last acknowledged snapshot
+     *
+     * @param category category of the collected data
+     * @param data collected data
+     * @return {@link Change} holding the data to be sent, which is the collected data itself if change only
+     * reporting is disabled
+     */
+    public synchronized Change encode(String category, String data) {
+        if (!enabled || category == null || data == null) {
+            return new Change(category, data);
+        }
+        State base = states.get(category);
+        boolean keyframeDue = base == null || (keyframeInterval > 0 && base.sinceKeyframe >= keyframeInterval);
+        String hash = SnapshotDelta.hash(data);
+        if (!keyframeDue && hash.equals(base.hash)) {
+            return unchanged(category, base);
+        }
+
+        List<String> keys = ENTRY_KEYS.get(category);
+        Map<String, JsonObject> entries = null;
+        if (keys != null) {
+            try {
+                entries = SnapshotDelta.parse(data, keys);
+            } catch (JsonParseException | IllegalStateException e) {
+                // Not a list of json objects, only sent as a keyframe
+                keys = null;
+            }
+        }
+        if (keyframeDue || keys == null || base.entries == null) {
+            return keyframe(category, data, hash, entries);
+        }
+
+        JsonObject delta = SnapshotDelta.diff(base.entries, entries, keys);
+        if (delta.size() == 0) {
+            return unchanged(category, base);
+        }
+        String body = delta.toString();
+        if (body.length() >= data.length()) {
+            return keyframe(category, data, hash, entries);
+        }
+        // The new base is the one the server rebuilds from the delta, so both sides hash the same snapshot
+        Map<String, JsonObject> rebuilt = SnapshotDelta.copy(base.entries);
+        SnapshotDelta.apply(rebuilt, delta, keys);
+        String rebuiltHash = SnapshotDelta.hash(SnapshotDelta.join(rebuilt));
+
+        JsonObject header = header(DELTA, rebuiltHash);
+        header.addProperty(HEADER_BASE, base.hash);
+        JsonArray keyFields = new JsonArray(keys.size());
+        keys.forEach(keyFields::add);
+        header.add(HEADER_KEY, keyFields);
+        return new Change(category, encode(header, body), base.hash,
+                new State(rebuiltHash, rebuilt, base.sinceKeyframe + 1));
+    }
+
+    /**
+     * Advance the snapshot of the category to the one encoded in the change, once the server accepted it
+     *
+     * @param change {@link Change} which was sent successfully
+     */
+    public synchronized void acknowledge(Change change) {
+        if (change.next == null) {
+            return;
+        }
+        State current = states.get(change.category);
+        // A change encoded against an older snapshot does not apply anymore
+        if (change.base != null && (current == null || !current.hash.equals(change.base))) {
+            return;
+        }
+        states.put(change.category, change.next);
+    }
+
+    /**
+     * Forget the snapshot of the category, so the next audit is sent as a keyframe. To be used when a change could
+     * not be sent, as the server may not have the snapshot it was encoded against.
+     *
+     * @param category category to be reset
+     */
+    public synchronized void reset(String category) {
+        if (category != null) {
+            states.remove(category);
+        }
+    }
+
+    private static boolean isEnabled(Config config) {
+        return config.isCHANGE_ONLY() && config.getSPOOL_PATH() == null;
+    }
+
+    private Change unchanged(String category, State base) {
+        return new Change(category, encode(header(UNCHANGED, base.hash), ""), base.hash,
+                new State(base.hash, base.entries, base.sinceKeyframe + 1));
+    }
+
+    private Change keyframe(String category, String data, String hash, Map<String, JsonObject> entries) {
+        return new Change(category, encode(header(KEYFRAME, hash), data), null, new State(hash, entries, 0));
+    }
+
+    private static JsonObject header(String type, String hash) {
+        JsonObject header = new JsonObject();
+        header.addProperty(HEADER_TYPE, type);
+        header.addProperty(HEADER_HASH, hash);
+        return header;
+    }
+
+    private static String encode(JsonObject header, String body) {
+        return PREFIX + header + SEPARATOR + body;
+    }
+
+    /**
+     * Data of a category to be sent, along with the snapshot it advances to once acknowledged
+     */
+    public static final class Change {
+        private final String category;
+        private final String data;
+        private final String base;
+        private final State next;
+
+        private Change(String category, String data) {
+            this(category, data, null, null);
+        }
+
+        private Change(String category, String data, String base, State next) {
+            this.category = category;
+            this.data = data;
+            this.base = base;
+            this.next = next;
+        }
+
+        /**
+         * @return category of the data
+         */
+        public String getCategory() {
+            return category;
+        }
+
+        /**
+         * @return data to be sent, null if nothing was collected
+         */
+        public String getData() {
+            return data;
+        }
+    }
+
+    /**
+     * Snapshot of a category known by the server, the entries are only kept for the list valued categories
+     */
+    private static final class State {
+        private final String hash;
+        private final Map<String, JsonObject> entries;
+        private final int sinceKeyframe;
+
+        private State(String hash, Map<String, JsonObject> entries, int sinceKeyframe) {
+            this.hash = hash;
+            this.entries = entries;
+            this.sinceKeyframe = sinceKeyframe;
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package org.dockit.dockitagent.delta;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.dockit.dockitagent.collector.utils.InformationBuilderHelper;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Utility class to compute and apply the delta between two snapshots of a list valued category, i.e. json objects
+ * joined with {@link InformationBuilderHelper#DELIMITER}, where each entry is identified by the values of its key
+ * fields. The server applies the deltas with the same algorithm, so both sides end up with the same snapshot.
+ */
+public final class SnapshotDelta {
+    public static final String REMOVED = "removed";
+    public static final String CHANGED = "changed";
+    public static final String ADDED = "added";
+
+    private static final String OCCURRENCE = "#";
+
+    /**
+     * @param data snapshot to hash
+     * @return hex encoded SHA-256 hash of the snapshot
+     */
+    public static String hash(String data) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(data.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            // Every java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Parse the entries of a snapshot. Entries sharing the key of a previous one are kept, their key being suffixed
+     * with the index of their occurrence, e.g. {@code [1]#1} for the second entry with the key {@code [1]}.
+     *
+     * @param data snapshot to parse
+     * @param keys key fields identifying an entry
+     * @return entries keyed by {@link #key(JsonObject, List)} and their occurrence, in the order of the snapshot
+     * @throws com.google.gson.JsonParseException if an entry is not valid json
+     * @throws IllegalStateException if an entry is not a json object
+     */
+    public static Map<String, JsonObject> parse(String data, List<String> keys) {
+        Map<String, JsonObject> entries = new LinkedHashMap<>();
+        for (String entry : data.split(InformationBuilderHelper.DELIMITER)) {
+            if (!entry.isBlank()) {
+                put(entries, JsonParser.parseString(entry).getAsJsonObject(), keys);
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * @param entries entries of a snapshot
+     * @return snapshot of the given entries
+     */
+    public static String join(Map<String, JsonObject> entries) {
+        return InformationBuilderHelper.build(entries.values().stream()
+                .map(JsonObject::toString)
+                .toList());
+    }
+
+    /**
+     * Compute the delta turning the base entries into the current ones: removed keys, changed entries holding their
+     * key fields and the fields which differ, and added entries. An entry which lost a field, or a changed entry
+     * sharing its key with a previous one, is removed and added, since a patch only identifies the first occurrence.
+     *
+     * @param base entries of the base snapshot
+     * @param current entries of the current snapshot
+     * @param keys key fields identifying an entry
+     * @return delta as a json object, without any element if nothing changed
+     */
+    public static JsonObject diff(Map<String, JsonObject> base, Map<String, JsonObject> current, List<String> keys) {
+        JsonArray removed = new JsonArray();
+        JsonArray changed = new JsonArray();
+        JsonArray added = new JsonArray();
+        for (String key : base.keySet()) {
+            if (!current.containsKey(key)) {
+                removed.add(key);
+            }
+        }
+        for (Map.Entry<String, JsonObject> entry : current.entrySet()) {
+            JsonObject previous = base.get(entry.getKey());
+            if (previous == null) {
+                added.add(entry.getValue());
+                continue;
+            }
+            JsonObject patch = new JsonObject();
+            entry.getValue().entrySet().stream()
+                    .filter(field -> !field.getValue().equals(previous.get(field.getKey())))
+                    .forEach(field -> patch.add(field.getKey(), field.getValue()));
+            boolean duplicate = !entry.getKey().equals(key(entry.getValue(), keys));
+            if (!entry.getValue().keySet().containsAll(previous.keySet()) || (duplicate && patch.size() > 0)) {
+                removed.add(entry.getKey());
+                added.add(entry.getValue());
+            } else if (patch.size() > 0) {
+                keys.forEach(field -> patch.add(field, entry.getValue().get(field)));
+                changed.add(patch);
+            }
+        }
+
+        JsonObject delta = new JsonObject();
+        if (!removed.isEmpty()) {
+            delta.add(REMOVED, removed);
+        }
+        if (!changed.isEmpty()) {
+            delta.add(CHANGED, changed);
+        }
+        if (!added.isEmpty()) {
+            delta.add(ADDED, added);
+        }
+        return delta;
+    }
+
+    /**
+     * Apply a delta to the base entries in place: the removed entries are dropped, the changed ones are patched where
+     * they are, and the added ones are appended. The entries are then keyed again by their occurrence, as if the
+     * resulting snapshot was parsed.
+     *
+     * @param entries entries of the base snapshot, modified by the delta
+     * @param delta delta computed by {@link #diff(Map, Map, List)}
+     * @param keys key fields identifying an entry
+     * @return false if the delta does not apply to the given entries
+     */
+    public static boolean apply(Map<String, JsonObject> entries, JsonObject delta, List<String> keys) {
+        for (JsonElement key : array(delta, REMOVED)) {
+            if (entries.remove(key.getAsString()) == null) {
+                return false;
+            }
+        }
+        for (JsonElement patch : array(delta, CHANGED)) {
+            JsonObject entry = entries.get(key(patch.getAsJsonObject(), keys));
+            if (entry == null) {
+                return false;
+            }
+            patch.getAsJsonObject().entrySet().forEach(field -> entry.add(field.getKey(), field.getValue()));
+        }
+        for (JsonElement added : array(delta, ADDED)) {
+            put(entries, added.getAsJsonObject(), keys);
+        }
+        List<JsonObject> values = new ArrayList<>(entries.values());
+        entries.clear();
+        values.forEach(entry -> put(entries, entry, keys));
+        return true;
+    }
+
+    /**
+     * @param entries entries to copy
+     * @return deep copy of the entries, so they can be modified without affecting the given ones
+     */
+    public static Map<String, JsonObject> copy(Map<String, JsonObject> entries) {
+        Map<String, JsonObject> copy = new LinkedHashMap<>();
+        entries.forEach((key, entry) -> copy.put(key, entry.deepCopy()));
+        return copy;
+    }
+
+    /**
+     * @param entry entry of a snapshot
+     * @param keys key fields identifying an entry
+     * @return json array of the values of the key fields, null for the missing ones
+     */
+    public static String key(JsonObject entry, List<String> keys) {
+        JsonArray values = new JsonArray(keys.size());
+        for (String field : keys) {
+            JsonElement value = entry.get(field);
+            values.add(value == null ? JsonNull.INSTANCE : value);
+        }
+        return values.toString();
+    }
+
+    private static void put(Map<String, JsonObject> entries, JsonObject entry, List<String> keys) {
+        String key = key(entry, keys);
+        String unique = key;
+        for (int occurrence = 1; entries.containsKey(unique); occurrence++) {
+            unique = key + OCCURRENCE + occurrence;
+        }
+        entries.put(unique, entry);
+    }
+
+    private static JsonArray array(JsonObject delta, String name) {
+        JsonElement element = delta.get(name);
+        return element != null && element.isJsonArray() ? element.getAsJsonArray() : new JsonArray();
+    }
+}
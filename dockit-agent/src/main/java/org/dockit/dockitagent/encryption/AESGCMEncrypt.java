@@ -8,10 +8,13 @@ import org.slf4j.LoggerFactory;
 
 import javax.crypto.BadPaddingException;
 import javax.crypto.Cipher;
+import javax.crypto.CipherOutputStream;
 import javax.crypto.IllegalBlockSizeException;
 import javax.crypto.NoSuchPaddingException;
 import javax.crypto.SecretKey;
 import javax.crypto.spec.GCMParameterSpec;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 import java.security.InvalidAlgorithmParameterException;
 import java.security.InvalidKeyException;
@@ -54,6 +57,58 @@ public class AESGCMEncrypt {
             logger.debug("Data for encryption cannot be null!");
             throw new IllegalArgumentException();
         }
+        return Base64.getEncoder().encodeToString(encryptBytes(data.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Encrypt using AES-GCM algorithm, without encoding the result
+     *
+     * @param data input bytes to be encrypted
+     * @return the IV followed by the encrypted data
+     * @throws NoSuchPaddingException
+     * @throws NoSuchAlgorithmException
+     * @throws InvalidAlgorithmParameterException
+     * @throws InvalidKeyException
+     * @throws IllegalBlockSizeException
+     * @throws BadPaddingException
+     */
+    public byte[] encryptBytes(byte[] data) throws NoSuchPaddingException,
+            NoSuchAlgorithmException, InvalidAlgorithmParameterException, InvalidKeyException, IllegalBlockSizeException,
+            BadPaddingException {
+
+        if (data == null) {
+            logger.debug("Data for encryption cannot be null!");
+            throw new IllegalArgumentException();
+        }
+        String id = configContainer.getConfig().getID();
+        if (id == null) {
+            logger.error("Agent id in config CANNOT be null!");
+            throw new IllegalArgumentException();
+        }
+
+        byte[] IV = getRandomBytes();
+        Cipher cipher = initCipher(Cipher.ENCRYPT_MODE, IV);
+        cipher.updateAAD(id.getBytes());
+
+        byte[] encryptedBytes = cipher.doFinal(data);
+        return ArrayUtils.addAll(IV, encryptedBytes);
+    }
+
+    /**
+     * Encrypt using AES-GCM algorithm as the data is written. The IV is written to the output right away, and the
+     * tag when the returned stream is closed, so the output is the same as {@link #encryptBytes(byte[])}.
+     *
+     * @param output stream to write the IV and the encrypted data to
+     * @return stream encrypting the data written to it, closing it closes the output
+     * @throws IOException if the IV could not be written to the output
+     * @throws NoSuchPaddingException
+     * @throws NoSuchAlgorithmException
+     * @throws InvalidAlgorithmParameterException
+     * @throws InvalidKeyException
+     */
+    public OutputStream encryptingStream(OutputStream output) throws IOException, NoSuchPaddingException,
+            NoSuchAlgorithmException, InvalidAlgorithmParameterException, InvalidKeyException {
+
         String id = configContainer.getConfig().getID();
         if (id == null) {
             logger.error("Agent id in config CANNOT be null!");
@@ -64,9 +119,8 @@ public class AESGCMEncrypt {
         Cipher cipher = initCipher(Cipher.ENCRYPT_MODE, IV);
         cipher.updateAAD(id.getBytes());
 
-        byte[] encryptedBytes = cipher.doFinal(data.getBytes());
-        byte[] cipherByte = ArrayUtils.addAll(IV, encryptedBytes);
-        return Base64.getEncoder().encodeToString(cipherByte);
+        output.write(IV);
+        return new CipherOutputStream(output, cipher);
     }
 
     /**
@@ -1,9 +1,11 @@
 package org.dockit.dockitagent.entity;
 
 import com.google.gson.Gson;
+import org.dockit.dockitagent.wire.PayloadEncoding;
 
-import java.time.LocalDateTime;
 import java.time.ZonedDateTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
@@ -14,6 +16,8 @@ public class Audit {
     private final String category;
     private final ZonedDateTime timeStamp;
     private final String data;
+    private final byte[] payload;
+    private final String encoding;
 
     /**
      * Constructor for the Audit entity
@@ -24,10 +28,26 @@ public class Audit {
      * @param data encrypted data
      */
     Audit(String vmId, String category, ZonedDateTime timeStamp, String data) {
+        this(vmId, category, timeStamp, data, null, PayloadEncoding.IDENTITY);
+    }
+
+    /**
+     * Constructor for the Audit entity holding a payload which was encoded before being encrypted
+     *
+     * @param vmId id of the running vm
+     * @param category category for the audit data
+     * @param timeStamp {@link ZonedDateTime} timeStamp of the collected data
+     * @param data encrypted data, null if the audit holds binary records
+     * @param payload encrypted binary records of the data, null if the audit holds data
+     * @param encoding encoding of the payload before it was encrypted, see {@link PayloadEncoding}
+     */
+    Audit(String vmId, String category, ZonedDateTime timeStamp, String data, byte[] payload, String encoding) {
         this.vmId = vmId;
         this.category = category;
         this.timeStamp = timeStamp;
         this.data = data;
+        this.payload = payload;
+        this.encoding = encoding;
     }
 
     /**
@@ -52,10 +72,31 @@ public class Audit {
     }
 
     /**
-     * @return data
+     * @return data, the payload is encoded in base64 if the audit holds binary records
      */
     public String getData() {
-        return data;
+        return payload == null ? data : Base64.getEncoder().encodeToString(payload);
+    }
+
+    /**
+     * @return encrypted binary records of the data, null if the audit was not built from binary records
+     */
+    public byte[] getPayload() {
+        return payload;
+    }
+
+    /**
+     * @return encoding of the payload before it was encrypted, see {@link PayloadEncoding}
+     */
+    public String getEncoding() {
+        return encoding;
+    }
+
+    /**
+     * @return if the audit holds binary records which can be sent in the binary wire format
+     */
+    public boolean isBinary() {
+        return payload != null;
     }
 
     /**
@@ -63,12 +104,22 @@ public class Audit {
      */
     public String toMap() {
         Gson gson = new Gson();
-        Map<String, String> json = Map.of(
-                "vmId", vmId,
-                "category", category,
-                "timeStamp", timeStamp.toLocalDateTime().toString(),
-                "data", data
-        );
-        return gson.toJson(json);
+        return gson.toJson(toFields());
+    }
+
+    /**
+     * @return {@link Map} containing the fields of the entity in the format the server expects
+     */
+    public Map<String, String> toFields() {
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put("vmId", vmId);
+        fields.put("category", category);
+        fields.put("timeStamp", timeStamp.toLocalDateTime().toString());
+        fields.put("data", getData());
+        // Left out when not compressed, so the audit is read the same by servers which do not know the field
+        if (!PayloadEncoding.IDENTITY.equals(encoding)) {
+            fields.put("encoding", encoding);
+        }
+        return fields;
     }
 }
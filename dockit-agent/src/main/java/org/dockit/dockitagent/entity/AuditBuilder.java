@@ -1,6 +1,7 @@
 package org.dockit.dockitagent.entity;
 
 import org.dockit.dockitagent.exceptions.entity.AuditBuildingException;
+import org.dockit.dockitagent.wire.PayloadEncoding;
 
 import java.time.ZonedDateTime;
 
@@ -26,9 +27,13 @@ public class AuditBuilder {
 
     public interface Data {
         Build data(String data);
+
+        Build payload(byte[] payload);
     }
 
     public interface Build {
+        Build encoding(String encoding);
+
         Audit build();
     }
 
@@ -38,6 +43,8 @@ public class AuditBuilder {
         private String category;
         private ZonedDateTime timeStamp;
         private String data;
+        private byte[] payload;
+        private String encoding = PayloadEncoding.IDENTITY;
 
         @Override
         public Category vmId(String vmId) {
@@ -75,13 +82,33 @@ public class AuditBuilder {
             return this;
         }
 
+        @Override
+        public Build payload(byte[] payload) {
+            if (payload == null) {
+                throw new AuditBuildingException("payload cannot be null!");
+            }
+            this.payload = payload;
+            return this;
+        }
+
+        @Override
+        public Build encoding(String encoding) {
+            if (encoding == null) {
+                throw new AuditBuildingException("encoding cannot be null!");
+            }
+            this.encoding = encoding;
+            return this;
+        }
+
         @Override
         public Audit build() {
             return new Audit(
                     this.vmId,
                     this.category,
                     this.timeStamp,
-                    this.data
+                    this.data,
+                    this.payload,
+                    this.encoding
             );
         }
     }
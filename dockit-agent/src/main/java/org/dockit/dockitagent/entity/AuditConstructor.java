@@ -4,16 +4,22 @@ import com.google.inject.Inject;
 import org.dockit.dockitagent.config.templates.Container;
 import org.dockit.dockitagent.encryption.AESGCMEncrypt;
 import org.dockit.dockitagent.exceptions.entity.AuditBuildingException;
+import org.dockit.dockitagent.wire.PayloadEncoding;
+import org.dockit.dockitagent.wire.RecordEncoder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.crypto.BadPaddingException;
 import javax.crypto.IllegalBlockSizeException;
 import javax.crypto.NoSuchPaddingException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.security.InvalidAlgorithmParameterException;
 import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
 import java.time.ZonedDateTime;
+import java.util.Base64;
+import java.util.Iterator;
 import java.util.Optional;
 
 /**
@@ -37,7 +43,9 @@ public class AuditConstructor {
     }
 
     /**
-     * Construction method for a given audit using {@link org.dockit.dockitagent.config.Config} data
+     * Construction method for a given audit using {@link org.dockit.dockitagent.config.Config} data. The data is
+     * encoded as binary records if the binary format is enabled, then compressed if payload compression is enabled
+     * and it pays off, before being encrypted.
      *
      * @param data raw string data to be encrypted
      * @param category category for the given audit data
@@ -45,15 +53,32 @@ public class AuditConstructor {
      */
     public Optional<Audit> construct(String data, String category) {
         try {
-            String encryptedData = encryptor.encrypt(data);
+            boolean binary = data != null && container.getConfig().isBINARY_FORMAT();
+            boolean compress = data != null && container.getConfig().isCOMPRESS_PAYLOAD();
+            String encoding = PayloadEncoding.IDENTITY;
+            byte[] payload = null;
+            String encryptedData = null;
+            if (binary || compress) {
+                byte[] bytes = binary ? RecordEncoder.encode(data) : data.getBytes(StandardCharsets.UTF_8);
+                byte[] compressed = compress ? PayloadEncoding.deflate(bytes) : null;
+                if (compressed != null) {
+                    bytes = compressed;
+                    encoding = PayloadEncoding.DEFLATE;
+                }
+                payload = encryptor.encryptBytes(bytes);
+            } else {
+                encryptedData = encryptor.encrypt(data);
+            }
             ZonedDateTime zonedDateTime = ZonedDateTime.now(container.getConfig().getZONE_ID());
 
-            return Optional.of(AuditBuilder.newBuilder()
+            AuditBuilder.Data builder = AuditBuilder.newBuilder()
                     .vmId(container.getConfig().getVM_ID())
                     .category(category)
-                    .timeStamp(zonedDateTime)
-                    .data(encryptedData)
-                    .build());
+                    .timeStamp(zonedDateTime);
+            AuditBuilder.Build build = binary
+                    ? builder.payload(payload)
+                    : builder.data(payload != null ? Base64.getEncoder().encodeToString(payload) : encryptedData);
+            return Optional.of(build.encoding(encoding).build());
 
         } catch (NoSuchPaddingException | NoSuchAlgorithmException | InvalidAlgorithmParameterException |
                  InvalidKeyException | IllegalBlockSizeException | BadPaddingException | AuditBuildingException e) {
@@ -61,4 +86,29 @@ public class AuditConstructor {
             return Optional.empty();
         }
     }
+
+    /**
+     * Construction method for an audit which is streamed to the server while its records are collected, see
+     * {@link AuditStream}. The records are compressed before being encrypted if payload compression is enabled.
+     *
+     * @param records records of the audit, built as they are iterated
+     * @param category category for the given audit data
+     * @return {@link Optional} empty if there is an exception, json representation of the audit if not
+     */
+    public Optional<AuditStream> constructStream(Iterator<String> records, String category) {
+        String vmId = container.getConfig().getVM_ID();
+        if (records == null || vmId == null || category == null) {
+            logger.error("Records, vmId and category of a streamed audit cannot be null!");
+            return Optional.empty();
+        }
+        try {
+            String timeStamp = ZonedDateTime.now(container.getConfig().getZONE_ID()).toLocalDateTime().toString();
+            return Optional.of(new AuditStream(records, vmId, category, timeStamp, encryptor,
+                    container.getConfig().isCOMPRESS_PAYLOAD()));
+        } catch (IOException | NoSuchPaddingException | NoSuchAlgorithmException | InvalidAlgorithmParameterException |
+                 InvalidKeyException | IllegalArgumentException e) {
+            logger.error(e.getMessage());
+            return Optional.empty();
+        }
+    }
 }
@@ -0,0 +1,161 @@
+package org.dockit.dockitagent.entity;
+
+import com.google.gson.Gson;
+import org.dockit.dockitagent.collector.utils.InformationBuilderHelper;
+import org.dockit.dockitagent.encryption.AESGCMEncrypt;
+import org.dockit.dockitagent.wire.PayloadEncoding;
+
+import javax.crypto.NoSuchPaddingException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidAlgorithmParameterException;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Json representation of an {@link Audit} which is produced as it is read, so it can be used as the body of a request
+ * without holding the whole data in memory. Each time the reader runs out of bytes, the next record of the collector
+ * is written through compression if enabled, encryption and base64 encoding into a buffer, which only holds the
+ * output of a single record at a time. Built using {@link AuditConstructor#constructStream(Iterator, String)}.
+ */
+public final class AuditStream extends InputStream {
+    private static final byte[] DELIMITER = InformationBuilderHelper.DELIMITER.getBytes(StandardCharsets.UTF_8);
+    private static final byte[] SUFFIX = "\"}".getBytes(StandardCharsets.UTF_8);
+    private static final int BUFFER_SIZE = 8192;
+
+    private final Iterator<String> records;
+    private final ChunkBuffer buffer = new ChunkBuffer();
+    private final Deflater deflater;
+    private final OutputStream sink;
+    private boolean finished;
+
+    /**
+     * @param records records of the audit, joined with {@link InformationBuilderHelper#DELIMITER} as in
+     *                {@link org.dockit.dockitagent.collector.RecordCollector#collect()}
+     * @param vmId id of the running vm
+     * @param category category of the audit
+     * @param timeStamp local date time of the audit in ISO format
+     * @param encryptor {@link AESGCMEncrypt} to encrypt the records with
+     * @param compress if the records should be compressed with deflate before they are encrypted
+     */
+    AuditStream(Iterator<String> records, String vmId, String category, String timeStamp, AESGCMEncrypt encryptor,
+                boolean compress) throws IOException, NoSuchPaddingException, NoSuchAlgorithmException,
+            InvalidAlgorithmParameterException, InvalidKeyException {
+        this.records = records;
+        // The data is written last, so every other field is known before it is streamed
+        Gson gson = new Gson();
+        String prefix = "{\"vmId\":%s,\"category\":%s,\"timeStamp\":%s,%s\"data\":\"".formatted(
+                gson.toJson(vmId), gson.toJson(category), gson.toJson(timeStamp),
+                compress ? "\"encoding\":\"%s\",".formatted(PayloadEncoding.DEFLATE) : "");
+        buffer.write(prefix.getBytes(StandardCharsets.UTF_8));
+
+        OutputStream encrypted = encryptor.encryptingStream(Base64.getEncoder().wrap(buffer));
+        this.deflater = compress ? new Deflater(Deflater.BEST_SPEED) : null;
+        this.sink = compress ? new DeflaterOutputStream(encrypted, deflater, BUFFER_SIZE) : encrypted;
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] single = new byte[1];
+        return read(single, 0, 1) == -1 ? -1 : single[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+        while (buffer.available() == 0 && !finished) {
+            fill();
+        }
+        return buffer.available() == 0 ? -1 : buffer.read(bytes, offset, length);
+    }
+
+    @Override
+    public int available() {
+        return buffer.available();
+    }
+
+    @Override
+    public void close() {
+        finished = true;
+        if (deflater != null) {
+            deflater.end();
+        }
+    }
+
+    private void fill() throws IOException {
+        try {
+            if (records.hasNext()) {
+                sink.write(records.next().getBytes(StandardCharsets.UTF_8));
+                sink.write(DELIMITER);
+                return;
+            }
+            // Writes the rest of the compressed data, the tag and the base64 padding
+            sink.close();
+            buffer.write(SUFFIX);
+            close();
+        } catch (IOException | RuntimeException e) {
+            close();
+            throw new IOException("Could not stream the audit!", e);
+        }
+    }
+
+    /**
+     * Buffer written by the end of the chain and drained by the reader, reusing its space once drained
+     */
+    private static final class ChunkBuffer extends OutputStream {
+        private byte[] data = new byte[BUFFER_SIZE];
+        private int start;
+        private int end;
+
+        @Override
+        public void write(int value) {
+            ensureCapacity(1);
+            data[end++] = (byte) value;
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) {
+            ensureCapacity(length);
+            System.arraycopy(bytes, offset, data, end, length);
+            end += length;
+        }
+
+        int available() {
+            return end - start;
+        }
+
+        int read(byte[] bytes, int offset, int length) {
+            int size = Math.min(length, available());
+            System.arraycopy(data, start, bytes, offset, size);
+            start += size;
+            if (start == end) {
+                start = 0;
+                end = 0;
+            }
+            return size;
+        }
+
+        private void ensureCapacity(int length) {
+            if (end + length <= data.length) {
+                return;
+            }
+            int size = available();
+            if (size + length <= data.length) {
+                System.arraycopy(data, start, data, 0, size);
+            } else {
+                data = Arrays.copyOfRange(data, start, start + Math.max(data.length * 2, size + length));
+            }
+            start = 0;
+            end = size;
+        }
+    }
+}
@@ -1,10 +1,15 @@
 package org.dockit.dockitagent.entity;
 
 import org.dockit.dockitagent.collector.Collector;
+import org.dockit.dockitagent.collector.aggregate.AggregatingCollector;
+import org.dockit.dockitagent.collector.docker.collectors.CgroupContainerResourceCollector;
 import org.dockit.dockitagent.collector.docker.collectors.DockerContainerCollector;
 import org.dockit.dockitagent.collector.docker.collectors.DockerContainerFileSystemCollector;
 import org.dockit.dockitagent.collector.docker.collectors.DockerContainerProcessCollector;
 import org.dockit.dockitagent.collector.docker.collectors.DockerContainerResourceCollector;
+import org.dockit.dockitagent.collector.vm.collectors.ProcCpuUsageCollector;
+import org.dockit.dockitagent.collector.vm.collectors.ProcFileSystemCollector;
+import org.dockit.dockitagent.collector.vm.collectors.ProcMemoryResourcesCollector;
 import org.dockit.dockitagent.collector.vm.collectors.VmCpuUsageCollector;
 import org.dockit.dockitagent.collector.vm.collectors.VmDiskUsageCollector;
 import org.dockit.dockitagent.collector.vm.collectors.VmFileSystemCollector;
@@ -46,15 +51,19 @@ public final class CategoryGenerator {
             return DOCKER_CONTAINER_FILESYSTEM;
         } else if (clazz.equals(DockerContainerProcessCollector.class)) {
             return DOCKER_CONTAINER_PROCESS;
-        } else if (clazz.equals(DockerContainerResourceCollector.class)) {
+        } else if (clazz.equals(DockerContainerResourceCollector.class)
+                || clazz.equals(CgroupContainerResourceCollector.class)) {
             return DOCKER_CONTAINER_RESOURCE;
-        } else if (clazz.equals(VmCpuUsageCollector.class)) {
+        } else if (clazz.equals(VmCpuUsageCollector.class)
+                || clazz.equals(ProcCpuUsageCollector.class)) {
             return VM_CPU;
         } else if (clazz.equals(VmDiskUsageCollector.class)) {
             return VM_DISK;
-        } else if (clazz.equals(VmFileSystemCollector.class)) {
+        } else if (clazz.equals(VmFileSystemCollector.class)
+                || clazz.equals(ProcFileSystemCollector.class)) {
             return VM_FILESYSTEM;
-        } else if (clazz.equals(VmMemoryResourcesCollector.class)) {
+        } else if (clazz.equals(VmMemoryResourcesCollector.class)
+                || clazz.equals(ProcMemoryResourcesCollector.class)) {
             return VM_MEMORY;
         } else if (clazz.equals(VmNetworkUsageCollector.class)) {
             return VM_NETWORK;
@@ -66,4 +75,25 @@ public final class CategoryGenerator {
             return null;
         }
     }
+
+    /**
+     * Given the collector, return the appropriate category
+     *
+     * @param collector {@link Collector} instance, its sampled collector if it is an {@link AggregatingCollector}
+     * @return pre-defined category for the given collector
+     */
+    public static String getCategory(Collector collector) {
+        return getCategory(getSourceClass(collector));
+    }
+
+    /**
+     * @param collector {@link Collector} instance
+     * @return class of the collector the data comes from, the class of the sampled collector if it is an
+     * {@link AggregatingCollector}
+     */
+    public static Class<? extends Collector> getSourceClass(Collector collector) {
+        return collector instanceof AggregatingCollector aggregatingCollector
+                ? aggregatingCollector.getDelegate().getClass()
+                : collector.getClass();
+    }
 }
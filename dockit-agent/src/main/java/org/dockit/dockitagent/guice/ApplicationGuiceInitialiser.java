@@ -2,6 +2,7 @@ package org.dockit.dockitagent.guice;
 
 import com.google.inject.Guice;
 import com.google.inject.Injector;
+import org.dockit.dockitagent.collector.docker.DockerEventSubscriber;
 import org.dockit.dockitagent.collector.initialiser.CollectorInitialiserModule;
 import org.dockit.dockitagent.command.CommandModule;
 import org.dockit.dockitagent.config.ConfigContainer;
@@ -14,6 +15,8 @@ import org.dockit.dockitagent.rest.RestServer;
 import org.dockit.dockitagent.scheduler.JobScheduler;
 import org.dockit.dockitagent.scheduler.SchedulerModule;
 import org.dockit.dockitagent.sender.SenderModule;
+import org.dockit.dockitagent.spool.SpoolModule;
+import org.dockit.dockitagent.spool.SpoolUploader;
 
 /**
  * Guice configuration for the application
@@ -30,6 +33,7 @@ public class ApplicationGuiceInitialiser {
                 new ConnectionModule(),
                 new EncryptionModule(),
                 new SenderModule(),
+                new SpoolModule(),
                 new CollectorInitialiserModule(),
                 new JobModule(),
                 new SchedulerModule(),
@@ -52,6 +56,20 @@ public class ApplicationGuiceInitialiser {
         return injector.getInstance(RestServer.class);
     }
 
+    /**
+     * @return {@link SpoolUploader} instance to
+     */
+    public SpoolUploader getSpoolUploader() {
+        return injector.getInstance(SpoolUploader.class);
+    }
+
+    /**
+     * @return {@link DockerEventSubscriber} instance to
+     */
+    public DockerEventSubscriber getDockerEventSubscriber() {
+        return injector.getInstance(DockerEventSubscriber.class);
+    }
+
     /**
      * @return {@link ConfigContainer} instance to
      */
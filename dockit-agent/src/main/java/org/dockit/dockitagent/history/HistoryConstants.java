@@ -0,0 +1,13 @@
+package org.dockit.dockitagent.history;
+
+/**
+ * Class containing the constants of the history requests of the server
+ */
+public final class HistoryConstants {
+    public static final String DATA = "data";
+    public static final String ENCODING = "encoding";
+    public static final String FROM = "from";
+    public static final String TO = "to";
+    public static final String CATEGORY = "category";
+    public static final String NEXT = "next";
+}
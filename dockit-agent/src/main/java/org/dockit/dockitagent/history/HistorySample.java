@@ -0,0 +1,44 @@
+package org.dockit.dockitagent.history;
+
+import com.google.gson.JsonElement;
+
+/**
+ * Sample of a collector kept in the {@link MetricHistory}
+ */
+public class HistorySample {
+    private final long timeStamp;
+    private final String category;
+    private final JsonElement data;
+
+    /**
+     * @param timeStamp time the sample was collected at in milliseconds since the epoch
+     * @param category category of the sampled collector
+     * @param data collected data as json, the records of a list valued category being a json array
+     */
+    public HistorySample(long timeStamp, String category, JsonElement data) {
+        this.timeStamp = timeStamp;
+        this.category = category;
+        this.data = data;
+    }
+
+    /**
+     * @return time the sample was collected at in milliseconds since the epoch
+     */
+    public long getTimeStamp() {
+        return timeStamp;
+    }
+
+    /**
+     * @return category of the sampled collector
+     */
+    public String getCategory() {
+        return category;
+    }
+
+    /**
+     * @return collected data as json, the records of a list valued category being a json array
+     */
+    public JsonElement getData() {
+        return data;
+    }
+}
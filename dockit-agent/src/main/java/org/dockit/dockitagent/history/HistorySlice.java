@@ -0,0 +1,37 @@
+package org.dockit.dockitagent.history;
+
+import java.util.List;
+
+/**
+ * Samples of a time range read from the {@link MetricHistory}, along with the time to continue reading the range from
+ * if it did not fit in a single slice
+ */
+public class HistorySlice {
+    private final List<HistorySample> samples;
+    private final Long next;
+
+    /**
+     * @param samples samples of the slice in the order they were collected
+     * @param next time to continue reading the range from in milliseconds since the epoch, null if the whole range
+     *             was read
+     */
+    public HistorySlice(List<HistorySample> samples, Long next) {
+        this.samples = samples;
+        this.next = next;
+    }
+
+    /**
+     * @return samples of the slice in the order they were collected
+     */
+    public List<HistorySample> getSamples() {
+        return samples;
+    }
+
+    /**
+     * @return time to continue reading the range from in milliseconds since the epoch, null if the whole range was
+     * read
+     */
+    public Long getNext() {
+        return next;
+    }
+}
@@ -0,0 +1,264 @@
+package org.dockit.dockitagent.history;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import org.dockit.dockitagent.collector.utils.InformationBuilderHelper;
+import org.dockit.dockitagent.config.Config;
+import org.dockit.dockitagent.config.templates.Container;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongSupplier;
+import java.util.stream.Stream;
+
+/**
+ * Bounded on-disk history of the sampled metrics, holding every sample of the last minutes so the server can pull a
+ * time range of them at full resolution. Samples are appended as json lines to segment files in the history
+ * directory, each segment covering a fixed part of the retention and being named after the time of its first sample.
+ * The collected data is embedded as json rather than as an escaped string, the records joined with
+ * {@link InformationBuilderHelper#DELIMITER} being kept as a json array.
+ * Segments are dropped once all their samples are older than the retention, or when the size cap is reached.
+ */
+@Singleton
+public class MetricHistory {
+    private static final Logger logger = LoggerFactory.getLogger(MetricHistory.class);
+
+    private static final String SEGMENT_PREFIX = "history-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final int SEGMENT_COUNT = 8;
+    private static final long MILLIS_PER_MINUTE = 60 * 1000;
+    private static final long BYTES_PER_MEGABYTE = 1024 * 1024;
+
+    private final Path directory;
+    private final long retentionMillis;
+    private final long segmentMillis;
+    private final long maxBytes;
+    private final LongSupplier clock;
+    private final List<Segment> segments = new ArrayList<>();
+    private final Gson gson = new Gson();
+
+    private boolean opened;
+    private OutputStream activeSegment;
+    private long totalBytes;
+
+    /**
+     * @param container {@link Container} instance to be injected
+     */
+    @Inject
+    public MetricHistory(Container container) {
+        this(historyPath(container.getConfig()), container.getConfig().getHISTORY_MINUTES() * MILLIS_PER_MINUTE,
+                container.getConfig().getHISTORY_SIZE() * BYTES_PER_MEGABYTE, System::currentTimeMillis);
+    }
+
+    /**
+     * The history directory is only opened when the history is first used, picking up the segments left by a
+     * previous run
+     *
+     * @param directory directory containing the segment files, null to disable the history
+     * @param retentionMillis how long the samples are kept in milliseconds
+     * @param maxBytes maximum total size of the segments in bytes
+     * @param clock supplier of the current time in milliseconds since the epoch
+     */
+    MetricHistory(Path directory, long retentionMillis, long maxBytes, LongSupplier clock) {
+        this.directory = directory;
+        this.retentionMillis = retentionMillis;
+        this.segmentMillis = Math.max(1, retentionMillis / SEGMENT_COUNT);
+        this.maxBytes = maxBytes;
+        this.clock = clock;
+    }
+
+    /**
+     * @return if the samples are kept in the history
+     */
+    public boolean isEnabled() {
+        return directory != null;
+    }
+
+    /**
+     * Append a sample to the history, dropping the expired segments and the oldest ones if the history is full
+     *
+     * @param category category of the sampled collector
+     * @param data collected data, ignored if it is null
+     * @throws IOException if the sample cannot be written
+     */
+    public synchronized void record(String category, String data) throws IOException {
+        if (!isEnabled() || data == null) {
+            return;
+        }
+        open();
+        long now = clock.getAsLong();
+        expire(now);
+        if (activeSegment == null || now - segments.get(segments.size() - 1).start >= segmentMillis) {
+            roll(now);
+        }
+        byte[] bytes = (gson.toJson(new HistorySample(now, category, toJson(data))) + "\n")
+                .getBytes(StandardCharsets.UTF_8);
+        while (totalBytes + bytes.length > maxBytes && segments.size() > 1) {
+            logger.warn("History is full, dropping the oldest segment {}", segments.get(0).path.getFileName());
+            deleteOldest();
+        }
+        activeSegment.write(bytes);
+        totalBytes += bytes.length;
+    }
+
+    /**
+     * Read the samples collected in a time range, stopping once the slice holds the given amount of samples or bytes,
+     * so a large range is read over several slices. A slice ends between two timestamps, so the next one can start at
+     * the timestamp it returns without repeating or skipping a sample. Only when the samples of a single millisecond
+     * exceed the limits, the slice holds them all and continues after that millisecond.
+     *
+     * @param from start of the range in milliseconds since the epoch, inclusive
+     * @param to end of the range in milliseconds since the epoch, inclusive
+     * @param category category of the samples to be returned, null for every category
+     * @param maxSamples maximum amount of samples in the slice
+     * @param maxBytes maximum size of the samples in the slice, in utf-8 bytes of their json lines
+     * @return {@link HistorySlice} of the range, without any sample if the history is disabled
+     * @throws IOException if a segment cannot be read
+     */
+    public synchronized HistorySlice slice(long from, long to, String category, int maxSamples, long maxBytes)
+            throws IOException {
+        List<HistorySample> samples = new ArrayList<>();
+        if (!isEnabled()) {
+            return new HistorySlice(samples, null);
+        }
+        open();
+        expire(clock.getAsLong());
+        long bytes = 0;
+        for (int i = 0; i < segments.size(); i++) {
+            Segment segment = segments.get(i);
+            // Samples of a segment are older than the start of the next one
+            if (segment.start > to || (i + 1 < segments.size() && segments.get(i + 1).start <= from)) {
+                continue;
+            }
+            try (BufferedReader reader = Files.newBufferedReader(segment.path, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    HistorySample sample = parse(line);
+                    if (sample == null || sample.getTimeStamp() < from || sample.getTimeStamp() > to
+                            || (category != null && !category.equals(sample.getCategory()))) {
+                        continue;
+                    }
+                    int size = line.getBytes(StandardCharsets.UTF_8).length;
+                    if (!samples.isEmpty() && (samples.size() >= maxSamples || bytes + size > maxBytes)) {
+                        return truncate(samples, sample.getTimeStamp());
+                    }
+                    samples.add(sample);
+                    bytes += size;
+                }
+            }
+        }
+        return new HistorySlice(samples, null);
+    }
+
+    private void open() throws IOException {
+        if (opened) {
+            return;
+        }
+        Files.createDirectories(directory);
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(MetricHistory::isSegment)
+                    .sorted()
+                    .forEach(path -> segments.add(new Segment(path, startOf(path))));
+        }
+        for (Segment segment : segments) {
+            totalBytes += Files.size(segment.path);
+        }
+        opened = true;
+    }
+
+    private void expire(long now) throws IOException {
+        // The oldest segment expires once the next one starts before the retention
+        while (segments.size() > 1 && segments.get(1).start <= now - retentionMillis) {
+            deleteOldest();
+        }
+    }
+
+    private void roll(long now) throws IOException {
+        if (activeSegment != null) {
+            activeSegment.close();
+        }
+        // Appends always go to a new segment, so the segments of a previous run are never written to again
+        long start = segments.isEmpty() ? now : Math.max(now, segments.get(segments.size() - 1).start + 1);
+        Path path = directory.resolve(SEGMENT_PREFIX + "%020d".formatted(start) + SEGMENT_SUFFIX);
+        activeSegment = Files.newOutputStream(path, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        segments.add(new Segment(path, start));
+    }
+
+    private void deleteOldest() throws IOException {
+        Segment oldest = segments.remove(0);
+        totalBytes -= Files.size(oldest.path);
+        Files.delete(oldest.path);
+    }
+
+    private static HistorySlice truncate(List<HistorySample> samples, long next) {
+        // Samples sharing the timestamp of the first one left out are read again by the next slice
+        int end = samples.size();
+        while (end > 0 && samples.get(end - 1).getTimeStamp() == next) {
+            end--;
+        }
+        if (end == 0) {
+            return new HistorySlice(samples, next + 1);
+        }
+        return new HistorySlice(new ArrayList<>(samples.subList(0, end)), next);
+    }
+
+    private HistorySample parse(String line) {
+        // A line may be truncated if the agent stopped while writing it
+        try {
+            return gson.fromJson(line, HistorySample.class);
+        } catch (JsonParseException e) {
+            logger.debug("Skipping malformed history line: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static JsonElement toJson(String data) {
+        try {
+            if (!data.endsWith(InformationBuilderHelper.DELIMITER)) {
+                return JsonParser.parseString(data);
+            }
+            JsonArray records = new JsonArray();
+            for (String record : data.split(InformationBuilderHelper.DELIMITER)) {
+                if (!record.isEmpty()) {
+                    records.add(JsonParser.parseString(record));
+                }
+            }
+            return records;
+        } catch (JsonParseException e) {
+            // Data which is not json is kept as it is
+            return new JsonPrimitive(data);
+        }
+    }
+
+    private static Path historyPath(Config config) {
+        return config.getHISTORY_PATH() == null ? null : Path.of(config.getHISTORY_PATH());
+    }
+
+    private static boolean isSegment(Path path) {
+        String name = path.getFileName().toString();
+        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+    }
+
+    private static long startOf(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private record Segment(Path path, long start) {
+    }
+}
@@ -0,0 +1,73 @@
+package org.dockit.dockitagent.jobs;
+
+import org.dockit.dockitagent.alert.ThresholdEvaluator;
+import org.dockit.dockitagent.collector.Collector;
+import org.dockit.dockitagent.delta.ChangeTracker;
+import org.dockit.dockitagent.entity.Audit;
+import org.dockit.dockitagent.entity.AuditConstructor;
+import org.dockit.dockitagent.entity.CategoryGenerator;
+import org.dockit.dockitagent.exceptions.jobs.JobException;
+import org.dockit.dockitagent.sender.Sender;
+import org.quartz.Job;
+import org.quartz.JobDataMap;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * A collection job which runs every collector and sends all the collected audits in a single batch request
+ */
+public class BatchCollectJob implements Job {
+    private static final Logger logger = LoggerFactory.getLogger(BatchCollectJob.class);
+
+    /**
+     * Take a list of {@link Collector} instances, {@link Sender}, {@link AuditConstructor} and {@link ChangeTracker} as
+     * input using the {@link JobDataMap}, collect the data using every collector, encode the changes since the last
+     * audits, construct the audits, and send them to the server together. Collectors whose audit cannot be built are
+     * skipped for this run. If the job data contains a {@link ThresholdEvaluator}, the collected data is evaluated
+     * before the audits are constructed.
+     *
+     * @param context contains details about the job and utility classes in {@link JobDataMap} to be used
+     * @throws JobExecutionException if the batch could not be sent
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void execute(JobExecutionContext context) throws JobExecutionException {
+        JobDataMap jobDataMap = context.getMergedJobDataMap();
+        // Get required utility classes from job data map
+        List<Collector> collectors = (List<Collector>) jobDataMap.get(JobConstants.COLLECTORS);
+        Sender auditSender = (Sender) jobDataMap.get(JobConstants.SENDER);
+        AuditConstructor auditConstructor = (AuditConstructor) jobDataMap.get(JobConstants.CONSTRUCTOR);
+        ChangeTracker changeTracker = (ChangeTracker) jobDataMap.get(JobConstants.CHANGE_TRACKER);
+        ThresholdEvaluator evaluator = (ThresholdEvaluator) jobDataMap.get(JobConstants.EVALUATOR);
+
+        List<Audit> audits = new ArrayList<>();
+        List<ChangeTracker.Change> changes = new ArrayList<>();
+        for (Collector collector : collectors) {
+            String collectedData = collector.collect();
+            CollectJob.evaluate(evaluator, collector, collectedData);
+            ChangeTracker.Change change = changeTracker
+                    .encode(CategoryGenerator.getCategory(collector), collectedData);
+            Optional<Audit> audit = auditConstructor.construct(change.getData(), change.getCategory());
+            if (audit.isEmpty()) {
+                logger.error("Failed with building the audit for {}, skipping it",
+                        CategoryGenerator.getSourceClass(collector).getSimpleName());
+                continue;
+            }
+            audits.add(audit.get());
+            changes.add(change);
+        }
+        if (!auditSender.send(audits)) {
+            logger.error("Failed when sending the batch of audits");
+            // Some audits may have been rejected, so each category starts over from a keyframe
+            changes.forEach(change -> changeTracker.reset(change.getCategory()));
+            throw new JobExecutionException(new JobException());
+        }
+        changes.forEach(changeTracker::acknowledge);
+    }
+}
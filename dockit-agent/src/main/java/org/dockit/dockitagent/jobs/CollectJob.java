@@ -1,12 +1,18 @@
 package org.dockit.dockitagent.jobs;
 
+import org.dockit.dockitagent.alert.ThresholdEvaluator;
 import org.dockit.dockitagent.collector.Collector;
+import org.dockit.dockitagent.collector.RecordCollector;
+import org.dockit.dockitagent.collector.aggregate.AggregatingCollector;
+import org.dockit.dockitagent.delta.ChangeTracker;
 import org.dockit.dockitagent.entity.Audit;
 import org.dockit.dockitagent.entity.AuditConstructor;
+import org.dockit.dockitagent.entity.AuditStream;
 import org.dockit.dockitagent.entity.CategoryGenerator;
 import org.dockit.dockitagent.exceptions.entity.AuditBuildingException;
 import org.dockit.dockitagent.exceptions.jobs.JobException;
 import org.dockit.dockitagent.sender.AuditSender;
+import org.dockit.dockitagent.sender.Sender;
 import org.quartz.Job;
 import org.quartz.JobDataMap;
 import org.quartz.JobExecutionContext;
@@ -23,8 +29,11 @@ public class CollectJob implements Job {
     private static final Logger logger = LoggerFactory.getLogger(CollectJob.class);
 
     /**
-     * Take a {@link Collector} instance, {@link AuditSender} and {@link AuditConstructor} as input using
-     * the {@link JobDataMap}, collect the data using the collector, construct the audit, and send it to the server.
+     * Take a {@link Collector} instance, {@link Sender}, {@link AuditConstructor} and {@link ChangeTracker} as input
+     * using the {@link JobDataMap}, collect the data using the collector, encode the changes since the last audit,
+     * construct the audit, and send it to the server. If the job data contains a stream sender, the records of the
+     * {@link RecordCollector} are streamed to the server as they are collected instead. If it contains a
+     * {@link ThresholdEvaluator}, the collected data is evaluated before the audit is constructed.
      *
      * @param context contains details about the job and utility classes in {@link JobDataMap} to be used
      * @throws JobExecutionException if any exception occurs with the execution of the job
@@ -34,29 +43,66 @@ public class CollectJob implements Job {
         JobDataMap jobDataMap = context.getMergedJobDataMap();
         // Get required utility classes from job data map
         Collector collector = (Collector) jobDataMap.get(JobConstants.COLLECTOR);
-        AuditSender auditSender = (AuditSender) jobDataMap.get(JobConstants.SENDER);
+        Sender auditSender = (Sender) jobDataMap.get(JobConstants.SENDER);
         AuditConstructor auditConstructor = (AuditConstructor) jobDataMap.get(JobConstants.CONSTRUCTOR);
+        ChangeTracker changeTracker = (ChangeTracker) jobDataMap.get(JobConstants.CHANGE_TRACKER);
+        AuditSender streamSender = (AuditSender) jobDataMap.get(JobConstants.STREAM_SENDER);
+        ThresholdEvaluator evaluator = (ThresholdEvaluator) jobDataMap.get(JobConstants.EVALUATOR);
 
         try {
+            if (streamSender != null && collector instanceof RecordCollector recordCollector) {
+                stream(recordCollector, streamSender, auditConstructor);
+                return;
+            }
             String collectedData = collector.collect();
-            Optional<Audit> audit = auditConstructor
-                    .construct(collectedData, CategoryGenerator.getCategory(collector.getClass()));
+            evaluate(evaluator, collector, collectedData);
+            ChangeTracker.Change change = changeTracker
+                    .encode(CategoryGenerator.getCategory(collector), collectedData);
+            Optional<Audit> audit = auditConstructor.construct(change.getData(), change.getCategory());
             if (audit.isEmpty()) {
                 throw new AuditBuildingException("Could not construct the audit!");
             }
             if (!auditSender.send(audit.get())) {
+                changeTracker.reset(change.getCategory());
                 throw new JobException();
-            };
+            }
+            changeTracker.acknowledge(change);
         } catch (AuditBuildingException e) {
             logger.error("Failed with building the audit, aborting the job!");
             JobExecutionException jobException = new JobExecutionException(e);
             jobException.setUnscheduleAllTriggers(true);
             throw jobException;
         } catch (JobException e) {
-            logger.error("Failed when sending the audit, trying again");
-            JobExecutionException jobException = new JobExecutionException(e);
-            jobException.setUnscheduleFiringTrigger(true);
-            throw jobException;
+            // The trigger is kept, so the job is retried at its next fire and probes the circuit breaker once it
+            // is half open
+            logger.error("Failed when sending the audit, trying again at the next fire");
+            throw new JobExecutionException(e);
+        }
+    }
+
+    /**
+     * Evaluate the collected data with the evaluator of the job if it has one
+     *
+     * @param evaluator {@link ThresholdEvaluator} of the job, null if it has none
+     * @param collector {@link Collector} the data was collected by
+     * @param collectedData collected data
+     */
+    static void evaluate(ThresholdEvaluator evaluator, Collector collector, String collectedData) {
+        // Aggregated metrics are evaluated as they are sampled
+        if (evaluator != null && !(collector instanceof AggregatingCollector)) {
+            evaluator.evaluate(CategoryGenerator.getCategory(collector), collectedData);
+        }
+    }
+
+    private void stream(RecordCollector collector, AuditSender streamSender, AuditConstructor auditConstructor)
+            throws AuditBuildingException, JobException {
+        Optional<AuditStream> audit = auditConstructor.constructStream(collector.records(),
+                CategoryGenerator.getCategory(collector));
+        if (audit.isEmpty()) {
+            throw new AuditBuildingException("Could not construct the audit!");
+        }
+        if (!streamSender.send(audit.get())) {
+            throw new JobException();
         }
     }
 }
@@ -5,7 +5,14 @@ package org.dockit.dockitagent.jobs;
  */
 public final class JobConstants {
     public static final String COLLECTOR = "collector";
+    public static final String COLLECTORS = "collectors";
+    public static final String BATCH_JOB_NAME = "batchCollectJob";
     public static final String SENDER = "auditSender";
     public static final String CONSTRUCTOR = "auditConstructor";
+    public static final String CHANGE_TRACKER = "changeTracker";
+    public static final String STREAM_SENDER = "streamSender";
+    public static final String EVALUATOR = "thresholdEvaluator";
     public static final String GROUP_ID = "collectorJobs";
+    public static final String INTERVAL = "interval";
+    public static final String CATEGORY = "category";
 }
@@ -1,15 +1,23 @@
 package org.dockit.dockitagent.jobs;
 
 import com.google.inject.Inject;
+import org.dockit.dockitagent.alert.ThresholdEvaluator;
 import org.dockit.dockitagent.collector.Collector;
+import org.dockit.dockitagent.collector.RecordCollector;
 import org.dockit.dockitagent.collector.initialiser.CollectorInitialiser;
+import org.dockit.dockitagent.config.Config;
+import org.dockit.dockitagent.config.templates.Container;
+import org.dockit.dockitagent.delta.ChangeTracker;
 import org.dockit.dockitagent.entity.AuditConstructor;
+import org.dockit.dockitagent.entity.CategoryGenerator;
 import org.dockit.dockitagent.exceptions.collector.CollectorInitialisationException;
 import org.dockit.dockitagent.sender.AuditSender;
+import org.dockit.dockitagent.sender.Sender;
 import org.quartz.JobDataMap;
 import org.quartz.JobDetail;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -21,45 +29,98 @@ import static org.quartz.JobBuilder.newJob;
 public class JobDetailsGenerator {
 
     private final List<Collector> collectors;
-    private final AuditSender auditSender;
+    private final Sender auditSender;
+    private final AuditSender streamSender;
     private final AuditConstructor auditConstructor;
+    private final ChangeTracker changeTracker;
+    private final ThresholdEvaluator evaluator;
+    private final Container container;
 
     /**
      * @param collectorInitialiser {@link CollectorInitialiser} to be injected
-     * @param auditSender {@link AuditSender} to be injected
+     * @param auditSender {@link Sender} to be injected
+     * @param streamSender {@link AuditSender} to be injected, used to stream the audits of {@link RecordCollector}s
      * @param auditConstructor {@link AuditConstructor} to be injected
+     * @param changeTracker {@link ChangeTracker} to be injected
+     * @param evaluator {@link ThresholdEvaluator} to be injected, used to evaluate the collected data if edge alerts
+     *                  are enabled
+     * @param container {@link org.dockit.dockitagent.config.ConfigContainer} instance to be injected
      * @throws CollectorInitialisationException
      */
     @Inject
-    public JobDetailsGenerator(CollectorInitialiser collectorInitialiser, AuditSender auditSender,
-                               AuditConstructor auditConstructor) throws CollectorInitialisationException {
+    public JobDetailsGenerator(CollectorInitialiser collectorInitialiser, Sender auditSender,
+                               AuditSender streamSender, AuditConstructor auditConstructor,
+                               ChangeTracker changeTracker, ThresholdEvaluator evaluator, Container container)
+            throws CollectorInitialisationException {
         this.collectors = collectorInitialiser.initialiseCollectors();
         this.auditSender = auditSender;
+        this.streamSender = streamSender;
         this.auditConstructor = auditConstructor;
+        this.changeTracker = changeTracker;
+        this.evaluator = evaluator;
+        this.container = container;
     }
 
     /**
-     * For each initialised collector, generate a {@link JobDetail} and return a list of them
+     * For each initialised collector, generate a {@link JobDetail} and return a list of them. If batching is
+     * enabled in the config, a single {@link BatchCollectJob} running every collector is generated instead. If
+     * streaming is enabled, the jobs of {@link RecordCollector}s are given a sender to stream their audits with, and if
+     * edge alerts are enabled, the jobs are given the {@link ThresholdEvaluator} to evaluate the collected data with.
      *
      * @param groupId id to be used when creating job details
      * @return {@link List} of {@link JobDetail} instances
      */
     public List<JobDetail> generate(String groupId) {
+        if (container.getConfig().isBATCH()) {
+            return List.of(generateBatchJob(groupId));
+        }
         List<JobDetail> jobDetails = new ArrayList<>();
 
         for (Collector collector : collectors) {
-            Map<String, ?> jobData = Map.of(
+            Map<String, Object> jobData = new HashMap<>(Map.of(
                     JobConstants.COLLECTOR, collector,
                     JobConstants.SENDER, auditSender,
-                    JobConstants.CONSTRUCTOR, auditConstructor);
+                    JobConstants.CONSTRUCTOR, auditConstructor,
+                    JobConstants.CHANGE_TRACKER, changeTracker));
+            if (collector instanceof RecordCollector && isStreaming()) {
+                jobData.put(JobConstants.STREAM_SENDER, streamSender);
+            }
+            if (container.getConfig().isEDGE_ALERTS()) {
+                jobData.put(JobConstants.EVALUATOR, evaluator);
+            }
 
+            String name = CategoryGenerator.getSourceClass(collector).getName();
             JobDetail job = newJob(CollectJob.class)
-                    .withIdentity(collector.getClass().getName(), groupId)
+                    .withIdentity(name, groupId)
                     .setJobData(new JobDataMap(jobData))
-                    .withDescription("Job for the collector %s".formatted(collector.getClass().getName()))
+                    .withDescription("Job for the collector %s".formatted(name))
                     .build();
             jobDetails.add(job);
         }
         return jobDetails;
     }
+
+    private boolean isStreaming() {
+        // Changes, binary records and spooled audits are built from the whole data, so they can not be streamed
+        Config config = container.getConfig();
+        return config.isSTREAM_AUDITS() && !config.isCHANGE_ONLY() && !config.isBINARY_FORMAT()
+                && config.getSPOOL_PATH() == null;
+    }
+
+    private JobDetail generateBatchJob(String groupId) {
+        Map<String, Object> jobData = new HashMap<>(Map.of(
+                JobConstants.COLLECTORS, List.copyOf(collectors),
+                JobConstants.SENDER, auditSender,
+                JobConstants.CONSTRUCTOR, auditConstructor,
+                JobConstants.CHANGE_TRACKER, changeTracker));
+        if (container.getConfig().isEDGE_ALERTS()) {
+            jobData.put(JobConstants.EVALUATOR, evaluator);
+        }
+
+        return newJob(BatchCollectJob.class)
+                .withIdentity(JobConstants.BATCH_JOB_NAME, groupId)
+                .setJobData(new JobDataMap(jobData))
+                .withDescription("Job for the batch of %d collectors".formatted(collectors.size()))
+                .build();
+    }
 }
@@ -2,6 +2,8 @@ package org.dockit.dockitagent.rest;
 
 import com.google.inject.AbstractModule;
 import org.dockit.dockitagent.rest.routes.CommandRoute;
+import org.dockit.dockitagent.rest.routes.HistoryRoute;
+import org.dockit.dockitagent.rest.routes.ThresholdsRoute;
 
 /**
  * Guice bindings for the api-related classes
@@ -10,5 +12,7 @@ public class RestModule extends AbstractModule {
     public void configure() {
         bind(RestServer.class).asEagerSingleton();
         bind(CommandRoute.class);
+        bind(ThresholdsRoute.class);
+        bind(HistoryRoute.class);
     }
 }
@@ -3,7 +3,9 @@ package org.dockit.dockitagent.rest;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import org.dockit.dockitagent.rest.routes.CommandRoute;
+import org.dockit.dockitagent.rest.routes.HistoryRoute;
 import org.dockit.dockitagent.rest.routes.PingRoute;
+import org.dockit.dockitagent.rest.routes.ThresholdsRoute;
 
 import static spark.Spark.after;
 import static spark.Spark.post;
@@ -17,17 +19,24 @@ public class RestServer {
 
     private final CommandRoute commandRoute;
     private final PingRoute pingRoute;
+    private final ThresholdsRoute thresholdsRoute;
+    private final HistoryRoute historyRoute;
 
     /**
      * Inject any route to the constructor and then create the appropriate endpoint in setupEndpoints() method
      *
      * @param commandRoute {@link CommandRoute} instance to be injected
      * @param pingRoute {@link PingRoute} instance to be injected
+     * @param thresholdsRoute {@link ThresholdsRoute} instance to be injected
+     * @param historyRoute {@link HistoryRoute} instance to be injected
      */
     @Inject
-    public RestServer(CommandRoute commandRoute, PingRoute pingRoute) {
+    public RestServer(CommandRoute commandRoute, PingRoute pingRoute, ThresholdsRoute thresholdsRoute,
+                      HistoryRoute historyRoute) {
         this.commandRoute = commandRoute;
         this.pingRoute = pingRoute;
+        this.thresholdsRoute = thresholdsRoute;
+        this.historyRoute = historyRoute;
     }
 
     /**
@@ -36,6 +45,12 @@ public class RestServer {
     public void setupEndpoints() {
         post("/command", commandRoute);
 
+        // Alert thresholds pushed by the server
+        post("/thresholds", thresholdsRoute);
+
+        // Samples of the metric history pulled by the server
+        post("/history", historyRoute);
+
         // Dummy endpoint to indicate the server is alive
         get("/ping", pingRoute);
 
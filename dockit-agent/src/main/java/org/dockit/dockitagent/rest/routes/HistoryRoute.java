@@ -0,0 +1,116 @@
+package org.dockit.dockitagent.rest.routes;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonSyntaxException;
+import com.google.inject.Inject;
+import org.dockit.dockitagent.encryption.AESGCMEncrypt;
+import org.dockit.dockitagent.history.HistoryConstants;
+import org.dockit.dockitagent.history.HistorySlice;
+import org.dockit.dockitagent.history.MetricHistory;
+import org.dockit.dockitagent.wire.PayloadEncoding;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import spark.Request;
+import spark.Response;
+import spark.Route;
+
+import javax.crypto.BadPaddingException;
+import javax.crypto.IllegalBlockSizeException;
+import javax.crypto.NoSuchPaddingException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidAlgorithmParameterException;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Route for the /history endpoint
+ */
+public class HistoryRoute implements Route {
+    private static final Logger logger = LoggerFactory.getLogger(HistoryRoute.class);
+    private static final int MAX_SAMPLES = 1000;
+    private static final long MAX_BYTES = 4 * 1024 * 1024;
+
+    private final AESGCMEncrypt encrypt;
+    private final MetricHistory history;
+
+    /**
+     * @param encrypt {@link AESGCMEncrypt} instance to be injected
+     * @param history {@link MetricHistory} instance to be injected
+     */
+    @Inject
+    public HistoryRoute(AESGCMEncrypt encrypt, MetricHistory history) {
+        this.encrypt = encrypt;
+        this.history = history;
+    }
+
+    /**
+     * Controller method to handle /history requests, returning the samples kept in the {@link MetricHistory} for a
+     * time range. The request is encrypted with the key of the agent, so only the server can send it, and the samples
+     * are compressed if they shrink, then encrypted the same way. At most {@value #MAX_SAMPLES} samples or
+     * {@value #MAX_BYTES} bytes are returned per request, the rest of the range is read by requesting it again from
+     * the returned "next" timestamp.
+     *
+     * @param request Upcoming request, should contain the field: <br>
+     *                "data" -> encrypted json string, when decrypted, it should have the fields: <br>
+     *                "from" and "to" -> inclusive range of the samples in milliseconds since the epoch <br>
+     *                "category" -> optional, category of the samples to be returned <br>
+     * @param response Upcoming response
+     * @return status code with the appropriate response body, containing the encrypted json list of the samples in
+     * its "data" field, their encoding in its "encoding" field, and the timestamp to continue the range from in its
+     * "next" field if the range did not fit in the response, if successful
+     */
+    @Override
+    public Object handle(Request request, Response response) {
+        Gson gson = new Gson();
+        if (!history.isEnabled()) {
+            response.status(404);
+            return gson.toJson(Map.of(
+                    "message", "History is not enabled!"
+            ));
+        }
+        try {
+            Map<?, ?> requestBody = gson.fromJson(request.body(), Map.class);
+            if (requestBody != null && requestBody.get(HistoryConstants.DATA) instanceof String data) {
+                Map<?, ?> range = gson.fromJson(encrypt.decrypt(data), Map.class);
+                if (range != null && range.get(HistoryConstants.FROM) instanceof Number from
+                        && range.get(HistoryConstants.TO) instanceof Number to
+                        && from.longValue() <= to.longValue()) {
+                    String category = range.get(HistoryConstants.CATEGORY) instanceof String value ? value : null;
+                    HistorySlice slice = history.slice(from.longValue(), to.longValue(), category, MAX_SAMPLES,
+                            MAX_BYTES);
+                    byte[] bytes = gson.toJson(slice.getSamples()).getBytes(StandardCharsets.UTF_8);
+                    byte[] compressed = PayloadEncoding.deflate(bytes);
+                    Map<String, Object> body = new HashMap<>();
+                    body.put(HistoryConstants.DATA, Base64.getEncoder().encodeToString(
+                            encrypt.encryptBytes(compressed != null ? compressed : bytes)));
+                    body.put(HistoryConstants.ENCODING, compressed != null
+                            ? PayloadEncoding.DEFLATE
+                            : PayloadEncoding.IDENTITY);
+                    if (slice.getNext() != null) {
+                        body.put(HistoryConstants.NEXT, slice.getNext());
+                    }
+                    response.status(200);
+                    return gson.toJson(body);
+                }
+            }
+        } catch (IOException e) {
+            logger.error("Could not read the history: {}", e.getMessage());
+            response.status(500);
+            return gson.toJson(Map.of(
+                    "message", "Could not read the history!"
+            ));
+        } catch (InvalidAlgorithmParameterException | NoSuchPaddingException | IllegalBlockSizeException |
+                 NoSuchAlgorithmException | BadPaddingException | InvalidKeyException | JsonSyntaxException |
+                 IllegalArgumentException e) {
+            logger.error(e.getMessage());
+        }
+        response.status(400);
+        return gson.toJson(Map.of(
+                "message", "Invalid request!"
+        ));
+    }
+}
@@ -1,21 +1,55 @@
 package org.dockit.dockitagent.rest.routes;
 
+import com.google.gson.Gson;
+import com.google.inject.Inject;
+import com.google.inject.name.Named;
+import org.dockit.dockitagent.connection.CircuitBreaker;
+import org.dockit.dockitagent.connection.ConnectionConstants;
+import org.dockit.dockitagent.connection.DockerTransport;
+import org.dockit.dockitagent.connection.PooledHttpClient;
 import spark.Request;
 import spark.Response;
 import spark.Route;
 
+import java.util.Map;
+
 /**
  * Route for the /ping endpoint
  */
 public class PingRoute implements Route {
 
+    private final CircuitBreaker circuitBreaker;
+    private final PooledHttpClient serverClient;
+    private final DockerTransport dockerTransport;
+
+    /**
+     * @param circuitBreaker {@link CircuitBreaker} instance to be injected
+     * @param serverClient {@link PooledHttpClient} of the server to be injected
+     * @param dockerTransport {@link DockerTransport} instance to be injected
+     */
+    @Inject
+    public PingRoute(CircuitBreaker circuitBreaker,
+                     @Named(ConnectionConstants.SERVER_CLIENT) PooledHttpClient serverClient,
+                     DockerTransport dockerTransport) {
+        this.circuitBreaker = circuitBreaker;
+        this.serverClient = serverClient;
+        this.dockerTransport = dockerTransport;
+    }
 
     /**
-     * Dummy endpoint which indicates that the server is running
+     * Endpoint which indicates that the agent is running, along with the state of its circuit to the server and the
+     * request metrics of its connections to the server and to the docker engine api
      */
     @Override
     public Object handle(Request request, Response response) {
         response.status(200);
-        return "Alive";
+        Gson gson = new Gson();
+        return gson.toJson(Map.of(
+                "status", "Alive",
+                "circuit", circuitBreaker.getState().name(),
+                "consecutiveFailures", circuitBreaker.getConsecutiveFailures(),
+                "serverRequests", serverClient.getMetrics().toMap(),
+                "dockerRequests", dockerTransport.getMetrics().toMap()
+        ));
     }
 }
@@ -0,0 +1,81 @@
+package org.dockit.dockitagent.rest.routes;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonSyntaxException;
+import com.google.inject.Inject;
+import org.dockit.dockitagent.alert.AlertConstants;
+import org.dockit.dockitagent.alert.AlertThresholds;
+import org.dockit.dockitagent.encryption.AESGCMEncrypt;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import spark.Request;
+import spark.Response;
+import spark.Route;
+
+import javax.crypto.BadPaddingException;
+import javax.crypto.IllegalBlockSizeException;
+import javax.crypto.NoSuchPaddingException;
+import java.security.InvalidAlgorithmParameterException;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+
+/**
+ * Route for the /thresholds endpoint
+ */
+public class ThresholdsRoute implements Route {
+    private static final Logger logger = LoggerFactory.getLogger(ThresholdsRoute.class);
+
+    private final AESGCMEncrypt encrypt;
+    private final AlertThresholds thresholds;
+
+    /**
+     * @param encrypt {@link AESGCMEncrypt} instance to be injected
+     * @param thresholds {@link AlertThresholds} instance to be injected
+     */
+    @Inject
+    public ThresholdsRoute(AESGCMEncrypt encrypt, AlertThresholds thresholds) {
+        this.encrypt = encrypt;
+        this.thresholds = thresholds;
+    }
+
+    /**
+     * Controller method to handle /thresholds requests, replacing the alert thresholds the agent evaluates the usages
+     * with. The request is encrypted with the key of the agent, so only the server can send it.
+     *
+     * @param request Upcoming request, should contain the field: <br>
+     *                "data" -> encrypted json string, when decrypted, it should have the fields: <br>
+     *                "low", "medium" and "critical" -> increasing percentage thresholds of each importance <br>
+     * @param response Upcoming response
+     * @return status code with the appropriate response body
+     */
+    @Override
+    public Object handle(Request request, Response response) {
+        Gson gson = new Gson();
+        try {
+            Map<?, ?> body = gson.fromJson(request.body(), Map.class);
+            if (body != null && body.get(AlertConstants.DATA) instanceof String data) {
+                Map<?, ?> levels = gson.fromJson(encrypt.decrypt(data), Map.class);
+                if (levels != null && levels.get(AlertConstants.LOW) instanceof Number low
+                        && levels.get(AlertConstants.MEDIUM) instanceof Number medium
+                        && levels.get(AlertConstants.CRITICAL) instanceof Number critical
+                        && thresholds.update(low.intValue(), medium.intValue(), critical.intValue())) {
+                    logger.info("Alert thresholds are set to {}, {} and {}", low.intValue(), medium.intValue(),
+                            critical.intValue());
+                    response.status(200);
+                    return gson.toJson(Map.of(
+                            "message", "Successful"
+                    ));
+                }
+            }
+        } catch (InvalidAlgorithmParameterException | NoSuchPaddingException | IllegalBlockSizeException |
+                 NoSuchAlgorithmException | BadPaddingException | InvalidKeyException | JsonSyntaxException |
+                 IllegalArgumentException e) {
+            logger.error(e.getMessage());
+        }
+        response.status(400);
+        return gson.toJson(Map.of(
+                "message", "Invalid request!"
+        ));
+    }
+}
@@ -2,22 +2,18 @@ package org.dockit.dockitagent.scheduler;
 
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
-import org.dockit.dockitagent.config.templates.Container;
 import org.dockit.dockitagent.jobs.JobConstants;
 import org.dockit.dockitagent.jobs.JobDetailsGenerator;
 import org.quartz.JobDetail;
-import org.quartz.JobKey;
 import org.quartz.Scheduler;
 import org.quartz.SchedulerException;
-import org.quartz.SimpleScheduleBuilder;
 import org.quartz.Trigger;
 import org.quartz.impl.StdSchedulerFactory;
+import org.quartz.impl.matchers.GroupMatcher;
 
 import java.util.ArrayList;
 import java.util.List;
 
-import static org.quartz.TriggerBuilder.newTrigger;
-
 /**
  * Class to handle the scheduling of jobs
  */
@@ -25,19 +21,23 @@ import static org.quartz.TriggerBuilder.newTrigger;
 public final class JobScheduler {
     private final Scheduler scheduler;
     private final JobDetailsGenerator jobDetailsGenerator;
-    private final Container container;
+    private final TriggerGenerator triggerGenerator;
 
     /**
      * @param jobDetailsGenerator {@link JobDetailsGenerator} instance to be injected
-     * @param container {@link org.dockit.dockitagent.config.ConfigContainer} instance to be injected
+     * @param triggerGenerator {@link TriggerGenerator} instance to be injected
+     * @param triggerRescheduler {@link TriggerRescheduler} instance to be injected
      * @throws SchedulerException is thrown in rare occasions if there is a problem with scheduling
      */
     @Inject
-    public JobScheduler(JobDetailsGenerator jobDetailsGenerator, Container container) throws SchedulerException {
+    public JobScheduler(JobDetailsGenerator jobDetailsGenerator, TriggerGenerator triggerGenerator,
+                        TriggerRescheduler triggerRescheduler) throws SchedulerException {
         this.jobDetailsGenerator = jobDetailsGenerator;
-        this.container = container;
+        this.triggerGenerator = triggerGenerator;
         StdSchedulerFactory factory = new StdSchedulerFactory();
         scheduler = factory.getScheduler();
+        scheduler.getListenerManager().addJobListener(triggerRescheduler,
+                GroupMatcher.jobGroupEquals(JobConstants.GROUP_ID));
     }
 
     /**
@@ -51,7 +51,7 @@ public final class JobScheduler {
         List<Trigger> triggers = new ArrayList<>();
 
         for (JobDetail jobDetail : jobDetails) {
-            triggers.add(generateTriggerForJob(jobDetail));
+            triggers.add(triggerGenerator.generate(jobDetail));
         }
 
         scheduleJobs(jobDetails, triggers);
@@ -84,15 +84,4 @@ public final class JobScheduler {
             scheduler.scheduleJob(jobDetails.get(i), triggers.get(i));
         }
     }
-
-    private Trigger generateTriggerForJob(JobDetail jobDetail) {
-        JobKey key = jobDetail.getKey();
-        return newTrigger()
-                .withIdentity(key.getName(), key.getGroup())
-                .startNow()
-                .withSchedule(SimpleScheduleBuilder.simpleSchedule()
-                        .withIntervalInSeconds(container.getConfig().getINTERVAL())
-                        .repeatForever())
-                .build();
-    }
 }
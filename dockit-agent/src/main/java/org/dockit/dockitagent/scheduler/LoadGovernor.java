@@ -0,0 +1,168 @@
+package org.dockit.dockitagent.scheduler;
+
+import com.google.gson.Gson;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import org.dockit.dockitagent.config.Config;
+import org.dockit.dockitagent.config.templates.Container;
+import org.dockit.dockitagent.entity.Audit;
+import org.dockit.dockitagent.entity.AuditConstructor;
+import org.dockit.dockitagent.sender.Sender;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Self governor adapting the intervals of the collector jobs to the load. After each fire of a job, the cpu time the
+ * agent process used since the previous evaluation, its resident memory and the cpu load of the host are compared
+ * against the configured budgets. While a budget is exceeded, the interval of each job costing at least the average
+ * cpu time per fire is doubled, up to the maximum stretch, and once the usage drops under {@link #RELAX_RATIO} of
+ * every budget the intervals are halved back. The effective intervals are sent to the server as an audit of
+ * {@link #CATEGORY} when the first interval of a job is recorded and whenever one of them changes.
+ */
+@Singleton
+public class LoadGovernor {
+    private static final Logger logger = LoggerFactory.getLogger(LoadGovernor.class);
+    static final String CATEGORY = "agent_schedule";
+    static final double RELAX_RATIO = 0.75;
+    // Weight of the latest fire in the smoothed cost of a job
+    private static final double COST_SMOOTHING = 0.3;
+    // The process cpu usage is only sampled again after this window, so short fires do not skew it
+    private static final long MIN_WINDOW_NANOS = 1_000_000_000L;
+    private static final long BYTES_PER_MEGABYTE = 1024 * 1024;
+
+    private enum Pressure { HIGH, NORMAL, LOW }
+
+    private final Container container;
+    private final LoadProbe probe;
+    private final AuditConstructor auditConstructor;
+    private final Sender sender;
+    private final LongSupplier nanoTime;
+    private final Map<String, Double> costs = new HashMap<>();
+    private final Map<String, Integer> stretches = new HashMap<>();
+    private final Map<String, Integer> intervals = new TreeMap<>();
+    private final Gson gson = new Gson();
+
+    private long sampledAt = -1;
+    private long sampledCpuTime;
+    private double overhead;
+
+    /**
+     * @param container {@link Container} instance to be injected
+     * @param probe {@link LoadProbe} instance to be injected
+     * @param auditConstructor {@link AuditConstructor} instance to be injected
+     * @param sender {@link Sender} instance to be injected
+     */
+    @Inject
+    public LoadGovernor(Container container, LoadProbe probe, AuditConstructor auditConstructor, Sender sender) {
+        this(container, probe, auditConstructor, sender, System::nanoTime);
+    }
+
+    LoadGovernor(Container container, LoadProbe probe, AuditConstructor auditConstructor, Sender sender,
+                 LongSupplier nanoTime) {
+        this.container = container;
+        this.probe = probe;
+        this.auditConstructor = auditConstructor;
+        this.sender = sender;
+        this.nanoTime = nanoTime;
+    }
+
+    /**
+     * @param config {@link Config} of the agent
+     * @return if any budget is configured, so the intervals should be governed
+     */
+    public static boolean isEnabled(Config config) {
+        return config.getOVERHEAD_BUDGET() > 0 || config.getMEMORY_BUDGET() > 0 || config.getLOAD_THRESHOLD() > 0;
+    }
+
+    /**
+     * Record a fire of a job, evaluate the load and return the interval to wait before its next fire
+     *
+     * @param name name of the job reported to the server, the category of its collector if it has one
+     * @param interval configured interval of the job in seconds
+     * @param cpuTime cpu time used by the fire in nanoseconds, negative if it is not available
+     * @return effective interval of the job in seconds
+     */
+    public int govern(String name, int interval, long cpuTime) {
+        Optional<String> report;
+        int effectiveInterval;
+        synchronized (this) {
+            if (cpuTime >= 0) {
+                costs.merge(name, (double) cpuTime, (cost, latest) -> cost + COST_SMOOTHING * (latest - cost));
+            }
+            int stretch = stretches.getOrDefault(name, 1);
+            Pressure pressure = measure();
+            if (pressure == Pressure.HIGH && isExpensive(name)) {
+                stretch = Math.min(container.getConfig().getMAX_STRETCH(), stretch * 2);
+            } else if (pressure == Pressure.LOW) {
+                stretch = Math.max(1, stretch / 2);
+            }
+            stretches.put(name, stretch);
+
+            effectiveInterval = interval * stretch;
+            Integer previous = intervals.put(name, effectiveInterval);
+            report = previous == null || previous != effectiveInterval
+                    ? Optional.of(gson.toJson(intervals))
+                    : Optional.empty();
+        }
+        report.ifPresent(this::send);
+        return effectiveInterval;
+    }
+
+    /**
+     * @return effective intervals in seconds mapped to the names of the governed jobs
+     */
+    public synchronized Map<String, Integer> getIntervals() {
+        return Map.copyOf(intervals);
+    }
+
+    private Pressure measure() {
+        Config config = container.getConfig();
+        long now = nanoTime.getAsLong();
+        long cpuTime = probe.getProcessCpuTime();
+        if (sampledAt < 0 || cpuTime < 0) {
+            sampledAt = now;
+            sampledCpuTime = cpuTime;
+        } else if (now - sampledAt >= MIN_WINDOW_NANOS) {
+            overhead = 100.0 * (cpuTime - sampledCpuTime) / (now - sampledAt);
+            sampledAt = now;
+            sampledCpuTime = cpuTime;
+        }
+
+        double[] usages = {
+                overhead / config.getOVERHEAD_BUDGET(),
+                (double) probe.getResidentSetSize() / BYTES_PER_MEGABYTE / config.getMEMORY_BUDGET(),
+                100 * probe.getHostLoad() / config.getLOAD_THRESHOLD()
+        };
+        int[] budgets = {config.getOVERHEAD_BUDGET(), config.getMEMORY_BUDGET(), config.getLOAD_THRESHOLD()};
+        boolean relaxed = true;
+        for (int i = 0; i < usages.length; i++) {
+            if (budgets[i] <= 0) {
+                continue;
+            }
+            if (usages[i] > 1) {
+                return Pressure.HIGH;
+            }
+            relaxed &= usages[i] < RELAX_RATIO;
+        }
+        return relaxed ? Pressure.LOW : Pressure.NORMAL;
+    }
+
+    private boolean isExpensive(String name) {
+        // Jobs without a measured cost are only stretched if no job could be measured
+        double average = costs.values().stream().mapToDouble(Double::doubleValue).average().orElse(0);
+        return costs.getOrDefault(name, 0.0) >= average;
+    }
+
+    private void send(String data) {
+        Optional<Audit> audit = auditConstructor.construct(data, CATEGORY);
+        if (audit.isEmpty() || !sender.send(audit.get())) {
+            logger.error("Could not send the effective intervals to the server!");
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package org.dockit.dockitagent.scheduler;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.sun.management.OperatingSystemMXBean;
+import org.dockit.dockitagent.collector.vm.HostInventory;
+import oshi.software.os.OSProcess;
+import oshi.software.os.OperatingSystem;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Class to read the resource usage of the agent process and the load of the host, used by the {@link LoadGovernor}
+ */
+@Singleton
+public class LoadProbe {
+    private final OperatingSystemMXBean operatingSystemBean;
+    private final ThreadMXBean threadBean;
+    private final OperatingSystem operatingSystem;
+
+    /**
+     * @param hostInventory {@link HostInventory} instance to be injected, whose OSHI context is reused
+     */
+    @Inject
+    public LoadProbe(HostInventory hostInventory) {
+        this.operatingSystemBean = (OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+        this.threadBean = ManagementFactory.getThreadMXBean();
+        this.operatingSystem = hostInventory.getOperatingSystem();
+    }
+
+    /**
+     * @return cpu time used by the agent process in nanoseconds, negative if it is not available
+     */
+    public long getProcessCpuTime() {
+        return operatingSystemBean.getProcessCpuTime();
+    }
+
+    /**
+     * @return cpu time used by the current thread in nanoseconds, negative if it is not available
+     */
+    public long getThreadCpuTime() {
+        return threadBean.isCurrentThreadCpuTimeSupported() ? threadBean.getCurrentThreadCpuTime() : -1;
+    }
+
+    /**
+     * @return resident set size of the agent process in bytes, 0 if it is not available
+     */
+    public long getResidentSetSize() {
+        OSProcess process = operatingSystem.getCurrentProcess();
+        return process == null ? 0 : process.getResidentSetSize();
+    }
+
+    /**
+     * @return recent cpu load of the host between 0 and 1, negative if it is not available
+     */
+    public double getHostLoad() {
+        return operatingSystemBean.getCpuLoad();
+    }
+}
@@ -0,0 +1,111 @@
+package org.dockit.dockitagent.scheduler;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import org.dockit.dockitagent.collector.Collector;
+import org.dockit.dockitagent.config.Config;
+import org.dockit.dockitagent.config.templates.Container;
+import org.dockit.dockitagent.entity.CategoryGenerator;
+import org.dockit.dockitagent.jobs.JobConstants;
+import org.quartz.JobDetail;
+import org.quartz.JobKey;
+import org.quartz.SimpleScheduleBuilder;
+import org.quartz.Trigger;
+import org.quartz.TriggerBuilder;
+
+import java.util.Date;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.DoubleSupplier;
+
+import static org.quartz.TriggerBuilder.newTrigger;
+
+/**
+ * Class to generate the {@link Trigger}s of the collector jobs. Each job fires at the interval of its category, and
+ * its first fire is delayed by a random part of the interval if random start is enabled. If jitter is enabled or the
+ * intervals are governed by the {@link LoadGovernor}, the triggers fire once and the next one is generated by
+ * {@link #next(Trigger, Date, int)} after each fire, so each interval is randomly moved earlier or later while their
+ * average stays the same.
+ */
+@Singleton
+public final class TriggerGenerator {
+    private static final long MILLIS_PER_SECOND = 1000;
+
+    private final Container container;
+    private final DoubleSupplier random;
+
+    /**
+     * @param container {@link Container} instance to be injected
+     */
+    @Inject
+    public TriggerGenerator(Container container) {
+        this(container, () -> ThreadLocalRandom.current().nextDouble());
+    }
+
+    /**
+     * @param container {@link Container} instance to be injected
+     * @param random supplier of random values between 0 inclusive and 1 exclusive
+     */
+    TriggerGenerator(Container container, DoubleSupplier random) {
+        this.container = container;
+        this.random = random;
+    }
+
+    /**
+     * Generate the first trigger of a job
+     *
+     * @param jobDetail {@link JobDetail} of the job to be triggered
+     * @return trigger of the job, holding its interval in seconds and its category if it has one in its data
+     */
+    public Trigger generate(JobDetail jobDetail) {
+        Config config = container.getConfig();
+        JobKey key = jobDetail.getKey();
+        String category = getCategory(jobDetail);
+        int interval = config.getINTERVAL(category);
+        long offset = config.isRANDOM_START() ? (long) (random.getAsDouble() * interval * MILLIS_PER_SECOND) : 0;
+
+        TriggerBuilder<Trigger> trigger = newTrigger()
+                .withIdentity(key.getName(), key.getGroup())
+                .startAt(new Date(System.currentTimeMillis() + offset))
+                .usingJobData(JobConstants.INTERVAL, interval);
+        if (category != null) {
+            trigger.usingJobData(JobConstants.CATEGORY, category);
+        }
+        if (config.getJITTER() == 0 && !LoadGovernor.isEnabled(config)) {
+            trigger.withSchedule(SimpleScheduleBuilder.simpleSchedule()
+                    .withIntervalInSeconds(interval)
+                    .repeatForever());
+        }
+        return trigger.build();
+    }
+
+    /**
+     * Generate the trigger following a fired trigger, one jittered interval after its scheduled fire time. It fires
+     * right away if that time has already passed.
+     *
+     * @param trigger fired trigger generated by this class
+     * @param scheduledFireTime time the trigger was scheduled to fire at
+     * @param seconds interval to wait before the next fire in seconds
+     * @return next trigger of the job, with the same key and data
+     */
+    public Trigger next(Trigger trigger, Date scheduledFireTime, int seconds) {
+        long interval = seconds * MILLIS_PER_SECOND;
+        double jitter = container.getConfig().getJITTER() / 100.0;
+        long delay = (long) (interval * (1 + jitter * (2 * random.getAsDouble() - 1)));
+        long next = Math.max(System.currentTimeMillis(), scheduledFireTime.getTime() + delay);
+
+        return newTrigger()
+                .withIdentity(trigger.getKey())
+                .forJob(trigger.getJobKey())
+                .usingJobData(trigger.getJobDataMap())
+                .startAt(new Date(next))
+                .build();
+    }
+
+    private String getCategory(JobDetail jobDetail) {
+        // Batch jobs run every collector, so they use the default interval
+        Object collector = jobDetail.getJobDataMap().get(JobConstants.COLLECTOR);
+        return collector instanceof Collector
+                ? CategoryGenerator.getCategory((Collector) collector)
+                : null;
+    }
+}
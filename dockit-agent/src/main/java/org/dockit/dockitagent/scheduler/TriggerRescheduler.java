@@ -0,0 +1,92 @@
+package org.dockit.dockitagent.scheduler;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import org.dockit.dockitagent.config.templates.Container;
+import org.dockit.dockitagent.jobs.JobConstants;
+import org.quartz.JobDataMap;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.quartz.JobListener;
+import org.quartz.SchedulerException;
+import org.quartz.Trigger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link JobListener} scheduling the next fire of the jobs with triggers which only fire once, using
+ * {@link TriggerGenerator#next(Trigger, java.util.Date, int)} after each of their fires. The interval is the one of
+ * the trigger, or the one given by the {@link LoadGovernor} if it is enabled, which is told the cpu time of the fire.
+ */
+@Singleton
+public final class TriggerRescheduler implements JobListener {
+    private static final Logger logger = LoggerFactory.getLogger(TriggerRescheduler.class);
+    private static final String NAME = "triggerRescheduler";
+    private static final String CPU_TIME = "triggerRescheduler.cpuTime";
+
+    private final TriggerGenerator triggerGenerator;
+    private final LoadGovernor loadGovernor;
+    private final LoadProbe probe;
+    private final Container container;
+
+    /**
+     * @param triggerGenerator {@link TriggerGenerator} instance to be injected
+     * @param loadGovernor {@link LoadGovernor} instance to be injected
+     * @param probe {@link LoadProbe} instance to be injected
+     * @param container {@link Container} instance to be injected
+     */
+    @Inject
+    public TriggerRescheduler(TriggerGenerator triggerGenerator, LoadGovernor loadGovernor, LoadProbe probe,
+                              Container container) {
+        this.triggerGenerator = triggerGenerator;
+        this.loadGovernor = loadGovernor;
+        this.probe = probe;
+        this.container = container;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public void jobToBeExecuted(JobExecutionContext context) {
+        // The listener is called on the thread running the job, so its cpu time is the one of the job
+        context.put(CPU_TIME, probe.getThreadCpuTime());
+    }
+
+    @Override
+    public void jobExecutionVetoed(JobExecutionContext context) {
+        // Vetoed jobs do not complete, so they are not rescheduled
+    }
+
+    @Override
+    public void jobWasExecuted(JobExecutionContext context, JobExecutionException jobException) {
+        Trigger trigger = context.getTrigger();
+        if (trigger.mayFireAgain() || (jobException != null
+                && (jobException.unscheduleFiringTrigger() || jobException.unscheduleAllTriggers()))) {
+            return;
+        }
+        JobDataMap data = trigger.getJobDataMap();
+        int interval = data.getInt(JobConstants.INTERVAL);
+        if (LoadGovernor.isEnabled(container.getConfig())) {
+            String name = data.containsKey(JobConstants.CATEGORY)
+                    ? data.getString(JobConstants.CATEGORY)
+                    : trigger.getJobKey().getName();
+            interval = loadGovernor.govern(name, interval, getCpuTime(context));
+        }
+        try {
+            // The fired trigger is still stored at this point, so it is replaced instead of being deleted
+            context.getScheduler().rescheduleJob(trigger.getKey(),
+                    triggerGenerator.next(trigger, context.getScheduledFireTime(), interval));
+        } catch (SchedulerException e) {
+            logger.error("Could not schedule the next fire of {}!", trigger.getJobKey());
+        }
+    }
+
+    private long getCpuTime(JobExecutionContext context) {
+        Object start = context.get(CPU_TIME);
+        long end = probe.getThreadCpuTime();
+        return start instanceof Long && (Long) start >= 0 && end >= 0 ? end - (Long) start : -1;
+    }
+}
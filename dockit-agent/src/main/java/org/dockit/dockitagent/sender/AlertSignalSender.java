@@ -0,0 +1,80 @@
+package org.dockit.dockitagent.sender;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonSyntaxException;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import org.dockit.dockitagent.alert.AlertSignal;
+import org.dockit.dockitagent.connection.ServerConnectionManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Component responsible to send {@link AlertSignal}s to the server. Signals are sent in order on a single background
+ * thread, so the collection which detected them does not wait for the server. Signals which could not be sent are
+ * not retried, their alert is still generated by the server once the audit is analyzed.
+ */
+@Singleton
+public class AlertSignalSender {
+    private static final Logger logger = LoggerFactory.getLogger(AlertSignalSender.class);
+    private static final String ENDPOINT = "/api/write/alert";
+    private static final String LATENCY = "latency";
+
+    private final ServerConnectionManager serverConnectionManager;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "alert-signal-sender");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * @param serverConnectionManager {@link ServerConnectionManager} instance to be injected
+     */
+    @Inject
+    public AlertSignalSender(ServerConnectionManager serverConnectionManager) {
+        this.serverConnectionManager = serverConnectionManager;
+    }
+
+    /**
+     * Queue the signal to be sent to the server
+     *
+     * @param signal {@link AlertSignal} to be sent
+     */
+    public void send(AlertSignal signal) {
+        executor.execute(() -> deliver(signal));
+    }
+
+    /**
+     * Send the signal to the alert endpoint of the server, and log the time from its detection until the server
+     * created the alert, as reported by the server, and until the agent received the response
+     *
+     * @param signal {@link AlertSignal} to be sent
+     * @return true if the server created the alert, false otherwise
+     */
+    boolean deliver(AlertSignal signal) {
+        Optional<String> response = serverConnectionManager.sendRequest(ENDPOINT, signal.toMap());
+        long roundTrip = System.currentTimeMillis() - signal.getDetectedAt();
+        if (response.isEmpty()) {
+            logger.error("Could not signal the {} {} alert to the server!", signal.getImportance(),
+                    signal.getCategory());
+            return false;
+        }
+        logger.info("Signalled the {} {} alert to the server, created {} ms and acknowledged {} ms after detection",
+                signal.getImportance(), signal.getCategory(), readLatency(response.get()), roundTrip);
+        return true;
+    }
+
+    private static Object readLatency(String response) {
+        try {
+            Map<?, ?> body = new Gson().fromJson(response, Map.class);
+            return body != null && body.get(LATENCY) instanceof Number latency ? latency.longValue() : "unknown";
+        } catch (JsonSyntaxException e) {
+            return "unknown";
+        }
+    }
+}
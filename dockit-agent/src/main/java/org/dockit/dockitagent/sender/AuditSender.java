@@ -1,11 +1,19 @@
 package org.dockit.dockitagent.sender;
 
+import com.google.gson.Gson;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.reflect.TypeToken;
 import com.google.inject.Inject;
 import org.dockit.dockitagent.connection.ServerConnectionManager;
 import org.dockit.dockitagent.entity.Audit;
+import org.dockit.dockitagent.entity.AuditStream;
+import org.dockit.dockitagent.wire.FrameEncoder;
+import org.dockit.dockitagent.wire.WireConstants;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -14,6 +22,9 @@ import java.util.Optional;
 public class AuditSender implements Sender {
     private static final Logger logger = LoggerFactory.getLogger(AuditSender.class);
     private static final String ENDPOINT = "/api/write";
+    private static final String BATCH_ENDPOINT = "/api/write/batch";
+    private static final int OK_STATUS = 200;
+    private static final String JSON_CONTENT_TYPE = "application/json";
 
     private final ServerConnectionManager serverConnectionManager;
 
@@ -26,24 +37,113 @@ public class AuditSender implements Sender {
     }
 
     /**
-     * Take {@link Audit} as an input, convert it to json string and use that as a body to send a POST request to
-     * write endpoint of the server. Indicate success or failure with the return value
+     * Take {@link Audit} as an input, convert it to json string, or to a binary frame if it holds binary records, and
+     * use that as a body to send a POST request to write endpoint of the server. Indicate success or failure with the
+     * return value
      *
      * @param audit {@link Audit} data
      * @return true if successfully sent, false otherwise
      */
     public boolean send(Audit audit) {
-        if (serverConnectionManager.isAlive()) {
-            Optional<String> response = serverConnectionManager.sendRequest(ENDPOINT, audit.toMap());
-            if (response.isPresent()) {
-                logger.info("Sent request for audit to server successfully.");
-                return true;
+        Optional<String> response = audit.isBinary()
+                ? serverConnectionManager.sendRequest(ENDPOINT, FrameEncoder.encode(List.of(audit)),
+                        WireConstants.MEDIA_TYPE)
+                : serverConnectionManager.sendRequest(ENDPOINT, audit.toMap());
+        if (response.isPresent()) {
+            logger.info("Sent request for audit to server successfully.");
+            return true;
+        }
+        logger.error("Could not send the request for audit, an error occurred!");
+        return false;
+    }
+
+    /**
+     * Send an {@link AuditStream} as the body of a POST request to the write endpoint of the server, so the audit is
+     * collected and encrypted while it is being sent. Indicate success or failure with the return value
+     *
+     * @param audit {@link AuditStream} of the audit
+     * @return true if successfully sent, false otherwise
+     */
+    public boolean send(AuditStream audit) {
+        Optional<String> response = serverConnectionManager.sendRequest(ENDPOINT, audit, JSON_CONTENT_TYPE);
+        if (response.isPresent()) {
+            logger.info("Streamed audit to server successfully.");
+            return true;
+        }
+        logger.error("Could not stream the audit, an error occurred!");
+        return false;
+    }
+
+    /**
+     * Take a list of {@link Audit}s, convert them to a json array, or to a binary frame if they all hold binary
+     * records, and send them in a single POST request to the batch write endpoint of the server. The server reports a
+     * status for each audit, failed ones are logged.
+     *
+     * @param audits list of {@link Audit} data
+     * @return true if every audit was accepted by the server, false otherwise
+     */
+    public boolean send(List<Audit> audits) {
+        if (audits.isEmpty()) {
+            return true;
+        }
+        if (audits.stream().allMatch(Audit::isBinary)) {
+            Optional<String> response = serverConnectionManager.sendRequest(BATCH_ENDPOINT,
+                    FrameEncoder.encode(audits), WireConstants.MEDIA_TYPE);
+            Optional<Integer> rejected = readStatuses(response, audits.size());
+            return rejected.isPresent() && rejected.get() == 0;
+        }
+        String body = new Gson().toJson(audits.stream()
+                .map(Audit::toFields)
+                .toList());
+        Optional<Integer> rejected = sendBatch(body, audits.size());
+        return rejected.isPresent() && rejected.get() == 0;
+    }
+
+    /**
+     * Send already serialised audits, as produced by {@link Audit#toMap()}, in a single POST request to the batch
+     * write endpoint of the server. Audits rejected by the server are logged and counted as delivered, since sending
+     * them again would not change the outcome.
+     *
+     * @param records json representations of the audits
+     * @return true if the server received the batch, false if it has to be sent again
+     */
+    public boolean deliver(List<String> records) {
+        if (records.isEmpty()) {
+            return true;
+        }
+        String body = "[" + String.join(",", records) + "]";
+        return sendBatch(body, records.size()).isPresent();
+    }
+
+    private Optional<Integer> sendBatch(String body, int size) {
+        return readStatuses(serverConnectionManager.sendRequest(BATCH_ENDPOINT, body), size);
+    }
+
+    private Optional<Integer> readStatuses(Optional<String> response, int size) {
+        if (response.isEmpty()) {
+            logger.error("Could not send the batch request for audits, an error occurred!");
+            return Optional.empty();
+        }
+        try {
+            List<Map<String, Object>> statuses = new Gson().fromJson(response.get(),
+                    new TypeToken<List<Map<String, Object>>>() {}.getType());
+            int failed = 0;
+            for (Map<String, Object> status : statuses) {
+                if (((Number) status.get("status")).intValue() != OK_STATUS) {
+                    logger.error("Audit {} in the batch was rejected: {}",
+                            ((Number) status.get("index")).intValue(), status.get("message"));
+                    failed++;
+                }
+            }
+            if (failed > 0) {
+                logger.error("{} of {} audits in the batch were rejected by the server", failed, size);
             } else {
-                logger.error("Could not send the request for audit, an error occurred!");
-                return false;
+                logger.info("Sent batch request for {} audits to server successfully.", size);
             }
+            return Optional.of(failed);
+        } catch (JsonSyntaxException | ClassCastException | NullPointerException e) {
+            logger.error("Could not read the batch response of the server: {}", e.getMessage());
+            return Optional.empty();
         }
-        logger.error("Could not send the request for audit, server is not alive/ready!");
-        return false;
     }
 }
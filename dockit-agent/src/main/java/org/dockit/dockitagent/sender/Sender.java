@@ -2,6 +2,10 @@ package org.dockit.dockitagent.sender;
 
 import org.dockit.dockitagent.entity.Audit;
 
+import java.util.List;
+
 public interface Sender {
     boolean send(Audit audit);
+
+    boolean send(List<Audit> audits);
 }
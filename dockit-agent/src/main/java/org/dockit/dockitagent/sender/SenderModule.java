@@ -1,12 +1,28 @@
 package org.dockit.dockitagent.sender;
 
 import com.google.inject.AbstractModule;
+import com.google.inject.Provider;
+import com.google.inject.Provides;
+import org.dockit.dockitagent.config.templates.Container;
 
 /**
  * Guice bindings for {@link Sender}
  */
 public class SenderModule extends AbstractModule {
-    public void configure() {
-        bind(Sender.class).to(AuditSender.class);
+
+    /**
+     * Send the audits through the spool if a spool directory is configured, directly to the server otherwise
+     *
+     * @param container {@link org.dockit.dockitagent.config.ConfigContainer} instance to be injected
+     * @param auditSender provider for {@link AuditSender}
+     * @param spoolSender provider for {@link SpoolSender}
+     * @return {@link Sender} to be used by the jobs
+     */
+    @Provides
+    Sender provideSender(Container container, Provider<AuditSender> auditSender, Provider<SpoolSender> spoolSender) {
+        if (container.getConfig().getSPOOL_PATH() != null) {
+            return spoolSender.get();
+        }
+        return auditSender.get();
     }
 }
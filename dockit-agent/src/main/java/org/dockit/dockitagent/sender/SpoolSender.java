@@ -0,0 +1,58 @@
+package org.dockit.dockitagent.sender;
+
+import com.google.inject.Inject;
+import org.dockit.dockitagent.entity.Audit;
+import org.dockit.dockitagent.spool.AuditSpool;
+import org.dockit.dockitagent.spool.SpoolUploader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Component responsible to write {@link Audit}s to the {@link AuditSpool}, to be uploaded by the
+ * {@link SpoolUploader}
+ */
+public class SpoolSender implements Sender {
+    private static final Logger logger = LoggerFactory.getLogger(SpoolSender.class);
+
+    private final AuditSpool auditSpool;
+
+    /**
+     * @param auditSpool {@link AuditSpool} instance to be injected
+     */
+    @Inject
+    public SpoolSender(AuditSpool auditSpool) {
+        this.auditSpool = auditSpool;
+    }
+
+    /**
+     * Append the json representation of the {@link Audit} to the spool
+     *
+     * @param audit {@link Audit} data
+     * @return true if successfully spooled, false otherwise
+     */
+    public boolean send(Audit audit) {
+        try {
+            return auditSpool.append(audit.toMap());
+        } catch (IOException e) {
+            logger.error("Could not write the audit to the spool: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Append the json representations of the {@link Audit}s to the spool
+     *
+     * @param audits list of {@link Audit} data
+     * @return true if every audit was spooled, false otherwise
+     */
+    public boolean send(List<Audit> audits) {
+        boolean spooled = true;
+        for (Audit audit : audits) {
+            spooled &= send(audit);
+        }
+        return spooled;
+    }
+}
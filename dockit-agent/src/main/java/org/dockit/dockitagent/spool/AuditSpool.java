@@ -0,0 +1,222 @@
+package org.dockit.dockitagent.spool;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import org.dockit.dockitagent.config.templates.Container;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Bounded on-disk spool for serialised audits. Records are appended as lines to segment files in the spool
+ * directory, and consumed from the oldest segment onwards. Once the size cap is reached, the oldest segment is
+ * dropped to make room for the new records.
+ */
+@Singleton
+public class AuditSpool {
+    private static final Logger logger = LoggerFactory.getLogger(AuditSpool.class);
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String OFFSET_FILE = "offset";
+    private static final String OFFSET_SEPARATOR = ":";
+    private static final int SEGMENT_COUNT = 8;
+    private static final long BYTES_PER_MEGABYTE = 1024 * 1024;
+
+    private final Path directory;
+    private final long maxBytes;
+    private final long segmentBytes;
+    private final Deque<Path> segments = new ArrayDeque<>();
+
+    private OutputStream activeSegment;
+    private long activeBytes;
+    private long totalBytes;
+    private long nextSequence;
+    private long readOffset;
+    private Path readSegment;
+
+    /**
+     * @param container {@link org.dockit.dockitagent.config.ConfigContainer} instance to be injected
+     * @throws IOException if the spool directory cannot be opened
+     */
+    @Inject
+    public AuditSpool(Container container) throws IOException {
+        this(Path.of(container.getConfig().getSPOOL_PATH()),
+                container.getConfig().getSPOOL_SIZE() * BYTES_PER_MEGABYTE);
+    }
+
+    /**
+     * Open the spool in the given directory, picking up the segments left by a previous run. Appends always go to a
+     * new segment, so the segments of a previous run are never written to again.
+     *
+     * @param directory directory containing the segment files
+     * @param maxBytes maximum total size of the segments in bytes
+     * @throws IOException if the spool directory cannot be opened
+     */
+    public AuditSpool(Path directory, long maxBytes) throws IOException {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+        this.segmentBytes = Math.max(1, maxBytes / SEGMENT_COUNT);
+
+        Files.createDirectories(directory);
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(AuditSpool::isSegment)
+                    .sorted()
+                    .forEach(segments::addLast);
+        }
+        for (Path segment : segments) {
+            totalBytes += Files.size(segment);
+        }
+        nextSequence = segments.isEmpty() ? 0 : sequenceOf(segments.peekLast()) + 1;
+        readOffset = loadOffset();
+        roll();
+    }
+
+    /**
+     * Append a record to the spool, dropping the oldest segments if the spool is full
+     *
+     * @param record serialised audit, must not contain line breaks
+     * @return true if the record was spooled, false if it is larger than a segment
+     * @throws IOException if the record cannot be written
+     */
+    public synchronized boolean append(String record) throws IOException {
+        byte[] bytes = (record + "\n").getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > segmentBytes) {
+            logger.error("Audit of {} bytes does not fit in a spool segment of {} bytes, dropping it",
+                    bytes.length, segmentBytes);
+            return false;
+        }
+        if (activeBytes + bytes.length > segmentBytes) {
+            roll();
+        }
+        while (totalBytes + bytes.length > maxBytes && segments.size() > 1) {
+            logger.warn("Spool is full, dropping the oldest segment {}", segments.peekFirst().getFileName());
+            deleteOldest();
+        }
+        activeSegment.write(bytes);
+        activeBytes += bytes.length;
+        totalBytes += bytes.length;
+        return true;
+    }
+
+    /**
+     * Read the oldest records in the spool without consuming them
+     *
+     * @param max maximum number of records to return
+     * @return oldest records not yet acknowledged, empty if the spool is drained
+     * @throws IOException if the segment cannot be read
+     */
+    public synchronized List<String> peek(int max) throws IOException {
+        List<String> records = new ArrayList<>();
+        while (records.isEmpty() && !segments.isEmpty()) {
+            Path oldest = segments.peekFirst();
+            try (SeekableByteChannel channel = Files.newByteChannel(oldest)) {
+                channel.position(readOffset);
+                BufferedReader reader = new BufferedReader(Channels.newReader(channel, StandardCharsets.UTF_8));
+                String line;
+                while (records.size() < max && (line = reader.readLine()) != null) {
+                    records.add(line);
+                }
+            }
+            if (records.isEmpty()) {
+                if (segments.size() == 1) {
+                    break;
+                }
+                // Oldest segment is fully consumed and no longer written to
+                deleteOldest();
+            }
+        }
+        readSegment = segments.peekFirst();
+        return records;
+    }
+
+    /**
+     * Consume the records returned by the last {@link #peek(int)} call. Records which were dropped in the meantime
+     * because the spool was full are ignored.
+     *
+     * @param records records returned by the last {@link #peek(int)} call
+     * @throws IOException if the read position cannot be persisted
+     */
+    public synchronized void acknowledge(List<String> records) throws IOException {
+        if (segments.isEmpty() || !segments.peekFirst().equals(readSegment)) {
+            return;
+        }
+        for (String record : records) {
+            readOffset += record.getBytes(StandardCharsets.UTF_8).length + 1;
+        }
+        if (segments.size() > 1 && readOffset >= Files.size(readSegment)) {
+            deleteOldest();
+        }
+        saveOffset();
+    }
+
+    /**
+     * @return number of bytes in the spool which are not acknowledged yet
+     */
+    public synchronized long size() {
+        return totalBytes - readOffset;
+    }
+
+    private void roll() throws IOException {
+        if (activeSegment != null) {
+            activeSegment.close();
+        }
+        Path segment = directory.resolve(SEGMENT_PREFIX + "%020d".formatted(nextSequence++) + SEGMENT_SUFFIX);
+        activeSegment = Files.newOutputStream(segment, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        activeBytes = 0;
+        segments.addLast(segment);
+    }
+
+    private void deleteOldest() throws IOException {
+        Path oldest = segments.pollFirst();
+        totalBytes -= Files.size(oldest);
+        Files.delete(oldest);
+        readOffset = 0;
+        saveOffset();
+    }
+
+    private long loadOffset() throws IOException {
+        Path offsetFile = directory.resolve(OFFSET_FILE);
+        if (segments.isEmpty() || !Files.exists(offsetFile)) {
+            return 0;
+        }
+        String[] content = Files.readString(offsetFile).trim().split(OFFSET_SEPARATOR);
+        try {
+            if (content.length == 2 && segments.peekFirst().getFileName().toString().equals(content[0])) {
+                return Long.parseLong(content[1]);
+            }
+        } catch (NumberFormatException e) {
+            logger.error("Could not read the spool offset, starting from the beginning of the oldest segment");
+        }
+        return 0;
+    }
+
+    private void saveOffset() throws IOException {
+        String segmentName = segments.isEmpty() ? "" : segments.peekFirst().getFileName().toString();
+        Files.writeString(directory.resolve(OFFSET_FILE), segmentName + OFFSET_SEPARATOR + readOffset);
+    }
+
+    private static boolean isSegment(Path path) {
+        String name = path.getFileName().toString();
+        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+    }
+
+    private static long sequenceOf(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+}
@@ -0,0 +1,13 @@
+package org.dockit.dockitagent.spool;
+
+import com.google.inject.AbstractModule;
+
+/**
+ * Guice bindings for the spool classes
+ */
+public class SpoolModule extends AbstractModule {
+    public void configure() {
+        bind(AuditSpool.class);
+        bind(SpoolUploader.class);
+    }
+}
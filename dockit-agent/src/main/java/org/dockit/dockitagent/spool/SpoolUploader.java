@@ -0,0 +1,113 @@
+package org.dockit.dockitagent.spool;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import org.dockit.dockitagent.sender.AuditSender;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single background uploader which drains the {@link AuditSpool} to the server in batches. Failed uploads are
+ * retried with an exponential backoff, leaving the records in the spool until the server receives them.
+ */
+@Singleton
+public class SpoolUploader {
+    private static final Logger logger = LoggerFactory.getLogger(SpoolUploader.class);
+
+    static final int BATCH_SIZE = 100;
+    static final long IDLE_DELAY_MILLIS = 1000;
+    static final long INITIAL_BACKOFF_MILLIS = 1000;
+    static final long MAX_BACKOFF_MILLIS = 5 * 60 * 1000;
+
+    private final AuditSpool auditSpool;
+    private final AuditSender auditSender;
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "spool-uploader");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private int failures;
+
+    /**
+     * @param auditSpool {@link AuditSpool} instance to be injected
+     * @param auditSender {@link AuditSender} instance to be injected
+     */
+    @Inject
+    public SpoolUploader(AuditSpool auditSpool, AuditSender auditSender) {
+        this.auditSpool = auditSpool;
+        this.auditSender = auditSender;
+    }
+
+    /**
+     * Start draining the spool in the background
+     */
+    public void start() {
+        executor.schedule(this::run, 0, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stop draining the spool, records which are not uploaded yet stay in the spool
+     */
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Upload batches from the spool until it is drained or an upload fails
+     *
+     * @return true if the spool was drained, false if an upload failed
+     */
+    boolean drain() {
+        try {
+            List<String> records = auditSpool.peek(BATCH_SIZE);
+            while (!records.isEmpty()) {
+                if (!auditSender.deliver(records)) {
+                    failures++;
+                    return false;
+                }
+                auditSpool.acknowledge(records);
+                failures = 0;
+                records = auditSpool.peek(BATCH_SIZE);
+            }
+            return true;
+        } catch (IOException e) {
+            logger.error("Could not read the spool: {}", e.getMessage());
+            failures++;
+            return false;
+        }
+    }
+
+    /**
+     * @return delay before the next upload attempt in milliseconds, doubling with each consecutive failure
+     */
+    long nextBackoff() {
+        int exponent = Math.min(Math.max(failures - 1, 0), 20);
+        return Math.min(INITIAL_BACKOFF_MILLIS << exponent, MAX_BACKOFF_MILLIS);
+    }
+
+    private void run() {
+        boolean drained;
+        try {
+            drained = drain();
+        } catch (RuntimeException e) {
+            logger.error("Unexpected error while uploading the spool: {}", e.getMessage());
+            failures++;
+            drained = false;
+        }
+        long delay = IDLE_DELAY_MILLIS;
+        if (!drained) {
+            delay = nextBackoff();
+            logger.info("Upload of the spool failed, retrying in {} ms", delay);
+        }
+        if (!executor.isShutdown()) {
+            executor.schedule(this::run, delay, TimeUnit.MILLISECONDS);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package org.dockit.dockitagent.wire;
+
+import org.dockit.dockitagent.entity.Audit;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Utility class to write the body of a binary write request holding a batch of {@link Audit}s. Every field is length
+ * prefixed, so the server reads the audits in place, and the encrypted payloads are written as raw bytes instead of
+ * base64:
+ * <pre>
+ * "DKA" | version | varint audit count | audits
+ * audit: vmId | category | zigzag epoch second | varint nanosecond | encoding | varint payload length | payload
+ * </pre>
+ * The time stamp is the local date time of the audit, as in the json format, and the encoding is a single byte, 0 if
+ * the payload is sent as it is and 1 if it is compressed with deflate.
+ */
+public final class FrameEncoder {
+    private static final int HEADER_SIZE = 64;
+
+    /**
+     * @param audits audits holding binary records, see {@link Audit#isBinary()}
+     * @return body of the request
+     * @throws IllegalArgumentException if an audit does not hold binary records
+     */
+    public static byte[] encode(List<Audit> audits) {
+        int capacity = WireConstants.FRAME_MAGIC.length + 1 + 5;
+        for (Audit audit : audits) {
+            if (!audit.isBinary()) {
+                throw new IllegalArgumentException("Audit does not hold binary records!");
+            }
+            capacity += HEADER_SIZE + audit.getPayload().length;
+        }
+
+        WireWriter writer = new WireWriter(capacity);
+        writer.writeBytes(WireConstants.FRAME_MAGIC);
+        writer.writeByte(WireConstants.VERSION);
+        writer.writeVarint(audits.size());
+        for (Audit audit : audits) {
+            LocalDateTime timeStamp = audit.getTimeStamp().toLocalDateTime();
+            writer.writeString(audit.getVmId());
+            writer.writeString(audit.getCategory());
+            writer.writeZigZag(timeStamp.toEpochSecond(ZoneOffset.UTC));
+            writer.writeVarint(timeStamp.getNano());
+            writer.writeByte(PayloadEncoding.DEFLATE.equals(audit.getEncoding())
+                    ? WireConstants.DEFLATE
+                    : WireConstants.IDENTITY);
+            writer.writeLengthPrefixed(audit.getPayload());
+        }
+        return writer.toByteArray();
+    }
+}
@@ -0,0 +1,43 @@
+package org.dockit.dockitagent.wire;
+
+import java.util.Arrays;
+import java.util.zip.Deflater;
+
+/**
+ * Utility class to compress the payload of an audit before it is encrypted, as encrypted data can not be compressed.
+ * The encoding of the payload is sent along with the audit, in the "encoding" field of the json format and as a byte
+ * before the payload in the binary format.
+ */
+public final class PayloadEncoding {
+    public static final String IDENTITY = "identity";
+    public static final String DEFLATE = "deflate";
+
+    // Smaller payloads, such as the cpu or memory usage, barely shrink and are sent as they are
+    static final int MIN_SIZE = 1024;
+    // The collected json is highly repetitive, so the fastest level saves almost as much as the higher ones
+    static final int LEVEL = Deflater.BEST_SPEED;
+
+    /**
+     * @param data payload to be encrypted
+     * @return compressed payload, or null if the payload is too small or does not shrink
+     */
+    public static byte[] deflate(byte[] data) {
+        if (data.length < MIN_SIZE) {
+            return null;
+        }
+        Deflater deflater = new Deflater(LEVEL);
+        try {
+            deflater.setInput(data);
+            deflater.finish();
+            // Anything not shorter than the input is not worth sending compressed
+            byte[] buffer = new byte[data.length];
+            int size = 0;
+            while (!deflater.finished() && size < buffer.length) {
+                size += deflater.deflate(buffer, size, buffer.length - size);
+            }
+            return deflater.finished() && size < data.length ? Arrays.copyOf(buffer, size) : null;
+        } finally {
+            deflater.end();
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package org.dockit.dockitagent.wire;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+import org.dockit.dockitagent.collector.utils.InformationBuilderHelper;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Utility class to encode the collected data of an audit, a json object or json objects joined with
+ * {@link InformationBuilderHelper#DELIMITER}, as binary records before it is encrypted. The field names of the
+ * objects form the schema, written once at the start of the payload, and each record holds a tagged value for every
+ * field of the schema:
+ * <pre>
+ * 0x00 | version | layout | varint field count | fields | varint record count | records
+ * </pre>
+ * Data which is not made of json objects is encoded as UTF-8 text, as the legacy payloads are.
+ */
+public final class RecordEncoder {
+
+    /**
+     * @param data collected data
+     * @return binary records of the data, or its UTF-8 bytes if it is not made of json objects
+     */
+    public static byte[] encode(String data) {
+        List<JsonObject> records = parse(data);
+        if (records == null) {
+            return data.getBytes(StandardCharsets.UTF_8);
+        }
+        Map<String, Integer> schema = new LinkedHashMap<>();
+        for (JsonObject record : records) {
+            record.keySet().forEach(field -> schema.putIfAbsent(field, schema.size()));
+        }
+
+        WireWriter writer = new WireWriter(data.length() / 2);
+        writer.writeByte(WireConstants.RECORD_MAGIC);
+        writer.writeByte(WireConstants.VERSION);
+        writer.writeByte(data.endsWith(InformationBuilderHelper.DELIMITER)
+                ? WireConstants.DELIMITED
+                : WireConstants.SINGLE);
+        writer.writeVarint(schema.size());
+        schema.keySet().forEach(writer::writeString);
+        writer.writeVarint(records.size());
+        for (JsonObject record : records) {
+            for (String field : schema.keySet()) {
+                JsonElement value = record.get(field);
+                if (value == null) {
+                    writer.writeByte(WireConstants.ABSENT);
+                } else {
+                    writeValue(writer, value);
+                }
+            }
+        }
+        return writer.toByteArray();
+    }
+
+    private static List<JsonObject> parse(String data) {
+        try {
+            if (!data.endsWith(InformationBuilderHelper.DELIMITER)) {
+                JsonElement element = JsonParser.parseString(data);
+                return element.isJsonObject() ? List.of(element.getAsJsonObject()) : null;
+            }
+            List<JsonObject> records = new ArrayList<>();
+            for (String entry : data.split(InformationBuilderHelper.DELIMITER)) {
+                JsonElement element = JsonParser.parseString(entry);
+                if (!element.isJsonObject()) {
+                    return null;
+                }
+                records.add(element.getAsJsonObject());
+            }
+            return records;
+        } catch (JsonParseException e) {
+            return null;
+        }
+    }
+
+    private static void writeValue(WireWriter writer, JsonElement value) {
+        if (value.isJsonNull()) {
+            writer.writeByte(WireConstants.NULL);
+        } else if (value.isJsonObject()) {
+            JsonObject object = value.getAsJsonObject();
+            writer.writeByte(WireConstants.OBJECT);
+            writer.writeVarint(object.size());
+            for (Map.Entry<String, JsonElement> field : object.entrySet()) {
+                writer.writeString(field.getKey());
+                writeValue(writer, field.getValue());
+            }
+        } else if (value.isJsonArray()) {
+            JsonArray array = value.getAsJsonArray();
+            writer.writeByte(WireConstants.ARRAY);
+            writer.writeVarint(array.size());
+            array.forEach(element -> writeValue(writer, element));
+        } else {
+            writePrimitive(writer, value.getAsJsonPrimitive());
+        }
+    }
+
+    private static void writePrimitive(WireWriter writer, JsonPrimitive value) {
+        if (value.isBoolean()) {
+            writer.writeByte(value.getAsBoolean() ? WireConstants.TRUE : WireConstants.FALSE);
+        } else if (value.isString()) {
+            writer.writeByte(WireConstants.STRING);
+            writer.writeString(value.getAsString());
+        } else {
+            writeNumber(writer, value.getAsString());
+        }
+    }
+
+    private static void writeNumber(WireWriter writer, String literal) {
+        // Numbers are written in the shortest form which gives back the same literal
+        try {
+            long longValue = Long.parseLong(literal);
+            writer.writeByte(WireConstants.LONG);
+            writer.writeZigZag(longValue);
+            return;
+        } catch (NumberFormatException e) {
+            // Not an integer, or out of the range of a long
+        }
+        try {
+            double doubleValue = Double.parseDouble(literal);
+            if (Double.toString(doubleValue).equals(literal)) {
+                writer.writeByte(WireConstants.DOUBLE);
+                writer.writeDouble(doubleValue);
+                return;
+            }
+        } catch (NumberFormatException e) {
+            // Written as its literal below
+        }
+        writer.writeByte(WireConstants.NUMBER);
+        writer.writeString(literal);
+    }
+}
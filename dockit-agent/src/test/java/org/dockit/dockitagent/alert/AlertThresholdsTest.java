@@ -0,0 +1,42 @@
+package org.dockit.dockitagent.alert;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AlertThresholdsTest {
+
+    @Test
+    public void getImportanceUsesTheDefaultThresholdsOfTheServer() {
+        AlertThresholds thresholds = new AlertThresholds();
+
+        assertThat(thresholds.getImportance(49.9)).isEqualTo(Importance.NONE);
+        assertThat(thresholds.getImportance(50)).isEqualTo(Importance.LOW);
+        assertThat(thresholds.getImportance(75)).isEqualTo(Importance.MEDIUM);
+        assertThat(thresholds.getImportance(90)).isEqualTo(Importance.CRITICAL);
+    }
+
+    @Test
+    public void updateReplacesTheThresholds() {
+        AlertThresholds thresholds = new AlertThresholds();
+
+        assertTrue(thresholds.update(10, 20, 30));
+
+        assertThat(thresholds.getImportance(15)).isEqualTo(Importance.LOW);
+        assertThat(thresholds.getImportance(25)).isEqualTo(Importance.MEDIUM);
+        assertThat(thresholds.getImportance(50)).isEqualTo(Importance.CRITICAL);
+    }
+
+    @Test
+    public void updateFailsGivenThresholdsWhichAreNotIncreasingPercentages() {
+        AlertThresholds thresholds = new AlertThresholds();
+
+        assertFalse(thresholds.update(80, 70, 90));
+        assertFalse(thresholds.update(-1, 70, 90));
+        assertFalse(thresholds.update(50, 70, 101));
+
+        assertThat(thresholds.getImportance(75)).isEqualTo(Importance.MEDIUM);
+    }
+}
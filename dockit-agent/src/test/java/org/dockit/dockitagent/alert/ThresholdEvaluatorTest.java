@@ -0,0 +1,135 @@
+package org.dockit.dockitagent.alert;
+
+import org.dockit.dockitagent.config.Config;
+import org.dockit.dockitagent.config.ConfigConstants;
+import org.dockit.dockitagent.config.PropertiesConfigReader;
+import org.dockit.dockitagent.config.templates.Container;
+import org.dockit.dockitagent.exceptions.config.ConfigException;
+import org.dockit.dockitagent.sender.AlertSignalSender;
+import org.dockit.dockitagent.utils.PropertiesUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.List;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ThresholdEvaluatorTest {
+    private static final String DELIMITER = "/_/_/";
+
+    private AlertSignalSender sender;
+    private ThresholdEvaluator evaluator;
+
+    @BeforeEach
+    public void setup() throws ConfigException {
+        Properties properties = PropertiesUtils.generateMockProperties();
+        properties.setProperty(ConfigConstants.EDGE_ALERTS, "true");
+        new PropertiesConfigReader().generateConfig(properties);
+        Container container = mock(Container.class);
+        when(container.getConfig()).thenReturn(Config.INSTANCE);
+        sender = mock(AlertSignalSender.class);
+        evaluator = new ThresholdEvaluator(container, new AlertThresholds(), sender);
+    }
+
+    @AfterEach
+    public void tearDown() throws ConfigException {
+        new PropertiesConfigReader().generateConfig(PropertiesUtils.generateMockProperties());
+    }
+
+    @Test
+    public void evaluateSignalsUsagesOnlyWhenTheyBecomeMoreImportant() {
+        evaluator.evaluate(ThresholdEvaluator.CPU, "{\"cpu_load\": 80}");
+        evaluator.evaluate(ThresholdEvaluator.CPU, "{\"cpu_load\": 85}");
+        evaluator.evaluate(ThresholdEvaluator.CPU, "{\"cpu_load\": 60}");
+        evaluator.evaluate(ThresholdEvaluator.CPU, "{\"cpu_load\": 95}");
+
+        List<AlertSignal> signals = captureSignals(2);
+        assertThat(signals.get(0).getImportance()).isEqualTo(Importance.MEDIUM);
+        assertThat(signals.get(0).getValue()).isEqualTo(80);
+        assertThat(signals.get(0).getCategory()).isEqualTo(ThresholdEvaluator.CPU);
+        assertThat(signals.get(1).getImportance()).isEqualTo(Importance.CRITICAL);
+    }
+
+    @Test
+    public void evaluateSignalsAgainAfterUsageDropsUnderTheThresholds() {
+        evaluator.evaluate(ThresholdEvaluator.MEMORY, "{\"total\": 100, \"available\": 40}");
+        evaluator.evaluate(ThresholdEvaluator.MEMORY, "{\"total\": 100, \"available\": 80}");
+        evaluator.evaluate(ThresholdEvaluator.MEMORY, "{\"total\": 100, \"available\": 40}");
+
+        List<AlertSignal> signals = captureSignals(2);
+        assertThat(signals).allMatch(signal -> signal.getImportance() == Importance.LOW);
+        assertThat(signals.get(0).getValue()).isEqualTo(60);
+    }
+
+    @Test
+    public void evaluateSignalsEachFileSystemSeparately() {
+        String data = "{\"name\": \"/\", \"total_space\": 100, \"free_space\": 5}" + DELIMITER
+                + "{\"name\": \"/home\", \"total_space\": 100, \"free_space\": 90}" + DELIMITER;
+        evaluator.evaluate(ThresholdEvaluator.FILESYSTEM, data);
+
+        List<AlertSignal> signals = captureSignals(1);
+        assertThat(signals.get(0).getSubject()).isEqualTo("/");
+        assertThat(signals.get(0).getImportance()).isEqualTo(Importance.CRITICAL);
+        assertThat(signals.get(0).toMap()).contains("\"subject\":\"/\"", "\"detectedAt\":");
+    }
+
+    @Test
+    public void evaluateSkipsPartialContainers() {
+        String data = "{\"Id\": \"a\", \"partial\": true}" + DELIMITER
+                + "{\"Id\": \"b\", \"cpu_percent\": 10.0, \"memory_percent\": 92.0}" + DELIMITER;
+        evaluator.evaluate(ThresholdEvaluator.CONTAINER_RESOURCE, data);
+
+        List<AlertSignal> signals = captureSignals(1);
+        assertThat(signals.get(0).getSubject()).isEqualTo("memory_usage");
+        assertThat(signals.get(0).getValue()).isEqualTo(92.0);
+    }
+
+    @Test
+    public void evaluateComputesContainerUsagesFromRawStats() {
+        String data = "{\"Id\": \"a\", \"memory_stats\": {\"usage\": 95, \"limit\": 100}, "
+                + "\"cpu_stats\": {\"cpu_usage\": {\"total_usage\": 300}, \"system_cpu_usage\": 2000, "
+                + "\"online_cpus\": 4}, "
+                + "\"precpu_stats\": {\"cpu_usage\": {\"total_usage\": 100}, \"system_cpu_usage\": 1000}}"
+                + DELIMITER;
+        evaluator.evaluate(ThresholdEvaluator.CONTAINER_RESOURCE, data);
+
+        List<AlertSignal> signals = captureSignals(2);
+        assertThat(signals.get(0).getSubject()).isEqualTo("memory_usage");
+        assertThat(signals.get(0).getValue()).isEqualTo(95.0);
+        assertThat(signals.get(1).getSubject()).isEqualTo("cpu_usage");
+        assertThat(signals.get(1).getValue()).isEqualTo(80.0);
+    }
+
+    @Test
+    public void evaluateIgnoresAggregatedAndInvalidData() {
+        evaluator.evaluate(ThresholdEvaluator.CPU, "{\"cpu_load\": {\"min\": 95, \"max\": 99}}");
+        evaluator.evaluate(ThresholdEvaluator.CPU, "not json");
+        evaluator.evaluate("vm_users", "{\"cpu_load\": 95}");
+
+        verify(sender, never()).send(any());
+    }
+
+    @Test
+    public void evaluateDoesNothingGivenEdgeAlertsAreDisabled() throws ConfigException {
+        new PropertiesConfigReader().generateConfig(PropertiesUtils.generateMockProperties());
+
+        evaluator.evaluate(ThresholdEvaluator.CPU, "{\"cpu_load\": 95}");
+
+        verify(sender, never()).send(any());
+    }
+
+    private List<AlertSignal> captureSignals(int count) {
+        ArgumentCaptor<AlertSignal> captor = ArgumentCaptor.forClass(AlertSignal.class);
+        verify(sender, times(count)).send(captor.capture());
+        return captor.getAllValues();
+    }
+}
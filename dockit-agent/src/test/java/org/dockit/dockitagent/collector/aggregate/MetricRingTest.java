@@ -0,0 +1,61 @@
+package org.dockit.dockitagent.collector.aggregate;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MetricRingTest {
+
+    @Test
+    void ringAggregatesSamples() {
+        MetricRing ring = new MetricRing(10);
+        for (double value : new double[]{4, 1, 3, 2}) {
+            ring.add(value);
+        }
+
+        assertThat(ring.count()).isEqualTo(4);
+        assertThat(ring.min()).isEqualTo(1);
+        assertThat(ring.max()).isEqualTo(4);
+        assertThat(ring.mean()).isEqualTo(2.5);
+        assertThat(ring.last()).isEqualTo(2);
+        assertThat(ring.percentile(95)).isEqualTo(4);
+        assertThat(ring.percentile(50)).isEqualTo(2);
+    }
+
+    @Test
+    void percentileCoversLatestSamplesGivenFullRing() {
+        MetricRing ring = new MetricRing(20);
+        for (int i = 1; i <= 100; i++) {
+            ring.add(i);
+        }
+
+        assertThat(ring.count()).isEqualTo(100);
+        assertThat(ring.min()).isEqualTo(1);
+        assertThat(ring.mean()).isEqualTo(50.5);
+        assertThat(ring.percentile(95)).isEqualTo(99);
+        assertThat(ring.percentile(5)).isEqualTo(81);
+    }
+
+    @Test
+    void clearRemovesSamples() {
+        MetricRing ring = new MetricRing(4);
+        ring.add(5);
+
+        ring.clear();
+        ring.add(7);
+
+        assertThat(ring.count()).isEqualTo(1);
+        assertThat(ring.min()).isEqualTo(7);
+        assertThat(ring.max()).isEqualTo(7);
+        assertThat(ring.percentile(95)).isEqualTo(7);
+    }
+
+    @Test
+    void emptyRingHasNoValues() {
+        MetricRing ring = new MetricRing(4);
+
+        assertThat(ring.count()).isZero();
+        assertThat(ring.mean()).isNaN();
+        assertThat(ring.percentile(95)).isNaN();
+    }
+}
@@ -0,0 +1,102 @@
+package org.dockit.dockitagent.collector.aggregate;
+
+import com.google.gson.JsonParser;
+import org.dockit.dockitagent.alert.ThresholdEvaluator;
+import org.dockit.dockitagent.collector.Collector;
+import org.dockit.dockitagent.collector.vm.HostInventory;
+import org.dockit.dockitagent.collector.vm.collectors.VmCpuUsageCollector;
+import org.dockit.dockitagent.collector.vm.collectors.constants.VmCollectorConstants;
+import org.dockit.dockitagent.config.Config;
+import org.dockit.dockitagent.config.templates.Container;
+import org.dockit.dockitagent.entity.CategoryGenerator;
+import org.dockit.dockitagent.history.MetricHistory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import oshi.hardware.CentralProcessor;
+
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MetricSamplerTest {
+    private static final String CATEGORY = CategoryGenerator.getCategory(VmCpuUsageCollector.class);
+    private static final long[] JOB_TICKS = {1};
+    private static final long[] SAMPLED_TICKS = {2};
+    private static final double JOB_LOAD = 0.5;
+    private static final double SAMPLED_LOAD = 0.9;
+
+    private Config config;
+    private MetricHistory history;
+    private HostInventory hostInventory;
+    private MetricSampler metricSampler;
+
+    @BeforeEach
+    void setup() throws Exception {
+        config = mock(Config.class);
+        when(config.getSAMPLE_INTERVAL()).thenReturn(1);
+        when(config.getINTERVAL(CATEGORY)).thenReturn(60);
+        Container container = mock(Container.class);
+        when(container.getConfig()).thenReturn(config);
+        history = mock(MetricHistory.class);
+        when(history.isEnabled()).thenReturn(true);
+
+        CentralProcessor processor = mock(CentralProcessor.class);
+        // The collector of the job reads its baseline first, every later read is the one of the sampler
+        when(processor.getSystemCpuLoadTicks()).thenReturn(JOB_TICKS, SAMPLED_TICKS);
+        when(processor.getProcessorCpuLoadTicks()).thenReturn(new long[0][]);
+        when(processor.getProcessorCpuLoadBetweenTicks(any())).thenReturn(new double[0]);
+        when(processor.getSystemLoadAverage(3)).thenReturn(new double[3]);
+        when(processor.getSystemCpuLoadBetweenTicks(any())).thenAnswer(invocation ->
+                invocation.getArgument(0) == JOB_TICKS ? JOB_LOAD : SAMPLED_LOAD);
+        hostInventory = mock(HostInventory.class);
+        when(hostInventory.getProcessor()).thenReturn(processor);
+
+        metricSampler = new MetricSampler(container, mock(ThresholdEvaluator.class), history);
+    }
+
+    @AfterEach
+    void tearDown() {
+        metricSampler.stop();
+    }
+
+    @Test
+    void wrapSamplesSeparateCollectorGivenHistoryOnly() throws Exception {
+        // Verifying with a timeout would hold the lock of the synchronized record method of the mock
+        CountDownLatch recorded = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            recorded.countDown();
+            return null;
+        }).when(history).record(eq(CATEGORY), anyString());
+        Collector collector = new VmCpuUsageCollector(hostInventory);
+
+        Collector wrapped = metricSampler.wrap(collector,
+                () -> Optional.of(new VmCpuUsageCollector(hostInventory)));
+
+        assertThat(wrapped).isSameAs(collector);
+        assertThat(recorded.await(5, TimeUnit.SECONDS)).isTrue();
+        double cpuLoad = JsonParser.parseString(wrapped.collect()).getAsJsonObject()
+                .get(VmCollectorConstants.CPU_LOAD).getAsDouble();
+        // The load of the job is still measured from the baseline of its previous collection
+        assertThat(cpuLoad).isEqualTo(JOB_LOAD);
+    }
+
+    @Test
+    void wrapReturnsAggregatingCollectorGivenAggregatedMetrics() {
+        when(config.isAGGREGATE_METRICS()).thenReturn(true);
+        Collector collector = new VmCpuUsageCollector(hostInventory);
+
+        Collector wrapped = metricSampler.wrap(collector, Optional::empty);
+
+        assertThat(wrapped).isInstanceOf(AggregatingCollector.class);
+        assertThat(((AggregatingCollector) wrapped).getDelegate()).isSameAs(collector);
+    }
+}
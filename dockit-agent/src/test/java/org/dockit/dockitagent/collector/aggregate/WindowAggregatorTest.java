@@ -0,0 +1,101 @@
+package org.dockit.dockitagent.collector.aggregate;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.dockit.dockitagent.collector.Collector;
+import org.dockit.dockitagent.collector.utils.InformationBuilderHelper;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class WindowAggregatorTest {
+
+    @Test
+    void drainAggregatesNumericValues() {
+        WindowAggregator aggregator = new WindowAggregator(10, true);
+        aggregator.add("{\"cpu_load\":0.5,\"core_load\":[0.2,0.8],\"total\":100}");
+        aggregator.add("{\"cpu_load\":0.25,\"core_load\":[0.4,0.6],\"total\":100}");
+
+        JsonObject data = JsonParser.parseString(aggregator.drain().orElseThrow()).getAsJsonObject();
+
+        JsonObject cpuLoad = data.getAsJsonObject("cpu_load");
+        assertThat(cpuLoad.get(WindowAggregator.MIN).getAsDouble()).isEqualTo(0.25);
+        assertThat(cpuLoad.get(WindowAggregator.MAX).getAsDouble()).isEqualTo(0.5);
+        assertThat(cpuLoad.get(WindowAggregator.MEAN).getAsDouble()).isEqualTo(0.375);
+        assertThat(cpuLoad.get(WindowAggregator.LAST).getAsDouble()).isEqualTo(0.25);
+        assertThat(cpuLoad.get(WindowAggregator.COUNT).getAsLong()).isEqualTo(2);
+        assertThat(cpuLoad.get(WindowAggregator.P95).getAsDouble()).isEqualTo(0.5);
+        assertThat(data.getAsJsonArray("core_load").get(1).getAsJsonObject().get(WindowAggregator.MAX)
+                .getAsDouble()).isEqualTo(0.8);
+        assertThat(data.getAsJsonObject("total").get(WindowAggregator.LAST).toString()).isEqualTo("100");
+    }
+
+    @Test
+    void drainAggregatesDelimitedRecordsByIdentity() {
+        WindowAggregator aggregator = new WindowAggregator(10, false);
+        aggregator.add(InformationBuilderHelper.build(List.of(
+                "{\"name\":\"/\",\"free_space\":10}", "{\"name\":\"/boot\",\"free_space\":5}")));
+        aggregator.add(InformationBuilderHelper.build(List.of(
+                "{\"name\":\"/boot\",\"free_space\":3}", "{\"name\":\"/\",\"free_space\":20}")));
+
+        String data = aggregator.drain().orElseThrow();
+
+        assertThat(data).endsWith(InformationBuilderHelper.DELIMITER);
+        List<JsonObject> records = List.of(data.split(InformationBuilderHelper.DELIMITER)).stream()
+                .map(record -> JsonParser.parseString(record).getAsJsonObject())
+                .toList();
+        assertThat(records).hasSize(2);
+        assertThat(records.get(0).get("name").getAsString()).isEqualTo("/");
+        assertThat(records.get(0).getAsJsonObject("free_space").get(WindowAggregator.MEAN).getAsDouble())
+                .isEqualTo(15);
+        assertThat(records.get(0).getAsJsonObject("free_space").has(WindowAggregator.P95)).isFalse();
+        assertThat(records.get(1).getAsJsonObject("free_space").get(WindowAggregator.MIN).getAsLong())
+                .isEqualTo(3);
+    }
+
+    @Test
+    void drainStartsNewWindow() {
+        WindowAggregator aggregator = new WindowAggregator(10, false);
+        aggregator.add(InformationBuilderHelper.build(List.of("{\"id\":\"a\",\"cpu_percent\":1.5}")));
+        aggregator.drain();
+        aggregator.add(InformationBuilderHelper.build(List.of("{\"id\":\"b\",\"cpu_percent\":2.5}")));
+
+        String data = aggregator.drain().orElseThrow();
+
+        JsonObject record = JsonParser.parseString(data.split(InformationBuilderHelper.DELIMITER)[0])
+                .getAsJsonObject();
+        assertThat(data.split(InformationBuilderHelper.DELIMITER)).hasSize(1);
+        assertThat(record.get("id").getAsString()).isEqualTo("b");
+        assertThat(record.getAsJsonObject("cpu_percent").get(WindowAggregator.COUNT).getAsLong()).isEqualTo(1);
+        assertThat(aggregator.drain()).isEmpty();
+    }
+
+    @Test
+    void addIgnoresInvalidSamples() {
+        WindowAggregator aggregator = new WindowAggregator(10, false);
+
+        aggregator.add(null);
+        aggregator.add("not json {");
+
+        assertThat(aggregator.drain()).isEmpty();
+    }
+
+    @Test
+    void aggregatingCollectorCollectsDirectlyGivenNoSamples() {
+        Collector delegate = mock(Collector.class);
+        when(delegate.collect()).thenReturn("{\"total\":1}", "{\"total\":3}", "{\"total\":7}");
+        AggregatingCollector collector = new AggregatingCollector(delegate, new WindowAggregator(10, false));
+
+        assertThat(collector.collect()).isEqualTo("{\"total\":1}");
+        collector.sample();
+        collector.sample();
+
+        JsonObject data = JsonParser.parseString(collector.collect()).getAsJsonObject();
+        assertThat(data.getAsJsonObject("total").get(WindowAggregator.MEAN).getAsDouble()).isEqualTo(5);
+        assertThat(collector.getDelegate()).isEqualTo(delegate);
+    }
+}
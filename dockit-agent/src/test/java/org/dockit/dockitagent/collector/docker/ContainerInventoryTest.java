@@ -0,0 +1,90 @@
+package org.dockit.dockitagent.collector.docker;
+
+import org.dockit.dockitagent.connection.DockerConnectionManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ContainerInventoryTest {
+    private static final String CONTAINERS_ENDPOINT = "/containers/json";
+    private static final String CONTAINERS = "[{\"Id\":\"abc\",\"Names\":[\"/web\"]},{\"Id\":\"def\",\"Names\":[\"/db\"]}]";
+    private static final Duration TIME_TO_LIVE = Duration.ofSeconds(2);
+
+    private final AtomicLong now = new AtomicLong();
+
+    private DockerConnectionManager connectionManager;
+    private ContainerRegistry containerRegistry;
+    private ContainerInventory containerInventory;
+
+    @BeforeEach
+    void setup() {
+        connectionManager = mock(DockerConnectionManager.class);
+        containerRegistry = new ContainerRegistry();
+        containerInventory = new ContainerInventory(connectionManager, containerRegistry, TIME_TO_LIVE, now::get);
+    }
+
+    @Test
+    void getParsesContainerList() {
+        when(connectionManager.sendRequest(CONTAINERS_ENDPOINT)).thenReturn(Optional.of(CONTAINERS));
+
+        ContainerInventory.Snapshot snapshot = containerInventory.get().orElseThrow();
+
+        assertThat(snapshot.getIds()).containsExactly("abc", "def");
+        assertThat(snapshot.getContainers()).containsExactly("{\"Id\":\"abc\",\"Names\":[\"/web\"]}",
+                "{\"Id\":\"def\",\"Names\":[\"/db\"]}");
+    }
+
+    @Test
+    void getReusesSnapshotWithinTimeToLive() {
+        when(connectionManager.sendRequest(CONTAINERS_ENDPOINT)).thenReturn(Optional.of(CONTAINERS));
+
+        ContainerInventory.Snapshot first = containerInventory.get().orElseThrow();
+        now.addAndGet(TIME_TO_LIVE.toNanos() - 1);
+
+        assertThat(containerInventory.get()).containsSame(first);
+        verify(connectionManager, times(1)).sendRequest(CONTAINERS_ENDPOINT);
+    }
+
+    @Test
+    void getFetchesAgainGivenExpiredSnapshot() {
+        when(connectionManager.sendRequest(CONTAINERS_ENDPOINT)).thenReturn(Optional.of(CONTAINERS),
+                Optional.of("[]"));
+
+        containerInventory.get();
+        now.addAndGet(TIME_TO_LIVE.toNanos());
+
+        assertThat(containerInventory.get().orElseThrow().getIds()).isEmpty();
+        verify(connectionManager, times(2)).sendRequest(CONTAINERS_ENDPOINT);
+    }
+
+    @Test
+    void getReturnsEmptyGivenFailedRequest() {
+        when(connectionManager.sendRequest(CONTAINERS_ENDPOINT)).thenReturn(Optional.empty());
+
+        assertThat(containerInventory.get()).isEmpty();
+    }
+
+    @Test
+    void getReusesSnapshotUntilRegistryChangesGivenActiveRegistry() {
+        when(connectionManager.sendRequest(CONTAINERS_ENDPOINT)).thenReturn(Optional.of(CONTAINERS));
+        containerRegistry.resync(List.of("abc", "def"));
+
+        ContainerInventory.Snapshot first = containerInventory.get().orElseThrow();
+        now.addAndGet(TIME_TO_LIVE.toNanos() * 10);
+        assertThat(containerInventory.get()).containsSame(first);
+
+        containerRegistry.apply("die", "def");
+        containerInventory.get();
+        verify(connectionManager, times(2)).sendRequest(CONTAINERS_ENDPOINT);
+    }
+}
@@ -0,0 +1,87 @@
+package org.dockit.dockitagent.collector.docker;
+
+import org.dockit.dockitagent.connection.DockerConnectionManager;
+import org.dockit.dockitagent.connection.DockerStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DockerEventSubscriberTest {
+    private static final String CONTAINERS_ENDPOINT = "/containers/json";
+    private static final String CONTAINERS = "[{\"Id\":\"abc\"},{\"Id\":\"def\"}]";
+
+    private DockerConnectionManager connectionManager;
+    private ContainerRegistry containerRegistry;
+    private DockerEventSubscriber subscriber;
+
+    @BeforeEach
+    void setup() {
+        connectionManager = mock(DockerConnectionManager.class);
+        containerRegistry = new ContainerRegistry();
+        subscriber = new DockerEventSubscriber(connectionManager,
+                new ContainerInventory(connectionManager, containerRegistry), containerRegistry);
+    }
+
+    @Test
+    void subscribeResyncsRegistryAndAppliesEvents() {
+        when(connectionManager.sendRequest(CONTAINERS_ENDPOINT)).thenReturn(Optional.of(CONTAINERS));
+        when(connectionManager.openStream(DockerEventSubscriber.EVENTS_ENDPOINT)).thenReturn(Optional.of(stream(
+                event("start", "ghi"),
+                event("die", "abc"),
+                event("exec_start: sh", "def"))));
+
+        assertThat(subscriber.subscribe()).isTrue();
+
+        assertThat(containerRegistry.getVersion("abc")).isEmpty();
+        assertThat(containerRegistry.getVersion("def")).isPresent();
+        assertThat(containerRegistry.getVersion("ghi").getAsLong())
+                .isGreaterThan(containerRegistry.getVersion("def").getAsLong());
+        // The stream ended, so the registry may miss events from now on
+        assertThat(containerRegistry.isActive()).isFalse();
+    }
+
+    @Test
+    void subscribeReturnsFalseGivenStreamCouldNotBeOpened() {
+        when(connectionManager.openStream(DockerEventSubscriber.EVENTS_ENDPOINT)).thenReturn(Optional.empty());
+
+        assertThat(subscriber.subscribe()).isFalse();
+        assertThat(containerRegistry.isActive()).isFalse();
+    }
+
+    @Test
+    void applyChangesVersionOnlyGivenStateChange() {
+        containerRegistry.resync(List.of("abc"));
+        long version = containerRegistry.getVersion("abc").getAsLong();
+        long generation = containerRegistry.getGeneration();
+
+        subscriber.apply(event("exec_create: sh", "abc"));
+        subscriber.apply("{\"Type\":\"network\",\"Action\":\"connect\",\"Actor\":{\"ID\":\"abc\"}}");
+        subscriber.apply("not json");
+        assertThat(containerRegistry.getVersion("abc")).hasValue(version);
+        assertThat(containerRegistry.getGeneration()).isEqualTo(generation);
+
+        subscriber.apply(event("restart", "abc"));
+        assertThat(containerRegistry.getVersion("abc").getAsLong()).isGreaterThan(version);
+
+        subscriber.apply(event("destroy", "abc"));
+        assertThat(containerRegistry.getVersion("abc")).isEmpty();
+    }
+
+    private static String event(String action, String id) {
+        return "{\"Type\":\"container\",\"Action\":\"%s\",\"Actor\":{\"ID\":\"%s\",\"Attributes\":{}}}"
+                .formatted(action, id);
+    }
+
+    private static DockerStream stream(String... lines) {
+        byte[] body = (String.join("\n", lines) + "\n").getBytes(StandardCharsets.UTF_8);
+        return new DockerStream(200, new ByteArrayInputStream(body));
+    }
+}
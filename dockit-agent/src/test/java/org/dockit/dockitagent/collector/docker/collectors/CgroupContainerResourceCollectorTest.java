@@ -0,0 +1,101 @@
+package org.dockit.dockitagent.collector.docker.collectors;
+
+import com.google.gson.Gson;
+import org.dockit.dockitagent.collector.docker.ContainerInventory;
+import org.dockit.dockitagent.collector.docker.ContainerRegistry;
+import org.dockit.dockitagent.connection.DockerConnectionManager;
+import org.dockit.dockitagent.utils.DataSplitter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CgroupContainerResourceCollectorTest {
+    private static final String CONTAINERS = "[{\"Id\":\"abc\"},{\"Id\":\"def\"}]";
+    private static final long HOST_MEMORY = 8L * 1024 * 1024 * 1024;
+
+    @TempDir
+    private Path cgroupRoot;
+
+    private final AtomicLong now = new AtomicLong();
+
+    private CgroupContainerResourceCollector collector;
+
+    @BeforeEach
+    void setup() {
+        DockerConnectionManager connectionManager = mock(DockerConnectionManager.class);
+        when(connectionManager.sendRequest("/containers/json")).thenReturn(Optional.of(CONTAINERS));
+        ContainerInventory containerInventory = new ContainerInventory(connectionManager, new ContainerRegistry());
+        collector = new CgroupContainerResourceCollector(containerInventory, cgroupRoot, now::get, HOST_MEMORY);
+    }
+
+    @Test
+    void collectComputesUsageSinceThePreviousCollection() throws IOException {
+        Path abc = Files.createDirectories(cgroupRoot.resolve("system.slice/docker-abc.scope"));
+        Path def = Files.createDirectories(cgroupRoot.resolve("docker/def"));
+        writeCgroup(abc, 1_000_000, "536870912");
+        writeCgroup(def, 0, "max");
+
+        List<Map<String, Object>> first = parse(collector.collect());
+        assertThat(first).allSatisfy(container -> assertThat(container.get("partial")).isEqualTo(true));
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(2));
+        writeCgroup(abc, 2_000_000, "536870912");
+        writeCgroup(def, 4_000_000, "max");
+        List<Map<String, Object>> second = parse(collector.collect());
+
+        // 1 second of cpu time over 2 seconds
+        assertThat(second.get(0).get("Id")).isEqualTo("abc");
+        assertThat((Double) second.get(0).get("cpu_percent")).isCloseTo(50D, within(1e-9));
+        assertThat(second.get(0).get("memory_usage")).isEqualTo(100D * 1024 * 1024);
+        assertThat((Double) second.get(0).get("memory_percent")).isCloseTo(100D / 512 * 100, within(1e-9));
+        // 4 seconds of cpu time over 2 seconds, the container has no memory limit
+        assertThat(second.get(1).get("Id")).isEqualTo("def");
+        assertThat((Double) second.get(1).get("cpu_percent")).isCloseTo(200D, within(1e-9));
+        assertThat(second.get(1).get("memory_limit")).isEqualTo((double) HOST_MEMORY);
+    }
+
+    @Test
+    void collectReportsPartialGivenCgroupIsMissing() {
+        List<Map<String, Object>> data = parse(collector.collect());
+
+        assertThat(data).extracting(container -> container.get("Id")).containsExactly("abc", "def");
+        assertThat(data).allSatisfy(container -> assertThat(container.get("partial")).isEqualTo(true));
+    }
+
+    private static void writeCgroup(Path cgroup, long cpuUsage, String memoryMax) throws IOException {
+        Files.writeString(cgroup.resolve("cpu.stat"), """
+                usage_usec %d
+                user_usec 0
+                system_usec 0
+                """.formatted(cpuUsage));
+        Files.writeString(cgroup.resolve("memory.current"), (150L * 1024 * 1024) + "\n");
+        Files.writeString(cgroup.resolve("memory.max"), memoryMax + "\n");
+        Files.writeString(cgroup.resolve("memory.stat"), """
+                anon 104857600
+                file 52428800
+                active_file 0
+                inactive_file %d
+                """.formatted(50L * 1024 * 1024));
+    }
+
+    private static List<Map<String, Object>> parse(String data) {
+        Gson gson = new Gson();
+        return DataSplitter.split(data).stream()
+                .map(container -> (Map<String, Object>) gson.fromJson(container, Map.class))
+                .toList();
+    }
+}
@@ -0,0 +1,132 @@
+package org.dockit.dockitagent.collector.docker.collectors;
+
+import com.google.gson.Gson;
+import org.dockit.dockitagent.collector.docker.ContainerInventory;
+import org.dockit.dockitagent.collector.docker.ContainerRegistry;
+import org.dockit.dockitagent.config.Config;
+import org.dockit.dockitagent.config.templates.Container;
+import org.dockit.dockitagent.connection.DockerConnectionManager;
+import org.dockit.dockitagent.connection.DockerResponse;
+import org.dockit.dockitagent.connection.DockerStream;
+import org.dockit.dockitagent.connection.DockerTransport;
+import org.dockit.dockitagent.connection.RequestMetrics;
+import org.dockit.dockitagent.utils.DataSplitter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DockerCollectorTest {
+    private static final String CONTAINERS_ENDPOINT = "/containers/json";
+    private static final String CONTAINERS = "[{\"Id\":\"fast\"},{\"Id\":\"slow\"},{\"Id\":\"broken\"}]";
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private final Map<String, Integer> requests = new ConcurrentHashMap<>();
+
+    private Config config;
+    private DockerConnectionManager connectionManager;
+    private ContainerRegistry containerRegistry;
+    private DockerContainerProcessCollector collector;
+
+    @BeforeEach
+    void setup() {
+        Container container = mock(Container.class);
+        config = mock(Config.class);
+        when(container.getConfig()).thenReturn(config);
+        when(config.getDOCKER_PARALLELISM()).thenReturn(2);
+        when(config.getDOCKER_DEADLINE()).thenReturn(1);
+        connectionManager = new DockerConnectionManager(container, new FakeTransport());
+        containerRegistry = new ContainerRegistry();
+        collector = new DockerContainerProcessCollector(connectionManager,
+                new ContainerInventory(connectionManager, containerRegistry), containerRegistry);
+    }
+
+    @Test
+    void collectReportsContainersMissingTheDeadlineAsPartial() {
+        long start = System.nanoTime();
+
+        String data = collector.collect();
+
+        // The slow container must not stall the collection beyond the deadline
+        assertThat(System.nanoTime() - start).isLessThan(5_000_000_000L);
+        List<String> items = DataSplitter.split(data);
+        assertThat(items).hasSize(2);
+        assertThat(items.get(0)).isEqualTo("{\"Id\":\"fast\",\"Processes\":[]}");
+        Map<?, ?> partial = new Gson().fromJson(items.get(1), Map.class);
+        assertThat(partial.get(DockerCollector.ID_KEY)).isEqualTo("slow");
+        assertThat(partial.get(DockerCollector.PARTIAL_KEY)).isEqualTo(true);
+    }
+
+    @Test
+    void collectRequestsOnlyChangedContainersGivenActiveRegistry() {
+        containerRegistry.resync(List.of("fast", "slow", "broken"));
+
+        collector.collect();
+        String data = collector.collect();
+
+        assertThat(DataSplitter.split(data).get(0)).isEqualTo("{\"Id\":\"fast\",\"Processes\":[]}");
+        assertThat(requests.get("/containers/fast/top")).isEqualTo(1);
+        // Failed responses are not reused
+        assertThat(requests.get("/containers/broken/top")).isEqualTo(2);
+
+        containerRegistry.apply("restart", "fast");
+        collector.collect();
+
+        assertThat(requests.get("/containers/fast/top")).isEqualTo(2);
+    }
+
+    @Test
+    void sendRequestsLimitsConcurrentRequests() {
+        List<String> endpoints = List.of("/containers/a/top", "/containers/b/top", "/containers/c/top",
+                "/containers/d/top", "/containers/e/top");
+
+        Map<String, ?> responses = connectionManager.sendRequests(endpoints);
+
+        assertThat(responses).containsOnlyKeys(endpoints);
+        assertThat(maxInFlight.get()).isLessThanOrEqualTo(2);
+    }
+
+    private final class FakeTransport implements DockerTransport {
+        private final RequestMetrics metrics = new RequestMetrics();
+
+        @Override
+        public DockerResponse get(String endpoint) throws IOException, InterruptedException {
+            if (endpoint.equals(CONTAINERS_ENDPOINT)) {
+                return new DockerResponse(200, CONTAINERS);
+            }
+            requests.merge(endpoint, 1, Integer::sum);
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                if (endpoint.contains("slow")) {
+                    Thread.sleep(30_000);
+                }
+                Thread.sleep(50);
+                if (endpoint.contains("broken")) {
+                    return new DockerResponse(500, "error");
+                }
+                return new DockerResponse(200, "{\"Id\":\"fast\",\"Processes\":[]}");
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        }
+
+        @Override
+        public DockerStream stream(String endpoint) throws IOException {
+            throw new IOException("Streams are not supported");
+        }
+
+        @Override
+        public RequestMetrics getMetrics() {
+            return metrics;
+        }
+    }
+}
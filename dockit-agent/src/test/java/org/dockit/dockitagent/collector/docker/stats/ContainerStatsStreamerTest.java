@@ -0,0 +1,99 @@
+package org.dockit.dockitagent.collector.docker.stats;
+
+import org.dockit.dockitagent.config.Config;
+import org.dockit.dockitagent.config.templates.Container;
+import org.dockit.dockitagent.connection.DockerConnectionManager;
+import org.dockit.dockitagent.connection.DockerStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ContainerStatsStreamerTest {
+    private static final String STATS_ENDPOINT = "/containers/abc/stats?stream=true";
+
+    private DockerConnectionManager connectionManager;
+    private ContainerStatsStreamer statsStreamer;
+    private PipedOutputStream output;
+
+    @BeforeEach
+    void setup() throws IOException {
+        Container container = mock(Container.class);
+        Config config = mock(Config.class);
+        when(container.getConfig()).thenReturn(config);
+        when(config.getINTERVAL(anyString())).thenReturn(10);
+        connectionManager = mock(DockerConnectionManager.class);
+        statsStreamer = new ContainerStatsStreamer(container, connectionManager);
+
+        output = new PipedOutputStream();
+        PipedInputStream input = new PipedInputStream(output, 64 * 1024);
+        when(connectionManager.openStream(anyString())).thenReturn(Optional.empty());
+        when(connectionManager.openStream(STATS_ENDPOINT)).thenReturn(Optional.of(new DockerStream(200, input)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        statsStreamer.stop();
+    }
+
+    @Test
+    void collectSummarisesStreamedSamples() throws IOException, InterruptedException {
+        assertThat(statsStreamer.collect(List.of("abc"))).isEmpty();
+
+        write(StatsWindowTest.stats(0, 0, 100, 0, 0));
+        write(StatsWindowTest.stats(100, 1000, 600, 0, 0));
+
+        eventually(() -> statsStreamer.collect(List.of("abc")).containsKey("abc"));
+        Map<String, Object> usage = statsStreamer.collect(List.of("abc")).get("abc");
+        assertThat((double) usage.get("cpu_percent")).isEqualTo(20);
+        assertThat((double) usage.get("memory_percent")).isEqualTo(50);
+        // The stream is kept open across collections
+        verify(connectionManager, times(1)).openStream(STATS_ENDPOINT);
+    }
+
+    @Test
+    void collectClosesStreamsOfStoppedContainers() throws IOException, InterruptedException {
+        statsStreamer.collect(List.of("abc"));
+        write(StatsWindowTest.stats(0, 0, 100, 0, 0));
+
+        statsStreamer.collect(List.of());
+
+        // Writing to the closed stream fails once the reader is gone
+        eventually(() -> {
+            try {
+                write(StatsWindowTest.stats(0, 0, 100, 0, 0));
+                return false;
+            } catch (IOException e) {
+                return true;
+            }
+        });
+    }
+
+    private static void eventually(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    private void write(String line) throws IOException {
+        output.write((line + "\n").getBytes(StandardCharsets.UTF_8));
+        output.flush();
+    }
+}
@@ -0,0 +1,76 @@
+package org.dockit.dockitagent.collector.docker.stats;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class StatsWindowTest {
+    private static final long SECOND = 1_000_000_000L;
+
+    static String stats(long cpu, long systemCpu, long memoryUsage, long rxBytes, long readBytes) {
+        return """
+                {
+                  "read": "2023-11-01T10:00:00.000000000Z",
+                  "networks": {
+                    "eth0": {"rx_bytes": %d, "tx_bytes": 0},
+                    "eth1": {"rx_bytes": %d, "tx_bytes": 0}
+                  },
+                  "memory_stats": {"stats": {"inactive_file": 100}, "usage": %d, "limit": 1000},
+                  "blkio_stats": {"io_service_bytes_recursive": [
+                    {"major": 8, "minor": 0, "op": "read", "value": %d},
+                    {"major": 8, "minor": 0, "op": "write", "value": 0}
+                  ]},
+                  "cpu_stats": {
+                    "cpu_usage": {"total_usage": %d},
+                    "system_cpu_usage": %d,
+                    "online_cpus": 2
+                  },
+                  "precpu_stats": {}
+                }""".formatted(rxBytes, rxBytes, memoryUsage, readBytes, cpu, systemCpu).replace("\n", "");
+    }
+
+    @Test
+    void summarizeReturnsEmptyGivenSingleSample() {
+        StatsWindow window = new StatsWindow(5);
+        window.add(StatsSample.parse(stats(0, 0, 100, 0, 0), 0));
+
+        assertThat(window.summarize()).isEmpty();
+    }
+
+    @Test
+    void summarizeComputesUsageBetweenOldestAndNewestSample() {
+        StatsWindow window = new StatsWindow(3);
+        window.add(StatsSample.parse(stats(0, 0, 100, 0, 0), 0));
+        window.add(StatsSample.parse(stats(100, 1000, 300, 500, 1000), SECOND));
+        window.add(StatsSample.parse(stats(200, 2000, 400, 1000, 2000), 2 * SECOND));
+        // Replaces the first sample
+        window.add(StatsSample.parse(stats(400, 3000, 600, 2000, 4000), 3 * SECOND));
+
+        Map<String, Object> summary = window.summarize().orElseThrow();
+
+        assertThat(window.size()).isEqualTo(3);
+        // (400 - 100) / (3000 - 1000) * 2 cpus * 100
+        assertThat((double) summary.get("cpu_percent")).isCloseTo(30, within(0.001));
+        // (600 - 100 inactive file) / 1000
+        assertThat((double) summary.get("memory_percent")).isCloseTo(50, within(0.001));
+        // (2 * 2000 - 2 * 500) bytes over 2 seconds
+        assertThat((double) summary.get("network_rx_bytes_per_second")).isCloseTo(1500, within(0.001));
+        assertThat((double) summary.get("block_read_bytes_per_second")).isCloseTo(1500, within(0.001));
+        assertThat((double) summary.get("window_seconds")).isCloseTo(2, within(0.001));
+    }
+
+    @Test
+    void summarizeReturnsZeroRatesGivenResetCounters() {
+        StatsWindow window = new StatsWindow(2);
+        window.add(StatsSample.parse(stats(500, 1000, 100, 5000, 5000), 0));
+        window.add(StatsSample.parse(stats(10, 2000, 100, 10, 10), SECOND));
+
+        Map<String, Object> summary = window.summarize().orElseThrow();
+
+        assertThat((double) summary.get("cpu_percent")).isZero();
+        assertThat((double) summary.get("network_rx_bytes_per_second")).isZero();
+    }
+}
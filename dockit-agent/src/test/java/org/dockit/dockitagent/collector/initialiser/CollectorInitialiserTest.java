@@ -1,22 +1,32 @@
 package org.dockit.dockitagent.collector.initialiser;
 
+import org.dockit.dockitagent.alert.ThresholdEvaluator;
 import org.dockit.dockitagent.collector.Collector;
+import org.dockit.dockitagent.collector.aggregate.MetricSampler;
+import org.dockit.dockitagent.collector.docker.ContainerInventory;
+import org.dockit.dockitagent.collector.docker.ContainerRegistry;
 import org.dockit.dockitagent.collector.docker.DockerInformationCollectorRegistry;
+import org.dockit.dockitagent.collector.docker.stats.ContainerStatsStreamer;
+import org.dockit.dockitagent.collector.vm.HostInventory;
 import org.dockit.dockitagent.collector.vm.VMInformationCollectorRegistry;
 import org.dockit.dockitagent.config.Config;
 import org.dockit.dockitagent.config.ConfigContainer;
 import org.dockit.dockitagent.connection.DockerConnectionManager;
 import org.dockit.dockitagent.exceptions.collector.CollectorInitialisationException;
+import org.dockit.dockitagent.history.MetricHistory;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assume.assumeTrue;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.when;
 
@@ -25,9 +35,21 @@ public class CollectorInitialiserTest {
     @Mock
     private DockerConnectionManager dockerConnectionManager;
     @Mock
+    private ContainerInventory containerInventory;
+    @Mock
+    private ContainerRegistry containerRegistry;
+    @Mock
+    private ContainerStatsStreamer statsStreamer;
+    @Mock
+    private HostInventory hostInventory;
+    @Mock
     private ConfigContainer configContainer;
     @Mock
     private Config config;
+    @Mock
+    private ThresholdEvaluator evaluator;
+    @Mock
+    private MetricHistory history;
 
     @Test
     public void collectorInitialiserThrowsExceptionGivenBothSettingsTurnedOff() {
@@ -35,7 +57,9 @@ public class CollectorInitialiserTest {
         when(config.isDOCKER()).thenReturn(false);
         when(config.isVM_DATA()).thenReturn(false);
 
-        CollectorInitialiser collectorInitialiser = new CollectorInitialiser(configContainer, dockerConnectionManager);
+        CollectorInitialiser collectorInitialiser = new CollectorInitialiser(configContainer, dockerConnectionManager,
+                containerInventory, containerRegistry, statsStreamer, hostInventory,
+                new MetricSampler(configContainer, evaluator, history));
 
         assertThrows(CollectorInitialisationException.class, collectorInitialiser::initialiseCollectors);
     }
@@ -46,7 +70,9 @@ public class CollectorInitialiserTest {
         when(config.isDOCKER()).thenReturn(true);
         when(config.isVM_DATA()).thenReturn(false);
 
-        CollectorInitialiser collectorInitialiser = new CollectorInitialiser(configContainer, dockerConnectionManager);
+        CollectorInitialiser collectorInitialiser = new CollectorInitialiser(configContainer, dockerConnectionManager,
+                containerInventory, containerRegistry, statsStreamer, hostInventory,
+                new MetricSampler(configContainer, evaluator, history));
 
         List<Collector> collectors =  collectorInitialiser.initialiseCollectors();
 
@@ -60,7 +86,9 @@ public class CollectorInitialiserTest {
         when(config.isDOCKER()).thenReturn(false);
         when(config.isVM_DATA()).thenReturn(true);
 
-        CollectorInitialiser collectorInitialiser = new CollectorInitialiser(configContainer, dockerConnectionManager);
+        CollectorInitialiser collectorInitialiser = new CollectorInitialiser(configContainer, dockerConnectionManager,
+                containerInventory, containerRegistry, statsStreamer, hostInventory,
+                new MetricSampler(configContainer, evaluator, history));
 
         List<Collector> collectors =  collectorInitialiser.initialiseCollectors();
 
@@ -74,7 +102,9 @@ public class CollectorInitialiserTest {
         when(config.isDOCKER()).thenReturn(true);
         when(config.isVM_DATA()).thenReturn(true);
 
-        CollectorInitialiser collectorInitialiser = new CollectorInitialiser(configContainer, dockerConnectionManager);
+        CollectorInitialiser collectorInitialiser = new CollectorInitialiser(configContainer, dockerConnectionManager,
+                containerInventory, containerRegistry, statsStreamer, hostInventory,
+                new MetricSampler(configContainer, evaluator, history));
 
         List<Collector> collectors =  collectorInitialiser.initialiseCollectors();
         List<Class<? extends Collector>> classes = Stream.concat(VMInformationCollectorRegistry.vmCollectors.stream(),
@@ -84,6 +114,29 @@ public class CollectorInitialiserTest {
                 .containsExactlyInAnyOrderElementsOf(classes);
     }
 
+    @Test
+    public void collectorInitialiserReturnsLinuxFastPathCollectorsGivenItIsEnabled()
+            throws CollectorInitialisationException {
+        assumeTrue(Files.isReadable(Path.of("/proc/stat")));
+        when(configContainer.getConfig()).thenReturn(config);
+        when(config.isDOCKER()).thenReturn(false);
+        when(config.isVM_DATA()).thenReturn(true);
+        when(config.isLINUX_FAST_PATH()).thenReturn(true);
+
+        CollectorInitialiser collectorInitialiser = new CollectorInitialiser(configContainer, dockerConnectionManager,
+                containerInventory, containerRegistry, statsStreamer, hostInventory,
+                new MetricSampler(configContainer, evaluator, history));
+
+        List<Collector> collectors =  collectorInitialiser.initialiseCollectors();
+        List<Class<? extends Collector>> classes = VMInformationCollectorRegistry.vmCollectors.stream()
+                .<Class<? extends Collector>>map(collector -> VMInformationCollectorRegistry.linuxVmCollectors
+                        .getOrDefault(collector, collector))
+                .toList();
+
+        assertThat(getClasses(collectors))
+                .containsExactlyInAnyOrderElementsOf(classes);
+    }
+
     private List<Class<? extends Collector>> getClasses(List<Collector> collectors) {
         return collectors.stream().map(collector -> collector.getClass())
                 .collect(Collectors.toList());
@@ -0,0 +1,90 @@
+package org.dockit.dockitagent.collector.vm;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import oshi.SystemInfo;
+import oshi.hardware.GlobalMemory;
+import oshi.hardware.HardwareAbstractionLayer;
+import oshi.software.os.OperatingSystem;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class HostInventoryTest {
+    private static final Duration TIME_TO_LIVE = Duration.ofSeconds(2);
+
+    private final AtomicLong now = new AtomicLong();
+
+    private HostInventory hostInventory;
+
+    @BeforeEach
+    void setup() {
+        hostInventory = new HostInventory(new SystemInfo(), TIME_TO_LIVE, now::get);
+    }
+
+    @Test
+    void getTakesSnapshotOfHost() {
+        HostInventory.Snapshot snapshot = hostInventory.get();
+
+        assertThat(snapshot.getMemoryTotal()).isPositive();
+        assertThat(snapshot.getMemoryAvailable()).isBetween(0L, snapshot.getMemoryTotal());
+        assertThat(snapshot.getProcesses()).isNotEmpty();
+    }
+
+    @Test
+    void getReusesSnapshotWithinTimeToLive() {
+        HostInventory.Snapshot snapshot = hostInventory.get();
+        now.addAndGet(TIME_TO_LIVE.toNanos() - 1);
+
+        assertThat(hostInventory.get()).isSameAs(snapshot);
+    }
+
+    @Test
+    void getTakesSnapshotAgainAfterTimeToLive() {
+        HostInventory.Snapshot snapshot = hostInventory.get();
+        now.addAndGet(TIME_TO_LIVE.toNanos());
+
+        assertThat(hostInventory.get()).isNotSameAs(snapshot);
+    }
+
+    @Test
+    void refreshTakesSnapshotRegardlessOfTimeToLive() {
+        HostInventory.Snapshot snapshot = hostInventory.get();
+
+        assertThat(hostInventory.refresh()).isNotSameAs(snapshot);
+        assertThat(hostInventory.getProcessor()).isSameAs(hostInventory.getProcessor());
+    }
+
+    @Test
+    void snapshotReadsEachPartOnceWhenFirstRequested() {
+        SystemInfo systemInfo = mock(SystemInfo.class);
+        HardwareAbstractionLayer hardware = mock(HardwareAbstractionLayer.class);
+        OperatingSystem operatingSystem = mock(OperatingSystem.class);
+        GlobalMemory memory = mock(GlobalMemory.class);
+        when(systemInfo.getHardware()).thenReturn(hardware);
+        when(systemInfo.getOperatingSystem()).thenReturn(operatingSystem);
+        when(hardware.getMemory()).thenReturn(memory);
+        when(memory.getTotal()).thenReturn(2048L);
+        when(memory.getAvailable()).thenReturn(1024L);
+        when(operatingSystem.getProcesses()).thenReturn(List.of());
+
+        HostInventory.Snapshot snapshot = new HostInventory(systemInfo, TIME_TO_LIVE, now::get).get();
+
+        assertThat(snapshot.getMemoryTotal()).isEqualTo(2048L);
+        assertThat(snapshot.getMemoryAvailable()).isEqualTo(1024L);
+        verify(hardware, times(1)).getMemory();
+        verify(operatingSystem, never()).getProcesses();
+        verify(operatingSystem, never()).getInternetProtocolStats();
+
+        assertThat(snapshot.getProcesses()).isSameAs(snapshot.getProcesses());
+        verify(operatingSystem, times(1)).getProcesses();
+    }
+}
@@ -0,0 +1,102 @@
+package org.dockit.dockitagent.collector.vm;
+
+import org.dockit.dockitagent.collector.Collector;
+import org.dockit.dockitagent.collector.vm.collectors.ProcCpuUsageCollector;
+import org.dockit.dockitagent.collector.vm.collectors.ProcFileSystemCollector;
+import org.dockit.dockitagent.collector.vm.collectors.ProcMemoryResourcesCollector;
+import org.dockit.dockitagent.collector.vm.collectors.VmCpuUsageCollector;
+import org.dockit.dockitagent.collector.vm.collectors.VmFileSystemCollector;
+import org.dockit.dockitagent.collector.vm.collectors.VmMemoryResourcesCollector;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the overhead of a tick of the cpu, memory and file system collectors on the oshi path against the linux
+ * fast path, along with the allocations through the gc profiler. Linux only, run with:
+ * mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=org.dockit.dockitagent.collector.vm.LinuxFastPathBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LinuxFastPathBenchmark {
+    private HostInventory hostInventory;
+    private Collector oshiCpu;
+    private Collector oshiMemory;
+    private Collector oshiFileSystem;
+    private Collector procCpu;
+    private Collector procMemory;
+    private Collector procFileSystem;
+
+    @Setup
+    public void setup() {
+        hostInventory = new HostInventory();
+        oshiCpu = new VmCpuUsageCollector(hostInventory);
+        oshiMemory = new VmMemoryResourcesCollector(hostInventory);
+        oshiFileSystem = new VmFileSystemCollector(hostInventory);
+        procCpu = new ProcCpuUsageCollector();
+        procMemory = new ProcMemoryResourcesCollector();
+        procFileSystem = new ProcFileSystemCollector();
+    }
+
+    @Benchmark
+    public void oshiTick(Blackhole blackhole) {
+        // The snapshot is taken once per tick and shared by the collectors
+        hostInventory.refresh();
+        blackhole.consume(oshiCpu.collect());
+        blackhole.consume(oshiMemory.collect());
+        blackhole.consume(oshiFileSystem.collect());
+    }
+
+    @Benchmark
+    public void procTick(Blackhole blackhole) {
+        blackhole.consume(procCpu.collect());
+        blackhole.consume(procMemory.collect());
+        blackhole.consume(procFileSystem.collect());
+    }
+
+    @Benchmark
+    public String oshiMemory() {
+        hostInventory.refresh();
+        return oshiMemory.collect();
+    }
+
+    @Benchmark
+    public String procMemory() {
+        return procMemory.collect();
+    }
+
+    @Benchmark
+    public String procCpu() {
+        return procCpu.collect();
+    }
+
+    @Benchmark
+    public String procFileSystem() {
+        return procFileSystem.collect();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(LinuxFastPathBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+}
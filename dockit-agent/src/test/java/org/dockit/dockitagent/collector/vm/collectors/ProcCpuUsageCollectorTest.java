@@ -0,0 +1,73 @@
+package org.dockit.dockitagent.collector.vm.collectors;
+
+import com.google.gson.Gson;
+import org.dockit.dockitagent.collector.vm.collectors.constants.VmCollectorConstants;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class ProcCpuUsageCollectorTest {
+    @TempDir
+    private Path procRoot;
+
+    @BeforeEach
+    void setup() throws IOException {
+        Files.writeString(procRoot.resolve("loadavg"), "0.52 1.05 12.50 2/1290 48122\n");
+    }
+
+    @Test
+    void collectComputesLoadSinceThePreviousCollection() throws IOException {
+        writeStat("""
+                cpu  100 0 100 700 100 0 0 0 0 0
+                cpu0 50 0 50 350 50 0 0 0 0 0
+                cpu1 50 0 50 350 50 0 0 0 0 0
+                intr 1000 0 0
+                ctxt 5000
+                """);
+        ProcCpuUsageCollector collector = new ProcCpuUsageCollector(procRoot);
+        writeStat("""
+                cpu  250 0 150 750 150 0 0 0 10 0
+                cpu0 150 0 50 350 50 0 0 0 10 0
+                cpu1 100 0 100 400 100 0 0 0 0 0
+                intr 1000 0 0
+                """);
+
+        Map<String, ?> data = new Gson().fromJson(collector.collect(), Map.class);
+
+        // 200 busy ticks out of 300, guest ticks are already counted in user
+        assertThat((Double) data.get(VmCollectorConstants.CPU_LOAD)).isCloseTo(2 / 3D, within(1e-9));
+        assertThat((List<Double>) data.get(VmCollectorConstants.CPU_CORE_LOAD)).containsExactly(1D, 0.5D);
+        assertThat((List<Double>) data.get(VmCollectorConstants.CPU_LOAD_AVERAGE)).containsExactly(0.52, 1.05, 12.5);
+    }
+
+    @Test
+    void collectReturnsNoLoadGivenNoTicksElapsed() throws IOException {
+        writeStat("cpu  100 0 100 700 100 0 0 0 0 0\ncpu0 100 0 100 700 100 0 0 0 0 0\n");
+        ProcCpuUsageCollector collector = new ProcCpuUsageCollector(procRoot);
+
+        Map<String, ?> data = new Gson().fromJson(collector.collect(), Map.class);
+
+        assertThat((Double) data.get(VmCollectorConstants.CPU_LOAD)).isZero();
+        assertThat((List<Double>) data.get(VmCollectorConstants.CPU_CORE_LOAD)).containsExactly(0D);
+    }
+
+    @Test
+    void collectReturnsNullGivenStatCannotBeRead() {
+        ProcCpuUsageCollector collector = new ProcCpuUsageCollector(procRoot);
+
+        assertThat(collector.collect()).isNull();
+    }
+
+    private void writeStat(String content) throws IOException {
+        Files.writeString(procRoot.resolve("stat"), content);
+    }
+}
@@ -0,0 +1,48 @@
+package org.dockit.dockitagent.collector.vm.collectors;
+
+import com.google.gson.Gson;
+import org.dockit.dockitagent.collector.vm.collectors.constants.VmCollectorConstants;
+import org.dockit.dockitagent.utils.DataSplitter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProcFileSystemCollectorTest {
+    @TempDir
+    private Path procRoot;
+
+    @Test
+    void collectReadsLocalFileSystems() throws IOException {
+        Path mountPoint = Files.createDirectory(procRoot.resolve("data volume"));
+        Files.writeString(procRoot.resolve("mounts"), """
+                proc /proc proc rw,nosuid,nodev,noexec,relatime 0 0
+                /dev/sda1 %1$s ext4 rw,relatime 0 0
+                tmpfs /run tmpfs rw,nosuid,nodev 0 0
+                /dev/sda1 %1$s ext4 rw,relatime 0 0
+                /dev/sdb1 /missing ext4 rw,relatime 0 0
+                """.formatted(mountPoint.toString().replace(" ", "\\040")));
+
+        List<String> fileSystems = DataSplitter.split(new ProcFileSystemCollector(procRoot).collect());
+
+        assertThat(fileSystems).hasSize(1);
+        Map<String, ?> data = new Gson().fromJson(fileSystems.get(0), Map.class);
+        assertThat(data).containsOnlyKeys(VmCollectorConstants.FILE_SYSTEM_NAME,
+                VmCollectorConstants.FILE_SYSTEM_TOTAL_SPACE,
+                VmCollectorConstants.FILE_SYSTEM_FREE_SPACE);
+        assertThat(data.get(VmCollectorConstants.FILE_SYSTEM_NAME)).isEqualTo(mountPoint.toString());
+        assertThat((Double) data.get(VmCollectorConstants.FILE_SYSTEM_TOTAL_SPACE))
+                .isGreaterThanOrEqualTo((Double) data.get(VmCollectorConstants.FILE_SYSTEM_FREE_SPACE));
+    }
+
+    @Test
+    void collectReturnsNullGivenMountsCannotBeRead() {
+        assertThat(new ProcFileSystemCollector(procRoot).collect()).isNull();
+    }
+}
@@ -0,0 +1,50 @@
+package org.dockit.dockitagent.collector.vm.collectors;
+
+import com.google.gson.Gson;
+import org.dockit.dockitagent.collector.vm.collectors.constants.VmCollectorConstants;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProcMemoryResourcesCollectorTest {
+    @TempDir
+    private Path procRoot;
+
+    @Test
+    void collectReadsTotalAndAvailableMemory() throws IOException {
+        Files.writeString(procRoot.resolve("meminfo"), """
+                MemTotal:       16318412 kB
+                MemFree:         1204644 kB
+                MemAvailable:    9847180 kB
+                Buffers:          512340 kB
+                """);
+
+        Map<String, ?> data = new Gson().fromJson(new ProcMemoryResourcesCollector(procRoot).collect(), Map.class);
+
+        assertThat(data).containsOnlyKeys(VmCollectorConstants.MEMORY_TOTAL, VmCollectorConstants.MEMORY_AVAILABLE);
+        assertThat(data.get(VmCollectorConstants.MEMORY_TOTAL)).isEqualTo(16318412D * 1024);
+        assertThat(data.get(VmCollectorConstants.MEMORY_AVAILABLE)).isEqualTo(9847180D * 1024);
+    }
+
+    @Test
+    void collectReturnsNullGivenAvailableMemoryIsMissing() throws IOException {
+        Files.writeString(procRoot.resolve("meminfo"), "MemTotal:       16318412 kB\n");
+
+        assertThat(new ProcMemoryResourcesCollector(procRoot).collect()).isNull();
+    }
+
+    @Test
+    void collectReadsMemoryOfThisHost() {
+        Map<String, ?> data = new Gson().fromJson(new ProcMemoryResourcesCollector().collect(), Map.class);
+
+        assertThat((Double) data.get(VmCollectorConstants.MEMORY_TOTAL) / Math.pow(1024, 2)).isGreaterThan(100D);
+        assertThat((Double) data.get(VmCollectorConstants.MEMORY_AVAILABLE))
+                .isLessThanOrEqualTo((Double) data.get(VmCollectorConstants.MEMORY_TOTAL));
+    }
+}
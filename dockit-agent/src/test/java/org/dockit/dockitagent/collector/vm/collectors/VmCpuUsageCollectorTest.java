@@ -2,11 +2,13 @@ package org.dockit.dockitagent.collector.vm.collectors;
 
 import com.google.gson.Gson;
 import org.dockit.dockitagent.collector.Collector;
+import org.dockit.dockitagent.collector.vm.HostInventory;
 import org.dockit.dockitagent.collector.vm.collectors.constants.VmCollectorConstants;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
 
+import java.util.List;
 import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -14,11 +16,13 @@ import static org.assertj.core.api.Assertions.assertThat;
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
 public class VmCpuUsageCollectorTest {
 
+    private HostInventory hostInventory;
     private String collectedData;
 
     @BeforeAll
     public void setup() {
-        Collector collector = new VmCpuUsageCollector();
+        hostInventory = new HostInventory();
+        Collector collector = new VmCpuUsageCollector(hostInventory);
         collectedData = collector.collect();
     }
 
@@ -27,7 +31,9 @@ public class VmCpuUsageCollectorTest {
         Gson gson = new Gson();
         Map<String, ?> data = gson.fromJson(collectedData, Map.class);
 
-        assertThat(data).containsOnlyKeys(VmCollectorConstants.CPU_LOAD);
+        assertThat(data).containsOnlyKeys(VmCollectorConstants.CPU_LOAD,
+                VmCollectorConstants.CPU_CORE_LOAD,
+                VmCollectorConstants.CPU_LOAD_AVERAGE);
     }
 
     @Test
@@ -39,4 +45,25 @@ public class VmCpuUsageCollectorTest {
         // It works as a percentage, so the value should always be between 0 and 1
         assertThat((Double) data.get(VmCollectorConstants.CPU_LOAD)).isBetween(0D, 1D);
     }
+
+    @Test
+    public void collectContainsLoadOfEachLogicalProcessor() {
+        Gson gson = new Gson();
+        Map<String, ?> data = gson.fromJson(collectedData, Map.class);
+
+        List<Double> coreLoad = (List<Double>) data.get(VmCollectorConstants.CPU_CORE_LOAD);
+        assertThat(coreLoad).hasSize(hostInventory.getProcessor().getLogicalProcessorCount());
+        assertThat(coreLoad).allSatisfy(load -> assertThat(load).isBetween(0D, 1D));
+        assertThat((List<Double>) data.get(VmCollectorConstants.CPU_LOAD_AVERAGE)).hasSize(3);
+    }
+
+    @Test
+    public void collectDoesNotWaitForTicks() {
+        Collector collector = new VmCpuUsageCollector(hostInventory);
+
+        long start = System.nanoTime();
+        collector.collect();
+
+        assertThat(System.nanoTime() - start).isLessThan(250_000_000L);
+    }
 }
\ No newline at end of file
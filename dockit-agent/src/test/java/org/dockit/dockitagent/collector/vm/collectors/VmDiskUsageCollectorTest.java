@@ -3,6 +3,7 @@ package org.dockit.dockitagent.collector.vm.collectors;
 
 import com.google.gson.Gson;
 import org.dockit.dockitagent.collector.Collector;
+import org.dockit.dockitagent.collector.vm.HostInventory;
 import org.dockit.dockitagent.collector.vm.collectors.constants.VmCollectorConstants;
 import org.dockit.dockitagent.utils.DataSplitter;
 import org.junit.jupiter.api.BeforeAll;
@@ -20,7 +21,7 @@ public class VmDiskUsageCollectorTest {
 
     @BeforeAll
     public void setup() {
-        Collector collector = new VmDiskUsageCollector();
+        Collector collector = new VmDiskUsageCollector(new HostInventory());
         collectedData = collector.collect();
     }
 
@@ -2,6 +2,7 @@ package org.dockit.dockitagent.collector.vm.collectors;
 
 import com.google.gson.Gson;
 import org.dockit.dockitagent.collector.Collector;
+import org.dockit.dockitagent.collector.vm.HostInventory;
 import org.dockit.dockitagent.collector.vm.collectors.constants.VmCollectorConstants;
 import org.dockit.dockitagent.utils.DataSplitter;
 import org.junit.jupiter.api.BeforeAll;
@@ -19,7 +20,7 @@ public class VmFileSystemCollectorTest {
 
     @BeforeAll
     public void setup() {
-        Collector collector = new VmFileSystemCollector();
+        Collector collector = new VmFileSystemCollector(new HostInventory());
         collectedData = collector.collect();
     }
 
@@ -2,6 +2,7 @@ package org.dockit.dockitagent.collector.vm.collectors;
 
 import com.google.gson.Gson;
 import org.dockit.dockitagent.collector.Collector;
+import org.dockit.dockitagent.collector.vm.HostInventory;
 import org.dockit.dockitagent.collector.vm.collectors.constants.VmCollectorConstants;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
@@ -18,7 +19,7 @@ public class VmMemoryResourcesCollectorTest {
 
     @BeforeAll
     public void setup() {
-        Collector collector = new VmMemoryResourcesCollector();
+        Collector collector = new VmMemoryResourcesCollector(new HostInventory());
         collectedData = collector.collect();
     }
 
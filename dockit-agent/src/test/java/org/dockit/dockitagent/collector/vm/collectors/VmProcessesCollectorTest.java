@@ -2,6 +2,7 @@ package org.dockit.dockitagent.collector.vm.collectors;
 
 import com.google.gson.Gson;
 import org.dockit.dockitagent.collector.Collector;
+import org.dockit.dockitagent.collector.vm.HostInventory;
 import org.dockit.dockitagent.collector.vm.collectors.constants.VmCollectorConstants;
 import org.dockit.dockitagent.utils.DataSplitter;
 import org.junit.jupiter.api.BeforeAll;
@@ -20,7 +21,7 @@ public class VmProcessesCollectorTest {
 
     @BeforeAll
     public void setup() {
-        Collector collector = new VmProcessesCollector();
+        Collector collector = new VmProcessesCollector(new HostInventory());
         collectedData = collector.collect();
     }
 
@@ -10,6 +10,7 @@ import static org.junit.Assert.assertThrows;
 
 import java.io.File;
 import java.nio.file.Path;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Properties;
 
@@ -77,4 +78,46 @@ class PropertiesConfigReaderTest {
         assertThat(Config.INSTANCE.getInstance().getVM_ID())
                 .isEqualTo((String) properties.get(ConfigConstants.VM_ID));
     }
-}
\ No newline at end of file
+
+    @Test
+    void generateConfigParsesCategoryIntervals() throws ConfigException {
+        Properties properties = PropertiesUtils.generateMockProperties();
+        properties.setProperty(ConfigConstants.INTERVALS, "vm_cpu:5, vm_users:300");
+
+        propertiesConfigReader.generateConfig(properties);
+
+        assertThat(Config.INSTANCE.getInstance().getINTERVALS()).containsExactlyInAnyOrderEntriesOf(
+                Map.of("vm_cpu", 5, "vm_users", 300));
+        assertThat(Config.INSTANCE.getInstance().getINTERVAL("vm_cpu")).isEqualTo(5);
+        assertThat(Config.INSTANCE.getInstance().getINTERVAL("vm_disk"))
+                .isEqualTo(Integer.parseInt((String) properties.get(ConfigConstants.INTERVAL)));
+    }
+
+    @Test
+    void generateConfigThrowsConfigExceptionGivenInvalidScheduling() {
+        for (String[] property : new String[][]{
+                {ConfigConstants.INTERVALS, "vm_cpu"},
+                {ConfigConstants.INTERVALS, "vm_cpu:0"},
+                {ConfigConstants.JITTER, "51"},
+                {ConfigConstants.LOAD_THRESHOLD, "101"},
+                {ConfigConstants.MAX_STRETCH, "0"}}) {
+            Properties properties = PropertiesUtils.generateMockProperties();
+            properties.setProperty(property[0], property[1]);
+
+            assertThrows(ConfigException.class, () -> propertiesConfigReader.generateConfig(properties));
+        }
+    }
+
+    @Test
+    void generateConfigThrowsConfigExceptionGivenInvalidConnectionSettings() {
+        for (String[] property : new String[][]{
+                {ConfigConstants.HTTP_TIMEOUT, "0"},
+                {ConfigConstants.HTTP_THREADS, "0"},
+                {ConfigConstants.DOCKER_DEADLINE, "0"}}) {
+            Properties properties = PropertiesUtils.generateMockProperties();
+            properties.setProperty(property[0], property[1]);
+
+            assertThrows(ConfigException.class, () -> propertiesConfigReader.generateConfig(properties));
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package org.dockit.dockitagent.connection;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CircuitBreakerTest {
+    private static final Duration PROBE_INTERVAL = Duration.ofSeconds(30);
+
+    private final AtomicLong now = new AtomicLong();
+    private final AtomicInteger probes = new AtomicInteger();
+
+    private CircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    void setup() {
+        circuitBreaker = new CircuitBreaker(3, PROBE_INTERVAL, now::get);
+    }
+
+    @Test
+    void allowRequestDoesNotProbeGivenClosedCircuit() {
+        assertThat(circuitBreaker.allowRequest(this::failingProbe)).isTrue();
+        assertThat(probes).hasValue(0);
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitState.CLOSED);
+    }
+
+    @Test
+    void recordFailureOpensCircuitGivenConsecutiveFailures() {
+        circuitBreaker.recordFailure();
+        circuitBreaker.recordFailure();
+        circuitBreaker.recordSuccess();
+        circuitBreaker.recordFailure();
+        circuitBreaker.recordFailure();
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitState.CLOSED);
+
+        circuitBreaker.recordFailure();
+
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitState.OPEN);
+        assertThat(circuitBreaker.getConsecutiveFailures()).isEqualTo(3);
+    }
+
+    @Test
+    void allowRequestRejectsWithoutProbingGivenOpenCircuitWithinInterval() {
+        open();
+        now.addAndGet(PROBE_INTERVAL.toNanos() - 1);
+
+        assertThat(circuitBreaker.allowRequest(this::healthyProbe)).isFalse();
+        assertThat(probes).hasValue(0);
+    }
+
+    @Test
+    void allowRequestClosesCircuitGivenSuccessfulProbe() {
+        open();
+        now.addAndGet(PROBE_INTERVAL.toNanos());
+
+        assertThat(circuitBreaker.allowRequest(this::healthyProbe)).isTrue();
+        assertThat(probes).hasValue(1);
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitState.CLOSED);
+        assertThat(circuitBreaker.getConsecutiveFailures()).isZero();
+    }
+
+    @Test
+    void allowRequestReopensCircuitGivenFailedProbe() {
+        open();
+        now.addAndGet(PROBE_INTERVAL.toNanos());
+
+        assertThat(circuitBreaker.allowRequest(this::failingProbe)).isFalse();
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitState.OPEN);
+
+        // The interval starts again after the failed probe
+        now.addAndGet(PROBE_INTERVAL.toNanos() - 1);
+        assertThat(circuitBreaker.allowRequest(this::failingProbe)).isFalse();
+        assertThat(probes).hasValue(1);
+    }
+
+    @Test
+    void allowRequestRejectsGivenProbeInFlight() {
+        open();
+        now.addAndGet(PROBE_INTERVAL.toNanos());
+
+        boolean allowed = circuitBreaker.allowRequest(() -> {
+            assertThat(circuitBreaker.getState()).isEqualTo(CircuitState.HALF_OPEN);
+            assertThat(circuitBreaker.allowRequest(this::healthyProbe)).isFalse();
+            return true;
+        });
+
+        assertThat(allowed).isTrue();
+        assertThat(probes).hasValue(0);
+    }
+
+    private void open() {
+        for (int i = 0; i < 3; i++) {
+            circuitBreaker.recordFailure();
+        }
+    }
+
+    private boolean healthyProbe() {
+        probes.incrementAndGet();
+        return true;
+    }
+
+    private boolean failingProbe() {
+        probes.incrementAndGet();
+        return false;
+    }
+}
@@ -7,6 +7,8 @@ import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
+import java.time.Duration;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -23,6 +25,9 @@ public class DockerConnectionManagerTest {
     private static final String SOME_ENDPOINT = "/containers/json";
     private static final String FAKE_ENDPOINT = "/fake";
 
+    private final PooledHttpClient client = new PooledHttpClient("test", DOCKER_URL, 1, Duration.ofSeconds(5),
+            Duration.ofSeconds(10));
+
     @Mock
     private ConfigContainer configContainer;
 
@@ -34,7 +39,8 @@ public class DockerConnectionManagerTest {
         when(configContainer.getConfig()).thenReturn(config);
         when(config.getDOCKER_URL()).thenReturn(FAKE_URL);
 
-        DockerConnectionManager dockerConnectionManager = new DockerConnectionManager(configContainer);
+        DockerConnectionManager dockerConnectionManager = new DockerConnectionManager(configContainer,
+                new HttpDockerTransport(configContainer, client));
 
         assertFalse(dockerConnectionManager.isAlive());
     }
@@ -44,7 +50,8 @@ public class DockerConnectionManagerTest {
         when(configContainer.getConfig()).thenReturn(config);
         when(config.getDOCKER_URL()).thenReturn(DOCKER_URL);
 
-        DockerConnectionManager dockerConnectionManager = new DockerConnectionManager(configContainer);
+        DockerConnectionManager dockerConnectionManager = new DockerConnectionManager(configContainer,
+                new HttpDockerTransport(configContainer, client));
 
         assertTrue(dockerConnectionManager.isAlive());
     }
@@ -54,7 +61,8 @@ public class DockerConnectionManagerTest {
         when(configContainer.getConfig()).thenReturn(config);
         when(config.getDOCKER_URL()).thenReturn(DOCKER_URL);
 
-        DockerConnectionManager dockerConnectionManager = new DockerConnectionManager(configContainer);
+        DockerConnectionManager dockerConnectionManager = new DockerConnectionManager(configContainer,
+                new HttpDockerTransport(configContainer, client));
 
         assertThat(dockerConnectionManager.sendRequest(FAKE_ENDPOINT)).isEmpty();
     }
@@ -64,7 +72,8 @@ public class DockerConnectionManagerTest {
         when(configContainer.getConfig()).thenReturn(config);
         when(config.getDOCKER_URL()).thenReturn(DOCKER_URL);
 
-        DockerConnectionManager dockerConnectionManager = new DockerConnectionManager(configContainer);
+        DockerConnectionManager dockerConnectionManager = new DockerConnectionManager(configContainer,
+                new HttpDockerTransport(configContainer, client));
 
         assertThat(dockerConnectionManager.sendRequest(SOME_ENDPOINT)).isPresent();
     }
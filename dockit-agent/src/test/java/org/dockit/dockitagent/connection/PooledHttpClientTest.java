@@ -0,0 +1,73 @@
+package org.dockit.dockitagent.connection;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PooledHttpClientTest {
+    private static final String BODY = "Alive";
+
+    private HttpServer server;
+    private String url;
+
+    @BeforeEach
+    void setup() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/ping", exchange -> {
+            byte[] body = BODY.getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                outputStream.write(body);
+            }
+        });
+        server.start();
+        url = "http://localhost:" + server.getAddress().getPort();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void sendReusesClientAndRecordsRequests() throws IOException, InterruptedException {
+        PooledHttpClient client = new PooledHttpClient("test", url, 1, Duration.ofSeconds(5),
+                Duration.ofSeconds(5));
+
+        for (int i = 0; i < 3; i++) {
+            HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(url + "/ping")).GET(),
+                    HttpResponse.BodyHandlers.ofString());
+            assertThat(response.body()).isEqualTo(BODY);
+        }
+
+        assertThat(client.getMetrics().getRequests()).isEqualTo(3);
+        assertThat(client.getMetrics().getErrors()).isZero();
+        assertThat(client.getMetrics().getMaxLatencyMillis())
+                .isGreaterThanOrEqualTo(client.getMetrics().getMeanLatencyMillis());
+    }
+
+    @Test
+    void sendRecordsErrorGivenUnreachableTarget() {
+        server.stop(0);
+        PooledHttpClient client = new PooledHttpClient("test", url, 1, Duration.ofSeconds(5),
+                Duration.ofSeconds(5));
+
+        assertThrows(IOException.class, () -> client.send(HttpRequest.newBuilder(URI.create(url + "/ping")).GET(),
+                HttpResponse.BodyHandlers.ofString()));
+        assertThat(client.getMetrics().getRequests()).isEqualTo(1);
+        assertThat(client.getMetrics().getErrors()).isEqualTo(1);
+    }
+}
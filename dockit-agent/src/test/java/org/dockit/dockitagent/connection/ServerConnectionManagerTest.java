@@ -7,6 +7,8 @@ import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
+import java.time.Duration;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -19,6 +21,10 @@ public class ServerConnectionManagerTest {
     private static final String API_KEY = "api_key";
     private static final String FAKE_ENDPOINT = "/fake";
 
+    private final PooledHttpClient client = new PooledHttpClient("test", SERVER_URL, 1, Duration.ofSeconds(5),
+            Duration.ofSeconds(10));
+    private final CircuitBreaker circuitBreaker = new CircuitBreaker(3, Duration.ofSeconds(30), System::nanoTime);
+
     @Mock
     private ConfigContainer configContainer;
 
@@ -30,7 +36,7 @@ public class ServerConnectionManagerTest {
         when(configContainer.getConfig()).thenReturn(config);
         when(config.getSERVER_URL()).thenReturn(FAKE_URL);
 
-        ServerConnectionManager serverConnectionManager = new ServerConnectionManager(configContainer);
+        ServerConnectionManager serverConnectionManager = new ServerConnectionManager(configContainer, client, circuitBreaker);
 
         assertFalse(serverConnectionManager.isAlive());
     }
@@ -40,7 +46,7 @@ public class ServerConnectionManagerTest {
         when(configContainer.getConfig()).thenReturn(config);
         when(config.getSERVER_URL()).thenReturn(SERVER_URL);
 
-        ServerConnectionManager serverConnectionManager = new ServerConnectionManager(configContainer);
+        ServerConnectionManager serverConnectionManager = new ServerConnectionManager(configContainer, client, circuitBreaker);
 
         assertTrue(serverConnectionManager.isAlive());
     }
@@ -51,7 +57,7 @@ public class ServerConnectionManagerTest {
         when(config.getSERVER_URL()).thenReturn(SERVER_URL);
         when(config.getAPI_KEY()).thenReturn(API_KEY);
 
-        ServerConnectionManager serverConnectionManager = new ServerConnectionManager(configContainer);
+        ServerConnectionManager serverConnectionManager = new ServerConnectionManager(configContainer, client, circuitBreaker);
 
         assertThat(serverConnectionManager.sendRequest(FAKE_ENDPOINT, "")).isEmpty();
     }
@@ -0,0 +1,179 @@
+package org.dockit.dockitagent.connection;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class UnixSocketDockerTransportTest {
+    private static final String PING_BODY = "OK";
+    private static final String CONTAINERS_BODY = "[{\"Id\":\"abc\"}]";
+    private static final String FIRST_EVENT = "{\"Type\":\"container\",\"Action\":\"start\"}";
+    private static final String SECOND_EVENT = "{\"Type\":\"container\",\"Action\":\"die\"}";
+
+    @TempDir
+    Path tempDir;
+
+    private Path socketPath;
+    private ServerSocketChannel serverChannel;
+    private Thread serverThread;
+    private final AtomicInteger connections = new AtomicInteger();
+    private final AtomicInteger requests = new AtomicInteger();
+
+    @BeforeEach
+    void setup() throws IOException {
+        socketPath = tempDir.resolve("docker.sock");
+        serverChannel = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+        serverChannel.bind(UnixDomainSocketAddress.of(socketPath));
+        serverThread = new Thread(this::serve);
+        serverThread.setDaemon(true);
+        serverThread.start();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        serverChannel.close();
+    }
+
+    @Test
+    void getReusesConnectionForConsecutiveRequests() throws IOException {
+        UnixSocketDockerTransport transport = new UnixSocketDockerTransport(socketPath, 2, Duration.ofSeconds(5));
+
+        for (int i = 0; i < 3; i++) {
+            DockerResponse response = transport.get("/_ping");
+            assertThat(response.getStatusCode()).isEqualTo(200);
+            assertThat(response.getBody()).isEqualTo(PING_BODY);
+        }
+
+        assertThat(requests).hasValue(3);
+        assertThat(connections).hasValue(1);
+        assertThat(transport.getMetrics().getRequests()).isEqualTo(3);
+    }
+
+    @Test
+    void getReadsChunkedResponse() throws IOException {
+        UnixSocketDockerTransport transport = new UnixSocketDockerTransport(socketPath, 2, Duration.ofSeconds(5));
+
+        DockerResponse response = transport.get("/containers/json");
+
+        assertThat(response.getStatusCode()).isEqualTo(200);
+        assertThat(response.getBody()).isEqualTo(CONTAINERS_BODY);
+        // The connection stays usable after a chunked response
+        assertThat(transport.get("/_ping").getBody()).isEqualTo(PING_BODY);
+        assertThat(connections).hasValue(1);
+    }
+
+    @Test
+    void getOpensNewConnectionGivenClosedConnection() throws IOException {
+        UnixSocketDockerTransport transport = new UnixSocketDockerTransport(socketPath, 2, Duration.ofSeconds(5));
+
+        assertThat(transport.get("/close").getStatusCode()).isEqualTo(404);
+        assertThat(transport.get("/_ping").getBody()).isEqualTo(PING_BODY);
+
+        assertThat(connections).hasValue(2);
+    }
+
+    @Test
+    void streamReadsLinesOfChunkedResponse() throws IOException {
+        UnixSocketDockerTransport transport = new UnixSocketDockerTransport(socketPath, 2, Duration.ofSeconds(5));
+
+        try (DockerStream stream = transport.stream("/events")) {
+            assertThat(stream.getStatusCode()).isEqualTo(200);
+            assertThat(stream.readLine()).isEqualTo(FIRST_EVENT);
+            assertThat(stream.readLine()).isEqualTo(SECOND_EVENT);
+            assertThat(stream.readLine()).isNull();
+        }
+        // The stream does not take a connection from the idle pool
+        assertThat(transport.get("/_ping").getBody()).isEqualTo(PING_BODY);
+        assertThat(connections).hasValue(2);
+    }
+
+    @Test
+    void getThrowsGivenMissingSocket() {
+        UnixSocketDockerTransport transport = new UnixSocketDockerTransport(tempDir.resolve("missing.sock"), 2,
+                Duration.ofSeconds(5));
+
+        assertThrows(IOException.class, () -> transport.get("/_ping"));
+        assertThat(transport.getMetrics().getErrors()).isEqualTo(1);
+    }
+
+    @Test
+    void dockerConnectionManagerSendsRequestsThroughSocket() {
+        DockerConnectionManager dockerConnectionManager = new DockerConnectionManager(null,
+                new UnixSocketDockerTransport(socketPath, 2, Duration.ofSeconds(5)));
+
+        assertThat(dockerConnectionManager.sendRequest("/containers/json")).contains(CONTAINERS_BODY);
+        assertThat(dockerConnectionManager.sendRequest("/close")).isEmpty();
+    }
+
+    private void serve() {
+        while (serverChannel.isOpen()) {
+            try {
+                SocketChannel channel = serverChannel.accept();
+                connections.incrementAndGet();
+                Thread handler = new Thread(() -> handle(channel));
+                handler.setDaemon(true);
+                handler.start();
+            } catch (IOException e) {
+                return;
+            }
+        }
+    }
+
+    private void handle(SocketChannel channel) {
+        try (channel) {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(Channels.newInputStream(channel),
+                    StandardCharsets.US_ASCII));
+            OutputStream output = Channels.newOutputStream(channel);
+            String requestLine = reader.readLine();
+            while (requestLine != null) {
+                String line = reader.readLine();
+                while (line != null && !line.isEmpty()) {
+                    line = reader.readLine();
+                }
+                requests.incrementAndGet();
+                String path = requestLine.split(" ")[1];
+                Map<String, String> responses = Map.of(
+                        "/_ping", "HTTP/1.1 200 OK\r\nContent-Length: 2\r\n\r\n" + PING_BODY,
+                        "/containers/json", "HTTP/1.1 200 OK\r\nTransfer-Encoding: chunked\r\n\r\n"
+                                + "5\r\n" + CONTAINERS_BODY.substring(0, 5) + "\r\n"
+                                + Integer.toHexString(CONTAINERS_BODY.length() - 5) + "\r\n"
+                                + CONTAINERS_BODY.substring(5) + "\r\n0\r\n\r\n",
+                        "/close", "HTTP/1.1 404 Not Found\r\nConnection: close\r\nContent-Length: 0\r\n\r\n",
+                        "/events", "HTTP/1.1 200 OK\r\nTransfer-Encoding: chunked\r\n\r\n"
+                                + chunk(FIRST_EVENT + "\n") + chunk(SECOND_EVENT.substring(0, 10))
+                                + chunk(SECOND_EVENT.substring(10) + "\n") + "0\r\n\r\n");
+                output.write(responses.get(path).getBytes(StandardCharsets.US_ASCII));
+                output.flush();
+                if (path.equals("/close") || path.equals("/events")) {
+                    return;
+                }
+                requestLine = reader.readLine();
+            }
+        } catch (IOException e) {
+            // connection closed by the client
+        }
+    }
+
+    private static String chunk(String data) {
+        return Integer.toHexString(data.length()) + "\r\n" + data + "\r\n";
+    }
+}
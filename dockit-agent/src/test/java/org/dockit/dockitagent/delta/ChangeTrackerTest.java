@@ -0,0 +1,241 @@
+package org.dockit.dockitagent.delta;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.dockit.dockitagent.collector.utils.InformationBuilderHelper;
+import org.dockit.dockitagent.config.Config;
+import org.dockit.dockitagent.config.templates.Container;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ChangeTrackerTest {
+    private static final String CPU = "vm_cpu";
+    private static final String PROCESS = "vm_process";
+    private static final String CPU_DATA = "{\"cpu_load\":0.5}";
+    private static final int KEYFRAME_INTERVAL = 3;
+
+    private ChangeTracker changeTracker;
+
+    @BeforeEach
+    void setup() {
+        changeTracker = new ChangeTracker(true, KEYFRAME_INTERVAL);
+    }
+
+    @Test
+    void encodePassesDataThroughGivenChangeOnlyDisabled() {
+        ChangeTracker disabled = new ChangeTracker(false, KEYFRAME_INTERVAL);
+
+        ChangeTracker.Change change = disabled.encode(CPU, CPU_DATA);
+
+        assertThat(change.getData()).isEqualTo(CPU_DATA);
+        assertThat(change.getCategory()).isEqualTo(CPU);
+    }
+
+    @Test
+    void encodePassesDataThroughGivenSpooledAudits() {
+        Container container = mock(Container.class);
+        Config config = mock(Config.class);
+        when(container.getConfig()).thenReturn(config);
+        when(config.isCHANGE_ONLY()).thenReturn(true);
+        when(config.getKEYFRAME_INTERVAL()).thenReturn(KEYFRAME_INTERVAL);
+        when(config.getSPOOL_PATH()).thenReturn("spool");
+
+        assertThat(new ChangeTracker(container).encode(CPU, CPU_DATA).getData()).isEqualTo(CPU_DATA);
+    }
+
+    @Test
+    void encodePassesNullDataThrough() {
+        assertThat(changeTracker.encode(CPU, null).getData()).isNull();
+    }
+
+    @Test
+    void encodeSendsKeyframeFirst() {
+        ChangeTracker.Change change = changeTracker.encode(CPU, CPU_DATA);
+
+        assertThat(header(change).get("type").getAsString()).isEqualTo(ChangeTracker.KEYFRAME);
+        assertThat(header(change).get("hash").getAsString()).isEqualTo(SnapshotDelta.hash(CPU_DATA));
+        assertThat(body(change)).isEqualTo(CPU_DATA);
+    }
+
+    @Test
+    void encodeSendsUnchangedGivenSameDataAcknowledged() {
+        changeTracker.acknowledge(changeTracker.encode(CPU, CPU_DATA));
+
+        ChangeTracker.Change change = changeTracker.encode(CPU, CPU_DATA);
+
+        assertThat(header(change).get("type").getAsString()).isEqualTo(ChangeTracker.UNCHANGED);
+        assertThat(header(change).get("hash").getAsString()).isEqualTo(SnapshotDelta.hash(CPU_DATA));
+        assertThat(body(change)).isEmpty();
+    }
+
+    @Test
+    void encodeSendsKeyframeGivenPreviousChangeNotAcknowledged() {
+        changeTracker.encode(CPU, CPU_DATA);
+
+        ChangeTracker.Change change = changeTracker.encode(CPU, CPU_DATA);
+
+        assertThat(header(change).get("type").getAsString()).isEqualTo(ChangeTracker.KEYFRAME);
+    }
+
+    @Test
+    void encodeSendsKeyframeAfterReset() {
+        changeTracker.acknowledge(changeTracker.encode(CPU, CPU_DATA));
+        changeTracker.reset(CPU);
+
+        ChangeTracker.Change change = changeTracker.encode(CPU, CPU_DATA);
+
+        assertThat(header(change).get("type").getAsString()).isEqualTo(ChangeTracker.KEYFRAME);
+    }
+
+    @Test
+    void encodeSendsKeyframeGivenUnkeyedDataChanged() {
+        changeTracker.acknowledge(changeTracker.encode(CPU, CPU_DATA));
+
+        ChangeTracker.Change change = changeTracker.encode(CPU, "{\"cpu_load\":0.7}");
+
+        assertThat(header(change).get("type").getAsString()).isEqualTo(ChangeTracker.KEYFRAME);
+        assertThat(body(change)).isEqualTo("{\"cpu_load\":0.7}");
+    }
+
+    @Test
+    void encodeSendsKeyframeEveryKeyframeInterval() {
+        changeTracker.acknowledge(changeTracker.encode(CPU, CPU_DATA));
+        for (int i = 0; i < KEYFRAME_INTERVAL; i++) {
+            ChangeTracker.Change change = changeTracker.encode(CPU, CPU_DATA);
+            assertThat(header(change).get("type").getAsString()).isEqualTo(ChangeTracker.UNCHANGED);
+            changeTracker.acknowledge(change);
+        }
+
+        ChangeTracker.Change change = changeTracker.encode(CPU, CPU_DATA);
+
+        assertThat(header(change).get("type").getAsString()).isEqualTo(ChangeTracker.KEYFRAME);
+    }
+
+    @Test
+    void encodeSendsDeltaOfListValuedCategory() {
+        String base = processes(1, 10);
+        changeTracker.acknowledge(changeTracker.encode(PROCESS, base));
+        String current = base
+                .replace(process(3, "name3", 100), "")
+                .replace(process(5, "name5", 100), process(5, "name5", 200))
+                + process(11, "name11", 100) + InformationBuilderHelper.DELIMITER;
+
+        ChangeTracker.Change change = changeTracker.encode(PROCESS, current);
+
+        JsonObject header = header(change);
+        assertThat(header.get("type").getAsString()).isEqualTo(ChangeTracker.DELTA);
+        assertThat(header.get("base").getAsString()).isEqualTo(SnapshotDelta.hash(base));
+        assertThat(header.get("key").toString()).isEqualTo("[\"pid\"]");
+        JsonObject delta = JsonParser.parseString(body(change)).getAsJsonObject();
+        assertThat(delta.get(SnapshotDelta.REMOVED).toString()).isEqualTo("[\"[3]\"]");
+        assertThat(delta.get(SnapshotDelta.CHANGED).toString()).isEqualTo("[{\"up_time\":200,\"pid\":5}]");
+        assertThat(delta.get(SnapshotDelta.ADDED).getAsJsonArray().size()).isEqualTo(1);
+    }
+
+    @Test
+    void appliedDeltaMatchesHashOfDelta() {
+        String base = processes(1, 10);
+        changeTracker.acknowledge(changeTracker.encode(PROCESS, base));
+        String current = base.replace(process(4, "name4", 100), process(4, "renamed", 100));
+
+        ChangeTracker.Change change = changeTracker.encode(PROCESS, current);
+
+        List<String> keys = List.of("pid");
+        Map<String, JsonObject> entries = SnapshotDelta.parse(base, keys);
+        assertThat(SnapshotDelta.apply(entries, JsonParser.parseString(body(change)).getAsJsonObject(), keys))
+                .isTrue();
+        assertThat(SnapshotDelta.join(entries)).isEqualTo(current);
+        assertThat(header(change).get("hash").getAsString()).isEqualTo(SnapshotDelta.hash(current));
+    }
+
+    @Test
+    void parseKeepsEntriesSharingKey() {
+        String data = process(1, "name1", 100) + InformationBuilderHelper.DELIMITER
+                + process(1, "thread1", 100) + InformationBuilderHelper.DELIMITER;
+
+        Map<String, JsonObject> entries = SnapshotDelta.parse(data, List.of("pid"));
+
+        assertThat(entries).containsOnlyKeys("[1]", "[1]#1");
+        assertThat(SnapshotDelta.join(entries)).isEqualTo(data);
+    }
+
+    @Test
+    void appliedDeltaKeepsChangedEntrySharingKey() {
+        String base = processes(1, 10) + process(4, "thread4", 100) + InformationBuilderHelper.DELIMITER;
+        changeTracker.acknowledge(changeTracker.encode(PROCESS, base));
+        String current = base.replace(process(4, "thread4", 100), process(4, "thread4", 200));
+
+        ChangeTracker.Change change = changeTracker.encode(PROCESS, current);
+
+        assertThat(header(change).get("type").getAsString()).isEqualTo(ChangeTracker.DELTA);
+        List<String> keys = List.of("pid");
+        Map<String, JsonObject> entries = SnapshotDelta.parse(base, keys);
+        assertThat(SnapshotDelta.apply(entries, JsonParser.parseString(body(change)).getAsJsonObject(), keys))
+                .isTrue();
+        assertThat(entries).hasSize(11).containsKey("[4]#1");
+        assertThat(entries.get("[4]#1").get("up_time").getAsInt()).isEqualTo(200);
+        assertThat(header(change).get("hash").getAsString()).isEqualTo(SnapshotDelta.hash(SnapshotDelta.join(entries)));
+    }
+
+    @Test
+    void encodeSendsUnchangedGivenSameEntriesInOtherOrder() {
+        changeTracker.acknowledge(changeTracker.encode(PROCESS, processes(1, 3)));
+        String reordered = process(3, "name3", 100) + InformationBuilderHelper.DELIMITER
+                + process(1, "name1", 100) + InformationBuilderHelper.DELIMITER
+                + process(2, "name2", 100) + InformationBuilderHelper.DELIMITER;
+
+        ChangeTracker.Change change = changeTracker.encode(PROCESS, reordered);
+
+        assertThat(header(change).get("type").getAsString()).isEqualTo(ChangeTracker.UNCHANGED);
+    }
+
+    @Test
+    void encodeSendsKeyframeGivenDeltaNotSmallerThanData() {
+        changeTracker.acknowledge(changeTracker.encode(PROCESS, processes(1, 2)));
+
+        ChangeTracker.Change change = changeTracker.encode(PROCESS, processes(3, 4));
+
+        assertThat(header(change).get("type").getAsString()).isEqualTo(ChangeTracker.KEYFRAME);
+    }
+
+    @Test
+    void acknowledgeIgnoresChangeOfOlderSnapshot() {
+        changeTracker.acknowledge(changeTracker.encode(PROCESS, processes(1, 10)));
+        ChangeTracker.Change stale = changeTracker.encode(PROCESS, processes(1, 9));
+        changeTracker.acknowledge(changeTracker.encode(PROCESS, processes(1, 8)));
+
+        changeTracker.acknowledge(stale);
+
+        ChangeTracker.Change change = changeTracker.encode(PROCESS, processes(1, 8));
+        assertThat(header(change).get("type").getAsString()).isEqualTo(ChangeTracker.UNCHANGED);
+    }
+
+    private static JsonObject header(ChangeTracker.Change change) {
+        assertThat(change.getData()).startsWith(ChangeTracker.PREFIX);
+        String header = change.getData().substring(ChangeTracker.PREFIX.length(), change.getData().indexOf('\n'));
+        return JsonParser.parseString(header).getAsJsonObject();
+    }
+
+    private static String body(ChangeTracker.Change change) {
+        return change.getData().substring(change.getData().indexOf('\n') + 1);
+    }
+
+    private static String processes(int from, int to) {
+        StringBuilder builder = new StringBuilder();
+        for (int pid = from; pid <= to; pid++) {
+            builder.append(process(pid, "name" + pid, 100)).append(InformationBuilderHelper.DELIMITER);
+        }
+        return builder.toString();
+    }
+
+    private static String process(int pid, String name, int upTime) {
+        return "{\"pid\":%d,\"name\":\"%s\",\"up_time\":%d}".formatted(pid, name, upTime);
+    }
+}
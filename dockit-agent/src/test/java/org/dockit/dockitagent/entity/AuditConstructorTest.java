@@ -40,6 +40,7 @@ public class AuditConstructorTest {
             NoSuchPaddingException, IllegalBlockSizeException, NoSuchAlgorithmException, BadPaddingException,
             InvalidKeyException {
         when(encryptor.encrypt(anyString())).thenThrow(NoSuchAlgorithmException.class);
+        when(container.getConfig()).thenReturn(config);
 
         AuditConstructor constructor = new AuditConstructor(encryptor, container);
 
@@ -0,0 +1,129 @@
+package org.dockit.dockitagent.entity;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.dockit.dockitagent.collector.utils.InformationBuilderHelper;
+import org.dockit.dockitagent.config.Config;
+import org.dockit.dockitagent.config.PropertiesConfigReader;
+import org.dockit.dockitagent.config.templates.Container;
+import org.dockit.dockitagent.encryption.AESGCMEncrypt;
+import org.dockit.dockitagent.encryption.KeyConstants;
+import org.dockit.dockitagent.utils.PropertiesUtils;
+import org.dockit.dockitagent.wire.PayloadEncoding;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Cipher;
+import javax.crypto.KeyGenerator;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.zip.InflaterInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AuditStreamTest {
+    private static final String VM_ID = "vm_id";
+    private static final String CATEGORY = "vm_process";
+    private static final String TIME_STAMP = "2023-11-01T10:15:30";
+    private static final List<String> RECORDS = IntStream.range(0, 2000)
+            .mapToObj(i -> "{\"pid\":" + i + ",\"name\":\"java\"}")
+            .toList();
+
+    private SecretKey key;
+    private AESGCMEncrypt encryptor;
+
+    @BeforeEach
+    void setup() throws Exception {
+        new PropertiesConfigReader().generateConfig(PropertiesUtils.generateMockProperties());
+        KeyGenerator keyGenerator = KeyGenerator.getInstance("AES");
+        keyGenerator.init(256);
+        key = keyGenerator.generateKey();
+        Container container = mock(Container.class);
+        when(container.getConfig()).thenReturn(Config.INSTANCE);
+        when(container.getKey()).thenReturn(key);
+        encryptor = new AESGCMEncrypt(container);
+    }
+
+    @Test
+    void streamedAuditContainsEncryptedRecords() throws Exception {
+        JsonObject audit = read(new AuditStream(RECORDS.iterator(), VM_ID, CATEGORY, TIME_STAMP, encryptor, false));
+
+        assertThat(audit.get("vmId").getAsString()).isEqualTo(VM_ID);
+        assertThat(audit.get("category").getAsString()).isEqualTo(CATEGORY);
+        assertThat(audit.get("timeStamp").getAsString()).isEqualTo(TIME_STAMP);
+        assertThat(audit.has("encoding")).isFalse();
+        assertThat(new String(decrypt(audit.get("data").getAsString()), StandardCharsets.UTF_8))
+                .isEqualTo(joined(RECORDS));
+    }
+
+    @Test
+    void streamedAuditContainsCompressedRecordsGivenCompression() throws Exception {
+        JsonObject audit = read(new AuditStream(RECORDS.iterator(), VM_ID, CATEGORY, TIME_STAMP, encryptor, true));
+
+        assertThat(audit.get("encoding").getAsString()).isEqualTo(PayloadEncoding.DEFLATE);
+        byte[] compressed = decrypt(audit.get("data").getAsString());
+        assertThat(compressed.length).isLessThan(joined(RECORDS).length() / 10);
+        try (InputStream inflater = new InflaterInputStream(new ByteArrayInputStream(compressed))) {
+            assertThat(new String(inflater.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(joined(RECORDS));
+        }
+    }
+
+    @Test
+    void streamedAuditIsValidGivenNoRecords() throws Exception {
+        JsonObject audit = read(new AuditStream(Collections.emptyIterator(), VM_ID, CATEGORY, TIME_STAMP, encryptor,
+                false));
+
+        assertThat(decrypt(audit.get("data").getAsString())).isEmpty();
+    }
+
+    @Test
+    void readThrowsIOExceptionGivenFailingRecords() throws Exception {
+        Iterator<String> records = mock(Iterator.class);
+        when(records.hasNext()).thenReturn(true);
+        when(records.next()).thenThrow(new IllegalStateException());
+
+        try (AuditStream stream = new AuditStream(records, VM_ID, CATEGORY, TIME_STAMP, encryptor, false)) {
+            assertThatThrownBy(stream::readAllBytes).isInstanceOf(IOException.class);
+        }
+    }
+
+    private JsonObject read(AuditStream stream) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (stream) {
+            // Small reads make the stream fill its buffer many times
+            byte[] chunk = new byte[100];
+            int read;
+            while ((read = stream.read(chunk, 0, chunk.length)) != -1) {
+                output.write(chunk, 0, read);
+            }
+        }
+        return JsonParser.parseString(output.toString(StandardCharsets.UTF_8)).getAsJsonObject();
+    }
+
+    private byte[] decrypt(String data) throws Exception {
+        byte[] bytes = Base64.getDecoder().decode(data);
+        Cipher cipher = Cipher.getInstance(KeyConstants.AES_GCM_CIPHER);
+        cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(KeyConstants.GCM_TAG_LENGTH,
+                Arrays.copyOf(bytes, KeyConstants.IV_SIZE_GCM)));
+        cipher.updateAAD(Config.INSTANCE.getID().getBytes());
+        return cipher.doFinal(bytes, KeyConstants.IV_SIZE_GCM, bytes.length - KeyConstants.IV_SIZE_GCM);
+    }
+
+    private static String joined(List<String> records) {
+        return String.join(InformationBuilderHelper.DELIMITER, records) + InformationBuilderHelper.DELIMITER;
+    }
+}
@@ -0,0 +1,203 @@
+package org.dockit.dockitagent.history;
+
+import org.dockit.dockitagent.collector.utils.InformationBuilderHelper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class MetricHistoryTest {
+    private static final String CPU = "vm_cpu";
+    private static final String MEMORY = "vm_memory";
+    private static final String FIRST = "{\"cpu_load\":0.1}";
+    private static final String SECOND = "{\"cpu_load\":0.2}";
+    private static final String THIRD = "{\"cpu_load\":0.3}";
+    private static final long RETENTION = 80_000;
+    private static final int MAX_SAMPLES = 100;
+    private static final long MAX_BYTES = 1024 * 1024;
+
+    @TempDir
+    Path tempDir;
+
+    private final AtomicLong clock = new AtomicLong(1_000_000);
+
+    @Test
+    void sliceReturnsEmptyGivenDisabledHistory() throws IOException {
+        MetricHistory history = new MetricHistory(null, RETENTION, 1024, clock::get);
+        history.record(CPU, FIRST);
+
+        assertThat(history.isEnabled()).isFalse();
+        assertThat(history.slice(0, Long.MAX_VALUE, null, MAX_SAMPLES, MAX_BYTES).getSamples()).isEmpty();
+    }
+
+    @Test
+    void sliceReturnsSamplesOfRangeInOrder() throws IOException {
+        MetricHistory history = new MetricHistory(tempDir, RETENTION, 1024 * 1024, clock::get);
+        history.record(CPU, FIRST);
+        clock.addAndGet(1000);
+        history.record(CPU, SECOND);
+        clock.addAndGet(1000);
+        history.record(CPU, THIRD);
+
+        assertThat(history.slice(1_001_000, 1_002_000, null, MAX_SAMPLES, MAX_BYTES).getSamples())
+                .extracting(MetricHistoryTest::data)
+                .containsExactly(SECOND, THIRD);
+        assertThat(history.slice(1_000_000, 1_000_000, null, MAX_SAMPLES, MAX_BYTES).getSamples())
+                .extracting(HistorySample::getTimeStamp)
+                .containsExactly(1_000_000L);
+    }
+
+    @Test
+    void sliceStopsAtMaxSamplesAndContinuesFromNext() throws IOException {
+        MetricHistory history = new MetricHistory(tempDir, RETENTION, 1024 * 1024, clock::get);
+        history.record(CPU, FIRST);
+        clock.addAndGet(1000);
+        history.record(CPU, SECOND);
+        history.record(MEMORY, SECOND);
+        clock.addAndGet(1000);
+        history.record(CPU, THIRD);
+
+        HistorySlice first = history.slice(0, Long.MAX_VALUE, null, 2, MAX_BYTES);
+        HistorySlice second = history.slice(first.getNext(), Long.MAX_VALUE, null, 2, MAX_BYTES);
+        HistorySlice third = history.slice(second.getNext(), Long.MAX_VALUE, null, 2, MAX_BYTES);
+
+        // Samples of the same millisecond are not split between two slices
+        assertThat(first.getSamples()).extracting(MetricHistoryTest::data).containsExactly(FIRST);
+        assertThat(first.getNext()).isEqualTo(1_001_000L);
+        assertThat(second.getSamples()).extracting(HistorySample::getCategory).containsExactly(CPU, MEMORY);
+        assertThat(second.getNext()).isEqualTo(1_002_000L);
+        assertThat(third.getSamples()).extracting(MetricHistoryTest::data).containsExactly(THIRD);
+        assertThat(third.getNext()).isNull();
+    }
+
+    @Test
+    void sliceStopsAtMaxBytes() throws IOException {
+        MetricHistory history = new MetricHistory(tempDir, RETENTION, 1024 * 1024, clock::get);
+        history.record(CPU, FIRST);
+        clock.addAndGet(1000);
+        history.record(CPU, SECOND);
+
+        HistorySlice slice = history.slice(0, Long.MAX_VALUE, null, MAX_SAMPLES, 1);
+
+        assertThat(slice.getSamples()).extracting(MetricHistoryTest::data).containsExactly(FIRST);
+        assertThat(slice.getNext()).isEqualTo(1_001_000L);
+    }
+
+    @Test
+    void sliceCountsMaxBytesInUtf8() throws IOException {
+        MetricHistory history = new MetricHistory(tempDir, RETENTION, 1024 * 1024, clock::get);
+        String name = "{\"name\":\"" + "\u00e9".repeat(100) + "\"}";
+        history.record(CPU, name);
+        clock.addAndGet(1000);
+        history.record(CPU, name);
+        long fileBytes;
+        try (Stream<Path> files = Files.list(tempDir)) {
+            fileBytes = files.mapToLong(path -> path.toFile().length()).sum();
+        }
+
+        // Both lines fit in the limit if counted in chars, each of the 200 accented letters taking two bytes
+        HistorySlice slice = history.slice(0, Long.MAX_VALUE, null, MAX_SAMPLES, fileBytes - 3);
+
+        assertThat(slice.getSamples()).hasSize(1);
+        assertThat(slice.getNext()).isEqualTo(1_001_000L);
+    }
+
+    @Test
+    void sliceFiltersByCategory() throws IOException {
+        MetricHistory history = new MetricHistory(tempDir, RETENTION, 1024 * 1024, clock::get);
+        history.record(CPU, FIRST);
+        history.record(MEMORY, SECOND);
+
+        assertThat(history.slice(0, Long.MAX_VALUE, MEMORY, MAX_SAMPLES, MAX_BYTES).getSamples())
+                .extracting(HistorySample::getCategory, MetricHistoryTest::data)
+                .containsExactly(tuple(MEMORY, SECOND));
+    }
+
+    @Test
+    void recordDropsSegmentsOlderThanRetention() throws IOException {
+        MetricHistory history = new MetricHistory(tempDir, RETENTION, 1024 * 1024, clock::get);
+        history.record(CPU, FIRST);
+        // Each segment covers an eighth of the retention
+        clock.addAndGet(RETENTION / 8);
+        history.record(CPU, SECOND);
+        clock.addAndGet(RETENTION);
+        history.record(CPU, THIRD);
+
+        assertThat(history.slice(0, Long.MAX_VALUE, null, MAX_SAMPLES, MAX_BYTES).getSamples())
+                .extracting(MetricHistoryTest::data)
+                .containsExactly(SECOND, THIRD);
+        assertThat(segmentCount()).isEqualTo(2);
+    }
+
+    @Test
+    void recordDropsOldestSegmentGivenFullHistory() throws IOException {
+        MetricHistory history = new MetricHistory(tempDir, RETENTION, 150, clock::get);
+        history.record(CPU, FIRST);
+        clock.addAndGet(RETENTION / 8);
+        history.record(CPU, SECOND);
+        clock.addAndGet(RETENTION / 8);
+        history.record(CPU, THIRD);
+
+        assertThat(history.slice(0, Long.MAX_VALUE, null, MAX_SAMPLES, MAX_BYTES).getSamples())
+                .extracting(MetricHistoryTest::data)
+                .containsExactly(SECOND, THIRD);
+    }
+
+    @Test
+    void historyKeepsSamplesAcrossRestarts() throws IOException {
+        MetricHistory history = new MetricHistory(tempDir, RETENTION, 1024 * 1024, clock::get);
+        history.record(CPU, FIRST);
+
+        MetricHistory restarted = new MetricHistory(tempDir, RETENTION, 1024 * 1024, clock::get);
+        restarted.record(CPU, SECOND);
+
+        assertThat(restarted.slice(0, Long.MAX_VALUE, null, MAX_SAMPLES, MAX_BYTES).getSamples())
+                .extracting(MetricHistoryTest::data)
+                .containsExactly(FIRST, SECOND);
+        assertThat(segmentCount()).isEqualTo(2);
+    }
+
+    @Test
+    void sliceSkipsTruncatedLines() throws IOException {
+        Files.writeString(tempDir.resolve("history-%020d.log".formatted(clock.get())),
+                "{\"timeStamp\":1000000,\"cat");
+        MetricHistory history = new MetricHistory(tempDir, RETENTION, 1024 * 1024, clock::get);
+        history.record(CPU, FIRST);
+
+        assertThat(history.slice(0, Long.MAX_VALUE, null, MAX_SAMPLES, MAX_BYTES).getSamples())
+                .extracting(MetricHistoryTest::data)
+                .containsExactly(FIRST);
+    }
+
+    @Test
+    void recordKeepsDataAsJson() throws IOException {
+        MetricHistory history = new MetricHistory(tempDir, RETENTION, 1024 * 1024, clock::get);
+        history.record(CPU, FIRST);
+        history.record(MEMORY, FIRST + InformationBuilderHelper.DELIMITER + SECOND
+                + InformationBuilderHelper.DELIMITER);
+
+        assertThat(history.slice(0, Long.MAX_VALUE, null, MAX_SAMPLES, MAX_BYTES).getSamples())
+                .extracting(MetricHistoryTest::data)
+                .containsExactly(FIRST, "[" + FIRST + "," + SECOND + "]");
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertThat(Files.readString(files.findFirst().orElseThrow())).contains("\"data\":" + FIRST);
+        }
+    }
+
+    private static String data(HistorySample sample) {
+        return sample.getData().toString();
+    }
+
+    private long segmentCount() throws IOException {
+        try (Stream<Path> files = Files.list(tempDir)) {
+            return files.count();
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package org.dockit.dockitagent.jobs;
 
 import org.dockit.dockitagent.collector.vm.collectors.VmUsersCollector;
+import org.dockit.dockitagent.config.Config;
+import org.dockit.dockitagent.config.templates.Container;
+import org.dockit.dockitagent.delta.ChangeTracker;
 import org.dockit.dockitagent.entity.Audit;
 import org.dockit.dockitagent.entity.AuditConstructor;
 import org.dockit.dockitagent.sender.AuditSender;
@@ -34,6 +37,8 @@ public class CollectJobTest {
     private JobDataMap jobDataMap;
     @Mock
     private JobExecutionContext jobExecutionContext;
+    @Mock
+    private Container container;
 
     @Test
     public void executeFailsGivenFailingToBuildAudit() {
@@ -41,6 +46,8 @@ public class CollectJobTest {
         when(jobDataMap.get(JobConstants.COLLECTOR)).thenReturn(vmUsersCollector);
         when(jobDataMap.get(JobConstants.SENDER)).thenReturn(auditSender);
         when(jobDataMap.get(JobConstants.CONSTRUCTOR)).thenReturn(auditConstructor);
+        when(container.getConfig()).thenReturn(Config.INSTANCE);
+        when(jobDataMap.get(JobConstants.CHANGE_TRACKER)).thenReturn(new ChangeTracker(container));
         when(auditConstructor.construct(any(), any())).thenReturn(Optional.empty());
 
         CollectJob collectJob = new CollectJob();
@@ -59,8 +66,10 @@ public class CollectJobTest {
         when(jobDataMap.get(JobConstants.COLLECTOR)).thenReturn(vmUsersCollector);
         when(jobDataMap.get(JobConstants.SENDER)).thenReturn(auditSender);
         when(jobDataMap.get(JobConstants.CONSTRUCTOR)).thenReturn(auditConstructor);
+        when(container.getConfig()).thenReturn(Config.INSTANCE);
+        when(jobDataMap.get(JobConstants.CHANGE_TRACKER)).thenReturn(new ChangeTracker(container));
         when(auditConstructor.construct(any(), any())).thenReturn(Optional.of(audit));
-        when(auditSender.send(any())).thenReturn(false);
+        when(auditSender.send(any(Audit.class))).thenReturn(false);
 
         CollectJob collectJob = new CollectJob();
 
@@ -70,5 +79,6 @@ public class CollectJobTest {
 
         assertTrue(jobExecutionException.refireImmediately());
         assertFalse(jobExecutionException.unscheduleAllTriggers());
+        assertFalse(jobExecutionException.unscheduleFiringTrigger());
     }
 }
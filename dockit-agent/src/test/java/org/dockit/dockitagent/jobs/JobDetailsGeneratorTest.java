@@ -1,53 +1,76 @@
 package org.dockit.dockitagent.jobs;
 
+import org.dockit.dockitagent.alert.ThresholdEvaluator;
 import org.dockit.dockitagent.collector.initialiser.CollectorInitialiser;
+import org.dockit.dockitagent.collector.vm.collectors.VmProcessesCollector;
 import org.dockit.dockitagent.collector.vm.collectors.VmUsersCollector;
-import org.dockit.dockitagent.entity.Audit;
+import org.dockit.dockitagent.config.Config;
+import org.dockit.dockitagent.config.ConfigConstants;
+import org.dockit.dockitagent.config.PropertiesConfigReader;
+import org.dockit.dockitagent.config.templates.Container;
+import org.dockit.dockitagent.delta.ChangeTracker;
 import org.dockit.dockitagent.entity.AuditConstructor;
 import org.dockit.dockitagent.exceptions.collector.CollectorInitialisationException;
+import org.dockit.dockitagent.exceptions.config.ConfigException;
 import org.dockit.dockitagent.sender.AuditSender;
-import org.junit.Test;
-import org.junit.runner.RunWith;
-import org.mockito.Mock;
-import org.mockito.junit.MockitoJUnitRunner;
+import org.dockit.dockitagent.utils.PropertiesUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
 import org.quartz.JobDetail;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Properties;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
-@RunWith(MockitoJUnitRunner.class)
 public class JobDetailsGeneratorTest {
     private static final String GROUP_ID = "group_id";
 
-    @Mock
     private CollectorInitialiser collectorInitialiser;
-    @Mock
     private AuditSender auditSender;
-    @Mock
     private AuditConstructor auditConstructor;
-    @Mock
-    private Audit audit;
-    @Mock
+    private ChangeTracker changeTracker;
+    private ThresholdEvaluator evaluator;
     private VmUsersCollector vmUsersCollector;
+    private Container container;
+
+    @BeforeEach
+    public void setup() throws ConfigException {
+        collectorInitialiser = mock(CollectorInitialiser.class);
+        auditSender = mock(AuditSender.class);
+        auditConstructor = mock(AuditConstructor.class);
+        changeTracker = mock(ChangeTracker.class);
+        evaluator = mock(ThresholdEvaluator.class);
+        vmUsersCollector = mock(VmUsersCollector.class);
+        container = mock(Container.class);
+        when(container.getConfig()).thenReturn(Config.INSTANCE);
+        new PropertiesConfigReader().generateConfig(PropertiesUtils.generateMockProperties());
+    }
+
+    @AfterEach
+    public void tearDown() throws ConfigException {
+        new PropertiesConfigReader().generateConfig(PropertiesUtils.generateMockProperties());
+    }
 
     @Test
     public void generatedJobsContainsRequiredUtilityClasses() throws CollectorInitialisationException {
         when(collectorInitialiser.initialiseCollectors()).thenReturn(List.of(vmUsersCollector));
 
         JobDetailsGenerator jobDetailsGenerator = new JobDetailsGenerator(collectorInitialiser, auditSender,
-                auditConstructor);
+                auditSender, auditConstructor, changeTracker, evaluator, container);
         List<JobDetail> jobDetails = jobDetailsGenerator.generate(GROUP_ID);
 
         assertThat(jobDetails.size()).isEqualTo(1);
-//        assertThat(jobDetails.get(0).getJobClass()).isEqualTo(CollectJob.class);
         assertThat(jobDetails.get(0).getJobDataMap()).containsExactlyInAnyOrderEntriesOf(
                 Map.of(
                         JobConstants.COLLECTOR, vmUsersCollector,
                         JobConstants.SENDER, auditSender,
-                        JobConstants.CONSTRUCTOR, auditConstructor
+                        JobConstants.CONSTRUCTOR, auditConstructor,
+                        JobConstants.CHANGE_TRACKER, changeTracker
                 )
         );
     }
@@ -57,7 +80,7 @@ public class JobDetailsGeneratorTest {
         when(collectorInitialiser.initialiseCollectors()).thenReturn(List.of(vmUsersCollector));
 
         JobDetailsGenerator jobDetailsGenerator = new JobDetailsGenerator(collectorInitialiser, auditSender,
-                auditConstructor);
+                auditSender, auditConstructor, changeTracker, evaluator, container);
         List<JobDetail> jobDetails = jobDetailsGenerator.generate(GROUP_ID);
 
         assertThat(jobDetails.size()).isEqualTo(1);
@@ -66,4 +89,78 @@ public class JobDetailsGeneratorTest {
         assertThat(jobDetails.get(0).getKey().getGroup()).isEqualTo(GROUP_ID);
 
     }
+
+    @Test
+    public void generatedJobIsBatchJobGivenBatchConfig() throws CollectorInitialisationException, ConfigException {
+        Properties properties = PropertiesUtils.generateMockProperties();
+        properties.setProperty(ConfigConstants.BATCH, "true");
+        new PropertiesConfigReader().generateConfig(properties);
+        when(collectorInitialiser.initialiseCollectors()).thenReturn(List.of(vmUsersCollector, vmUsersCollector));
+
+        JobDetailsGenerator jobDetailsGenerator = new JobDetailsGenerator(collectorInitialiser, auditSender,
+                auditSender, auditConstructor, changeTracker, evaluator, container);
+        List<JobDetail> jobDetails = jobDetailsGenerator.generate(GROUP_ID);
+
+        assertThat(jobDetails.size()).isEqualTo(1);
+        assertThat(jobDetails.get(0).getJobClass()).isEqualTo(BatchCollectJob.class);
+        assertThat(jobDetails.get(0).getKey().getName()).isEqualTo(JobConstants.BATCH_JOB_NAME);
+        assertThat(jobDetails.get(0).getJobDataMap()).containsExactlyInAnyOrderEntriesOf(
+                Map.of(
+                        JobConstants.COLLECTORS, List.of(vmUsersCollector, vmUsersCollector),
+                        JobConstants.SENDER, auditSender,
+                        JobConstants.CONSTRUCTOR, auditConstructor,
+                        JobConstants.CHANGE_TRACKER, changeTracker
+                )
+        );
+    }
+
+    @Test
+    public void generatedJobsContainStreamSenderGivenStreamConfig()
+            throws CollectorInitialisationException, ConfigException {
+        Properties properties = PropertiesUtils.generateMockProperties();
+        properties.setProperty(ConfigConstants.STREAM_AUDITS, "true");
+        new PropertiesConfigReader().generateConfig(properties);
+        VmProcessesCollector vmProcessesCollector = mock(VmProcessesCollector.class);
+        AuditSender streamSender = mock(AuditSender.class);
+        when(collectorInitialiser.initialiseCollectors()).thenReturn(List.of(vmUsersCollector, vmProcessesCollector));
+
+        JobDetailsGenerator jobDetailsGenerator = new JobDetailsGenerator(collectorInitialiser, auditSender,
+                streamSender, auditConstructor, changeTracker, evaluator, container);
+        List<JobDetail> jobDetails = jobDetailsGenerator.generate(GROUP_ID);
+
+        assertThat(jobDetails.size()).isEqualTo(2);
+        assertThat(jobDetails.get(0).getJobDataMap()).doesNotContainKey(JobConstants.STREAM_SENDER);
+        assertThat(jobDetails.get(1).getJobDataMap()).containsEntry(JobConstants.STREAM_SENDER, streamSender);
+    }
+
+    @Test
+    public void generatedJobsDoNotContainStreamSenderGivenChangeOnlyConfig()
+            throws CollectorInitialisationException, ConfigException {
+        Properties properties = PropertiesUtils.generateMockProperties();
+        properties.setProperty(ConfigConstants.STREAM_AUDITS, "true");
+        properties.setProperty(ConfigConstants.CHANGE_ONLY, "true");
+        new PropertiesConfigReader().generateConfig(properties);
+        when(collectorInitialiser.initialiseCollectors()).thenReturn(List.of(mock(VmProcessesCollector.class)));
+
+        JobDetailsGenerator jobDetailsGenerator = new JobDetailsGenerator(collectorInitialiser, auditSender,
+                auditSender, auditConstructor, changeTracker, evaluator, container);
+        List<JobDetail> jobDetails = jobDetailsGenerator.generate(GROUP_ID);
+
+        assertThat(jobDetails.get(0).getJobDataMap()).doesNotContainKey(JobConstants.STREAM_SENDER);
+    }
+
+    @Test
+    public void generatedJobsContainEvaluatorGivenEdgeAlertsConfig() throws CollectorInitialisationException,
+            ConfigException {
+        Properties properties = PropertiesUtils.generateMockProperties();
+        properties.setProperty(ConfigConstants.EDGE_ALERTS, "true");
+        new PropertiesConfigReader().generateConfig(properties);
+        when(collectorInitialiser.initialiseCollectors()).thenReturn(List.of(vmUsersCollector));
+
+        JobDetailsGenerator jobDetailsGenerator = new JobDetailsGenerator(collectorInitialiser, auditSender,
+                auditSender, auditConstructor, changeTracker, evaluator, container);
+        List<JobDetail> jobDetails = jobDetailsGenerator.generate(GROUP_ID);
+
+        assertThat(jobDetails.get(0).getJobDataMap()).containsEntry(JobConstants.EVALUATOR, evaluator);
+    }
 }
@@ -0,0 +1,41 @@
+package org.dockit.dockitagent.rest.routes;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.dockit.dockitagent.connection.CircuitBreaker;
+import org.dockit.dockitagent.connection.CircuitState;
+import org.dockit.dockitagent.connection.DockerTransport;
+import org.dockit.dockitagent.connection.PooledHttpClient;
+import org.dockit.dockitagent.connection.RequestMetrics;
+import org.junit.jupiter.api.Test;
+import spark.Request;
+import spark.Response;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PingRouteTest {
+
+    @Test
+    void handleReturnsRequestMetricsOfConnections() {
+        CircuitBreaker circuitBreaker = mock(CircuitBreaker.class);
+        when(circuitBreaker.getState()).thenReturn(CircuitState.CLOSED);
+        PooledHttpClient serverClient = mock(PooledHttpClient.class);
+        DockerTransport dockerTransport = mock(DockerTransport.class);
+        when(serverClient.getMetrics()).thenReturn(new RequestMetrics());
+        when(dockerTransport.getMetrics()).thenReturn(new RequestMetrics());
+        Response response = mock(Response.class);
+
+        String body = (String) new PingRoute(circuitBreaker, serverClient, dockerTransport)
+                .handle(mock(Request.class), response);
+
+        JsonObject json = JsonParser.parseString(body).getAsJsonObject();
+        verify(response).status(200);
+        assertThat(json.get("circuit").getAsString()).isEqualTo(CircuitState.CLOSED.name());
+        assertThat(json.getAsJsonObject("serverRequests").get("requests").getAsLong()).isZero();
+        assertThat(json.getAsJsonObject("dockerRequests").keySet())
+                .containsExactlyInAnyOrder("requests", "errors", "meanLatencyMillis", "maxLatencyMillis");
+    }
+}
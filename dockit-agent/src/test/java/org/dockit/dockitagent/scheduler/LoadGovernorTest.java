@@ -0,0 +1,138 @@
+package org.dockit.dockitagent.scheduler;
+
+import org.dockit.dockitagent.config.Config;
+import org.dockit.dockitagent.config.ConfigConstants;
+import org.dockit.dockitagent.config.PropertiesConfigReader;
+import org.dockit.dockitagent.config.templates.Container;
+import org.dockit.dockitagent.entity.Audit;
+import org.dockit.dockitagent.entity.AuditConstructor;
+import org.dockit.dockitagent.exceptions.config.ConfigException;
+import org.dockit.dockitagent.sender.Sender;
+import org.dockit.dockitagent.utils.PropertiesUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LoadGovernorTest {
+    private static final long SECOND = 1_000_000_000L;
+    private static final String EXPENSIVE = "vm_process";
+    private static final String CHEAP = "vm_cpu";
+
+    private LoadProbe probe;
+    private AuditConstructor auditConstructor;
+    private Sender sender;
+    private AtomicLong nanoTime;
+    private long processCpuTime;
+    private LoadGovernor loadGovernor;
+
+    @BeforeEach
+    void setup() throws ConfigException {
+        Properties properties = PropertiesUtils.generateMockProperties();
+        properties.setProperty(ConfigConstants.OVERHEAD_BUDGET, "10");
+        properties.setProperty(ConfigConstants.MAX_STRETCH, "4");
+        new PropertiesConfigReader().generateConfig(properties);
+
+        Container container = mock(Container.class);
+        when(container.getConfig()).thenReturn(Config.INSTANCE);
+        probe = mock(LoadProbe.class);
+        auditConstructor = mock(AuditConstructor.class);
+        sender = mock(Sender.class);
+        Audit audit = mock(Audit.class);
+        when(auditConstructor.construct(anyString(), eq(LoadGovernor.CATEGORY))).thenReturn(Optional.of(audit));
+        when(sender.send(audit)).thenReturn(true);
+        nanoTime = new AtomicLong();
+        loadGovernor = new LoadGovernor(container, probe, auditConstructor, sender, nanoTime::get);
+    }
+
+    @AfterEach
+    void tearDown() throws ConfigException {
+        new PropertiesConfigReader().generateConfig(PropertiesUtils.generateMockProperties());
+    }
+
+    @Test
+    void isEnabledGivenAnyBudget() {
+        assertThat(LoadGovernor.isEnabled(Config.INSTANCE)).isTrue();
+    }
+
+    @Test
+    void governKeepsIntervalsGivenUsageInBudget() {
+        fire(5, EXPENSIVE, 10, 100);
+
+        assertThat(fire(5, EXPENSIVE, 10, 100)).isEqualTo(10);
+        verify(auditConstructor).construct("{\"vm_process\":10}", LoadGovernor.CATEGORY);
+        verify(sender).send(any(Audit.class));
+    }
+
+    @Test
+    void governReportsFirstIntervalOfEachJob() {
+        fire(5, CHEAP, 10, 1);
+        fire(5, EXPENSIVE, 10, 100);
+        fire(5, CHEAP, 10, 1);
+
+        verify(auditConstructor).construct("{\"vm_cpu\":10}", LoadGovernor.CATEGORY);
+        verify(auditConstructor).construct("{\"vm_cpu\":10,\"vm_process\":10}", LoadGovernor.CATEGORY);
+        verify(sender, times(2)).send(any(Audit.class));
+    }
+
+    @Test
+    void governStretchesExpensiveJobsGivenExceededBudget() {
+        fire(5, CHEAP, 10, 1);
+        fire(5, EXPENSIVE, 10, 100);
+
+        assertThat(fire(50, CHEAP, 10, 1)).isEqualTo(10);
+        assertThat(fire(50, EXPENSIVE, 10, 100)).isEqualTo(20);
+        assertThat(fire(50, EXPENSIVE, 10, 100)).isEqualTo(40);
+        assertThat(fire(50, EXPENSIVE, 10, 100)).isEqualTo(40);
+        assertThat(loadGovernor.getIntervals()).containsExactlyInAnyOrderEntriesOf(Map.of(CHEAP, 10, EXPENSIVE, 40));
+        verify(auditConstructor).construct("{\"vm_cpu\":10,\"vm_process\":20}", LoadGovernor.CATEGORY);
+        verify(auditConstructor).construct("{\"vm_cpu\":10,\"vm_process\":40}", LoadGovernor.CATEGORY);
+    }
+
+    @Test
+    void governShrinksIntervalsGivenRelaxedUsage() {
+        fire(5, EXPENSIVE, 10, 100);
+        fire(50, EXPENSIVE, 10, 100);
+        fire(50, EXPENSIVE, 10, 100);
+
+        assertThat(fire(8, EXPENSIVE, 10, 100)).isEqualTo(40);
+        assertThat(fire(1, EXPENSIVE, 10, 100)).isEqualTo(20);
+        assertThat(fire(1, EXPENSIVE, 10, 100)).isEqualTo(10);
+    }
+
+    @Test
+    void governStretchesIntervalsGivenHighHostLoad() throws ConfigException {
+        Properties properties = PropertiesUtils.generateMockProperties();
+        properties.setProperty(ConfigConstants.LOAD_THRESHOLD, "80");
+        new PropertiesConfigReader().generateConfig(properties);
+        when(probe.getHostLoad()).thenReturn(0.1);
+        fire(0, EXPENSIVE, 10, 100);
+
+        when(probe.getHostLoad()).thenReturn(0.95);
+
+        assertThat(fire(0, EXPENSIVE, 10, 100)).isEqualTo(20);
+    }
+
+    /**
+     * Advance the clock by a second, during which the agent used the given percentage of a cpu, and fire a job
+     */
+    private int fire(int overhead, String name, int interval, long cpuTime) {
+        nanoTime.addAndGet(SECOND);
+        processCpuTime += overhead * SECOND / 100;
+        when(probe.getProcessCpuTime()).thenReturn(processCpuTime);
+        return loadGovernor.govern(name, interval, cpuTime);
+    }
+}
@@ -0,0 +1,141 @@
+package org.dockit.dockitagent.scheduler;
+
+import org.dockit.dockitagent.collector.vm.collectors.VmCpuUsageCollector;
+import org.dockit.dockitagent.config.Config;
+import org.dockit.dockitagent.config.ConfigConstants;
+import org.dockit.dockitagent.config.PropertiesConfigReader;
+import org.dockit.dockitagent.config.templates.Container;
+import org.dockit.dockitagent.exceptions.config.ConfigException;
+import org.dockit.dockitagent.jobs.CollectJob;
+import org.dockit.dockitagent.jobs.JobConstants;
+import org.dockit.dockitagent.utils.PropertiesUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.quartz.JobDataMap;
+import org.quartz.JobDetail;
+import org.quartz.SimpleTrigger;
+import org.quartz.Trigger;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.quartz.JobBuilder.newJob;
+
+class TriggerGeneratorTest {
+    private static final String GROUP_ID = "group_id";
+
+    private Container container;
+
+    @BeforeEach
+    void setup() {
+        container = mock(Container.class);
+        when(container.getConfig()).thenReturn(Config.INSTANCE);
+    }
+
+    @AfterEach
+    void tearDown() throws ConfigException {
+        new PropertiesConfigReader().generateConfig(PropertiesUtils.generateMockProperties());
+    }
+
+    @Test
+    void generateUsesDefaultIntervalGivenNoCategoryInterval() throws ConfigException {
+        Properties properties = generateConfig("", "false", "0");
+        long now = System.currentTimeMillis();
+
+        Trigger trigger = new TriggerGenerator(container, () -> 0.5).generate(jobDetail());
+
+        int interval = Integer.parseInt(properties.getProperty(ConfigConstants.INTERVAL));
+        assertThat(trigger).isInstanceOf(SimpleTrigger.class);
+        assertThat(((SimpleTrigger) trigger).getRepeatInterval()).isEqualTo(interval * 1000L);
+        assertThat(((SimpleTrigger) trigger).getRepeatCount()).isEqualTo(SimpleTrigger.REPEAT_INDEFINITELY);
+        assertThat(trigger.getStartTime().getTime()).isBetween(now, System.currentTimeMillis());
+        assertThat(trigger.getKey().getName()).isEqualTo(VmCpuUsageCollector.class.getName());
+    }
+
+    @Test
+    void generateUsesCategoryIntervalAndRandomStart() throws ConfigException {
+        generateConfig("vm_cpu:5, vm_users:300", "true", "0");
+        long now = System.currentTimeMillis();
+
+        Trigger trigger = new TriggerGenerator(container, () -> 0.5).generate(jobDetail());
+
+        assertThat(((SimpleTrigger) trigger).getRepeatInterval()).isEqualTo(5000L);
+        assertThat(trigger.getJobDataMap().getInt(JobConstants.INTERVAL)).isEqualTo(5);
+        assertThat(trigger.getStartTime().getTime()).isBetween(now + 2500, System.currentTimeMillis() + 2500);
+    }
+
+    @Test
+    void generateFiresOnceGivenJitter() throws ConfigException {
+        generateConfig("vm_cpu:5", "false", "20");
+
+        Trigger trigger = new TriggerGenerator(container, () -> 0.5).generate(jobDetail());
+
+        assertThat(trigger.mayFireAgain()).isFalse();
+        assertThat(trigger.getJobDataMap().getInt(JobConstants.INTERVAL)).isEqualTo(5);
+        assertThat(trigger.getJobDataMap().getString(JobConstants.CATEGORY)).isEqualTo("vm_cpu");
+    }
+
+    @Test
+    void generateFiresOnceGivenLoadBudget() throws ConfigException {
+        Properties properties = PropertiesUtils.generateMockProperties();
+        properties.setProperty(ConfigConstants.OVERHEAD_BUDGET, "5");
+        new PropertiesConfigReader().generateConfig(properties);
+
+        Trigger trigger = new TriggerGenerator(container, () -> 0.5).generate(jobDetail());
+
+        assertThat(trigger.mayFireAgain()).isFalse();
+    }
+
+    @Test
+    void nextMovesIntervalByJitter() throws ConfigException {
+        generateConfig("vm_cpu:100", "false", "20");
+        Date scheduledFireTime = new Date(System.currentTimeMillis());
+
+        for (double random : List.of(0.0, 0.5, 0.99)) {
+            TriggerGenerator triggerGenerator = new TriggerGenerator(container, () -> random);
+            Trigger trigger = triggerGenerator.generate(jobDetail());
+
+            Trigger next = triggerGenerator.next(trigger, scheduledFireTime, 100);
+
+            long expected = scheduledFireTime.getTime() + (long) (100_000 * (1 + 0.2 * (2 * random - 1)));
+            assertThat(next.getStartTime().getTime()).isEqualTo(expected);
+            assertThat(next.getKey()).isEqualTo(trigger.getKey());
+            assertThat(next.getJobDataMap().getInt(JobConstants.INTERVAL)).isEqualTo(100);
+            assertThat(next.mayFireAgain()).isFalse();
+        }
+    }
+
+    @Test
+    void nextFiresNowGivenMissedInterval() throws ConfigException {
+        generateConfig("vm_cpu:5", "false", "20");
+        TriggerGenerator triggerGenerator = new TriggerGenerator(container, () -> 0.5);
+        Trigger trigger = triggerGenerator.generate(jobDetail());
+        long now = System.currentTimeMillis();
+
+        Trigger next = triggerGenerator.next(trigger, new Date(now - 60_000), 5);
+
+        assertThat(next.getStartTime().getTime()).isGreaterThanOrEqualTo(now);
+    }
+
+    private Properties generateConfig(String intervals, String randomStart, String jitter) throws ConfigException {
+        Properties properties = PropertiesUtils.generateMockProperties();
+        properties.setProperty(ConfigConstants.INTERVALS, intervals);
+        properties.setProperty(ConfigConstants.RANDOM_START, randomStart);
+        properties.setProperty(ConfigConstants.JITTER, jitter);
+        new PropertiesConfigReader().generateConfig(properties);
+        return properties;
+    }
+
+    private JobDetail jobDetail() {
+        return newJob(CollectJob.class)
+                .withIdentity(VmCpuUsageCollector.class.getName(), GROUP_ID)
+                .setJobData(new JobDataMap(Map.of(JobConstants.COLLECTOR, mock(VmCpuUsageCollector.class))))
+                .build();
+    }
+}
@@ -0,0 +1,77 @@
+package org.dockit.dockitagent.scheduler;
+
+import org.dockit.dockitagent.config.Config;
+import org.dockit.dockitagent.config.ConfigConstants;
+import org.dockit.dockitagent.config.PropertiesConfigReader;
+import org.dockit.dockitagent.config.templates.Container;
+import org.dockit.dockitagent.exceptions.config.ConfigException;
+import org.dockit.dockitagent.utils.PropertiesUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.quartz.Job;
+import org.quartz.JobDetail;
+import org.quartz.JobExecutionContext;
+import org.quartz.Scheduler;
+import org.quartz.SchedulerException;
+import org.quartz.impl.StdSchedulerFactory;
+import org.quartz.impl.matchers.GroupMatcher;
+
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.quartz.JobBuilder.newJob;
+
+class TriggerReschedulerTest {
+    private static final String GROUP_ID = "group_id";
+    private static final CountDownLatch fires = new CountDownLatch(3);
+
+    private Scheduler scheduler;
+
+    public static class CountingJob implements Job {
+        @Override
+        public void execute(JobExecutionContext context) {
+            fires.countDown();
+        }
+    }
+
+    @BeforeEach
+    void setup() throws ConfigException, SchedulerException {
+        Properties properties = PropertiesUtils.generateMockProperties();
+        properties.setProperty(ConfigConstants.INTERVAL, "1");
+        properties.setProperty(ConfigConstants.JITTER, "50");
+        new PropertiesConfigReader().generateConfig(properties);
+
+        Properties schedulerProperties = new Properties();
+        schedulerProperties.setProperty(StdSchedulerFactory.PROP_SCHED_INSTANCE_NAME, "triggerReschedulerTest");
+        schedulerProperties.setProperty("org.quartz.threadPool.threadCount", "1");
+        scheduler = new StdSchedulerFactory(schedulerProperties).getScheduler();
+    }
+
+    @AfterEach
+    void tearDown() throws ConfigException, SchedulerException {
+        scheduler.shutdown(false);
+        new PropertiesConfigReader().generateConfig(PropertiesUtils.generateMockProperties());
+    }
+
+    @Test
+    void jitteredJobKeepsFiring() throws SchedulerException, InterruptedException {
+        Container container = mock(Container.class);
+        when(container.getConfig()).thenReturn(Config.INSTANCE);
+        TriggerGenerator triggerGenerator = new TriggerGenerator(container);
+        scheduler.getListenerManager().addJobListener(new TriggerRescheduler(triggerGenerator,
+                        mock(LoadGovernor.class), mock(LoadProbe.class), container),
+                GroupMatcher.jobGroupEquals(GROUP_ID));
+        JobDetail jobDetail = newJob(CountingJob.class).withIdentity("countingJob", GROUP_ID).build();
+
+        scheduler.scheduleJob(jobDetail, triggerGenerator.generate(jobDetail));
+        scheduler.start();
+
+        // A single fire trigger would only fire once without the rescheduler
+        assertThat(fires.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+}
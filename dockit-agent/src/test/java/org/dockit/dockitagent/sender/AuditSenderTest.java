@@ -2,40 +2,42 @@ package org.dockit.dockitagent.sender;
 
 import org.dockit.dockitagent.connection.ServerConnectionManager;
 import org.dockit.dockitagent.entity.Audit;
-import org.junit.Test;
-import org.junit.runner.RunWith;
-import org.mockito.Mock;
-import org.mockito.junit.MockitoJUnitRunner;
+import org.dockit.dockitagent.entity.AuditBuilder;
+import org.dockit.dockitagent.wire.WireConstants;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
 
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
-@RunWith(MockitoJUnitRunner.class)
 public class AuditSenderTest {
     private static final String AUDIT_STRING = "string";
     private static final String RESPONSE = "response";
+    private static final String BATCH_ENDPOINT = "/api/write/batch";
 
-    @Mock
     private ServerConnectionManager serverConnectionManager;
-    @Mock
     private Audit audit;
 
-    @Test
-    public void sendReturnsFalseGivenServerNotAlive() {
-        when(serverConnectionManager.isAlive()).thenReturn(false);
-
-        AuditSender auditSender = new AuditSender(serverConnectionManager);
-
-        assertFalse(auditSender.send(audit));
+    @BeforeEach
+    public void setup() {
+        serverConnectionManager = mock(ServerConnectionManager.class);
+        audit = mock(Audit.class);
     }
 
     @Test
     public void sendReturnsFalseGivenError() {
-        when(serverConnectionManager.isAlive()).thenReturn(true);
         when(serverConnectionManager.sendRequest(anyString(), anyString())).thenReturn(Optional.empty());
         when(audit.toMap()).thenReturn(AUDIT_STRING);
 
@@ -46,12 +48,105 @@ public class AuditSenderTest {
 
     @Test
     public void sendReturnsTrueGivenError() {
-        when(serverConnectionManager.isAlive()).thenReturn(true);
         when(serverConnectionManager.sendRequest(anyString(), anyString())).thenReturn(Optional.of(RESPONSE));
         when(audit.toMap()).thenReturn(AUDIT_STRING);
 
         AuditSender auditSender = new AuditSender(serverConnectionManager);
 
         assertTrue(auditSender.send(audit));
+        verify(serverConnectionManager, never()).isAlive();
+    }
+
+    @Test
+    public void sendBatchReturnsTrueGivenEmptyBatch() {
+        AuditSender auditSender = new AuditSender(serverConnectionManager);
+
+        assertTrue(auditSender.send(List.of()));
+        verify(serverConnectionManager, never()).sendRequest(anyString(), anyString());
+    }
+
+    @Test
+    public void sendBatchReturnsFalseGivenError() {
+        when(serverConnectionManager.sendRequest(eq(BATCH_ENDPOINT), anyString())).thenReturn(Optional.empty());
+        when(audit.toFields()).thenReturn(Map.of("data", AUDIT_STRING));
+
+        AuditSender auditSender = new AuditSender(serverConnectionManager);
+
+        assertFalse(auditSender.send(List.of(audit)));
+    }
+
+    @Test
+    public void sendBatchReturnsFalseGivenRejectedAudit() {
+        when(serverConnectionManager.sendRequest(eq(BATCH_ENDPOINT), anyString())).thenReturn(Optional.of("""
+                [{"index": 0, "status": 200}, {"index": 1, "status": 400, "message": "Invalid Request!"}]
+                """));
+        when(audit.toFields()).thenReturn(Map.of("data", AUDIT_STRING));
+
+        AuditSender auditSender = new AuditSender(serverConnectionManager);
+
+        assertFalse(auditSender.send(List.of(audit, audit)));
+    }
+
+    @Test
+    public void sendBatchReturnsFalseGivenUnreadableResponse() {
+        when(serverConnectionManager.sendRequest(eq(BATCH_ENDPOINT), anyString())).thenReturn(Optional.of(RESPONSE));
+        when(audit.toFields()).thenReturn(Map.of("data", AUDIT_STRING));
+
+        AuditSender auditSender = new AuditSender(serverConnectionManager);
+
+        assertFalse(auditSender.send(List.of(audit)));
+    }
+
+    @Test
+    public void sendBatchReturnsTrueGivenAcceptedAudits() {
+        when(serverConnectionManager.sendRequest(eq(BATCH_ENDPOINT), anyString())).thenReturn(Optional.of("""
+                [{"index": 0, "status": 200}, {"index": 1, "status": 200}]
+                """));
+        when(audit.toFields()).thenReturn(Map.of("data", AUDIT_STRING));
+
+        AuditSender auditSender = new AuditSender(serverConnectionManager);
+
+        assertTrue(auditSender.send(List.of(audit, audit)));
+    }
+
+    @Test
+    public void sendBatchSendsBinaryFrameGivenBinaryAudits() {
+        Audit binaryAudit = AuditBuilder.newBuilder()
+                .vmId("vm")
+                .category("category")
+                .timeStamp(ZonedDateTime.now())
+                .payload(new byte[]{1, 2, 3})
+                .build();
+        when(serverConnectionManager.sendRequest(eq(BATCH_ENDPOINT), any(byte[].class),
+                eq(WireConstants.MEDIA_TYPE))).thenReturn(Optional.of("""
+                [{"index": 0, "status": 200}, {"index": 1, "status": 200}]
+                """));
+
+        AuditSender auditSender = new AuditSender(serverConnectionManager);
+
+        assertTrue(auditSender.send(List.of(binaryAudit, binaryAudit)));
+        verify(serverConnectionManager, never()).sendRequest(anyString(), anyString());
+    }
+
+    @Test
+    public void deliverReturnsFalseGivenError() {
+        when(serverConnectionManager.sendRequest(eq(BATCH_ENDPOINT), anyString())).thenReturn(Optional.empty());
+
+        AuditSender auditSender = new AuditSender(serverConnectionManager);
+
+        assertFalse(auditSender.deliver(List.of(AUDIT_STRING)));
+        verify(serverConnectionManager, never()).isAlive();
+    }
+
+    @Test
+    public void deliverReturnsTrueGivenRejectedAudit() {
+        when(serverConnectionManager.sendRequest(BATCH_ENDPOINT, "[{\"a\":1},{\"b\":2}]")).thenReturn(Optional.of("""
+                [{"index": 0, "status": 200}, {"index": 1, "status": 400, "message": "Invalid Request!"}]
+                """));
+
+        AuditSender auditSender = new AuditSender(serverConnectionManager);
+
+        assertTrue(auditSender.deliver(List.of("{\"a\":1}", "{\"b\":2}")));
+        verify(serverConnectionManager, never()).isAlive();
     }
 }
@@ -0,0 +1,99 @@
+package org.dockit.dockitagent.spool;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuditSpoolTest {
+    private static final String FIRST = "{\"data\":\"first\"}";
+    private static final String SECOND = "{\"data\":\"second\"}";
+    private static final String THIRD = "{\"data\":\"third\"}";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void peekReturnsEmptyGivenEmptySpool() throws IOException {
+        AuditSpool auditSpool = new AuditSpool(tempDir, 1024);
+
+        assertThat(auditSpool.peek(10)).isEmpty();
+        assertThat(auditSpool.size()).isZero();
+    }
+
+    @Test
+    void peekReturnsRecordsInOrderWithoutConsumingThem() throws IOException {
+        AuditSpool auditSpool = new AuditSpool(tempDir, 1024);
+        auditSpool.append(FIRST);
+        auditSpool.append(SECOND);
+        auditSpool.append(THIRD);
+
+        assertThat(auditSpool.peek(2)).containsExactly(FIRST, SECOND);
+        assertThat(auditSpool.peek(10)).containsExactly(FIRST, SECOND, THIRD);
+    }
+
+    @Test
+    void acknowledgeConsumesRecords() throws IOException {
+        AuditSpool auditSpool = new AuditSpool(tempDir, 1024);
+        auditSpool.append(FIRST);
+        auditSpool.append(SECOND);
+
+        auditSpool.acknowledge(auditSpool.peek(1));
+
+        assertThat(auditSpool.peek(10)).containsExactly(SECOND);
+        auditSpool.acknowledge(auditSpool.peek(10));
+        assertThat(auditSpool.peek(10)).isEmpty();
+        assertThat(auditSpool.size()).isZero();
+    }
+
+    @Test
+    void spoolKeepsUnacknowledgedRecordsAcrossRestarts() throws IOException {
+        AuditSpool auditSpool = new AuditSpool(tempDir, 1024);
+        auditSpool.append(FIRST);
+        auditSpool.append(SECOND);
+        auditSpool.acknowledge(auditSpool.peek(1));
+
+        AuditSpool reopenedSpool = new AuditSpool(tempDir, 1024);
+        reopenedSpool.append(THIRD);
+
+        assertThat(reopenedSpool.peek(10)).containsExactly(SECOND);
+        reopenedSpool.acknowledge(reopenedSpool.peek(10));
+        assertThat(reopenedSpool.peek(10)).containsExactly(THIRD);
+    }
+
+    @Test
+    void appendDropsOldestRecordsGivenFullSpool() throws IOException {
+        // Eight segments of a single record each
+        long maxBytes = (FIRST.length() + 1) * 8L;
+        AuditSpool auditSpool = new AuditSpool(tempDir, maxBytes);
+        for (int i = 0; i < 8; i++) {
+            auditSpool.append(FIRST);
+        }
+
+        auditSpool.append(FIRST.replace("first", "lasts"));
+
+        assertThat(auditSpool.size()).isLessThanOrEqualTo(maxBytes);
+        List<String> records = new ArrayList<>();
+        List<String> batch = auditSpool.peek(100);
+        while (!batch.isEmpty()) {
+            records.addAll(batch);
+            auditSpool.acknowledge(batch);
+            batch = auditSpool.peek(100);
+        }
+        assertThat(records).hasSize(8);
+        assertThat(records.get(7)).isEqualTo(FIRST.replace("first", "lasts"));
+    }
+
+    @Test
+    void appendReturnsFalseGivenRecordLargerThanSegment() throws IOException {
+        AuditSpool auditSpool = new AuditSpool(tempDir, 64);
+
+        assertThat(auditSpool.append("x".repeat(64))).isFalse();
+        assertThat(auditSpool.peek(10)).isEmpty();
+    }
+}
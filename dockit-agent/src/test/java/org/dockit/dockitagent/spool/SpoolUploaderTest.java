@@ -0,0 +1,88 @@
+package org.dockit.dockitagent.spool;
+
+import org.dockit.dockitagent.sender.AuditSender;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SpoolUploaderTest {
+    private static final String RECORD = "{\"data\":\"record\"}";
+
+    @TempDir
+    Path tempDir;
+
+    private AuditSpool auditSpool;
+    private AuditSender auditSender;
+
+    @BeforeEach
+    void setup() throws IOException {
+        auditSpool = new AuditSpool(tempDir, 1024 * 1024);
+        auditSender = mock(AuditSender.class);
+    }
+
+    @Test
+    void drainUploadsSpoolInBatches() throws IOException {
+        for (int i = 0; i < SpoolUploader.BATCH_SIZE + 1; i++) {
+            auditSpool.append(RECORD);
+        }
+        when(auditSender.deliver(anyList())).thenReturn(true);
+
+        SpoolUploader spoolUploader = new SpoolUploader(auditSpool, auditSender);
+
+        assertThat(spoolUploader.drain()).isTrue();
+        verify(auditSender, times(2)).deliver(anyList());
+        assertThat(auditSpool.peek(10)).isEmpty();
+    }
+
+    @Test
+    void drainKeepsRecordsGivenFailedUpload() throws IOException {
+        auditSpool.append(RECORD);
+        when(auditSender.deliver(anyList())).thenReturn(false);
+
+        SpoolUploader spoolUploader = new SpoolUploader(auditSpool, auditSender);
+
+        assertThat(spoolUploader.drain()).isFalse();
+        assertThat(auditSpool.peek(10)).isEqualTo(List.of(RECORD));
+    }
+
+    @Test
+    void nextBackoffGrowsExponentiallyUpToLimit() throws IOException {
+        auditSpool.append(RECORD);
+        when(auditSender.deliver(anyList())).thenReturn(false);
+
+        SpoolUploader spoolUploader = new SpoolUploader(auditSpool, auditSender);
+
+        spoolUploader.drain();
+        assertThat(spoolUploader.nextBackoff()).isEqualTo(SpoolUploader.INITIAL_BACKOFF_MILLIS);
+        spoolUploader.drain();
+        assertThat(spoolUploader.nextBackoff()).isEqualTo(SpoolUploader.INITIAL_BACKOFF_MILLIS * 2);
+        for (int i = 0; i < 30; i++) {
+            spoolUploader.drain();
+        }
+        assertThat(spoolUploader.nextBackoff()).isEqualTo(SpoolUploader.MAX_BACKOFF_MILLIS);
+    }
+
+    @Test
+    void drainResetsBackoffGivenSuccessfulUpload() throws IOException {
+        auditSpool.append(RECORD);
+        when(auditSender.deliver(anyList())).thenReturn(false, false, true);
+
+        SpoolUploader spoolUploader = new SpoolUploader(auditSpool, auditSender);
+        spoolUploader.drain();
+        spoolUploader.drain();
+
+        assertThat(spoolUploader.drain()).isTrue();
+        assertThat(spoolUploader.nextBackoff()).isEqualTo(SpoolUploader.INITIAL_BACKOFF_MILLIS);
+    }
+}
@@ -11,6 +11,7 @@ import org.dockit.dockitagent.jobs.JobModule;
 import org.dockit.dockitagent.rest.RestModule;
 import org.dockit.dockitagent.scheduler.SchedulerModule;
 import org.dockit.dockitagent.sender.SenderModule;
+import org.dockit.dockitagent.spool.SpoolModule;
 
 
 /**
@@ -23,6 +24,7 @@ public class GuiceTestInitialise {
                 new ConnectionModule(),
                 new EncryptionModule(),
                 new SenderModule(),
+                new SpoolModule(),
                 new CollectorInitialiserModule(),
                 new JobModule(),
                 new SchedulerModule(),
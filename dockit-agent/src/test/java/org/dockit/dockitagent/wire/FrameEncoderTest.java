@@ -0,0 +1,62 @@
+package org.dockit.dockitagent.wire;
+
+import org.dockit.dockitagent.entity.Audit;
+import org.dockit.dockitagent.entity.AuditBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FrameEncoderTest {
+    private static final ZonedDateTime TIME_STAMP = ZonedDateTime.of(
+            LocalDateTime.of(1970, 1, 1, 0, 1, 0, 5), ZoneOffset.ofHours(2));
+
+    @Test
+    void encodeWritesHeaderAndLengthPrefixedAudits() {
+        Audit audit = AuditBuilder.newBuilder()
+                .vmId("vm")
+                .category("c")
+                .timeStamp(TIME_STAMP)
+                .payload(new byte[]{7, 8, 9})
+                .build();
+
+        byte[] encoded = FrameEncoder.encode(List.of(audit, audit));
+
+        byte[] frame = {2, 'v', 'm', 1, 'c', 120, 5, WireConstants.IDENTITY, 3, 7, 8, 9};
+        assertThat(encoded).startsWith('D', 'K', 'A', WireConstants.VERSION, 2);
+        assertThat(encoded).hasSize(5 + frame.length * 2);
+        assertThat(encoded).endsWith(frame);
+    }
+
+    @Test
+    void encodeWritesEncodingOfCompressedPayload() {
+        Audit audit = AuditBuilder.newBuilder()
+                .vmId("vm")
+                .category("c")
+                .timeStamp(TIME_STAMP)
+                .payload(new byte[]{7, 8, 9})
+                .encoding(PayloadEncoding.DEFLATE)
+                .build();
+
+        byte[] encoded = FrameEncoder.encode(List.of(audit));
+
+        assertThat(encoded).endsWith(WireConstants.DEFLATE, 3, 7, 8, 9);
+    }
+
+    @Test
+    void encodeThrowsGivenAuditWithoutBinaryRecords() {
+        Audit audit = AuditBuilder.newBuilder()
+                .vmId("vm")
+                .category("c")
+                .timeStamp(TIME_STAMP)
+                .data("data")
+                .build();
+
+        assertThatThrownBy(() -> FrameEncoder.encode(List.of(audit))).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,118 @@
+package org.dockit.dockitagent.wire;
+
+import org.apache.commons.lang3.ArrayUtils;
+import org.dockit.dockitagent.collector.Collector;
+import org.dockit.dockitagent.collector.vm.HostInventory;
+import org.dockit.dockitagent.collector.vm.collectors.VmNetworkUsageCollector;
+import org.dockit.dockitagent.collector.vm.collectors.VmProcessesCollector;
+import org.dockit.dockitagent.encryption.KeyConstants;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import javax.crypto.Cipher;
+import javax.crypto.KeyGenerator;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Measures the agent side cost of compressing the process and network audits of this host before encrypting them,
+ * and the server side cost of inflating them. The sizes sent over the wire are printed before each run. Run with:
+ * mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=org.dockit.dockitagent.wire.PayloadCompressionBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PayloadCompressionBenchmark {
+    private static final int ENCRYPTION_OVERHEAD = KeyConstants.IV_SIZE_GCM + KeyConstants.GCM_TAG_LENGTH / 8;
+
+    @Param({"vm_process", "vm_network"})
+    private String category;
+
+    private byte[] data;
+    private byte[] compressed;
+    private SecretKey key;
+    private final SecureRandom random = new SecureRandom();
+
+    @Setup
+    public void setup() throws GeneralSecurityException {
+        HostInventory hostInventory = new HostInventory();
+        Collector collector = category.equals("vm_process")
+                ? new VmProcessesCollector(hostInventory)
+                : new VmNetworkUsageCollector(hostInventory);
+        data = collector.collect().getBytes(StandardCharsets.UTF_8);
+        compressed = PayloadEncoding.deflate(data);
+        KeyGenerator keyGenerator = KeyGenerator.getInstance("AES");
+        keyGenerator.init(256);
+        key = keyGenerator.generateKey();
+
+        byte[] records = RecordEncoder.encode(new String(data, StandardCharsets.UTF_8));
+        byte[] compressedRecords = PayloadEncoding.deflate(records);
+        System.out.printf("%n%s: json %d B, json base64 %d B, deflated json base64 %d B, binary records %d B, "
+                        + "deflated binary records %d B%n", category, data.length, encryptRaw().length(),
+                encryptDeflated().length(), records.length + ENCRYPTION_OVERHEAD,
+                (compressedRecords == null ? records.length : compressedRecords.length) + ENCRYPTION_OVERHEAD);
+    }
+
+    @Benchmark
+    public String encryptRaw() throws GeneralSecurityException {
+        return Base64.getEncoder().encodeToString(encrypt(data));
+    }
+
+    @Benchmark
+    public String encryptDeflated() throws GeneralSecurityException {
+        byte[] payload = PayloadEncoding.deflate(data);
+        return Base64.getEncoder().encodeToString(encrypt(payload == null ? data : payload));
+    }
+
+    @Benchmark
+    public byte[] inflate() throws DataFormatException {
+        // What the server does on top of decrypting a compressed audit
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed == null ? new byte[0] : compressed);
+            byte[] inflated = new byte[data.length];
+            inflater.inflate(inflated);
+            return inflated;
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private byte[] encrypt(byte[] payload) throws GeneralSecurityException {
+        byte[] iv = new byte[KeyConstants.IV_SIZE_GCM];
+        random.nextBytes(iv);
+        Cipher cipher = Cipher.getInstance(KeyConstants.AES_GCM_CIPHER);
+        cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(KeyConstants.GCM_TAG_LENGTH, iv));
+        return ArrayUtils.addAll(iv, cipher.doFinal(payload));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PayloadCompressionBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+}
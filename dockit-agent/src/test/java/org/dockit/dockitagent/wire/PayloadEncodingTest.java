@@ -0,0 +1,44 @@
+package org.dockit.dockitagent.wire;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PayloadEncodingTest {
+
+    @Test
+    void deflateCompressesRepetitivePayload() throws DataFormatException {
+        byte[] data = "{\"pid\":1,\"name\":\"java\"}/_/_/".repeat(100).getBytes(StandardCharsets.UTF_8);
+
+        byte[] compressed = PayloadEncoding.deflate(data);
+
+        assertThat(compressed).isNotNull();
+        assertThat(compressed.length).isLessThan(data.length / 10);
+        Inflater inflater = new Inflater();
+        inflater.setInput(compressed);
+        byte[] inflated = new byte[data.length];
+        assertThat(inflater.inflate(inflated)).isEqualTo(data.length);
+        assertThat(inflater.finished()).isTrue();
+        assertThat(inflated).isEqualTo(data);
+    }
+
+    @Test
+    void deflateReturnsNullGivenSmallPayload() {
+        byte[] data = "a".repeat(PayloadEncoding.MIN_SIZE - 1).getBytes(StandardCharsets.UTF_8);
+
+        assertThat(PayloadEncoding.deflate(data)).isNull();
+    }
+
+    @Test
+    void deflateReturnsNullGivenIncompressiblePayload() {
+        byte[] data = new byte[PayloadEncoding.MIN_SIZE * 4];
+        new Random(42).nextBytes(data);
+
+        assertThat(PayloadEncoding.deflate(data)).isNull();
+    }
+}
@@ -0,0 +1,74 @@
+package org.dockit.dockitagent.wire;
+
+import org.dockit.dockitagent.collector.utils.InformationBuilderHelper;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RecordEncoderTest {
+
+    @Test
+    void encodeWritesSchemaAndRecordOfSingleObject() {
+        byte[] encoded = RecordEncoder.encode("{\"a\":1,\"b\":\"x\"}");
+
+        assertThat(encoded).containsExactly(
+                WireConstants.RECORD_MAGIC, WireConstants.VERSION, WireConstants.SINGLE,
+                2, 1, 'a', 1, 'b',
+                1, WireConstants.LONG, 2, WireConstants.STRING, 1, 'x');
+    }
+
+    @Test
+    void encodeWritesAbsentFieldsOfDelimitedObjects() {
+        String data = InformationBuilderHelper.build(List.of("{\"a\":true}", "{\"b\":null}"));
+
+        byte[] encoded = RecordEncoder.encode(data);
+
+        assertThat(encoded).containsExactly(
+                WireConstants.RECORD_MAGIC, WireConstants.VERSION, WireConstants.DELIMITED,
+                2, 1, 'a', 1, 'b',
+                2, WireConstants.TRUE, WireConstants.ABSENT, WireConstants.ABSENT, WireConstants.NULL);
+    }
+
+    @Test
+    void encodeWritesNestedValues() {
+        byte[] encoded = RecordEncoder.encode("{\"a\":[-1,0.5],\"b\":{\"c\":false}}");
+
+        assertThat(encoded).endsWith(
+                WireConstants.ARRAY, 2, WireConstants.LONG, 1, WireConstants.DOUBLE, 0x3F, (byte) 0xE0, 0, 0, 0, 0,
+                0, 0, WireConstants.OBJECT, 1, 1, 'c', WireConstants.FALSE);
+    }
+
+    @Test
+    void encodeWritesLiteralOfNumbersWithoutExactForm() {
+        byte[] encoded = RecordEncoder.encode("{\"a\":1e400}");
+
+        assertThat(encoded).endsWith(WireConstants.NUMBER, 5, '1', 'e', '4', '0', '0');
+    }
+
+    @Test
+    void encodeReturnsTextGivenDataNotMadeOfObjects() {
+        String change = "dockit-change:{\"type\":\"unchanged\",\"hash\":\"abc\"}\n";
+
+        assertThat(RecordEncoder.encode(change)).isEqualTo(change.getBytes(StandardCharsets.UTF_8));
+        assertThat(RecordEncoder.encode("[1,2]")).isEqualTo("[1,2]".getBytes(StandardCharsets.UTF_8));
+        assertThat(RecordEncoder.encode("")).isEmpty();
+    }
+
+    @Test
+    void encodeShrinksListOfProcesses() {
+        List<String> processes = new ArrayList<>();
+        for (int pid = 1; pid <= 200; pid++) {
+            processes.add(("{\"user\":\"root\",\"pid\":%d,\"name\":\"process-%d\",\"up_time\":%d,"
+                    + "\"cpu_load\":0.%d,\"memory\":%d}").formatted(pid, pid, pid * 1000L, pid, pid * 4096L));
+        }
+        String data = InformationBuilderHelper.build(processes);
+
+        byte[] encoded = RecordEncoder.encode(data);
+
+        assertThat(encoded.length * 2).isLessThan(data.getBytes(StandardCharsets.UTF_8).length);
+    }
+}
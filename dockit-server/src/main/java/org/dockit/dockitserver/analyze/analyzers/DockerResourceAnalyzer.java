@@ -21,6 +21,10 @@ public class DockerResourceAnalyzer implements Analyzer {
     private static final String CPU_STATS = "cpu_stats";
     private static final String PR_CPU_STATS = "precpu_stats";
     private static final String CPU_USAGE = "cpu_usage";
+    private static final String PARTIAL = "partial";
+    // Computed by the agent when it streams the stats of the containers
+    private static final String MEMORY_PERCENT = "memory_percent";
+    private static final String CPU_PERCENT = "cpu_percent";
 
 
     private final AlertGenerator alertGenerator;
@@ -40,23 +44,41 @@ public class DockerResourceAnalyzer implements Analyzer {
         List<String> containerInformation = AnalyzingUtils.splitData(audit.getData());
         List<Alert> alerts = new ArrayList<>();
 
+        Gson gson = new Gson();
+
         for (String information : containerInformation) {
-            Optional<Alert> optionalMemoryAlert = analyzeDockerMemory(information, audit);
+            Map<String, ?> mappedData = gson.fromJson(information, Map.class);
+            // Containers which did not respond in time on the agent side are sent without their stats
+            if (mappedData == null || Boolean.TRUE.equals(mappedData.get(PARTIAL))) {
+                continue;
+            }
+            Optional<Alert> optionalMemoryAlert = analyzeDockerMemory(mappedData, audit);
             optionalMemoryAlert.ifPresent(alerts::add);
-            Optional<Alert> optionalCpuAlert = analyzeDockerCpu(information, audit);
+            Optional<Alert> optionalCpuAlert = analyzeDockerCpu(mappedData, audit);
             optionalCpuAlert.ifPresent(alerts::add);
         }
         return alerts;
     }
 
-    private Optional<Alert> analyzeDockerMemory(String information, Audit audit) {
-        Gson gson = new Gson();
-        Map<String, ?> mappedData = gson.fromJson(information, Map.class);
-        Map<String, ?> memoryStats = (Map<String, ?>) mappedData.get(MEMORY_STATS);
-
-        Double used_memory = (Double) memoryStats.get("usage");
-        Double available_memory = (Double) memoryStats.get("limit");
-        double memory_usage = used_memory / available_memory * 100;
+    private Optional<Alert> analyzeDockerMemory(Map<String, ?> mappedData, Audit audit) {
+        double memory_usage;
+        // The highest usage of the window is analyzed if the agent aggregates the metrics
+        Double memoryPercent = AnalyzingUtils.getNumber(mappedData.get(MEMORY_PERCENT), AnalyzingUtils.MAX);
+        if (memoryPercent != null) {
+            memory_usage = memoryPercent;
+        } else {
+            Map<String, ?> memoryStats = (Map<String, ?>) mappedData.get(MEMORY_STATS);
+            if (memoryStats == null) {
+                return Optional.empty();
+            }
+
+            Double used_memory = AnalyzingUtils.getNumber(memoryStats.get("usage"), AnalyzingUtils.MAX);
+            Double available_memory = AnalyzingUtils.getNumber(memoryStats.get("limit"), AnalyzingUtils.LAST);
+            if (used_memory == null || available_memory == null) {
+                return Optional.empty();
+            }
+            memory_usage = used_memory / available_memory * 100;
+        }
 
         Alert.Importance importance = AnalyzingUtils.getImportanceFromPercentage(memory_usage);
 
@@ -67,11 +89,16 @@ public class DockerResourceAnalyzer implements Analyzer {
         return alertGenerator.generateAlert(audit, importance, message);
     }
 
-    private Optional<Alert> analyzeDockerCpu(String information, Audit audit) {
-        Gson gson = new Gson();
-        Map<String, ?> mappedData = gson.fromJson(information, Map.class);
+    private Optional<Alert> analyzeDockerCpu(Map<String, ?> mappedData, Audit audit) {
+        Double cpuPercent = AnalyzingUtils.getNumber(mappedData.get(CPU_PERCENT), AnalyzingUtils.MAX);
+        if (cpuPercent != null) {
+            return generateCpuAlert(cpuPercent, audit);
+        }
         Map<String, ?> cpuStats = (Map<String, ?>) mappedData.get(CPU_STATS);
         Map<String, ?> preCpuStats = (Map<String, ?>) mappedData.get(PR_CPU_STATS);
+        if (cpuStats == null || preCpuStats == null) {
+            return Optional.empty();
+        }
 
         Double cpuTotalUsage = (Double) ((Map<String, ?>) cpuStats.get(CPU_USAGE)).get("total_usage");
         Double preCpuTotalUsage = (Double) ((Map<String, ?>) preCpuStats.get(CPU_USAGE)).get("total_usage");
@@ -85,6 +112,10 @@ public class DockerResourceAnalyzer implements Analyzer {
 
         double cpu_usage = (cpuDelta / systemCpuDelta) * numberOfCpus * 100;
 
+        return generateCpuAlert(cpu_usage, audit);
+    }
+
+    private Optional<Alert> generateCpuAlert(double cpu_usage, Audit audit) {
         Alert.Importance importance = AnalyzingUtils.getImportanceFromPercentage(cpu_usage);
 
         if (importance.equals(Alert.Importance.NONE)) {
@@ -37,7 +37,11 @@ public class VmCpuUsageAnalyzer implements Analyzer {
         Gson gson = new Gson();
         Map<String, ?> json = gson.fromJson(data, Map.class);
 
-        Double cpuUsage = (Double) json.get(CPU_LOAD);
+        // The highest load of the window is analyzed if the agent aggregates the metrics
+        Double cpuUsage = AnalyzingUtils.getNumber(json.get(CPU_LOAD), AnalyzingUtils.MAX);
+        if (cpuUsage == null) {
+            return List.of();
+        }
 
         Alert.Importance importance = AnalyzingUtils.getImportanceFromPercentage(cpuUsage);
 
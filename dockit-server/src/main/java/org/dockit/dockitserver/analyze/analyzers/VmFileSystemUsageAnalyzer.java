@@ -44,8 +44,12 @@ public class VmFileSystemUsageAnalyzer implements Analyzer {
         for (String information : dataSplit) {
             Map<String, ?> json = gson.fromJson(information, Map.class);
             String name = (String) json.get(NAME);
-            Double free_space = (Double) json.get(FREE_SPACE);
-            Double total_space = (Double) json.get(TOTAL_SPACE);
+            // The least free space of the window is analyzed if the agent aggregates the metrics
+            Double free_space = AnalyzingUtils.getNumber(json.get(FREE_SPACE), AnalyzingUtils.MIN);
+            Double total_space = AnalyzingUtils.getNumber(json.get(TOTAL_SPACE), AnalyzingUtils.LAST);
+            if (free_space == null || total_space == null) {
+                continue;
+            }
 
             double space_usage = (total_space - free_space) / total_space * 100;
             Alert.Importance importance = AnalyzingUtils.getImportanceFromPercentage(space_usage);
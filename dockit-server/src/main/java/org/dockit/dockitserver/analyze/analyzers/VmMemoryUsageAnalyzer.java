@@ -37,8 +37,12 @@ public class VmMemoryUsageAnalyzer implements Analyzer {
         Gson gson = new Gson();
         Map<String, ?> json = gson.fromJson(data, Map.class);
 
-        Double total = (Double) json.get(TOTAL);
-        Double available = (Double) json.get(AVAILABLE);
+        // The least available memory of the window is analyzed if the agent aggregates the metrics
+        Double total = AnalyzingUtils.getNumber(json.get(TOTAL), AnalyzingUtils.LAST);
+        Double available = AnalyzingUtils.getNumber(json.get(AVAILABLE), AnalyzingUtils.MIN);
+        if (total == null || available == null) {
+            return List.of();
+        }
 
         double usage = (total - available) / total * 100;
 
@@ -1,11 +1,13 @@
 package org.dockit.dockitserver.analyze.analyzers.utils;
 
 import org.dockit.dockitserver.analyze.AuditCategories;
+import org.dockit.dockitserver.entities.Agent;
 import org.dockit.dockitserver.entities.Alert;
 import org.dockit.dockitserver.entities.Audit;
 import org.dockit.dockitserver.entities.utils.EntityCreator;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 /**
@@ -23,10 +25,26 @@ public class AlertGenerator {
      * @return {@link Optional} empty if alert can be created, empty if not
      */
     public Optional<Alert> generateAlert(Audit audit, Alert.Importance importance, String message) {
-        String formattedMessage = getMessage(audit.getCategory(), audit.getVmId(), message, importance.toString());
+        return generateAlert(audit.getAgent(), audit.getVmId(), audit.getCategory(), audit.getTimeStamp(),
+                importance, message);
+    }
 
-        return EntityCreator.createAlert(audit.getVmId(), audit.getAgent(),
-                importance, audit.getTimeStamp(), formattedMessage);
+    /**
+     * Generate alert for resource-usage related data which was not sent as an {@link Audit}
+     *
+     * @param agent {@link Agent} which detected the usage
+     * @param vmId id of the vm the usage belongs to
+     * @param category category of the audits the usage is collected for
+     * @param timeStamp time the usage was detected at
+     * @param importance importance level for the alert
+     * @param message message about the alert
+     * @return {@link Optional} empty if alert can be created, empty if not
+     */
+    public Optional<Alert> generateAlert(Agent agent, String vmId, String category, LocalDateTime timeStamp,
+                                         Alert.Importance importance, String message) {
+        String formattedMessage = getMessage(category, vmId, message, importance.toString());
+
+        return EntityCreator.createAlert(vmId, agent, importance, timeStamp, formattedMessage);
     }
 
     /**
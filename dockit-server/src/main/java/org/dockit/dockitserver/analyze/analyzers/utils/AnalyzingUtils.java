@@ -5,6 +5,7 @@ import org.dockit.dockitserver.entities.Alert;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -14,6 +15,13 @@ import java.util.Set;
 public final class AnalyzingUtils {
     private static final String DELIMITER = "/_/_/";
 
+    /**
+     * Statistics of the numeric fields of the data aggregated by the agent over its reporting window
+     */
+    public static final String MIN = "min";
+    public static final String MAX = "max";
+    public static final String LAST = "last";
+
     /**
      * Split some data using the delimiter
      *
@@ -44,4 +52,22 @@ public final class AnalyzingUtils {
             return Alert.Importance.NONE;
         }
     }
+
+    /**
+     * Read a numeric field of the collected data. When the agent aggregates the metrics over its reporting window,
+     * the field is an object holding the min, max, mean, last value and count of its samples instead of a number.
+     *
+     * @param value value of the field
+     * @param statistic statistic to be read if the field is aggregated, such as {@link #MAX}
+     * @return the number, null if the field is missing or not numeric
+     */
+    public static Double getNumber(Object value, String statistic) {
+        if (value instanceof Number number) {
+            return number.doubleValue();
+        }
+        if (value instanceof Map<?, ?> summary && summary.get(statistic) instanceof Number number) {
+            return number.doubleValue();
+        }
+        return null;
+    }
 }
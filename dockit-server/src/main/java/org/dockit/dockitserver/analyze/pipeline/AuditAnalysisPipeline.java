@@ -0,0 +1,235 @@
+package org.dockit.dockitserver.analyze.pipeline;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.dockit.dockitserver.analyze.AuditAnalyzer;
+import org.dockit.dockitserver.analyze.signal.SignalledAlerts;
+import org.dockit.dockitserver.controllers.utils.AuditDataDecryptFromDatabase;
+import org.dockit.dockitserver.entities.Alert;
+import org.dockit.dockitserver.entities.Audit;
+import org.dockit.dockitserver.exceptions.encryption.EncryptionException;
+import org.dockit.dockitserver.exceptions.security.key.KeyStoreException;
+import org.dockit.dockitserver.services.templates.AlertService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded worker pipeline which decrypts and analyzes saved audits, then saves the generated alerts.
+ * Every worker owns its own queue and audits of the same agent are always routed to the same worker, so they are
+ * analyzed in the order they were written. When a queue is full, submitting waits for a short time and drops the
+ * audit if there is still no space. Alerts which were already signalled by the agent are not saved again.
+ */
+@Component
+public class AuditAnalysisPipeline implements DisposableBean {
+    private static final Logger logger = LoggerFactory.getLogger(AuditAnalysisPipeline.class);
+
+    private static final int DEFAULT_WORKERS = 4;
+    private static final int DEFAULT_QUEUE_CAPACITY = 1000;
+    private static final long DEFAULT_OFFER_TIMEOUT_MILLIS = 50;
+    private static final long POLL_TIMEOUT_MILLIS = 200;
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 5000;
+
+    private final AuditAnalyzer auditAnalyzer;
+    private final AuditDataDecryptFromDatabase decrypt;
+    private final AlertService alertService;
+    private final SignalledAlerts signalledAlerts;
+
+    private final List<BlockingQueue<QueuedAudit>> queues = new ArrayList<>();
+    private final List<Thread> workers = new ArrayList<>();
+    private final AtomicLong pending = new AtomicLong();
+    private final long offerTimeoutMillis;
+    private volatile boolean running = true;
+
+    private final Counter droppedCounter;
+    private final Counter failedCounter;
+    private final Timer lagTimer;
+    private final Timer analysisTimer;
+
+    /**
+     * @param auditAnalyzer {@link AuditAnalyzer} instance to be injected
+     * @param decrypt {@link AuditDataDecryptFromDatabase} instance to be injected
+     * @param alertService {@link AlertService} instance to be injected
+     * @param signalledAlerts {@link SignalledAlerts} instance to be injected
+     * @param meterRegistry {@link MeterRegistry} instance to be injected
+     * @param environment {@link Environment} containing config from application.properties
+     */
+    public AuditAnalysisPipeline(AuditAnalyzer auditAnalyzer, AuditDataDecryptFromDatabase decrypt,
+                                 AlertService alertService, SignalledAlerts signalledAlerts,
+                                 MeterRegistry meterRegistry, Environment environment) {
+        this.auditAnalyzer = auditAnalyzer;
+        this.decrypt = decrypt;
+        this.alertService = alertService;
+        this.signalledAlerts = signalledAlerts;
+
+        int workerCount = Math.max(1, environment.getProperty("dockit.server.analysis.workers", Integer.class,
+                DEFAULT_WORKERS));
+        int queueCapacity = Math.max(1, environment.getProperty("dockit.server.analysis.queue.capacity",
+                Integer.class, DEFAULT_QUEUE_CAPACITY));
+        this.offerTimeoutMillis = environment.getProperty("dockit.server.analysis.queue.offer-timeout",
+                Long.class, DEFAULT_OFFER_TIMEOUT_MILLIS);
+
+        this.droppedCounter = Counter.builder("dockit.analysis.dropped")
+                .description("Audits which were not analyzed because the analysis queue was full")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("dockit.analysis.failed")
+                .description("Audits which could not be analyzed")
+                .register(meterRegistry);
+        this.lagTimer = Timer.builder("dockit.analysis.lag")
+                .description("Time audits spent in the analysis queue")
+                .register(meterRegistry);
+        this.analysisTimer = Timer.builder("dockit.analysis.duration")
+                .description("Time spent analyzing an audit")
+                .register(meterRegistry);
+        Gauge.builder("dockit.analysis.queue.depth", this, AuditAnalysisPipeline::getQueueDepth)
+                .description("Audits waiting in the analysis queues")
+                .register(meterRegistry);
+
+        for (int i = 0; i < workerCount; i++) {
+            BlockingQueue<QueuedAudit> queue = new ArrayBlockingQueue<>(queueCapacity);
+            Thread worker = new Thread(() -> work(queue), "audit-analysis-" + i);
+            worker.setDaemon(true);
+            queues.add(queue);
+            workers.add(worker);
+            worker.start();
+        }
+    }
+
+    /**
+     * Queue the audit for analysis. Waits for a short amount of time if the queue of the audit's agent is full.
+     *
+     * @param audit saved {@link Audit} with encrypted data
+     * @return true if the audit was queued, false if it was dropped
+     */
+    public boolean submit(Audit audit) {
+        BlockingQueue<QueuedAudit> queue = queues.get(Math.floorMod(routingKey(audit).hashCode(), queues.size()));
+        pending.incrementAndGet();
+        boolean accepted;
+        try {
+            accepted = running && queue.offer(new QueuedAudit(audit, System.nanoTime()), offerTimeoutMillis,
+                    TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            accepted = false;
+        }
+        if (!accepted) {
+            pending.decrementAndGet();
+            droppedCounter.increment();
+            logger.warn("Analysis queue is full, dropped audit {} of vm {}", audit.getId(), audit.getVmId());
+        }
+        return accepted;
+    }
+
+    /**
+     * Wait until every submitted audit is analyzed
+     *
+     * @param timeout maximum {@link Duration} to wait
+     * @return true if the pipeline became idle, false if the timeout elapsed first
+     */
+    public boolean awaitIdle(Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (pending.get() > 0) {
+            if (System.nanoTime() - deadline > 0) {
+                return false;
+            }
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return amount of audits waiting in the queues
+     */
+    public int getQueueDepth() {
+        return queues.stream()
+                .mapToInt(BlockingQueue::size)
+                .sum();
+    }
+
+    /**
+     * Stop accepting audits, let the workers drain their queues and wait for them to finish
+     */
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        long deadline = System.currentTimeMillis() + SHUTDOWN_TIMEOUT_MILLIS;
+        for (Thread worker : workers) {
+            worker.join(Math.max(1, deadline - System.currentTimeMillis()));
+        }
+    }
+
+    private void work(BlockingQueue<QueuedAudit> queue) {
+        while (running || !queue.isEmpty()) {
+            QueuedAudit queuedAudit;
+            try {
+                queuedAudit = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (queuedAudit == null) {
+                continue;
+            }
+            lagTimer.record(System.nanoTime() - queuedAudit.queuedAt(), TimeUnit.NANOSECONDS);
+            try {
+                analysisTimer.record(() -> analyze(queuedAudit.audit()));
+            } catch (RuntimeException e) {
+                failedCounter.increment();
+                logger.error("Could not analyze audit {}: {}", queuedAudit.audit().getId(), e.getMessage());
+            } finally {
+                pending.decrementAndGet();
+            }
+        }
+    }
+
+    private void analyze(Audit audit) {
+        try {
+            // Decrypt a copy, the saved instance is shared with the caller and the cache
+            Audit decryptedAudit = decrypt.decryptAudit(copyOf(audit));
+            List<Alert> alerts = auditAnalyzer.analyze(decryptedAudit).stream()
+                    .filter(alert -> !signalledAlerts.covers(decryptedAudit, alert))
+                    .toList();
+            alertService.save(alerts);
+        } catch (EncryptionException | KeyStoreException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    private static Object routingKey(Audit audit) {
+        if (audit.getAgent() != null && audit.getAgent().getId() != null) {
+            return audit.getAgent().getId();
+        }
+        return String.valueOf(audit.getVmId());
+    }
+
+    private static Audit copyOf(Audit audit) {
+        Audit copy = new Audit();
+        copy.setId(audit.getId());
+        copy.setVmId(audit.getVmId());
+        copy.setAgent(audit.getAgent());
+        copy.setCategory(audit.getCategory());
+        copy.setTimeStamp(audit.getTimeStamp());
+        copy.setData(audit.getData());
+        return copy;
+    }
+
+    private record QueuedAudit(Audit audit, long queuedAt) {
+    }
+}
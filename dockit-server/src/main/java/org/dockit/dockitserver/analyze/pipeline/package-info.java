@@ -0,0 +1,9 @@
+/**
+ * This package contains the asynchronous pipeline used to analyze saved {@link org.dockit.dockitserver.entities.Audit}
+ * objects outside the write request.
+ *
+ * @since 1.0
+ * @author Aziz Serin
+ * @version 1.0
+ */
+package org.dockit.dockitserver.analyze.pipeline;
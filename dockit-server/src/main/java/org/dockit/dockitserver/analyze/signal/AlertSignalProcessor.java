@@ -0,0 +1,96 @@
+package org.dockit.dockitserver.analyze.signal;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.dockit.dockitserver.analyze.AuditCategories;
+import org.dockit.dockitserver.analyze.analyzers.utils.AlertGenerator;
+import org.dockit.dockitserver.analyze.analyzers.utils.AnalyzingUtils;
+import org.dockit.dockitserver.entities.Agent;
+import org.dockit.dockitserver.entities.Alert;
+import org.dockit.dockitserver.services.templates.AlertService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Creates alerts from the threshold breaches signalled by the agents. The signalled usage is evaluated with the same
+ * thresholds as the analyzers, and the alert is saved right away, so it is sent without waiting for the audit to be
+ * decrypted and analyzed. The time from the detection of the breach on the agent until the alert is saved is
+ * recorded.
+ * <p>
+ * The usage itself is supplied by the agent and is not checked against its audits, so an agent holding a valid api key
+ * can raise any alert. Signals are not encrypted, so the subject, such as a mount point, travels in clear text.
+ */
+@Component
+public class AlertSignalProcessor {
+    private static final Logger logger = LoggerFactory.getLogger(AlertSignalProcessor.class);
+
+    /**
+     * Categories whose usages can be signalled by the agents
+     */
+    public static final List<String> CATEGORIES = List.of(AuditCategories.VM_CPU, AuditCategories.VM_MEMORY,
+            AuditCategories.VM_FILESYSTEM, AuditCategories.DOCKER_CONTAINER_RESOURCE);
+
+    private final AlertGenerator alertGenerator;
+    private final AlertService alertService;
+    private final SignalledAlerts signalledAlerts;
+    private final Timer latencyTimer;
+
+    /**
+     * @param alertGenerator {@link AlertGenerator} instance to be injected
+     * @param alertService {@link AlertService} instance to be injected
+     * @param signalledAlerts {@link SignalledAlerts} instance to be injected
+     * @param meterRegistry {@link MeterRegistry} instance to be injected
+     */
+    public AlertSignalProcessor(AlertGenerator alertGenerator, AlertService alertService,
+                                SignalledAlerts signalledAlerts, MeterRegistry meterRegistry) {
+        this.alertGenerator = alertGenerator;
+        this.alertService = alertService;
+        this.signalledAlerts = signalledAlerts;
+        this.latencyTimer = Timer.builder("dockit.alert.signal.latency")
+                .description("Time from the detection of a threshold breach on the agent until its alert is saved")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Create and save the alert of a signalled usage
+     *
+     * @param agent {@link Agent} which signalled the usage
+     * @param vmId id of the vm the usage belongs to
+     * @param category category of the audits the usage is collected for, one of {@link #CATEGORIES}
+     * @param value usage in percentage
+     * @param subject what the usage belongs to, such as the name of a file system, null for the whole vm
+     * @param timeStamp time the usage was detected at, in the zone of the agent
+     * @param detectedAt time the usage was detected at in milliseconds since the epoch
+     * @return {@link Optional} time from the detection until the alert was saved, empty if the usage does not exceed
+     * any threshold or the alert could not be created
+     */
+    public Optional<Duration> process(Agent agent, String vmId, String category, double value, String subject,
+                                      LocalDateTime timeStamp, long detectedAt) {
+        Alert.Importance importance = AnalyzingUtils.getImportanceFromPercentage(value);
+        if (importance.equals(Alert.Importance.NONE)) {
+            return Optional.empty();
+        }
+        // Same format as the messages of the analyzers, which SignalledAlerts reads the subject from
+        String message = subject == null ? String.valueOf(value) : subject + ": " + value;
+        Optional<Alert> alert = alertGenerator.generateAlert(agent, vmId, category, timeStamp, importance, message);
+        if (alert.isEmpty()) {
+            return Optional.empty();
+        }
+        // Recorded before saving, so an audit analyzed meanwhile does not alert the breach again
+        signalledAlerts.record(category, subject, alert.get());
+        alertService.save(alert.get());
+
+        // Clocks of the agent and the server may differ slightly
+        Duration latency = Duration.ofMillis(Math.max(0, System.currentTimeMillis() - detectedAt));
+        latencyTimer.record(latency);
+        logger.info("Created the {} {} alert signalled by agent {}, {} ms after its detection", importance, category,
+                agent.getId(), latency.toMillis());
+        return Optional.of(latency);
+    }
+}
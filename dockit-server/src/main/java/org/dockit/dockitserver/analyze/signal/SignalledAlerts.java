@@ -0,0 +1,77 @@
+package org.dockit.dockitserver.analyze.signal;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.dockit.dockitserver.entities.Agent;
+import org.dockit.dockitserver.entities.Alert;
+import org.dockit.dockitserver.entities.Audit;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Keeps the latest alert signalled by the agents for each vm, category, subject and importance, so the same breach is
+ * not alerted again when the audit it was detected in is analyzed. The subject of a generated alert is read from its
+ * message, which the analyzers build as "subject: value", or as the bare value for the usage of the whole vm. Signals
+ * are dropped once they are older than the window, so the subjects of removed containers do not pile up.
+ */
+@Component
+public class SignalledAlerts {
+    private static final long DEFAULT_WINDOW_SECONDS = 300;
+    private static final String SUBJECT_SEPARATOR = ": ";
+
+    private final Duration window;
+    private final Cache<Key, LocalDateTime> signals;
+
+    /**
+     * @param environment {@link Environment} containing config from application.properties
+     */
+    public SignalledAlerts(Environment environment) {
+        this.window = Duration.ofSeconds(environment.getProperty("dockit.server.alert.signal.window", Long.class,
+                DEFAULT_WINDOW_SECONDS));
+        this.signals = Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .build();
+    }
+
+    /**
+     * Record an alert created from a signal
+     *
+     * @param category category of the audits the signalled usage is collected for
+     * @param subject what the signalled usage belongs to, null for the whole vm
+     * @param alert {@link Alert} created from the signal
+     */
+    public void record(String category, String subject, Alert alert) {
+        signals.put(key(alert.getAgent(), alert.getVmId(), category, subject, alert.getImportance()),
+                alert.getAuditTimeStamp());
+    }
+
+    /**
+     * @param audit analyzed {@link Audit}
+     * @param alert {@link Alert} generated for the audit
+     * @return true if an alert of the same subject and importance was signalled for the vm and category of the audit
+     * close to its time, false otherwise
+     */
+    public boolean covers(Audit audit, Alert alert) {
+        LocalDateTime signalled = signals.getIfPresent(key(audit.getAgent(), audit.getVmId(), audit.getCategory(),
+                subjectOf(alert.getMessage()), alert.getImportance()));
+        return signalled != null && alert.getAuditTimeStamp() != null
+                && Duration.between(signalled, alert.getAuditTimeStamp()).abs().compareTo(window) <= 0;
+    }
+
+    private static String subjectOf(String message) {
+        // The value is numeric, so the last separator ends the subject even if the subject holds one
+        int separator = message == null ? -1 : message.lastIndexOf(SUBJECT_SEPARATOR);
+        return separator < 0 ? null : message.substring(0, separator);
+    }
+
+    private static Key key(Agent agent, String vmId, String category, String subject, Alert.Importance importance) {
+        return new Key(agent != null ? agent.getId() : null, vmId, category, subject, importance);
+    }
+
+    private record Key(UUID agentId, String vmId, String category, String subject, Alert.Importance importance) {
+    }
+}
@@ -0,0 +1,9 @@
+/**
+ * This package contains the classes creating alerts from the threshold breaches signalled by the agents, without
+ * waiting for the {@link org.dockit.dockitserver.entities.Audit} to be analyzed.
+ *
+ * @since 1.0
+ * @author Aziz Serin
+ * @version 1.0
+ */
+package org.dockit.dockitserver.analyze.signal;
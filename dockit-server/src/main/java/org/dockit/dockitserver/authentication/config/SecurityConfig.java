@@ -1,5 +1,6 @@
 package org.dockit.dockitserver.authentication.config;
 
+import jakarta.servlet.DispatcherType;
 import org.dockit.dockitserver.authentication.filters.APIKeyAuthenticationFilter;
 import org.dockit.dockitserver.authentication.filters.JwtAuthenticationFilter;
 import org.springframework.boot.web.servlet.FilterRegistrationBean;
@@ -42,8 +43,12 @@ public class SecurityConfig {
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http.csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests((authz) -> authz
+                        // Streamed responses are written on an async dispatch of an already authorised request
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers("/api/authenticate/**").permitAll()
-                        .requestMatchers("/actuator/**").permitAll()
+                        // Probes are open, the metrics of the server are only readable by super admins
+                        .requestMatchers("/actuator/health/**").permitAll()
+                        .requestMatchers("/actuator/metrics/**").hasAuthority("SUPER")
                         .anyRequest().authenticated())
                 .sessionManagement((sessionManagement) -> sessionManagement
                         .sessionCreationPolicy(SessionCreationPolicy.STATELESS))
@@ -80,7 +85,7 @@ public class SecurityConfig {
         FilterRegistrationBean<JwtAuthenticationFilter> registrationBean = new FilterRegistrationBean<>();
         registrationBean.setFilter(new JwtAuthenticationFilter());
         registrationBean.addUrlPatterns("/api/admin/**", "/api/audit/**", "/api/agent/**", "/api/apiKey/**",
-                "/api/alert/**");
+                "/api/alert/**", "/actuator/metrics/**");
         return registrationBean;
     }
 }
@@ -2,10 +2,13 @@ package org.dockit.dockitserver.authentication.services;
 
 import jakarta.servlet.http.HttpServletRequest;
 import org.dockit.dockitserver.authentication.authentication.APIKeyAuthentication;
+import org.dockit.dockitserver.caching.CacheNames;
 import org.dockit.dockitserver.entities.APIKey;
-import org.dockit.dockitserver.entities.Agent;
+import org.dockit.dockitserver.security.apikeys.APIKeyDigest;
 import org.dockit.dockitserver.services.templates.APIKeyService;
 import org.dockit.dockitserver.services.templates.AgentService;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.authority.AuthorityUtils;
@@ -15,6 +18,9 @@ import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
 
 /**
  * Authentication service responsible for the generation of {@link APIKeyAuthentication} object for API key
@@ -23,16 +29,21 @@ import java.util.List;
 @Component
 public class APIKeyAuthenticationService {
     private static final String AUTH_TOKEN_HEADER_NAME = "X-API-KEY";
+    private static final PasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
     private static APIKeyService apiKeyService;
     private static AgentService agentService;
+    private static CacheManager cacheManager;
 
     /**
      * @param apiKeyService {@link APIKeyService} object to be injected
      * @param agentService {@link AgentService} object to be injected
+     * @param cacheManager {@link CacheManager} object to be injected
      */
-    public APIKeyAuthenticationService(APIKeyService apiKeyService, AgentService agentService) {
+    public APIKeyAuthenticationService(APIKeyService apiKeyService, AgentService agentService,
+                                       CacheManager cacheManager) {
         APIKeyAuthenticationService.apiKeyService = apiKeyService;
         APIKeyAuthenticationService.agentService = agentService;
+        APIKeyAuthenticationService.cacheManager = cacheManager;
     }
 
     /**
@@ -45,36 +56,42 @@ public class APIKeyAuthenticationService {
      */
     public static Authentication getAuthentication(HttpServletRequest request) throws BadCredentialsException {
         String apiKey = request.getHeader(AUTH_TOKEN_HEADER_NAME);
-        if (apiKey == null || !validAPIKey(apiKey)) {
+        if (apiKey == null) {
+            throw new BadCredentialsException("Invalid API Key!");
+        }
+        Optional<UUID> agentId = findAgentIdForAPIKey(apiKey);
+        if (agentId.isEmpty()) {
             throw new BadCredentialsException("Invalid API Key!");
         }
         // Update the last active time before authentication is created and after an api key is validated.
-        updateLastActiveTimeForAgent(apiKey);
+        agentService.updateLastActiveTime(agentId.get(), LocalDateTime.now());
         return new APIKeyAuthentication(apiKey, AuthorityUtils.NO_AUTHORITIES);
     }
 
-    private static boolean validAPIKey(String apiKey) {
-        List<APIKey> keys = apiKeyService.findAll();
-
-        return keys.stream()
-                .map(APIKey::getToken)
-                .anyMatch(key -> {
-                    PasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
-                    return passwordEncoder.matches(apiKey, key);
-                });
+    private static Optional<UUID> findAgentIdForAPIKey(String apiKey) {
+        String lookupDigest = APIKeyDigest.digest(apiKey);
+        Cache verifiedKeys = Objects.requireNonNull(cacheManager.getCache(CacheNames.VERIFIED_API_KEY));
+        // Key was already verified, skip the hash comparison
+        UUID cachedAgentId = verifiedKeys.get(lookupDigest, UUID.class);
+        if (cachedAgentId != null) {
+            return Optional.of(cachedAgentId);
+        }
+        Optional<APIKey> key = findMatchingKey(apiKey, apiKeyService.findAllByLookupDigest(lookupDigest));
+        if (key.isEmpty()) {
+            // Keys issued before lookup digests were stored can only be found by comparing against their hashes
+            key = findMatchingKey(apiKey, apiKeyService.findAllWithoutLookupDigest());
+        }
+        if (key.isEmpty()) {
+            return Optional.empty();
+        }
+        UUID agentId = key.get().getAgent().getId();
+        verifiedKeys.put(lookupDigest, agentId);
+        return Optional.of(agentId);
     }
 
-    private static void updateLastActiveTimeForAgent(String apiKey) {
-        List<APIKey> keys = apiKeyService.findAll();
-        // This method will be called after validating the key, so just getting the agent is fine
-        Agent agent = keys.stream()
-                .filter(key -> {
-                    PasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
-                    return passwordEncoder.matches(apiKey, key.getToken());
-                }).map(APIKey::getAgent)
-                .toList()
-                .get(0);
-        // Update the last active time of the agent with now
-        agentService.updateLastActiveTime(agent.getId(), LocalDateTime.now());
+    private static Optional<APIKey> findMatchingKey(String apiKey, List<APIKey> candidates) {
+        return candidates.stream()
+                .filter(key -> passwordEncoder.matches(apiKey, key.getToken()))
+                .findFirst();
     }
 }
@@ -40,6 +40,10 @@ public class CacheConfig {
 
         cacheManager.registerCustomCache(CacheNames.API_KEY,
                 buildCache(15, config.getMaxAdminCacheSize().intValue(), 1));
+
+        // Verified api keys are evicted on deletion, expiry only bounds how long an idle agent stays cached
+        cacheManager.registerCustomCache(CacheNames.VERIFIED_API_KEY,
+                buildCache(15, config.getMaxAccessTokenCacheSize().intValue(), 1));
         return cacheManager;
     }
 
@@ -8,4 +8,5 @@ public final class CacheNames {
     public static final String AUDIT = "audit";
     public static final String ADMIN = "admin";
     public static final String API_KEY = "api_key";
+    public static final String VERIFIED_API_KEY = "verified_api_key";
 }
@@ -1,12 +1,20 @@
 package org.dockit.dockitserver.controllers;
 
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import org.dockit.dockitserver.controllers.utils.AuditChangeResolver;
 import org.dockit.dockitserver.controllers.utils.ParameterValidator;
+import org.dockit.dockitserver.controllers.utils.WriteProcessor;
 import org.dockit.dockitserver.entities.APIKey;
 import org.dockit.dockitserver.entities.Agent;
 import org.dockit.dockitserver.entities.utils.EntityCreator;
 import org.dockit.dockitserver.exceptions.security.key.KeyStoreException;
 import org.dockit.dockitserver.security.key.KeyHandler;
 import org.dockit.dockitserver.security.keystore.KeyStoreHandler;
+import org.dockit.dockitserver.sender.AgentRequestConstants;
+import org.dockit.dockitserver.sender.AgentRequestSender;
 import org.dockit.dockitserver.services.templates.APIKeyService;
 import org.dockit.dockitserver.services.templates.AgentService;
 import org.springframework.http.MediaType;
@@ -29,6 +37,7 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Base64;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -44,19 +53,29 @@ public class AgentController {
     private final APIKeyService apiKeyService;
     private final KeyHandler keyHandler;
     private final KeyStoreHandler keyStoreHandler;
+    private final AgentRequestSender agentRequestSender;
+    private final WriteProcessor writeProcessor;
+    private final AuditChangeResolver auditChangeResolver;
 
     /**
      * @param agentService {@link AgentService} to be injected
      * @param apiKeyService {@link APIKeyService} to be injected
      * @param keyHandler {@link KeyHandler} to be injected
      * @param keyStoreHandler {@link KeyStoreHandler} to be injected
+     * @param agentRequestSender {@link AgentRequestSender} to be injected
+     * @param writeProcessor {@link WriteProcessor} to be injected
+     * @param auditChangeResolver {@link AuditChangeResolver} to be injected
      */
     public AgentController(AgentService agentService, APIKeyService apiKeyService, KeyHandler keyHandler,
-                           KeyStoreHandler keyStoreHandler) {
+                           KeyStoreHandler keyStoreHandler, AgentRequestSender agentRequestSender,
+                           WriteProcessor writeProcessor, AuditChangeResolver auditChangeResolver) {
         this.agentService = agentService;
         this.apiKeyService = apiKeyService;
         this.keyHandler = keyHandler;
         this.keyStoreHandler = keyStoreHandler;
+        this.agentRequestSender = agentRequestSender;
+        this.writeProcessor = writeProcessor;
+        this.auditChangeResolver = auditChangeResolver;
     }
 
     /**
@@ -184,6 +203,7 @@ public class AgentController {
         apiKey.ifPresent(key -> apiKeyService.deleteById(key.getId()));
         agentService.deleteById(id);
         keyStoreHandler.deleteKey(String.valueOf(id));
+        auditChangeResolver.evict(id);
         return ResponseEntity.ok().build();
     }
 
@@ -264,4 +284,78 @@ public class AgentController {
         }
         return ResponseEntity.ok().build();
     }
+
+    /**
+     * Push the alert thresholds of the server to a given agent, so it can signal breaches as soon as it detects them
+     *
+     * @param id id of the agent to push the thresholds to
+     * @return Response entity containing the response
+     */
+    @PostMapping("/thresholds")
+    @PreAuthorize("hasAnyAuthority('SUPER', 'EDITOR')")
+    public ResponseEntity<?> pushThresholds(@RequestParam(name = "id") UUID id) {
+        Optional<Agent> agent = agentService.findById(id);
+        if (agent.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (!agentRequestSender.sendThresholdsRequest(agent.get())) {
+            return ResponseEntity.internalServerError().body("Could not send the thresholds to the agent!");
+        }
+        return ResponseEntity.ok().build();
+    }
+
+    /**
+     * Pull the samples a given agent kept in its metric history for a time range, at the resolution they were
+     * sampled at, such as around the time of an alert
+     *
+     * @param id id of the agent to pull the samples from
+     * @param from start of the range in milliseconds since the epoch, inclusive
+     * @param to end of the range in milliseconds since the epoch, inclusive
+     * @param category optional, category of the samples to be pulled
+     * @return Response entity containing the response, with the fields: <br>
+     *             "samples" -> json list of the samples, each having the fields "timeStamp" in milliseconds since
+     *             the epoch, "category" and "data", the collected data as json, the records of a list valued category
+     *             being a json array <br>
+     *             "next" -> present if the agent capped the samples of the range, time to pull the rest of the range
+     *             from <br>
+     */
+    @GetMapping("/history")
+    @PreAuthorize("hasAnyAuthority('SUPER', 'EDITOR', 'VIEWER')")
+    public ResponseEntity<?> pullHistory(@RequestParam(name = "id") UUID id, @RequestParam(name = "from") long from,
+                                         @RequestParam(name = "to") long to,
+                                         @RequestParam(name = "category", required = false) String category) {
+        if (from > to) {
+            return ResponseEntity.badRequest().body("Invalid request!");
+        }
+        Optional<Agent> agent = agentService.findById(id);
+        if (agent.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        Optional<String> response = agentRequestSender.sendHistoryRequest(agent.get(), from, to, category);
+        if (response.isEmpty()) {
+            return ResponseEntity.internalServerError().body("Could not pull the history of the agent!");
+        }
+
+        JsonObject history = new JsonObject();
+        try {
+            Map<?, ?> body = new Gson().fromJson(response.get(), Map.class);
+            if (body != null && body.get(AgentRequestConstants.DATA) instanceof String data) {
+                String encoding = body.get(AgentRequestConstants.ENCODING) instanceof String value ? value : null;
+                Optional<String> samples = writeProcessor.decrypt(agent.get(), List.of(data),
+                        Collections.singletonList(encoding)).get(0);
+                if (samples.isPresent()) {
+                    history.add("samples", JsonParser.parseString(samples.get()));
+                }
+                if (body.get(AgentRequestConstants.NEXT) instanceof Number next) {
+                    history.addProperty("next", next.longValue());
+                }
+            }
+        } catch (JsonParseException ignored) {
+            // Malformed responses are reported the same way as the ones which cannot be decrypted
+        }
+        if (!history.has("samples")) {
+            return ResponseEntity.internalServerError().body("Could not decrypt the history of the agent!");
+        }
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(history.toString());
+    }
 }
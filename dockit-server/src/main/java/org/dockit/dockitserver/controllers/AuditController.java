@@ -1,10 +1,13 @@
 package org.dockit.dockitserver.controllers;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.dockit.dockitserver.controllers.utils.AuditCursor;
 import org.dockit.dockitserver.controllers.utils.AuditDataDecryptFromDatabase;
 import org.dockit.dockitserver.entities.Audit;
 import org.dockit.dockitserver.exceptions.encryption.EncryptionException;
 import org.dockit.dockitserver.exceptions.security.key.KeyStoreException;
 import org.dockit.dockitserver.services.templates.AuditService;
+import org.springframework.core.env.Environment;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.NonNull;
@@ -14,8 +17,13 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -25,16 +33,30 @@ import java.util.UUID;
 @RestController
 @RequestMapping(path = "/api/audit", produces = {MediaType.APPLICATION_JSON_VALUE})
 public class AuditController {
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int DEFAULT_MAX_PAGE_SIZE = 500;
+
     private final AuditService auditService;
     private final AuditDataDecryptFromDatabase decryptor;
+    private final ObjectMapper objectMapper;
+    private final int defaultPageSize;
+    private final int maxPageSize;
 
     /**
      * @param auditService {@link AuditService} object to be injected
      * @param decryptor {@link AuditDataDecryptFromDatabase} object to be injected
+     * @param objectMapper {@link ObjectMapper} object to be injected
+     * @param environment {@link Environment} containing config from application.properties
      */
-    public AuditController(AuditService auditService, AuditDataDecryptFromDatabase decryptor) {
+    public AuditController(AuditService auditService, AuditDataDecryptFromDatabase decryptor,
+                           ObjectMapper objectMapper, Environment environment) {
         this.auditService = auditService;
         this.decryptor = decryptor;
+        this.objectMapper = objectMapper;
+        this.maxPageSize = environment.getProperty("dockit.server.audit.page.max-size", Integer.class,
+                DEFAULT_MAX_PAGE_SIZE);
+        this.defaultPageSize = Math.min(environment.getProperty("dockit.server.audit.page.default-size",
+                Integer.class, DEFAULT_PAGE_SIZE), maxPageSize);
     }
 
     /**
@@ -180,6 +202,99 @@ public class AuditController {
         }
     }
 
+    /**
+     * Returns a page of audits sorted by timeStamp and id. The returned nextCursor is passed back to get the
+     * following page, and is missing once the last page is reached. Page size is capped by
+     * dockit.server.audit.page.max-size.
+     *
+     * @param vmId vmId string to filter through audits, optional
+     * @param category category string to filter through audits, optional
+     * @param isAscending specify the order to be sorted
+     * @param cursor cursor returned by the previous page, optional
+     * @param size requested amount of audits in the page, optional
+     * @return Response entity containing the response
+     */
+    @GetMapping("/page")
+    @PreAuthorize("hasAnyAuthority('SUPER', 'EDITOR', 'VIEWER')")
+    public ResponseEntity<?> getPage(@RequestParam(name = "vmId", required = false) String vmId,
+                                     @RequestParam(name = "category", required = false) String category,
+                                     @RequestParam(name = "isAscending", defaultValue = "true") boolean isAscending,
+                                     @RequestParam(name = "cursor", required = false) String cursor,
+                                     @RequestParam(name = "size", required = false) Integer size) {
+        if (size != null && size < 1) {
+            return ResponseEntity.badRequest().build();
+        }
+        int pageSize = size == null ? defaultPageSize : Math.min(size, maxPageSize);
+        Optional<AuditCursor> auditCursor = Optional.empty();
+        if (cursor != null) {
+            auditCursor = AuditCursor.decode(cursor);
+            if (auditCursor.isEmpty()) {
+                return ResponseEntity.badRequest().build();
+            }
+        }
+        // Fetch one extra row to know whether another page exists
+        List<Audit> audits = auditService.findPage(vmId, category,
+                auditCursor.map(AuditCursor::getTimeStamp).orElse(null),
+                auditCursor.map(AuditCursor::getId).orElse(null),
+                isAscending, pageSize + 1);
+        boolean hasNext = audits.size() > pageSize;
+        if (hasNext) {
+            audits = audits.subList(0, pageSize);
+        }
+        try {
+            Map<String, Object> body = new HashMap<>();
+            body.put("audits", decryptor.decryptAudits(audits));
+            if (hasNext) {
+                body.put("nextCursor", AuditCursor.of(audits.get(audits.size() - 1)).encode());
+            }
+            return ResponseEntity.ok().body(body);
+        } catch (EncryptionException | KeyStoreException e) {
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    /**
+     * Streams audits sorted by timeStamp and id as newline delimited json. Audits are fetched and decrypted page by
+     * page, so the whole history is never held in memory at once.
+     *
+     * @param vmId vmId string to filter through audits, optional
+     * @param category category string to filter through audits, optional
+     * @param isAscending specify the order to be sorted
+     * @return Response entity containing the response
+     */
+    @GetMapping(path = "/stream", produces = {MediaType.APPLICATION_NDJSON_VALUE})
+    @PreAuthorize("hasAnyAuthority('SUPER', 'EDITOR', 'VIEWER')")
+    public ResponseEntity<StreamingResponseBody> stream(
+            @RequestParam(name = "vmId", required = false) String vmId,
+            @RequestParam(name = "category", required = false) String category,
+            @RequestParam(name = "isAscending", defaultValue = "true") boolean isAscending) {
+        List<Audit> firstPage;
+        try {
+            // Decrypt the first page before committing the response, so key problems still end up in the status
+            firstPage = decryptor.decryptAudits(auditService.findPage(vmId, category, null, null,
+                    isAscending, maxPageSize));
+        } catch (EncryptionException | KeyStoreException e) {
+            return ResponseEntity.internalServerError().build();
+        }
+        StreamingResponseBody body = outputStream -> {
+            List<Audit> page = firstPage;
+            while (!page.isEmpty()) {
+                writeAudits(page, outputStream);
+                if (page.size() < maxPageSize) {
+                    break;
+                }
+                AuditCursor cursor = AuditCursor.of(page.get(page.size() - 1));
+                try {
+                    page = decryptor.decryptAudits(auditService.findPage(vmId, category, cursor.getTimeStamp(),
+                            cursor.getId(), isAscending, maxPageSize));
+                } catch (EncryptionException | KeyStoreException e) {
+                    throw new IOException("Could not decrypt the audits", e);
+                }
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
     /**
      * Deletes all given audits using their ids
      *
@@ -209,4 +324,12 @@ public class AuditController {
         auditService.deleteById(uuid);
         return ResponseEntity.ok().build();
     }
+
+    private void writeAudits(List<Audit> audits, OutputStream outputStream) throws IOException {
+        for (Audit audit : audits) {
+            outputStream.write(objectMapper.writeValueAsBytes(audit));
+            outputStream.write('\n');
+        }
+        outputStream.flush();
+    }
 }
@@ -1,5 +1,7 @@
 package org.dockit.dockitserver.controllers;
 
+import org.dockit.dockitserver.analyze.signal.AlertSignalProcessor;
+import org.dockit.dockitserver.controllers.utils.AuditChangeResolver;
 import org.dockit.dockitserver.controllers.utils.ParameterValidator;
 import org.dockit.dockitserver.controllers.utils.WriteProcessor;
 import org.dockit.dockitserver.entities.Agent;
@@ -7,6 +9,11 @@ import org.dockit.dockitserver.entities.Audit;
 import org.dockit.dockitserver.entities.utils.EntityCreator;
 import org.dockit.dockitserver.services.templates.AgentService;
 import org.dockit.dockitserver.services.templates.AuditService;
+import org.dockit.dockitserver.wire.FrameDecoder;
+import org.dockit.dockitserver.wire.PayloadEncoding;
+import org.dockit.dockitserver.wire.WireConstants;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.NonNull;
@@ -15,8 +22,15 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import java.nio.ByteBuffer;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
@@ -27,23 +41,39 @@ import java.util.UUID;
 @RestController
 @RequestMapping(path = "/api/write", produces = {MediaType.APPLICATION_JSON_VALUE})
 public class WriteController {
+    private static final int DEFAULT_MAX_BATCH_SIZE = 500;
+    private static final String UNKNOWN_BASE = "Unknown base snapshot, a keyframe is required!";
+    private static final String UNSUPPORTED_ENCODING = "Unsupported encoding!";
+
     private final AuditService auditService;
     private final AgentService agentService;
     private final WriteProcessor writeProcessor;
+    private final AuditChangeResolver auditChangeResolver;
+    private final AlertSignalProcessor alertSignalProcessor;
+    private final int maxBatchSize;
 
     /**
      * @param auditService {@link AuditService} object to be injected
      * @param writeProcessor {@link WriteProcessor} object to be injected
      * @param agentService {@link AgentService} object to be injected
+     * @param auditChangeResolver {@link AuditChangeResolver} object to be injected
+     * @param alertSignalProcessor {@link AlertSignalProcessor} object to be injected
+     * @param environment {@link Environment} containing config from application.properties
      */
-    public WriteController(AuditService auditService, WriteProcessor writeProcessor, AgentService agentService) {
+    public WriteController(AuditService auditService, WriteProcessor writeProcessor, AgentService agentService,
+                           AuditChangeResolver auditChangeResolver, AlertSignalProcessor alertSignalProcessor,
+                           Environment environment) {
         this.auditService = auditService;
         this.agentService = agentService;
         this.writeProcessor = writeProcessor;
+        this.auditChangeResolver = auditChangeResolver;
+        this.alertSignalProcessor = alertSignalProcessor;
+        this.maxBatchSize = environment.getProperty("dockit.server.write.batch.max-size", Integer.class,
+                DEFAULT_MAX_BATCH_SIZE);
     }
 
     /**
-     * Creates a new {@link Audit} entry
+     * Creates a new {@link Audit} entry. Data sent as a change by the agent is resolved to the full snapshot first.
      *
      * @param body should contain the parameters: <br>
      *             "vmId" -> vmId string for the audit <br>
@@ -51,20 +81,25 @@ public class WriteController {
      *             "timeStamp" -> timeStamps string in <br>
      *             "data" -> data string
      *             <a href="https://www.iso.org/iso-8601-date-and-time-format.html">ISO Local Date Time format</a> <br>
+     *             "encoding" -> optional, "deflate" if the data was compressed before being encrypted <br>
      * @param id id of an {@link Agent} which sent the request
      * @return Response entity containing the response
      */
     @PostMapping
     public ResponseEntity<?> write(@RequestBody @NonNull Map<String, ?> body, @RequestParam(name = "id") UUID id) {
-        // Here check if the request contains required parameters, decrypt the data, create audit entity using it,
-        // encrypt it using db key, then save it
+        // Here check if the request contains required parameters, decrypt the data, resolve it if it is a change,
+        // create audit entity using it, encrypt it using db key, then save it
         String vmId = (String) body.get("vmId");
         String category = (String) body.get("category");
         Optional<LocalDateTime> timeStamp = parseTimeStamp((String) body.get("timeStamp"));
         String data = (String) body.get("data");
+        String encoding = getString(body, "encoding");
         if (ParameterValidator.invalid(vmId, category, data)) {
             return ResponseEntity.badRequest().body("Invalid Request!");
         }
+        if (!PayloadEncoding.isSupported(encoding)) {
+            return ResponseEntity.badRequest().body(UNSUPPORTED_ENCODING);
+        }
         if (timeStamp.isEmpty()) {
             return ResponseEntity.badRequest().body("Invalid time format! Should comply with ISO format!");
         }
@@ -73,13 +108,204 @@ public class WriteController {
             return ResponseEntity.badRequest().body("Invalid Request!");
         }
 
-        Optional<String> dataToWrite = writeProcessor.process(agent.get(), data);
+        Optional<String> decryptedData = writeProcessor.decrypt(agent.get(), List.of(data), Arrays.asList(encoding))
+                .get(0);
+        return store(agent.get(), vmId, category, timeStamp.get(), decryptedData);
+    }
+
+    /**
+     * Creates a new {@link Audit} entry from a binary request, holding a single audit in the format described in
+     * {@link FrameDecoder}. The payload is decrypted in place and its binary records are decoded to the same data the
+     * json endpoint stores.
+     *
+     * @param body body of the request
+     * @param id id of an {@link Agent} which sent the request
+     * @return Response entity containing the response
+     */
+    @PostMapping(consumes = WireConstants.MEDIA_TYPE)
+    public ResponseEntity<?> writeBinary(@RequestBody @NonNull byte[] body, @RequestParam(name = "id") UUID id) {
+        Optional<List<FrameDecoder.Frame>> frames = FrameDecoder.decode(ByteBuffer.wrap(body));
+        if (frames.isEmpty() || frames.get().size() != 1) {
+            return ResponseEntity.badRequest().body("Invalid Request!");
+        }
+        FrameDecoder.Frame frame = frames.get().get(0);
+        if (ParameterValidator.invalid(frame.getVmId(), frame.getCategory())) {
+            return ResponseEntity.badRequest().body("Invalid Request!");
+        }
+        Optional<Agent> agent = agentService.findById(id);
+        if (agent.isEmpty()) {
+            return ResponseEntity.badRequest().body("Invalid Request!");
+        }
+
+        Optional<String> decryptedData = writeProcessor.decryptPayloads(agent.get(), List.of(frame.getPayload()),
+                List.of(frame.getEncoding())).get(0);
+        return store(agent.get(), frame.getVmId(), frame.getCategory(), frame.getTimeStamp(), decryptedData);
+    }
+
+    /**
+     * Creates new {@link Audit} entries from a batch sent by an agent. Valid entries are decrypted together and saved
+     * in a single batch, invalid entries are reported without affecting the rest.
+     *
+     * @param body list of audits, each should contain the parameters: <br>
+     *             "vmId" -> vmId string for the audit <br>
+     *             "category" -> category string for the audit <br>
+     *             "timeStamp" -> timeStamps string in <br>
+     *             "data" -> data string
+     *             <a href="https://www.iso.org/iso-8601-date-and-time-format.html">ISO Local Date Time format</a> <br>
+     *             "encoding" -> optional, "deflate" if the data was compressed before being encrypted <br>
+     * @param id id of an {@link Agent} which sent the request
+     * @return Response entity containing a status for each entry of the batch, in the same order: <br>
+     *             "index" -> position of the entry in the batch <br>
+     *             "status" -> 200 if saved, 400 if the entry is invalid, 409 if it is a change against an unknown
+     *             snapshot, 500 if it could not be decrypted <br>
+     *             "message" -> reason of the failure, only for failed entries
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<?> writeBatch(@RequestBody @NonNull List<Map<String, ?>> body,
+                                        @RequestParam(name = "id") UUID id) {
+        if (body.size() > maxBatchSize) {
+            return ResponseEntity.badRequest().body("Batch size exceeds the limit of %d!".formatted(maxBatchSize));
+        }
+        Optional<Agent> agent = agentService.findById(id);
+        if (agent.isEmpty()) {
+            return ResponseEntity.badRequest().body("Invalid Request!");
+        }
+
+        List<Map<String, Object>> statuses = new ArrayList<>(Collections.nCopies(body.size(), null));
+        List<PendingAudit> pendingAudits = new ArrayList<>();
+        List<String> encryptedData = new ArrayList<>();
+        List<String> encodings = new ArrayList<>();
+        for (int i = 0; i < body.size(); i++) {
+            Map<String, ?> item = body.get(i);
+            if (item == null || ParameterValidator.invalid(getString(item, "vmId"), getString(item, "category"),
+                    getString(item, "data"))) {
+                statuses.set(i, itemStatus(i, 400, "Invalid Request!"));
+                continue;
+            }
+            Optional<LocalDateTime> timeStamp = parseTimeStamp(getString(item, "timeStamp"));
+            if (timeStamp.isEmpty()) {
+                statuses.set(i, itemStatus(i, 400, "Invalid time format! Should comply with ISO format!"));
+                continue;
+            }
+            if (!PayloadEncoding.isSupported(getString(item, "encoding"))) {
+                statuses.set(i, itemStatus(i, 400, UNSUPPORTED_ENCODING));
+                continue;
+            }
+            pendingAudits.add(new PendingAudit(i, getString(item, "vmId"), getString(item, "category"),
+                    timeStamp.get()));
+            encryptedData.add(getString(item, "data"));
+            encodings.add(getString(item, "encoding"));
+        }
+
+        List<Optional<String>> decryptedData = writeProcessor.decrypt(agent.get(), encryptedData, encodings);
+        storeBatch(agent.get(), pendingAudits, decryptedData, statuses);
+        return ResponseEntity.ok().body(statuses);
+    }
 
+    /**
+     * Creates new {@link Audit} entries from a binary request, holding a batch of audits in the format described in
+     * {@link FrameDecoder}. Statuses are reported as in {@link #writeBatch(List, UUID)}.
+     *
+     * @param body body of the request
+     * @param id id of an {@link Agent} which sent the request
+     * @return Response entity containing a status for each audit of the batch, in the same order
+     */
+    @PostMapping(path = "/batch", consumes = WireConstants.MEDIA_TYPE)
+    public ResponseEntity<?> writeBatchBinary(@RequestBody @NonNull byte[] body,
+                                              @RequestParam(name = "id") UUID id) {
+        Optional<List<FrameDecoder.Frame>> frames = FrameDecoder.decode(ByteBuffer.wrap(body));
+        if (frames.isEmpty()) {
+            return ResponseEntity.badRequest().body("Invalid Request!");
+        }
+        if (frames.get().size() > maxBatchSize) {
+            return ResponseEntity.badRequest().body("Batch size exceeds the limit of %d!".formatted(maxBatchSize));
+        }
+        Optional<Agent> agent = agentService.findById(id);
+        if (agent.isEmpty()) {
+            return ResponseEntity.badRequest().body("Invalid Request!");
+        }
+
+        List<Map<String, Object>> statuses = new ArrayList<>(Collections.nCopies(frames.get().size(), null));
+        List<PendingAudit> pendingAudits = new ArrayList<>();
+        List<ByteBuffer> payloads = new ArrayList<>();
+        List<String> encodings = new ArrayList<>();
+        for (int i = 0; i < frames.get().size(); i++) {
+            FrameDecoder.Frame frame = frames.get().get(i);
+            if (ParameterValidator.invalid(frame.getVmId(), frame.getCategory())) {
+                statuses.set(i, itemStatus(i, 400, "Invalid Request!"));
+                continue;
+            }
+            pendingAudits.add(new PendingAudit(i, frame.getVmId(), frame.getCategory(), frame.getTimeStamp()));
+            payloads.add(frame.getPayload());
+            encodings.add(frame.getEncoding());
+        }
+
+        List<Optional<String>> decryptedData = writeProcessor.decryptPayloads(agent.get(), payloads, encodings);
+        storeBatch(agent.get(), pendingAudits, decryptedData, statuses);
+        return ResponseEntity.ok().body(statuses);
+    }
+
+    /**
+     * Creates an {@link org.dockit.dockitserver.entities.Alert} from a threshold breach signalled by an agent as soon
+     * as it was detected. The signal is not encrypted, so the alert is created without decrypting and analyzing an
+     * audit, and its subject is received in clear text. The usage sent by the agent is evaluated with the same
+     * thresholds as the analyzers, it is trusted like the data of the audits.
+     *
+     * @param body should contain the parameters: <br>
+     *             "vmId" -> vmId string the usage belongs to <br>
+     *             "category" -> category of the audits the usage is collected for, see
+     *             {@link AlertSignalProcessor#CATEGORIES} <br>
+     *             "value" -> usage in percentage <br>
+     *             "subject" -> optional, what the usage belongs to, such as the name of a file system <br>
+     *             "timeStamp" -> time of the detection in
+     *             <a href="https://www.iso.org/iso-8601-date-and-time-format.html">ISO Local Date Time format</a> <br>
+     *             "detectedAt" -> time of the detection in milliseconds since the epoch <br>
+     * @param id id of an {@link Agent} which sent the request
+     * @return Response entity containing the response, with the field: <br>
+     *             "latency" -> milliseconds from the detection until the alert was saved
+     */
+    @PostMapping("/alert")
+    public ResponseEntity<?> writeAlert(@RequestBody @NonNull Map<String, ?> body,
+                                        @RequestParam(name = "id") UUID id) {
+        String vmId = getString(body, "vmId");
+        String category = getString(body, "category");
+        Optional<LocalDateTime> timeStamp = parseTimeStamp(getString(body, "timeStamp"));
+        if (ParameterValidator.invalid(vmId, category) || !AlertSignalProcessor.CATEGORIES.contains(category)
+                || !(body.get("value") instanceof Number value)
+                || !(body.get("detectedAt") instanceof Number detectedAt)) {
+            return ResponseEntity.badRequest().body("Invalid Request!");
+        }
+        if (timeStamp.isEmpty()) {
+            return ResponseEntity.badRequest().body("Invalid time format! Should comply with ISO format!");
+        }
+        Optional<Agent> agent = agentService.findById(id);
+        if (agent.isEmpty()) {
+            return ResponseEntity.badRequest().body("Invalid Request!");
+        }
+
+        Optional<Duration> latency = alertSignalProcessor.process(agent.get(), vmId, category, value.doubleValue(),
+                getString(body, "subject"), timeStamp.get(), detectedAt.longValue());
+        if (latency.isEmpty()) {
+            return ResponseEntity.badRequest().body("Usage does not exceed any alert threshold!");
+        }
+        return ResponseEntity.ok().body(Map.of("latency", latency.get().toMillis()));
+    }
+
+    private ResponseEntity<?> store(Agent agent, String vmId, String category, LocalDateTime timeStamp,
+                                    Optional<String> decryptedData) {
+        if (decryptedData.isEmpty()) {
+            return ResponseEntity.internalServerError().build();
+        }
+        Optional<String> resolvedData = auditChangeResolver.resolve(agent.getId(), vmId, category,
+                decryptedData.get());
+        if (resolvedData.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(UNKNOWN_BASE);
+        }
+        Optional<String> dataToWrite = writeProcessor.encrypt(List.of(resolvedData.get())).get(0);
         if (dataToWrite.isEmpty()) {
             return ResponseEntity.internalServerError().build();
         }
-        Optional<Audit> audit = EntityCreator.createAudit(vmId, category, timeStamp.get(), dataToWrite.get(),
-                agent.get());
+        Optional<Audit> audit = EntityCreator.createAudit(vmId, category, timeStamp, dataToWrite.get(), agent);
         if (audit.isEmpty()) {
             return ResponseEntity.badRequest().body("Invalid request!");
         }
@@ -88,7 +314,72 @@ public class WriteController {
         return ResponseEntity.ok().build();
     }
 
+    private void storeBatch(Agent agent, List<PendingAudit> pendingAudits, List<Optional<String>> decryptedData,
+                            List<Map<String, Object>> statuses) {
+        // Changes are resolved in the order of the batch, so a delta can follow the keyframe it is based on
+        List<PendingAudit> resolvedAudits = new ArrayList<>();
+        List<String> resolvedData = new ArrayList<>();
+        for (int j = 0; j < pendingAudits.size(); j++) {
+            PendingAudit pending = pendingAudits.get(j);
+            if (decryptedData.get(j).isEmpty()) {
+                statuses.set(pending.index, itemStatus(pending.index, 500, "Could not decrypt the data!"));
+                continue;
+            }
+            Optional<String> resolved = auditChangeResolver.resolve(agent.getId(), pending.vmId, pending.category,
+                    decryptedData.get(j).get());
+            if (resolved.isEmpty()) {
+                statuses.set(pending.index, itemStatus(pending.index, 409, UNKNOWN_BASE));
+                continue;
+            }
+            resolvedAudits.add(pending);
+            resolvedData.add(resolved.get());
+        }
+
+        List<Optional<String>> dataToWrite = writeProcessor.encrypt(resolvedData);
+        List<Audit> audits = new ArrayList<>();
+        List<Integer> auditIndexes = new ArrayList<>();
+        for (int j = 0; j < resolvedAudits.size(); j++) {
+            PendingAudit pending = resolvedAudits.get(j);
+            if (dataToWrite.get(j).isEmpty()) {
+                statuses.set(pending.index, itemStatus(pending.index, 500, "Could not encrypt the data!"));
+                continue;
+            }
+            Optional<Audit> audit = EntityCreator.createAudit(pending.vmId, pending.category, pending.timeStamp,
+                    dataToWrite.get(j).get(), agent);
+            if (audit.isEmpty()) {
+                statuses.set(pending.index, itemStatus(pending.index, 400, "Invalid request!"));
+                continue;
+            }
+            audits.add(audit.get());
+            auditIndexes.add(pending.index);
+        }
+
+        if (!audits.isEmpty()) {
+            auditService.save(audits);
+        }
+        for (int index : auditIndexes) {
+            statuses.set(index, itemStatus(index, 200, null));
+        }
+    }
+
+    private Map<String, Object> itemStatus(int index, int status, String message) {
+        Map<String, Object> itemStatus = new LinkedHashMap<>();
+        itemStatus.put("index", index);
+        itemStatus.put("status", status);
+        if (message != null) {
+            itemStatus.put("message", message);
+        }
+        return itemStatus;
+    }
+
+    private String getString(Map<String, ?> item, String key) {
+        return item.get(key) instanceof String value ? value : null;
+    }
+
     private Optional<LocalDateTime> parseTimeStamp(String time) {
+        if (time == null) {
+            return Optional.empty();
+        }
         try {
             LocalDateTime timeStamp = LocalDateTime.parse(time);
             return Optional.of(timeStamp);
@@ -96,4 +387,18 @@ public class WriteController {
             return Optional.empty();
         }
     }
+
+    private static final class PendingAudit {
+        private final int index;
+        private final String vmId;
+        private final String category;
+        private final LocalDateTime timeStamp;
+
+        private PendingAudit(int index, String vmId, String category, LocalDateTime timeStamp) {
+            this.index = index;
+            this.vmId = vmId;
+            this.category = category;
+            this.timeStamp = timeStamp;
+        }
+    }
 }
@@ -0,0 +1,158 @@
+package org.dockit.dockitserver.controllers.utils;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rebuilds the full snapshot of the audits sent by the agents with change only reporting enabled. Such audits hold a
+ * "dockit-change:" prefixed json header line followed by the body, and are either a keyframe holding the full
+ * snapshot, an unchanged heartbeat, or a delta against the previous snapshot. The last snapshot of each agent, vm and
+ * category is kept in a bounded cache, so the deltas are rejected until the next keyframe after a restart, or once the
+ * snapshot of an idle category was evicted.
+ */
+@Component
+public class AuditChangeResolver {
+    private static final Logger logger = LoggerFactory.getLogger(AuditChangeResolver.class);
+
+    private static final String PREFIX = "dockit-change:";
+    private static final String SEPARATOR = "\n";
+    private static final String KEYFRAME = "keyframe";
+    private static final String UNCHANGED = "unchanged";
+    private static final String DELTA = "delta";
+    private static final int MAXIMUM_SNAPSHOTS = 10_000;
+    private static final int EXPIRY_IN_HOURS = 1;
+
+    private final Cache<String, Snapshot> snapshots = Caffeine.newBuilder()
+            .maximumSize(MAXIMUM_SNAPSHOTS)
+            .expireAfterAccess(EXPIRY_IN_HOURS, TimeUnit.HOURS)
+            .build();
+
+    /**
+     * Resolve the decrypted data of an audit to the full snapshot it stands for
+     *
+     * @param agentId id of the agent which sent the audit
+     * @param vmId vm id of the audit
+     * @param category category of the audit
+     * @param data decrypted data of the audit
+     * @return {@link Optional} empty if the snapshot the data was encoded against is not known, the full snapshot
+     * otherwise. Data which is not encoded as a change is returned as it is.
+     */
+    public Optional<String> resolve(UUID agentId, String vmId, String category, String data) {
+        if (data == null || !data.startsWith(PREFIX)) {
+            return Optional.ofNullable(data);
+        }
+        int separator = data.indexOf(SEPARATOR);
+        if (separator < 0) {
+            return Optional.empty();
+        }
+        String id = prefix(agentId) + vmId + "/" + category;
+        String body = data.substring(separator + 1);
+        try {
+            JsonObject header = JsonParser.parseString(data.substring(PREFIX.length(), separator)).getAsJsonObject();
+            String type = getString(header, "type");
+            String hash = getString(header, "hash");
+            if (type == null || hash == null) {
+                return Optional.empty();
+            }
+            return switch (type) {
+                case KEYFRAME -> keyframe(id, hash, body);
+                case UNCHANGED -> unchanged(id, hash);
+                case DELTA -> delta(id, header, hash, body);
+                default -> Optional.empty();
+            };
+        } catch (JsonParseException | IllegalStateException | UnsupportedOperationException e) {
+            logger.error("Could not read the change of {}: {}", id, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Drop the snapshots of a deleted agent
+     *
+     * @param agentId id of the deleted agent
+     */
+    public void evict(UUID agentId) {
+        String prefix = prefix(agentId);
+        snapshots.asMap().keySet().removeIf(id -> id.startsWith(prefix));
+    }
+
+    private Optional<String> keyframe(String id, String hash, String body) {
+        if (!SnapshotDelta.hash(body).equals(hash)) {
+            return Optional.empty();
+        }
+        snapshots.put(id, new Snapshot(hash, body));
+        return Optional.of(body);
+    }
+
+    private Optional<String> unchanged(String id, String hash) {
+        Snapshot snapshot = snapshots.getIfPresent(id);
+        if (snapshot == null || !snapshot.hash.equals(hash)) {
+            logger.warn("Unknown base snapshot for {}, a keyframe is required", id);
+            return Optional.empty();
+        }
+        return Optional.of(snapshot.data);
+    }
+
+    private Optional<String> delta(String id, JsonObject header, String hash, String body) {
+        Snapshot snapshot = snapshots.getIfPresent(id);
+        if (snapshot == null || !snapshot.hash.equals(getString(header, "base"))) {
+            logger.warn("Unknown base snapshot for {}, a keyframe is required", id);
+            return Optional.empty();
+        }
+        JsonElement keyFields = header.get("key");
+        if (keyFields == null || !keyFields.isJsonArray()) {
+            return Optional.empty();
+        }
+        List<String> keys = new ArrayList<>();
+        for (JsonElement key : keyFields.getAsJsonArray()) {
+            keys.add(key.getAsString());
+        }
+        Map<String, JsonObject> entries = SnapshotDelta.parse(snapshot.data, keys);
+        if (!SnapshotDelta.apply(entries, JsonParser.parseString(body).getAsJsonObject(), keys)) {
+            return Optional.empty();
+        }
+        String data = SnapshotDelta.join(entries);
+        if (!SnapshotDelta.hash(data).equals(hash)) {
+            logger.warn("Rebuilt snapshot for {} does not match the hash of the agent", id);
+            return Optional.empty();
+        }
+        snapshots.put(id, new Snapshot(hash, data));
+        return Optional.of(data);
+    }
+
+    private static String prefix(UUID agentId) {
+        return agentId + "/";
+    }
+
+    private String getString(JsonObject header, String name) {
+        JsonElement element = header.get(name);
+        return element != null && element.isJsonPrimitive() ? element.getAsString() : null;
+    }
+
+    /**
+     * Last snapshot of a category along with its hash
+     */
+    private static final class Snapshot {
+        private final String hash;
+        private final String data;
+
+        private Snapshot(String hash, String data) {
+            this.hash = hash;
+            this.data = data;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package org.dockit.dockitserver.controllers.utils;
+
+import org.dockit.dockitserver.entities.Audit;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Opaque keyset cursor pointing at the (timeStamp, id) position of the last {@link Audit} returned in a page.
+ */
+public class AuditCursor {
+    private static final String SEPARATOR = "|";
+
+    private final LocalDateTime timeStamp;
+    private final UUID id;
+
+    private AuditCursor(LocalDateTime timeStamp, UUID id) {
+        this.timeStamp = timeStamp;
+        this.id = id;
+    }
+
+    /**
+     * Create a cursor positioned at the given audit
+     *
+     * @param audit {@link Audit} which was the last one in a page
+     * @return cursor for the next page
+     */
+    public static AuditCursor of(Audit audit) {
+        return new AuditCursor(audit.getTimeStamp(), audit.getId());
+    }
+
+    /**
+     * Decode a cursor created by {@link #encode()}
+     *
+     * @param cursor encoded cursor string
+     * @return {@link Optional} empty if the cursor is malformed, cursor otherwise
+     */
+    public static Optional<AuditCursor> decode(String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separatorIndex = decoded.indexOf(SEPARATOR);
+            if (separatorIndex < 0) {
+                return Optional.empty();
+            }
+            LocalDateTime timeStamp = LocalDateTime.parse(decoded.substring(0, separatorIndex));
+            UUID id = UUID.fromString(decoded.substring(separatorIndex + 1));
+            return Optional.of(new AuditCursor(timeStamp, id));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * @return url safe string representation of the cursor
+     */
+    public String encode() {
+        String raw = timeStamp.toString() + SEPARATOR + id.toString();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public LocalDateTime getTimeStamp() {
+        return timeStamp;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+}
@@ -0,0 +1,130 @@
+package org.dockit.dockitserver.controllers.utils;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Utility class to apply the delta sent by an agent to the previous snapshot of a list valued category, i.e. json
+ * objects joined with a delimiter, where each entry is identified by the values of its key fields. Mirrors the
+ * algorithm of the agent, so both sides end up with the same snapshot.
+ */
+public final class SnapshotDelta {
+    private static final String DELIMITER = "/_/_/";
+    private static final String REMOVED = "removed";
+    private static final String CHANGED = "changed";
+    private static final String ADDED = "added";
+    private static final String OCCURRENCE = "#";
+
+    /**
+     * @param data snapshot to hash
+     * @return hex encoded SHA-256 hash of the snapshot
+     */
+    public static String hash(String data) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(data.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            // Every java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Parse the entries of a snapshot. Entries sharing the key of a previous one are kept, their key being suffixed
+     * with the index of their occurrence, e.g. {@code [1]#1} for the second entry with the key {@code [1]}.
+     *
+     * @param data snapshot to parse
+     * @param keys key fields identifying an entry
+     * @return entries keyed by the json array of their key values and their occurrence, in the order of the
+     * snapshot
+     * @throws com.google.gson.JsonParseException if an entry is not valid json
+     * @throws IllegalStateException if an entry is not a json object
+     */
+    public static Map<String, JsonObject> parse(String data, List<String> keys) {
+        Map<String, JsonObject> entries = new LinkedHashMap<>();
+        for (String entry : data.split(DELIMITER)) {
+            if (!entry.isBlank()) {
+                put(entries, JsonParser.parseString(entry).getAsJsonObject(), keys);
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * @param entries entries of a snapshot
+     * @return snapshot of the given entries
+     */
+    public static String join(Map<String, JsonObject> entries) {
+        StringBuilder builder = new StringBuilder();
+        entries.values().forEach(entry -> builder.append(entry).append(DELIMITER));
+        return builder.toString();
+    }
+
+    /**
+     * Apply a delta to the base entries in place: the removed entries are dropped, the changed ones are patched where
+     * they are, and the added ones are appended. The entries are then keyed again by their occurrence, as if the
+     * resulting snapshot was parsed.
+     *
+     * @param entries entries of the base snapshot, modified by the delta
+     * @param delta delta holding the "removed" keys, "changed" patches and "added" entries
+     * @param keys key fields identifying an entry
+     * @return false if the delta does not apply to the given entries
+     * @throws IllegalStateException if the delta is malformed
+     */
+    public static boolean apply(Map<String, JsonObject> entries, JsonObject delta, List<String> keys) {
+        for (JsonElement key : array(delta, REMOVED)) {
+            if (entries.remove(key.getAsString()) == null) {
+                return false;
+            }
+        }
+        for (JsonElement patch : array(delta, CHANGED)) {
+            JsonObject entry = entries.get(key(patch.getAsJsonObject(), keys));
+            if (entry == null) {
+                return false;
+            }
+            patch.getAsJsonObject().entrySet().forEach(field -> entry.add(field.getKey(), field.getValue()));
+        }
+        for (JsonElement added : array(delta, ADDED)) {
+            put(entries, added.getAsJsonObject(), keys);
+        }
+        List<JsonObject> values = new ArrayList<>(entries.values());
+        entries.clear();
+        values.forEach(entry -> put(entries, entry, keys));
+        return true;
+    }
+
+    private static String key(JsonObject entry, List<String> keys) {
+        JsonArray values = new JsonArray(keys.size());
+        for (String field : keys) {
+            JsonElement value = entry.get(field);
+            values.add(value == null ? JsonNull.INSTANCE : value);
+        }
+        return values.toString();
+    }
+
+    private static void put(Map<String, JsonObject> entries, JsonObject entry, List<String> keys) {
+        String key = key(entry, keys);
+        String unique = key;
+        for (int occurrence = 1; entries.containsKey(unique); occurrence++) {
+            unique = key + OCCURRENCE + occurrence;
+        }
+        entries.put(unique, entry);
+    }
+
+    private static JsonArray array(JsonObject delta, String name) {
+        JsonElement element = delta.get(name);
+        return element != null && element.isJsonArray() ? element.getAsJsonArray() : new JsonArray();
+    }
+}
@@ -5,6 +5,8 @@ import org.dockit.dockitserver.security.encryption.AESCBCEncryptor;
 import org.dockit.dockitserver.security.encryption.AESGCMEncryptor;
 import org.dockit.dockitserver.security.key.KeyConstants;
 import org.dockit.dockitserver.security.keystore.KeyStoreHandler;
+import org.dockit.dockitserver.wire.PayloadEncoding;
+import org.dockit.dockitserver.wire.RecordDecoder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
@@ -13,10 +15,15 @@ import javax.crypto.BadPaddingException;
 import javax.crypto.IllegalBlockSizeException;
 import javax.crypto.NoSuchPaddingException;
 import javax.crypto.SecretKey;
+import java.nio.ByteBuffer;
 import java.security.InvalidAlgorithmParameterException;
 import java.security.InvalidKeyException;
 import java.security.Key;
 import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -43,26 +50,123 @@ public class WriteProcessor {
      * @return {@link Optional} empty if any error occurs, if not the sent data encrypted with the database key
      */
     public Optional<String> process(Agent agent, String agentEncryptedData) {
+        return process(agent, List.of(agentEncryptedData)).get(0);
+    }
+
+    /**
+     * Takes the sender agent of the data and a batch of encrypted data, then decrypts each of them using the agent's
+     * key. Keys are only read from the keystore once for the whole batch.
+     *
+     * @param agent {@link Agent} which sent the data
+     * @param agentEncryptedData list of encrypted data sent from an agent
+     * @return list in the same order as the input, containing empty for the entries which could not be processed,
+     * and the sent data encrypted with the database key for the rest
+     */
+    public List<Optional<String>> process(Agent agent, List<String> agentEncryptedData) {
+        List<Optional<String>> decryptedData = decrypt(agent, agentEncryptedData);
+        Optional<Key> dbKey = keyStoreHandler.getKey(KeyConstants.DB_KEY_ALIAS, "".toCharArray());
+        if (dbKey.isEmpty()) {
+            return emptyResults(agentEncryptedData.size());
+        }
+        return decryptedData.stream()
+                .map(data -> data.flatMap(value -> encryptData(value, (SecretKey) dbKey.get())))
+                .toList();
+    }
+
+    /**
+     * Takes the sender agent of the data and a batch of encrypted data, then decrypts each of them using the agent's
+     * key, so the data can be inspected before being encrypted with {@link #encrypt(List)}.
+     *
+     * @param agent {@link Agent} which sent the data
+     * @param agentEncryptedData list of encrypted data sent from an agent
+     * @return list in the same order as the input, containing empty for the entries which could not be decrypted,
+     * and the decrypted data for the rest
+     */
+    public List<Optional<String>> decrypt(Agent agent, List<String> agentEncryptedData) {
+        return decrypt(agent, agentEncryptedData, Collections.nCopies(agentEncryptedData.size(), null));
+    }
 
+    /**
+     * Same as {@link #decrypt(Agent, List)}, for data which may have been compressed by the agent before being
+     * encrypted. Compressed data is decompressed after it is decrypted.
+     *
+     * @param agent {@link Agent} which sent the data
+     * @param agentEncryptedData list of encrypted data sent from an agent
+     * @param encodings encoding of each data before it was encrypted, see {@link PayloadEncoding}, null entries
+     *                  are treated as {@link PayloadEncoding#IDENTITY}
+     * @return list in the same order as the input, containing empty for the entries which could not be decrypted,
+     * and the decrypted data for the rest
+     */
+    public List<Optional<String>> decrypt(Agent agent, List<String> agentEncryptedData, List<String> encodings) {
+        List<ByteBuffer> payloads = new ArrayList<>(agentEncryptedData.size());
+        for (String data : agentEncryptedData) {
+            payloads.add(decodeBase64(data));
+        }
+        return decryptPayloads(agent, payloads, encodings);
+    }
+
+    /**
+     * Takes the sender agent of the data and a batch of raw encrypted payloads, then decrypts each of them using the
+     * agent's key. Compressed payloads are decompressed, and payloads holding binary records are decoded to the data
+     * they were built from, see {@link RecordDecoder}.
+     *
+     * @param agent {@link Agent} which sent the data
+     * @param payloads list of encrypted payloads sent from an agent, null entries are treated as invalid
+     * @param encodings encoding of each payload before it was encrypted, see {@link PayloadEncoding}, null entries
+     *                  are treated as {@link PayloadEncoding#IDENTITY}
+     * @return list in the same order as the input, containing empty for the entries which could not be decrypted,
+     * and the decrypted data for the rest
+     */
+    public List<Optional<String>> decryptPayloads(Agent agent, List<ByteBuffer> payloads, List<String> encodings) {
         Optional<Key> key = keyStoreHandler.getKey(agent.getId().toString(), agent.getPassword().toCharArray());
         if (key.isEmpty()) {
-            return Optional.empty();
+            return emptyResults(payloads.size());
         }
-        Optional<String> decryptedData =
-                decryptData(agentEncryptedData, agent.getId().toString(), (SecretKey) key.get());
-        if (decryptedData.isEmpty()) {
-            return Optional.empty();
+        List<Optional<String>> decryptedData = new ArrayList<>(payloads.size());
+        for (int i = 0; i < payloads.size(); i++) {
+            decryptedData.add(decryptData(payloads.get(i), encodings.get(i), agent.getId().toString(),
+                    (SecretKey) key.get()));
         }
+        return decryptedData;
+    }
+
+    /**
+     * Takes a batch of data and encrypts each of them using the database key
+     *
+     * @param data list of data to be stored
+     * @return list in the same order as the input, containing empty for the entries which could not be encrypted,
+     * and the data encrypted with the database key for the rest
+     */
+    public List<Optional<String>> encrypt(List<String> data) {
         Optional<Key> dbKey = keyStoreHandler.getKey(KeyConstants.DB_KEY_ALIAS, "".toCharArray());
         if (dbKey.isEmpty()) {
-            return Optional.empty();
+            return emptyResults(data.size());
+        }
+        return data.stream()
+                .map(value -> encryptData(value, (SecretKey) dbKey.get()))
+                .toList();
+    }
+
+    private List<Optional<String>> emptyResults(int size) {
+        return Collections.nCopies(size, Optional.empty());
+    }
+
+    private ByteBuffer decodeBase64(String data) {
+        if (data == null) {
+            return null;
+        }
+        try {
+            return ByteBuffer.wrap(Base64.getDecoder().decode(data));
+        } catch (IllegalArgumentException e) {
+            logger.error(e.getMessage());
+            return null;
         }
-        return encryptData(decryptedData.get(), (SecretKey) dbKey.get());
     }
 
-    private Optional<String> decryptData(String data, String aad, SecretKey key) {
+    private Optional<String> decryptData(ByteBuffer data, String encoding, String aad, SecretKey key) {
         try {
-            return Optional.of(AESGCMEncryptor.decrypt(data, aad, key));
+            return RecordDecoder.decode(PayloadEncoding.decode(AESGCMEncryptor.decryptBytes(data, aad, key),
+                    encoding));
         } catch (InvalidAlgorithmParameterException | NoSuchPaddingException | NoSuchAlgorithmException |
                  InvalidKeyException | IllegalBlockSizeException | BadPaddingException | IllegalArgumentException e) {
             logger.error(e.getMessage());
@@ -5,11 +5,13 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.OneToOne;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
+import org.dockit.dockitserver.security.apikeys.APIKeyDigest;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 
 import java.util.UUID;
@@ -18,7 +20,9 @@ import java.util.UUID;
  * Entity object representing APIKey in the database
  */
 @Entity
-@Table(name = "api_key")
+@Table(name = "api_key", indexes = {
+        @Index(name = "api_key_lookup_digest_idx", columnList = "lookup_digest")
+})
 public class APIKey implements DTO {
 
     @Id
@@ -35,6 +39,8 @@ public class APIKey implements DTO {
     @Column(name = "token")
     private String token;
 
+    @Column(name = "lookup_digest")
+    private String lookupDigest;
 
     public UUID getId() {
         return id;
@@ -57,12 +63,18 @@ public class APIKey implements DTO {
     }
 
     /**
-     * Hashes the token using {@link BCryptPasswordEncoder} then sets it as the token
+     * Hashes the token using {@link BCryptPasswordEncoder} then sets it as the token, also stores the
+     * {@link APIKeyDigest} of the token to find the key without comparing against every stored hash
      *
      * @param token token to be stored
      */
     public void setToken(String token) {
         BCryptPasswordEncoder encoder = new BCryptPasswordEncoder();
         this.token = encoder.encode(token);
+        this.lookupDigest = APIKeyDigest.digest(token);
+    }
+
+    public String getLookupDigest() {
+        return lookupDigest;
     }
 }
@@ -5,6 +5,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -19,7 +20,10 @@ import java.util.UUID;
  */
 @Entity
 //@EntityListeners(AuditEntityListener.class)
-@Table(name = "audit")
+@Table(name = "audit", indexes = {
+        @Index(name = "audit_vm_id_time_stamp_idx", columnList = "vm_id, time_stamp"),
+        @Index(name = "audit_category_time_stamp_idx", columnList = "category, time_stamp")
+})
 public class Audit implements DTO {
 
     @Id
@@ -4,6 +4,7 @@ import org.dockit.dockitserver.entities.APIKey;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -11,4 +12,15 @@ import java.util.UUID;
  */
 @Repository
 public interface APIKeyRepository extends JpaRepository<APIKey, UUID> {
+
+    /**
+     * @param lookupDigest lookup digest of the token
+     * @return list of api keys with the given lookup digest
+     */
+    List<APIKey> findAllByLookupDigest(String lookupDigest);
+
+    /**
+     * @return list of api keys issued before lookup digests were stored
+     */
+    List<APIKey> findAllByLookupDigestIsNull();
 }
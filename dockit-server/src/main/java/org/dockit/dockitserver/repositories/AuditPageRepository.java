@@ -0,0 +1,28 @@
+package org.dockit.dockitserver.repositories;
+
+import org.dockit.dockitserver.entities.Audit;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository fragment building the keyset query of {@link Audit} pages from the given filters only
+ */
+public interface AuditPageRepository {
+
+    /**
+     * Keyset query returning the audits after the given (timeStamp, id) position in the given order. Only the filters
+     * which are given end up in the query, so it can be served by the index of the matching columns.
+     *
+     * @param vmId id of the vm, null to not filter by vm
+     * @param category category of the audit, null to not filter by category
+     * @param timeStamp time stamp of the last seen audit, null to start from the first audit in the given order
+     * @param id id of the last seen audit, null to start from the first audit in the given order
+     * @param isAscending true to sort by time stamp and id in ascending order, false for descending order
+     * @param size maximum amount of audits to return
+     * @return list of audits sorted by time stamp and id in the given order
+     */
+    List<Audit> findPage(String vmId, String category, LocalDateTime timeStamp, UUID id, boolean isAscending,
+                         int size);
+}
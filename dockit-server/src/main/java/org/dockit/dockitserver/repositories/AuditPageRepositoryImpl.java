@@ -0,0 +1,61 @@
+package org.dockit.dockitserver.repositories;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.dockit.dockitserver.entities.Audit;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Implementation of {@link AuditPageRepository} using the criteria api
+ */
+public class AuditPageRepositoryImpl implements AuditPageRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Audit> findPage(String vmId, String category, LocalDateTime timeStamp, UUID id, boolean isAscending,
+                                int size) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Audit> query = builder.createQuery(Audit.class);
+        Root<Audit> audit = query.from(Audit.class);
+        Path<LocalDateTime> auditTimeStamp = audit.get("timeStamp");
+        Path<UUID> auditId = audit.get("id");
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (vmId != null) {
+            predicates.add(builder.equal(audit.get("vmId"), vmId));
+        }
+        if (category != null) {
+            predicates.add(builder.equal(audit.get("category"), category));
+        }
+        if (timeStamp != null && id != null) {
+            predicates.add(isAscending
+                    ? builder.or(builder.greaterThan(auditTimeStamp, timeStamp),
+                            builder.and(builder.equal(auditTimeStamp, timeStamp), builder.greaterThan(auditId, id)))
+                    : builder.or(builder.lessThan(auditTimeStamp, timeStamp),
+                            builder.and(builder.equal(auditTimeStamp, timeStamp), builder.lessThan(auditId, id))));
+        }
+        query.select(audit)
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(isAscending
+                        ? List.of(builder.asc(auditTimeStamp), builder.asc(auditId))
+                        : List.of(builder.desc(auditTimeStamp), builder.desc(auditId)));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(size)
+                .getResultList();
+    }
+}
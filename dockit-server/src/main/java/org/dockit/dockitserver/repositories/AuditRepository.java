@@ -4,11 +4,75 @@ import org.dockit.dockitserver.entities.Audit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 /**
  * Repository used to interact with {@link Audit}
  */
 @Repository
-public interface AuditRepository extends JpaRepository<Audit, UUID> {
+public interface AuditRepository extends JpaRepository<Audit, UUID>, AuditPageRepository {
+
+    /**
+     * @param vmId id of the vm
+     * @return list of audits belonging to the vm
+     */
+    List<Audit> findAllByVmId(String vmId);
+
+    /**
+     * @param category category of the audit
+     * @return list of audits with the category
+     */
+    List<Audit> findAllByCategory(String category);
+
+    /**
+     * @param category category of the audit
+     * @param vmId id of the vm
+     * @return list of audits with the category belonging to the vm
+     */
+    List<Audit> findAllByCategoryAndVmId(String category, String vmId);
+
+    /**
+     * @return list of all audits sorted by time stamp in ascending order
+     */
+    List<Audit> findAllByOrderByTimeStampAsc();
+
+    /**
+     * @return list of all audits sorted by time stamp in descending order
+     */
+    List<Audit> findAllByOrderByTimeStampDesc();
+
+    /**
+     * @param category category of the audit
+     * @return list of audits with the category sorted by time stamp in ascending order
+     */
+    List<Audit> findAllByCategoryOrderByTimeStampAsc(String category);
+
+    /**
+     * @param category category of the audit
+     * @return list of audits with the category sorted by time stamp in descending order
+     */
+    List<Audit> findAllByCategoryOrderByTimeStampDesc(String category);
+
+    /**
+     * @param vmId id of the vm
+     * @return list of audits belonging to the vm sorted by time stamp in ascending order
+     */
+    List<Audit> findAllByVmIdOrderByTimeStampAsc(String vmId);
+
+    /**
+     * @param vmId id of the vm
+     * @return list of audits belonging to the vm sorted by time stamp in descending order
+     */
+    List<Audit> findAllByVmIdOrderByTimeStampDesc(String vmId);
+
+    /**
+     * @param vmId id of the vm
+     * @param startInterval exclusive start of the interval
+     * @param endInterval exclusive end of the interval
+     * @return list of audits belonging to the vm within the interval
+     */
+    List<Audit> findAllByVmIdAndTimeStampAfterAndTimeStampBefore(String vmId, LocalDateTime startInterval,
+                                                                 LocalDateTime endInterval);
 }
@@ -0,0 +1,31 @@
+package org.dockit.dockitserver.security.apikeys;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+/**
+ * Handle generation of lookup digests for {@link org.dockit.dockitserver.entities.APIKey} tokens. The digest is only
+ * used to select the candidate key row, the token itself is still verified against its BCrypt hash.
+ */
+public class APIKeyDigest {
+    private static final String ALGORITHM = "SHA-256";
+
+    /**
+     * Generate the SHA-256 digest of the given token and urlEncode it
+     *
+     * @param token raw token of the {@link org.dockit.dockitserver.entities.APIKey}
+     * @return lookup digest for the token
+     */
+    public static String digest(String token) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance(ALGORITHM);
+            byte[] digest = messageDigest.digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+}
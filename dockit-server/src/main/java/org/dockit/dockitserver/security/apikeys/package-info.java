@@ -1,5 +1,5 @@
 /**
- * This package contains API key generator.
+ * This package contains API key generator and lookup digest utilities.
  *
  * @since 1.0
  * @author Aziz Serin
@@ -9,6 +9,7 @@ import javax.crypto.IllegalBlockSizeException;
 import javax.crypto.NoSuchPaddingException;
 import javax.crypto.SecretKey;
 import javax.crypto.spec.GCMParameterSpec;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.security.InvalidAlgorithmParameterException;
 import java.security.InvalidKeyException;
@@ -89,6 +90,45 @@ public class AESGCMEncryptor {
         return new String(decryptedBytes, StandardCharsets.UTF_8);
     }
 
+    /**
+     * Decrypt raw bytes using AES-GCM algorithm, without copying the input when it is backed by an array
+     *
+     * @param data IV followed by the encrypted bytes and the tag
+     * @param aad additional authentication data for integrity checking
+     * @param key {@link SecretKey} to be used when decrypting
+     * @return decrypted bytes
+     * @throws InvalidAlgorithmParameterException
+     * @throws NoSuchPaddingException
+     * @throws NoSuchAlgorithmException
+     * @throws InvalidKeyException
+     * @throws IllegalBlockSizeException
+     * @throws BadPaddingException
+     */
+    public static byte[] decryptBytes(ByteBuffer data, String aad, SecretKey key) throws
+            InvalidAlgorithmParameterException, NoSuchPaddingException, NoSuchAlgorithmException, InvalidKeyException,
+            IllegalBlockSizeException, BadPaddingException {
+
+        // Input shorter than the IV and the tag can not be valid, some providers fail on it with an unchecked error
+        if (data == null || aad == null || key == null
+                || data.remaining() < KeyConstants.IV_SIZE_GCM + KeyConstants.GCM_TAG_LENGTH / Byte.SIZE) {
+            throw new IllegalArgumentException();
+        }
+
+        ByteBuffer input = data.duplicate();
+        byte[] IV = new byte[KeyConstants.IV_SIZE_GCM];
+        input.get(IV);
+
+        Cipher cipher = initCipher(Cipher.DECRYPT_MODE, key, IV);
+        cipher.updateAAD(aad.getBytes());
+
+        if (input.hasArray()) {
+            return cipher.doFinal(input.array(), input.arrayOffset() + input.position(), input.remaining());
+        }
+        byte[] encryptedBytes = new byte[input.remaining()];
+        input.get(encryptedBytes);
+        return cipher.doFinal(encryptedBytes);
+    }
+
     private static byte[] getRandomBytes(int length) {
         byte[] nonce = new byte[length];
         new SecureRandom().nextBytes(nonce);
@@ -0,0 +1,72 @@
+package org.dockit.dockitserver.sender;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Configuration class for the {@link HttpClient} shared by every request sent to the agents. The client pools and
+ * keeps alive its connections and runs on a bounded executor. It speaks HTTP/1.1 by default, HTTP/2 is only asked for
+ * by the requests sent to https agents, see {@link #versionOf(URI)}.
+ */
+@Configuration
+public class AgentHttpClientConfig implements DisposableBean {
+    private static final int DEFAULT_THREADS = 4;
+    private static final long DEFAULT_CONNECT_TIMEOUT_MILLIS = 5000;
+    private static final String HTTPS = "https";
+
+    private final ExecutorService executor;
+    private final Duration connectTimeout;
+
+    /**
+     * @param environment {@link Environment} containing config from application.properties
+     */
+    public AgentHttpClientConfig(Environment environment) {
+        int threads = Math.max(1, environment.getProperty("dockit.server.agent.http.threads", Integer.class,
+                DEFAULT_THREADS));
+        this.connectTimeout = Duration.ofMillis(environment.getProperty("dockit.server.agent.http.connect-timeout",
+                Long.class, DEFAULT_CONNECT_TIMEOUT_MILLIS));
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "agent-http-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * @return {@link HttpClient} to be used for the requests sent to the agents
+     */
+    @Bean
+    public HttpClient agentHttpClient() {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(connectTimeout)
+                .executor(executor)
+                .build();
+    }
+
+    /**
+     * HTTP/2 is negotiated through TLS, a cleartext agent would otherwise be sent an h2c upgrade on every new
+     * connection, which the embedded server of the agent does not support
+     *
+     * @param uri uri of the request sent to an agent
+     * @return HTTP version to send the request with
+     */
+    public static HttpClient.Version versionOf(URI uri) {
+        return HTTPS.equalsIgnoreCase(uri.getScheme()) ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
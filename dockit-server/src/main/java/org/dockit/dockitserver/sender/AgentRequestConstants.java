@@ -11,4 +11,14 @@ public final class AgentRequestConstants {
     public static final String ARGUMENTS = "arguments";
     public static final String COMMAND_ENDPOINT = "/command";
     public static final String PING_ENDPOINT = "/ping";
+    public static final String THRESHOLDS_ENDPOINT = "/thresholds";
+    public static final String LOW = "low";
+    public static final String MEDIUM = "medium";
+    public static final String CRITICAL = "critical";
+    public static final String HISTORY_ENDPOINT = "/history";
+    public static final String FROM = "from";
+    public static final String TO = "to";
+    public static final String CATEGORY = "category";
+    public static final String ENCODING = "encoding";
+    public static final String NEXT = "next";
 }
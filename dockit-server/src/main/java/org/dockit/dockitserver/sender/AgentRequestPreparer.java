@@ -1,6 +1,7 @@
 package org.dockit.dockitserver.sender;
 
 import com.google.gson.Gson;
+import org.dockit.dockitserver.analyze.analyzers.utils.AlertGenerationThresholds;
 import org.dockit.dockitserver.entities.Agent;
 import org.dockit.dockitserver.security.encryption.AESGCMEncryptor;
 import org.dockit.dockitserver.security.keystore.KeyStoreHandler;
@@ -19,6 +20,7 @@ import java.security.InvalidAlgorithmParameterException;
 import java.security.InvalidKeyException;
 import java.security.Key;
 import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 
@@ -54,6 +56,46 @@ public class AgentRequestPreparer {
                 AgentRequestConstants.ARGUMENTS, userName
         ));
 
+        return prepareRequest(agent, commandJson, AgentRequestConstants.COMMAND_ENDPOINT);
+    }
+
+    /**
+     * Prepare the request pushing the thresholds the alerts are generated with to the agent, so it evaluates the
+     * usages it collects the same way, see {@link AlertGenerationThresholds}
+     *
+     * @param agent {@link Agent} to send the request to
+     * @return {@link Optional} {@link HttpRequest} if successful, empty if not
+     */
+    public Optional<HttpRequest> prepareThresholdsRequest(Agent agent) {
+        String thresholdsJson = new Gson().toJson(Map.of(
+                AgentRequestConstants.LOW, AlertGenerationThresholds.LOW,
+                AgentRequestConstants.MEDIUM, AlertGenerationThresholds.MEDIUM,
+                AgentRequestConstants.CRITICAL, AlertGenerationThresholds.CRITICAL
+        ));
+        return prepareRequest(agent, thresholdsJson, AgentRequestConstants.THRESHOLDS_ENDPOINT);
+    }
+
+    /**
+     * Prepare the request pulling the samples the agent kept in its metric history for a time range
+     *
+     * @param agent {@link Agent} to send the request to
+     * @param from start of the range in milliseconds since the epoch, inclusive
+     * @param to end of the range in milliseconds since the epoch, inclusive
+     * @param category category of the samples to be pulled, null for every category
+     * @return {@link Optional} {@link HttpRequest} if successful, empty if not
+     */
+    public Optional<HttpRequest> prepareHistoryRequest(Agent agent, long from, long to, String category) {
+        Map<String, Object> range = new HashMap<>();
+        range.put(AgentRequestConstants.FROM, from);
+        range.put(AgentRequestConstants.TO, to);
+        if (category != null) {
+            range.put(AgentRequestConstants.CATEGORY, category);
+        }
+        return prepareRequest(agent, new Gson().toJson(range), AgentRequestConstants.HISTORY_ENDPOINT);
+    }
+
+    private Optional<HttpRequest> prepareRequest(Agent agent, String json, String endpoint) {
+        Gson gson = new Gson();
         Optional<Key> key = keyStoreHandler.getKey(agent.getId().toString(), agent.getPassword().toCharArray());
         if (key.isEmpty()) {
             return Optional.empty();
@@ -62,7 +104,7 @@ public class AgentRequestPreparer {
         String encryptedText;
 
         try {
-            encryptedText = AESGCMEncryptor.encrypt(commandJson, agent.getId().toString(), (SecretKey) key.get());
+            encryptedText = AESGCMEncryptor.encrypt(json, agent.getId().toString(), (SecretKey) key.get());
         } catch (NoSuchPaddingException | NoSuchAlgorithmException | InvalidAlgorithmParameterException |
                  InvalidKeyException | IllegalBlockSizeException | BadPaddingException e) {
             logger.error("Could not encrypt request json!");
@@ -73,8 +115,9 @@ public class AgentRequestPreparer {
                 AgentRequestConstants.DATA, encryptedText
         );
 
-        HttpRequest request = HttpRequest.newBuilder(URI.create(agent.getAgentUrl()
-                        + AgentRequestConstants.COMMAND_ENDPOINT))
+        URI uri = URI.create(agent.getAgentUrl() + endpoint);
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .version(AgentHttpClientConfig.versionOf(uri))
                 .POST(HttpRequest.BodyPublishers.ofString(gson.toJson(body)))
                 .headers("accept", "application/json",
                         "Content-Type", "application/json")
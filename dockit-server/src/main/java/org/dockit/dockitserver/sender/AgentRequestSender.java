@@ -1,9 +1,12 @@
 package org.dockit.dockitserver.sender;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.dockit.dockitserver.entities.Agent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
@@ -11,6 +14,7 @@ import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.time.Duration;
 import java.util.Optional;
 
 /**
@@ -21,14 +25,34 @@ public class AgentRequestSender {
 
     private static final Logger logger = LoggerFactory.getLogger(AgentRequestSender.class);
 
+    private static final long DEFAULT_REQUEST_TIMEOUT_MILLIS = 10000;
+    private static final String INTRUSION_REQUEST = "intrusion";
+    private static final String PING_REQUEST = "ping";
+    private static final String THRESHOLDS_REQUEST = "thresholds";
+    private static final String HISTORY_REQUEST = "history";
+    private static final String SUCCESS = "success";
+    private static final String FAILURE = "failure";
+    private static final String ERROR = "error";
+
     private final AgentRequestPreparer agentRequestPreparer;
+    private final HttpClient agentHttpClient;
+    private final MeterRegistry meterRegistry;
+    private final Duration requestTimeout;
 
     /**
      * @param agentRequestPreparer {@link AgentRequestPreparer} instance to be injected
+     * @param agentHttpClient {@link HttpClient} shared by the requests sent to the agents
+     * @param meterRegistry {@link MeterRegistry} instance to be injected
+     * @param environment {@link Environment} containing config from application.properties
      */
     @Autowired
-    public AgentRequestSender(AgentRequestPreparer agentRequestPreparer) {
+    public AgentRequestSender(AgentRequestPreparer agentRequestPreparer, HttpClient agentHttpClient,
+                              MeterRegistry meterRegistry, Environment environment) {
         this.agentRequestPreparer = agentRequestPreparer;
+        this.agentHttpClient = agentHttpClient;
+        this.meterRegistry = meterRegistry;
+        this.requestTimeout = Duration.ofMillis(environment.getProperty("dockit.server.agent.http.request-timeout",
+                Long.class, DEFAULT_REQUEST_TIMEOUT_MILLIS));
     }
 
     /**
@@ -39,29 +63,105 @@ public class AgentRequestSender {
      * @return true if request was successful, false if not
      */
     public boolean sendIntrusionRequest(Agent agent, String userName) {
-        HttpClient client = HttpClient.newHttpClient();
-
         Optional<HttpRequest> request = agentRequestPreparer.prepareIntrusionRequest(agent, userName);
         if (request.isEmpty()) {
             logger.debug("Could not construct the request to be sent for the detected intrusion");
             return false;
         }
 
+        Timer.Sample sample = Timer.start(meterRegistry);
         try {
-            HttpResponse<String> response = client.send(request.get(), HttpResponse.BodyHandlers.ofString());
+            HttpResponse<String> response = agentHttpClient.send(
+                    HttpRequest.newBuilder(request.get(), (name, value) -> true).timeout(requestTimeout).build(),
+                    HttpResponse.BodyHandlers.ofString());
             if (response.statusCode() != 200) {
                 logger.error("Could not send the request for the intrusion command to the agent," +
                         " {}, see the response: {}", agent.getId(), response.body());
+                record(sample, INTRUSION_REQUEST, FAILURE);
                 return false;
             }
             logger.info("Sent the request for the intrusion command to the agent, {}", agent.getId());
+            record(sample, INTRUSION_REQUEST, SUCCESS);
+            return true;
+        } catch (IOException | InterruptedException e) {
+            logger.error(e.getMessage());
+            record(sample, INTRUSION_REQUEST, ERROR);
+            return false;
+        }
+    }
+
+    /**
+     * Method to push the alert thresholds to the agent, so the usages it collects are evaluated on the agent with the
+     * same thresholds the server analyzes them with
+     *
+     * @param agent {@link Agent} to send the request to
+     * @return true if request was successful, false if not
+     */
+    public boolean sendThresholdsRequest(Agent agent) {
+        Optional<HttpRequest> request = agentRequestPreparer.prepareThresholdsRequest(agent);
+        if (request.isEmpty()) {
+            logger.debug("Could not construct the request to be sent for the alert thresholds");
+            return false;
+        }
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            HttpResponse<String> response = agentHttpClient.send(
+                    HttpRequest.newBuilder(request.get(), (name, value) -> true).timeout(requestTimeout).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                logger.error("Could not send the alert thresholds to the agent, {}, see the response: {}",
+                        agent.getId(), response.body());
+                record(sample, THRESHOLDS_REQUEST, FAILURE);
+                return false;
+            }
+            logger.info("Sent the alert thresholds to the agent, {}", agent.getId());
+            record(sample, THRESHOLDS_REQUEST, SUCCESS);
             return true;
         } catch (IOException | InterruptedException e) {
             logger.error(e.getMessage());
+            record(sample, THRESHOLDS_REQUEST, ERROR);
             return false;
         }
     }
 
+    /**
+     * Method to pull the samples the agent kept in its metric history for a time range
+     *
+     * @param agent {@link Agent} to send the request to
+     * @param from start of the range in milliseconds since the epoch, inclusive
+     * @param to end of the range in milliseconds since the epoch, inclusive
+     * @param category category of the samples to be pulled, null for every category
+     * @return {@link Optional} body of the response of the agent, containing the encrypted samples, empty if the
+     * request was not successful
+     */
+    public Optional<String> sendHistoryRequest(Agent agent, long from, long to, String category) {
+        Optional<HttpRequest> request = agentRequestPreparer.prepareHistoryRequest(agent, from, to, category);
+        if (request.isEmpty()) {
+            logger.debug("Could not construct the request to be sent for the metric history");
+            return Optional.empty();
+        }
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            HttpResponse<String> response = agentHttpClient.send(
+                    HttpRequest.newBuilder(request.get(), (name, value) -> true).timeout(requestTimeout).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                logger.error("Could not pull the metric history of the agent, {}, see the response: {}",
+                        agent.getId(), response.body());
+                record(sample, HISTORY_REQUEST, FAILURE);
+                return Optional.empty();
+            }
+            record(sample, HISTORY_REQUEST, SUCCESS);
+            return Optional.of(response.body());
+        } catch (IOException | InterruptedException e) {
+            logger.error(e.getMessage());
+            record(sample, HISTORY_REQUEST, ERROR);
+            return Optional.empty();
+        }
+    }
+
     /**
      * See if the agent server is alive
      *
@@ -69,24 +169,36 @@ public class AgentRequestSender {
      * @return true if agent server is alive, false otherwise
      */
     public boolean isAgentServerAlive(Agent agent) {
-        HttpClient client = HttpClient.newHttpClient();
-
-        HttpRequest request = HttpRequest.newBuilder(URI.create(agent.getAgentUrl()
-                        + AgentRequestConstants.PING_ENDPOINT))
+        URI uri = URI.create(agent.getAgentUrl() + AgentRequestConstants.PING_ENDPOINT);
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .version(AgentHttpClientConfig.versionOf(uri))
                 .GET()
                 .header("accept", "application/json")
+                .timeout(requestTimeout)
                 .build();
+        Timer.Sample sample = Timer.start(meterRegistry);
         try {
-            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            HttpResponse<String> response = agentHttpClient.send(request, HttpResponse.BodyHandlers.ofString());
             if (response.statusCode() != 200) {
                 logger.error("Agent server {} is not alive!", agent.getAgentUrl());
+                record(sample, PING_REQUEST, FAILURE);
                 return false;
             }
             logger.info("Agent server {} is alive!", agent.getAgentUrl());
+            record(sample, PING_REQUEST, SUCCESS);
             return true;
         } catch (IOException | InterruptedException e) {
             logger.error(e.getMessage());
+            record(sample, PING_REQUEST, ERROR);
             return false;
         }
     }
+
+    private void record(Timer.Sample sample, String request, String outcome) {
+        sample.stop(Timer.builder("dockit.agent.requests")
+                .description("Requests sent to the agents")
+                .tag("request", request)
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+    }
 }
@@ -9,6 +9,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.CacheConfig;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -37,7 +38,10 @@ public class APIKeyServiceImpl implements APIKeyService {
     }
 
     @Override
-    @CacheEvict(key = "#id")
+    @Caching(evict = {
+            @CacheEvict(key = "#id"),
+            @CacheEvict(cacheNames = CacheNames.VERIFIED_API_KEY, allEntries = true)
+    })
     public void deleteById(UUID id) {
         APIKeyRepository.deleteById(id);
     }
@@ -47,6 +51,16 @@ public class APIKeyServiceImpl implements APIKeyService {
         return APIKeyRepository.findAll();
     }
 
+    @Override
+    public List<APIKey> findAllByLookupDigest(String lookupDigest) {
+        return APIKeyRepository.findAllByLookupDigest(lookupDigest);
+    }
+
+    @Override
+    public List<APIKey> findAllWithoutLookupDigest() {
+        return APIKeyRepository.findAllByLookupDigestIsNull();
+    }
+
     @Override
     public Optional<APIKey> findByAgentId(UUID agentId) {
         List<APIKey> tokens = APIKeyRepository.findAll();
@@ -13,9 +13,6 @@ import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -41,6 +38,15 @@ public class AuditServiceImpl implements AuditService {
         return savedAudit;
     }
 
+    @Override
+    public List<Audit> save(List<Audit> audits) {
+        List<Audit> savedAudits = auditRepository.saveAll(audits);
+        for (Audit audit : savedAudits) {
+            entityEventPublisher.publishAuditCreationEvent(audit);
+        }
+        return savedAudits;
+    }
+
     @Override
     @CacheEvict(key = "#id")
     public void deleteById(UUID id) {
@@ -60,84 +66,58 @@ public class AuditServiceImpl implements AuditService {
 
     @Override
     public List<Audit> findByVmId(String vmId) {
-        return auditRepository.findAll().stream()
-                .filter(a -> a.getVmId().equals(vmId))
-                .toList();
+        return auditRepository.findAllByVmId(vmId);
     }
 
     @Override
     public List<Audit> findByCategory(String category) {
-        return auditRepository.findAll().stream()
-                .filter(a -> a.getCategory().equals(category))
-                .toList();
+        return auditRepository.findAllByCategory(category);
     }
 
     @Override
     public List<Audit> findByCategoryAndVmId(String category, String vmId) {
-        return auditRepository.findAll().stream()
-                .filter(a -> a.getCategory().equals(category) && a.getVmId().equals(vmId))
-                .toList();
+        return auditRepository.findAllByCategoryAndVmId(category, vmId);
     }
 
     @Override
     public List<Audit> findAllSortByTimeStampAscending() {
-        return auditRepository.findAll().stream()
-                .sorted(Comparator.comparing(Audit::getTimeStamp))
-                .toList();
+        return auditRepository.findAllByOrderByTimeStampAsc();
     }
 
     @Override
     public List<Audit> findAllSortByTimeStampDescending() {
-        List<Audit> audits = new ArrayList<>(auditRepository.findAll().stream()
-                .sorted(Comparator.comparing(Audit::getTimeStamp))
-                .toList());
-        Collections.reverse(audits);
-        return audits;
+        return auditRepository.findAllByOrderByTimeStampDesc();
     }
 
     @Override
     public List<Audit> findAllByCategorySortByTimeStampAscending(String category) {
-        return auditRepository.findAll().stream()
-                .filter(a -> a.getCategory().equals(category))
-                .sorted(Comparator.comparing(Audit::getTimeStamp))
-                .toList();
+        return auditRepository.findAllByCategoryOrderByTimeStampAsc(category);
     }
 
     @Override
     public List<Audit> findAllByCategorySortByTimeStampDescending(String category) {
-        List<Audit> audits = new ArrayList<>(auditRepository.findAll().stream()
-                .filter(a -> a.getCategory().equals(category))
-                .sorted(Comparator.comparing(Audit::getTimeStamp))
-                .toList());
-        Collections.reverse(audits);
-        return audits;
+        return auditRepository.findAllByCategoryOrderByTimeStampDesc(category);
     }
 
     @Override
     public List<Audit> findAllByVmIdSortByTimeStampAscending(String vmId) {
-        return auditRepository.findAll().stream()
-                .filter(a -> a.getVmId().equals(vmId))
-                .sorted(Comparator.comparing(Audit::getTimeStamp))
-                .toList();
+        return auditRepository.findAllByVmIdOrderByTimeStampAsc(vmId);
     }
 
     @Override
     public List<Audit> findAllByVmIdSortByTimeStampDescending(String vmId) {
-        List<Audit> audits = new ArrayList<>(auditRepository.findAll().stream()
-                .filter(a -> a.getVmId().equals(vmId))
-                .sorted(Comparator.comparing(Audit::getTimeStamp))
-                .toList());
-        Collections.reverse(audits);
-        return audits;
+        return auditRepository.findAllByVmIdOrderByTimeStampDesc(vmId);
     }
 
     @Override
     public List<Audit> findAllByVmIdInGivenInterval(String vmId, LocalDateTime startInterval, LocalDateTime endInterval) {
-        return auditRepository.findAll()
-                .stream()
-                .filter(a -> a.getVmId().equals(vmId))
-                .filter(a -> a.getTimeStamp().isAfter(startInterval) && a.getTimeStamp().isBefore(endInterval))
-                .toList();
+        return auditRepository.findAllByVmIdAndTimeStampAfterAndTimeStampBefore(vmId, startInterval, endInterval);
+    }
+
+    @Override
+    public List<Audit> findPage(String vmId, String category, LocalDateTime timeStamp, UUID id, boolean isAscending,
+                                int size) {
+        return auditRepository.findPage(vmId, category, timeStamp, id, isAscending, size);
     }
 
     @Override
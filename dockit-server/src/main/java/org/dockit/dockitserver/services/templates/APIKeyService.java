@@ -34,6 +34,21 @@ public interface APIKeyService {
      */
     List<APIKey> findAll();
 
+    /**
+     * Find the api keys whose tokens have the given lookup digest
+     *
+     * @param lookupDigest lookup digest of the token
+     * @return list of api keys
+     */
+    List<APIKey> findAllByLookupDigest(String lookupDigest);
+
+    /**
+     * Find the api keys which were saved without a lookup digest
+     *
+     * @return list of api keys
+     */
+    List<APIKey> findAllWithoutLookupDigest();
+
     /**
      * Find the apikey for the specified agent
      *
@@ -19,6 +19,14 @@ public interface AuditService {
      */
     Audit save(Audit audit);
 
+    /**
+     * Save the audit objects in a single batch
+     *
+     * @param audits {@link Audit}s to be saved
+     * @return saved {@link Audit}s
+     */
+    List<Audit> save(List<Audit> audits);
+
     /**
      * Delete audit using the id
      *
@@ -122,6 +130,21 @@ public interface AuditService {
      */
     List<Audit> findAllByVmIdInGivenInterval(String vmId, LocalDateTime startInterval, LocalDateTime endInterval);
 
+    /**
+     * Return a page of audits positioned after the given (timeStamp, id) cursor. Filters which are null are ignored,
+     * and a null cursor returns the first page.
+     *
+     * @param vmId vm id string to filter through audits, nullable
+     * @param category category string to filter through audits, nullable
+     * @param timeStamp {@link LocalDateTime} time stamp of the last audit in the previous page, nullable
+     * @param id {@link UUID} id of the last audit in the previous page, nullable
+     * @param isAscending specify the order to be sorted
+     * @param size maximum amount of audits in the page
+     * @return list of audits sorted by timeStamp and id
+     */
+    List<Audit> findPage(String vmId, String category, LocalDateTime timeStamp, UUID id, boolean isAscending,
+                         int size);
+
     /**
      * @return count of audits in the database
      */
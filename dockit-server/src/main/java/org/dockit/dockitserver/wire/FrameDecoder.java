@@ -0,0 +1,126 @@
+package org.dockit.dockitserver.wire;
+
+import java.nio.ByteBuffer;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Utility class to read the body of a binary write request sent by an agent:
+ * <pre>
+ * "DKA" | version | varint audit count | audits
+ * audit: vmId | category | zigzag epoch second | varint nanosecond | encoding | varint payload length | payload
+ * </pre>
+ * The encoding is 0 if the payload is sent as it is and 1 if it is compressed with deflate.
+ * Every field is length prefixed, so the audits are read in place and their encrypted payloads are slices of the
+ * body.
+ */
+public final class FrameDecoder {
+    // Two empty strings, a time stamp, the encoding and an empty payload
+    private static final int MIN_FRAME_SIZE = 6;
+
+    /**
+     * @param body body of the request
+     * @return {@link Optional} empty if the body is malformed or of another version, the audits otherwise
+     */
+    public static Optional<List<Frame>> decode(ByteBuffer body) {
+        try {
+            WireReader reader = new WireReader(body);
+            for (byte magic : WireConstants.FRAME_MAGIC) {
+                if (reader.readByte() != magic) {
+                    return Optional.empty();
+                }
+            }
+            if (reader.readByte() != WireConstants.VERSION) {
+                return Optional.empty();
+            }
+            long count = reader.readVarint();
+            if (count < 0 || count > reader.remaining() / MIN_FRAME_SIZE) {
+                return Optional.empty();
+            }
+            List<Frame> frames = new ArrayList<>((int) count);
+            for (int i = 0; i < count; i++) {
+                String vmId = reader.readString();
+                String category = reader.readString();
+                long epochSecond = reader.readZigZag();
+                long nanos = reader.readVarint();
+                if (nanos < 0 || nanos > 999_999_999) {
+                    return Optional.empty();
+                }
+                LocalDateTime timeStamp = LocalDateTime.ofEpochSecond(epochSecond, (int) nanos, ZoneOffset.UTC);
+                String encoding = switch (reader.readByte()) {
+                    case WireConstants.IDENTITY -> PayloadEncoding.IDENTITY;
+                    case WireConstants.DEFLATE -> PayloadEncoding.DEFLATE;
+                    default -> null;
+                };
+                if (encoding == null) {
+                    return Optional.empty();
+                }
+                frames.add(new Frame(vmId, category, timeStamp, encoding, reader.readSlice()));
+            }
+            if (reader.hasRemaining()) {
+                return Optional.empty();
+            }
+            return Optional.of(frames);
+        } catch (IllegalArgumentException | DateTimeException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Audit read from a binary write request
+     */
+    public static final class Frame {
+        private final String vmId;
+        private final String category;
+        private final LocalDateTime timeStamp;
+        private final String encoding;
+        private final ByteBuffer payload;
+
+        private Frame(String vmId, String category, LocalDateTime timeStamp, String encoding, ByteBuffer payload) {
+            this.vmId = vmId;
+            this.category = category;
+            this.timeStamp = timeStamp;
+            this.encoding = encoding;
+            this.payload = payload;
+        }
+
+        /**
+         * @return vm id of the audit
+         */
+        public String getVmId() {
+            return vmId;
+        }
+
+        /**
+         * @return category of the audit
+         */
+        public String getCategory() {
+            return category;
+        }
+
+        /**
+         * @return local date time of the audit
+         */
+        public LocalDateTime getTimeStamp() {
+            return timeStamp;
+        }
+
+        /**
+         * @return encoding of the payload before it was encrypted, see {@link PayloadEncoding}
+         */
+        public String getEncoding() {
+            return encoding;
+        }
+
+        /**
+         * @return encrypted payload of the audit, a slice of the request body
+         */
+        public ByteBuffer getPayload() {
+            return payload;
+        }
+    }
+}
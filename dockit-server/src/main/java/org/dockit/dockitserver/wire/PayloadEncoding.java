@@ -0,0 +1,70 @@
+package org.dockit.dockitserver.wire;
+
+import java.io.ByteArrayOutputStream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Utility class to decode the payload of an audit after it is decrypted, according to the encoding the agent sent
+ * along with it. Agents compress large payloads with deflate before encrypting them.
+ */
+public final class PayloadEncoding {
+    public static final String IDENTITY = "identity";
+    public static final String DEFLATE = "deflate";
+
+    // Upper bound of an inflated payload, so a small payload can not exhaust the memory of the server
+    private static final int MAX_INFLATED_SIZE = 64 * 1024 * 1024;
+    private static final int BUFFER_SIZE = 8192;
+
+    /**
+     * @param encoding encoding sent by an agent, null if it did not send one
+     * @return if the encoding can be decoded
+     */
+    public static boolean isSupported(String encoding) {
+        return encoding == null || IDENTITY.equals(encoding) || DEFLATE.equals(encoding);
+    }
+
+    /**
+     * @param payload decrypted payload
+     * @param encoding encoding of the payload, null for {@link #IDENTITY}
+     * @return decoded payload
+     * @throws IllegalArgumentException if the encoding is not supported or the payload is malformed
+     */
+    public static byte[] decode(byte[] payload, String encoding) {
+        if (encoding == null || IDENTITY.equals(encoding)) {
+            return payload;
+        }
+        if (!DEFLATE.equals(encoding)) {
+            throw new IllegalArgumentException("Unsupported encoding %s!".formatted(encoding));
+        }
+        return inflate(payload);
+    }
+
+    private static byte[] inflate(byte[] payload) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(payload);
+            // Json compresses to a fraction of its size, so start from a few times the input
+            ByteArrayOutputStream output = new ByteArrayOutputStream(Math.min(payload.length * 4, MAX_INFLATED_SIZE));
+            byte[] buffer = new byte[BUFFER_SIZE];
+            while (!inflater.finished()) {
+                int size = inflater.inflate(buffer);
+                if (size == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalArgumentException("Truncated deflate payload!");
+                }
+                if (output.size() + size > MAX_INFLATED_SIZE) {
+                    throw new IllegalArgumentException("Inflated payload exceeds the limit!");
+                }
+                output.write(buffer, 0, size);
+            }
+            if (inflater.getRemaining() > 0) {
+                throw new IllegalArgumentException("Trailing bytes after the deflate payload!");
+            }
+            return output.toByteArray();
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException(e.getMessage());
+        } finally {
+            inflater.end();
+        }
+    }
+}
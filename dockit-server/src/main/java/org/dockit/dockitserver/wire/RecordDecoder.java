@@ -0,0 +1,105 @@
+package org.dockit.dockitserver.wire;
+
+import com.google.gson.internal.LazilyParsedNumber;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+/**
+ * Utility class to decode the decrypted payload of an audit sent by an agent. A payload encoded as binary records
+ * starts with a nul byte followed by the version, the layout, the schema holding the field names, and a tagged value
+ * for every field of each record. It is decoded to the json objects, joined with the delimiter if the agent
+ * collected a list, which are stored as the data of the audit. Any other payload is UTF-8 text, as sent by the
+ * agents which do not use the binary format.
+ */
+public final class RecordDecoder {
+
+    /**
+     * @param payload decrypted payload of an audit
+     * @return {@link Optional} empty if the records are malformed, the data of the audit otherwise
+     */
+    public static Optional<String> decode(byte[] payload) {
+        if (payload.length == 0 || payload[0] != WireConstants.RECORD_MAGIC) {
+            return Optional.of(new String(payload, StandardCharsets.UTF_8));
+        }
+        try {
+            WireReader reader = new WireReader(ByteBuffer.wrap(payload, 1, payload.length - 1));
+            if (reader.readByte() != WireConstants.VERSION) {
+                return Optional.empty();
+            }
+            byte layout = reader.readByte();
+            if (layout != WireConstants.SINGLE && layout != WireConstants.DELIMITED) {
+                return Optional.empty();
+            }
+            String[] fields = new String[reader.readLength()];
+            for (int i = 0; i < fields.length; i++) {
+                fields[i] = reader.readString();
+            }
+            long count = reader.readVarint();
+            // Each field of a record takes at least its tag, and records without fields do not consume any byte
+            if (count < 0 || (layout == WireConstants.SINGLE && count != 1)
+                    || (fields.length > 0 && count > reader.remaining() / fields.length)
+                    || (fields.length == 0 && count > 1)) {
+                return Optional.empty();
+            }
+
+            StringWriter data = new StringWriter(payload.length * 2);
+            for (long record = 0; record < count; record++) {
+                JsonWriter writer = new JsonWriter(data);
+                writer.setLenient(true);
+                writer.beginObject();
+                for (String field : fields) {
+                    byte tag = reader.readByte();
+                    if (tag != WireConstants.ABSENT) {
+                        writer.name(field);
+                        writeValue(reader, writer, tag);
+                    }
+                }
+                writer.endObject();
+                if (layout == WireConstants.DELIMITED) {
+                    data.write(WireConstants.DELIMITER);
+                }
+            }
+            if (reader.hasRemaining()) {
+                return Optional.empty();
+            }
+            return Optional.of(data.toString());
+        } catch (IllegalArgumentException | IllegalStateException | IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static void writeValue(WireReader reader, JsonWriter writer, byte tag) throws IOException {
+        switch (tag) {
+            case WireConstants.NULL -> writer.nullValue();
+            case WireConstants.FALSE -> writer.value(false);
+            case WireConstants.TRUE -> writer.value(true);
+            case WireConstants.LONG -> writer.value(reader.readZigZag());
+            case WireConstants.DOUBLE -> writer.value(reader.readDouble());
+            case WireConstants.NUMBER -> writer.value(new LazilyParsedNumber(reader.readString()));
+            case WireConstants.STRING -> writer.value(reader.readString());
+            case WireConstants.ARRAY -> {
+                long size = reader.readLength();
+                writer.beginArray();
+                for (long i = 0; i < size; i++) {
+                    writeValue(reader, writer, reader.readByte());
+                }
+                writer.endArray();
+            }
+            case WireConstants.OBJECT -> {
+                long size = reader.readLength();
+                writer.beginObject();
+                for (long i = 0; i < size; i++) {
+                    writer.name(reader.readString());
+                    writeValue(reader, writer, reader.readByte());
+                }
+                writer.endObject();
+            }
+            default -> throw new IllegalArgumentException("Unknown value tag %d!".formatted(tag));
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package org.dockit.dockitserver.wire;
+
+/**
+ * Class containing the constants of the binary wire format, shared with the agents
+ */
+public final class WireConstants {
+    // Content type of the binary requests, the version is also written at the start of the body
+    public static final String MEDIA_TYPE = "application/vnd.dockit.audit+binary";
+    public static final int VERSION = 1;
+
+    // Start of a request body: "DKA" followed by the version
+    static final byte[] FRAME_MAGIC = {'D', 'K', 'A'};
+    // Start of an encoded payload, a nul byte never starts the text of a legacy payload
+    static final byte RECORD_MAGIC = 0;
+
+    // Layout of the records of a payload
+    static final byte SINGLE = 0;
+    static final byte DELIMITED = 1;
+    static final String DELIMITER = "/_/_/";
+
+    // Encoding of the payload of an audit, see PayloadEncoding
+    static final byte IDENTITY = 0;
+    static final byte DEFLATE = 1;
+
+    // Tags of the values of a record
+    static final byte ABSENT = 0;
+    static final byte NULL = 1;
+    static final byte FALSE = 2;
+    static final byte TRUE = 3;
+    static final byte LONG = 4;
+    static final byte DOUBLE = 5;
+    static final byte NUMBER = 6;
+    static final byte STRING = 7;
+    static final byte ARRAY = 8;
+    static final byte OBJECT = 9;
+}
@@ -0,0 +1,89 @@
+package org.dockit.dockitserver.wire;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads the primitives of the binary wire format in place from a {@link ByteBuffer}: unsigned and zigzag varints,
+ * big endian doubles, and length prefixed slices and UTF-8 strings
+ */
+final class WireReader {
+    private static final int MAX_VARINT_BYTES = 10;
+
+    private final ByteBuffer buffer;
+
+    WireReader(ByteBuffer buffer) {
+        this.buffer = buffer.duplicate();
+    }
+
+    boolean hasRemaining() {
+        return buffer.hasRemaining();
+    }
+
+    int remaining() {
+        return buffer.remaining();
+    }
+
+    byte readByte() {
+        require(1);
+        return buffer.get();
+    }
+
+    long readVarint() {
+        long value = 0;
+        for (int i = 0; i < MAX_VARINT_BYTES; i++) {
+            byte current = readByte();
+            value |= (long) (current & 0x7F) << (7 * i);
+            if ((current & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint!");
+    }
+
+    int readLength() {
+        long length = readVarint();
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IllegalArgumentException("Length exceeds the remaining bytes!");
+        }
+        return (int) length;
+    }
+
+    long readZigZag() {
+        long value = readVarint();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    double readDouble() {
+        require(Double.BYTES);
+        return buffer.getDouble();
+    }
+
+    ByteBuffer readSlice() {
+        int length = readLength();
+        ByteBuffer slice = buffer.slice(buffer.position(), length);
+        buffer.position(buffer.position() + length);
+        return slice;
+    }
+
+    String readString() {
+        int length = readLength();
+        String value;
+        if (buffer.hasArray()) {
+            value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length,
+                    StandardCharsets.UTF_8);
+            buffer.position(buffer.position() + length);
+        } else {
+            byte[] bytes = new byte[length];
+            buffer.get(bytes);
+            value = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return value;
+    }
+
+    private void require(int length) {
+        if (buffer.remaining() < length) {
+            throw new IllegalArgumentException("Unexpected end of the data!");
+        }
+    }
+}
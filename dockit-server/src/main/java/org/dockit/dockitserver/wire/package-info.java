@@ -0,0 +1,8 @@
+/**
+ * This package contains the readers of the binary wire format sent by the agents.
+ *
+ * @since 1.0
+ * @author Aziz Serin
+ * @version 1.0
+ */
+package org.dockit.dockitserver.wire;
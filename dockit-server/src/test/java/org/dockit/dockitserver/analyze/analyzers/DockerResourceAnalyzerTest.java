@@ -246,8 +246,21 @@ public class DockerResourceAnalyzerTest {
               }
             }""";
 
+    // Usage computed by the agent from the streamed stats, cpu usage gives medium-level alert
+    private static final String STREAMED_DATA = """
+            {"Id":"abc","cpu_percent":85.5,"memory_usage":100,"memory_limit":1000,"memory_percent":10.0,
+            "network_rx_bytes_per_second":0.0,"samples":11,"window_seconds":10.0}""";
+    private static final String PARTIAL_DATA = "{\"Id\":\"abc\",\"partial\":true}";
+
+    private static final String AGGREGATED_DATA = """
+            {"Id":"abc","cpu_percent":{"min":10.0,"max":92.0,"mean":30.0,"last":20.0,"count":10},
+            "memory_percent":{"min":40.0,"max":60.0,"mean":50.0,"last":45.0,"count":10}}""";
+
     private Audit memoryAudit;
     private Audit cpuAudit;
+    private Audit partialAudit;
+    private Audit streamedAudit;
+    private Audit aggregatedAudit;
 
     @Autowired
     public DockerResourceAnalyzer dockerResourceAnalyzer;
@@ -260,6 +273,13 @@ public class DockerResourceAnalyzerTest {
                 LocalDateTime.now(), MEMORY_DATA, agent).get();
         cpuAudit = EntityCreator.createAudit("vmId", AuditCategories.DOCKER_CONTAINER_RESOURCE,
                 LocalDateTime.now(), CPU_DATA, agent).get();
+        partialAudit = EntityCreator.createAudit("vmId", AuditCategories.DOCKER_CONTAINER_RESOURCE,
+                LocalDateTime.now(), PARTIAL_DATA + "/_/_/" + MEMORY_DATA,
+                agent).get();
+        streamedAudit = EntityCreator.createAudit("vmId", AuditCategories.DOCKER_CONTAINER_RESOURCE,
+                LocalDateTime.now(), STREAMED_DATA, agent).get();
+        aggregatedAudit = EntityCreator.createAudit("vmId", AuditCategories.DOCKER_CONTAINER_RESOURCE,
+                LocalDateTime.now(), AGGREGATED_DATA, agent).get();
     }
 
     @Test
@@ -279,4 +299,28 @@ public class DockerResourceAnalyzerTest {
         assertThat(alerts.get(0).getImportance()).isEqualTo(Alert.Importance.MEDIUM);
         assertThat(alerts.get(0).getMessage()).containsIgnoringCase("cpu");
     }
+
+    @Test
+    public void analyzeSkipsPartialContainers() {
+        List<Alert> alerts = dockerResourceAnalyzer.analyze(partialAudit);
+        // Only the memory alert of the complete container, the partial one has no stats
+        assertThat(alerts).hasSize(1);
+        assertThat(alerts.get(0).getMessage()).containsIgnoringCase("memory");
+    }
+
+    @Test
+    public void analyzeUsesUsageComputedByAgent() {
+        List<Alert> alerts = dockerResourceAnalyzer.analyze(streamedAudit);
+        assertThat(alerts).hasSize(1);
+        assertThat(alerts.get(0).getImportance()).isEqualTo(Alert.Importance.MEDIUM);
+        assertThat(alerts.get(0).getMessage()).contains("cpu_usage: 85.5");
+    }
+
+    @Test
+    public void analyzeUsesHighestUsageGivenAggregatedData() {
+        List<Alert> alerts = dockerResourceAnalyzer.analyze(aggregatedAudit);
+        assertThat(alerts).hasSize(2);
+        assertThat(alerts).extracting(Alert::getImportance)
+                .containsExactlyInAnyOrder(Alert.Importance.CRITICAL, Alert.Importance.LOW);
+    }
 }
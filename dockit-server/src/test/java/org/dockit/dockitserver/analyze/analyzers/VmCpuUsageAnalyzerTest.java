@@ -34,6 +34,7 @@ public class VmCpuUsageAnalyzerTest {
 
     private Audit alertAudit;
     private Audit noAlertAudit;
+    private Audit aggregatedAudit;
 
     @BeforeAll
     public void setup() {
@@ -53,6 +54,10 @@ public class VmCpuUsageAnalyzerTest {
         String noAlertData = gson.toJson(noAlertJson);
         noAlertAudit = EntityCreator.createAudit("vmId", AuditCategories.VM_CPU,
                 LocalDateTime.now(), noAlertData, agent).get();
+
+        String aggregatedData = "{\"cpu_load\":{\"min\":20.0,\"max\":95.0,\"mean\":40.0,\"last\":30.0,\"count\":10}}";
+        aggregatedAudit = EntityCreator.createAudit("vmId", AuditCategories.VM_CPU,
+                LocalDateTime.now(), aggregatedData, agent).get();
     }
 
     @Test
@@ -70,4 +75,13 @@ public class VmCpuUsageAnalyzerTest {
 
         assertThat(alerts.size()).isEqualTo(0);
     }
+
+    @Test
+    public void analyzeReturnsAlertGivenAggregatedCpuLoad() {
+        List<Alert> alerts = vmCpuUsageAnalyzer.analyze(aggregatedAudit);
+
+        // The highest load of the window is analyzed
+        assertThat(alerts.size()).isEqualTo(1);
+        assertThat(alerts.get(0).getImportance()).isEqualTo(Alert.Importance.CRITICAL);
+    }
 }
@@ -34,6 +34,7 @@ public class VmMemoryUsageAnalyzerTest {
 
     private Audit alertAudit;
     private Audit noAlertAudit;
+    private Audit aggregatedAudit;
 
     @BeforeAll
     public void setup() {
@@ -55,6 +56,11 @@ public class VmMemoryUsageAnalyzerTest {
         String noAlertData = gson.toJson(noAlertJson);
         noAlertAudit = EntityCreator.createAudit("vmId", AuditCategories.VM_CPU,
                 LocalDateTime.now(), noAlertData, agent).get();
+
+        String aggregatedData = "{\"total\":{\"min\":100,\"max\":100,\"mean\":100.0,\"last\":100,\"count\":10},"
+                + "\"available\":{\"min\":5,\"max\":90,\"mean\":60.0,\"last\":80,\"count\":10}}";
+        aggregatedAudit = EntityCreator.createAudit("vmId", AuditCategories.VM_MEMORY,
+                LocalDateTime.now(), aggregatedData, agent).get();
     }
 
     @Test
@@ -72,4 +78,13 @@ public class VmMemoryUsageAnalyzerTest {
 
         assertThat(alerts.size()).isEqualTo(0);
     }
+
+    @Test
+    public void analyzeReturnsAlertGivenAggregatedMemory() {
+        List<Alert> alerts = vmMemoryUsageAnalyzer.analyze(aggregatedAudit);
+
+        // The least available memory of the window is analyzed
+        assertThat(alerts.size()).isEqualTo(1);
+        assertThat(alerts.get(0).getImportance()).isEqualTo(Alert.Importance.CRITICAL);
+    }
 }
@@ -0,0 +1,192 @@
+package org.dockit.dockitserver.analyze.pipeline;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.dockit.dockitserver.analyze.AuditAnalyzer;
+import org.dockit.dockitserver.analyze.signal.SignalledAlerts;
+import org.dockit.dockitserver.controllers.utils.AuditDataDecryptFromDatabase;
+import org.dockit.dockitserver.entities.Agent;
+import org.dockit.dockitserver.entities.Alert;
+import org.dockit.dockitserver.entities.Audit;
+import org.dockit.dockitserver.exceptions.encryption.EncryptionException;
+import org.dockit.dockitserver.exceptions.security.key.KeyStoreException;
+import org.dockit.dockitserver.services.templates.AlertService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class AuditAnalysisPipelineTest {
+
+    private AuditAnalyzer auditAnalyzer;
+    private AlertService alertService;
+    private AuditDataDecryptFromDatabase decrypt;
+    private MeterRegistry meterRegistry;
+    private SignalledAlerts signalledAlerts;
+    private AuditAnalysisPipeline pipeline;
+
+    @BeforeEach
+    public void setup() throws EncryptionException, KeyStoreException {
+        auditAnalyzer = mock(AuditAnalyzer.class);
+        alertService = mock(AlertService.class);
+        decrypt = mock(AuditDataDecryptFromDatabase.class);
+        when(decrypt.decryptAudit(any(Audit.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        meterRegistry = new SimpleMeterRegistry();
+        signalledAlerts = new SignalledAlerts(new MockEnvironment());
+    }
+
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+        pipeline.destroy();
+    }
+
+    @Test
+    public void submitAnalyzesAuditAndSavesAlerts() {
+        List<Alert> alerts = List.of(new Alert());
+        when(auditAnalyzer.analyze(any(Audit.class))).thenReturn(alerts);
+        pipeline = createPipeline(2, 10);
+
+        assertThat(pipeline.submit(createAudit(UUID.randomUUID()))).isTrue();
+
+        assertThat(pipeline.awaitIdle(Duration.ofSeconds(5))).isTrue();
+        verify(alertService).save(alerts);
+    }
+
+    @Test
+    public void submitDoesNotSaveAlertsSignalledByTheAgent() {
+        Audit audit = createAudit(UUID.randomUUID());
+        Alert signalled = createAlert(audit, Alert.Importance.CRITICAL, LocalDateTime.now().minusSeconds(10));
+        Alert generated = createAlert(audit, Alert.Importance.CRITICAL, LocalDateTime.now());
+        Alert other = createAlert(audit, Alert.Importance.MEDIUM, LocalDateTime.now());
+        signalledAlerts.record(audit.getCategory(), null, signalled);
+        when(auditAnalyzer.analyze(any(Audit.class))).thenReturn(List.of(generated, other));
+        pipeline = createPipeline(1, 10);
+
+        pipeline.submit(audit);
+
+        assertThat(pipeline.awaitIdle(Duration.ofSeconds(5))).isTrue();
+        verify(alertService).save(List.of(other));
+    }
+
+    @Test
+    public void submitSavesAlertsOfOtherSubjectThanSignalled() {
+        Audit audit = createAudit(UUID.randomUUID());
+        Alert signalled = createAlert(audit, Alert.Importance.CRITICAL, LocalDateTime.now().minusSeconds(10));
+        Alert generated = createAlert(audit, Alert.Importance.CRITICAL, LocalDateTime.now());
+        generated.setMessage("/: 95.0");
+        Alert other = createAlert(audit, Alert.Importance.CRITICAL, LocalDateTime.now());
+        other.setMessage("/home: 97.0");
+        signalledAlerts.record(audit.getCategory(), "/", signalled);
+        when(auditAnalyzer.analyze(any(Audit.class))).thenReturn(List.of(generated, other));
+        pipeline = createPipeline(1, 10);
+
+        pipeline.submit(audit);
+
+        assertThat(pipeline.awaitIdle(Duration.ofSeconds(5))).isTrue();
+        verify(alertService).save(List.of(other));
+    }
+
+    @Test
+    public void submitKeepsOrderOfSameAgent() {
+        List<String> analyzed = new CopyOnWriteArrayList<>();
+        when(auditAnalyzer.analyze(any(Audit.class))).thenAnswer(invocation -> {
+            analyzed.add(((Audit) invocation.getArgument(0)).getVmId());
+            return List.of();
+        });
+        pipeline = createPipeline(4, 100);
+        UUID agentId = UUID.randomUUID();
+
+        for (int i = 0; i < 50; i++) {
+            Audit audit = createAudit(agentId);
+            audit.setVmId(String.valueOf(i));
+            pipeline.submit(audit);
+        }
+
+        assertThat(pipeline.awaitIdle(Duration.ofSeconds(5))).isTrue();
+        assertThat(analyzed).hasSize(50);
+        for (int i = 0; i < 50; i++) {
+            assertThat(analyzed.get(i)).isEqualTo(String.valueOf(i));
+        }
+    }
+
+    @Test
+    public void submitDropsAuditGivenFullQueue() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(auditAnalyzer.analyze(any(Audit.class))).thenAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return List.of();
+        });
+        pipeline = createPipeline(1, 1);
+        UUID agentId = UUID.randomUUID();
+
+        assertThat(pipeline.submit(createAudit(agentId))).isTrue();
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(pipeline.submit(createAudit(agentId))).isTrue();
+        assertThat(pipeline.submit(createAudit(agentId))).isFalse();
+
+        assertThat(pipeline.getQueueDepth()).isEqualTo(1);
+        assertThat(meterRegistry.get("dockit.analysis.dropped").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("dockit.analysis.queue.depth").gauge().value()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(pipeline.awaitIdle(Duration.ofSeconds(5))).isTrue();
+        assertThat(meterRegistry.get("dockit.analysis.lag").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    public void failedAnalysisIsCounted() {
+        when(auditAnalyzer.analyze(any(Audit.class))).thenThrow(new IllegalArgumentException("invalid data"));
+        pipeline = createPipeline(1, 10);
+
+        pipeline.submit(createAudit(UUID.randomUUID()));
+
+        assertThat(pipeline.awaitIdle(Duration.ofSeconds(5))).isTrue();
+        assertThat(meterRegistry.get("dockit.analysis.failed").counter().count()).isEqualTo(1);
+    }
+
+    private AuditAnalysisPipeline createPipeline(int workers, int capacity) {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("dockit.server.analysis.workers", String.valueOf(workers))
+                .withProperty("dockit.server.analysis.queue.capacity", String.valueOf(capacity))
+                .withProperty("dockit.server.analysis.queue.offer-timeout", "10");
+        return new AuditAnalysisPipeline(auditAnalyzer, decrypt, alertService, signalledAlerts, meterRegistry,
+                environment);
+    }
+
+    private Audit createAudit(UUID agentId) {
+        Agent agent = new Agent();
+        agent.setId(agentId);
+        Audit audit = new Audit();
+        audit.setId(UUID.randomUUID());
+        audit.setVmId("vmId");
+        audit.setCategory("vm_cpu");
+        audit.setAgent(agent);
+        audit.setData("data");
+        return audit;
+    }
+
+    private Alert createAlert(Audit audit, Alert.Importance importance, LocalDateTime timeStamp) {
+        Alert alert = new Alert();
+        alert.setAgent(audit.getAgent());
+        alert.setVmId(audit.getVmId());
+        alert.setImportance(importance);
+        alert.setAuditTimeStamp(timeStamp);
+        return alert;
+    }
+}
@@ -0,0 +1,79 @@
+package org.dockit.dockitserver.authentication.config;
+
+import org.dockit.dockitserver.DockitServerApplication;
+import org.dockit.dockitserver.entities.Admin;
+import org.dockit.dockitserver.entities.utils.EntityCreator;
+import org.dockit.dockitserver.services.templates.AdminService;
+import org.dockit.dockitserver.testUtils.TokenObtain;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+@DirtiesContext
+@ActiveProfiles("test")
+@SpringBootTest(classes = DockitServerApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ExtendWith(SpringExtension.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class SecurityConfigTest {
+    @LocalServerPort
+    int port;
+
+    @Autowired
+    AdminService adminService;
+
+    static final String ADMIN_USERNAME = "admin";
+    static final String VIEWER_ADMIN_USERNAME = "viewer";
+    static final String ADMIN_PASSWORD = "password";
+
+    WebTestClient client;
+
+    @BeforeAll
+    public void setup() {
+        adminService.save(EntityCreator.createAdmin(ADMIN_USERNAME, ADMIN_PASSWORD, Admin.Role.SUPER).get());
+        adminService.save(EntityCreator.createAdmin(VIEWER_ADMIN_USERNAME, ADMIN_PASSWORD, Admin.Role.VIEWER).get());
+
+        client = WebTestClient.bindToServer().baseUrl("http://localhost:" + port).build();
+    }
+
+    @Test
+    public void healthProbesAreOpen() {
+        client.get().uri("/actuator/health/liveness")
+                .exchange()
+                .expectStatus().isOk();
+    }
+
+    @Test
+    public void metricsRequireAuthentication() {
+        client.get().uri("/actuator/metrics")
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+
+    @Test
+    public void metricsFailGivenInsufficientPermissions() {
+        String jwt = TokenObtain.getJwt(VIEWER_ADMIN_USERNAME, ADMIN_PASSWORD, client);
+
+        client.get().uri("/actuator/metrics")
+                .header("Authorization", jwt)
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+
+    @Test
+    public void metricsSucceed() {
+        String jwt = TokenObtain.getJwt(ADMIN_USERNAME, ADMIN_PASSWORD, client);
+
+        client.get().uri("/actuator/metrics")
+                .header("Authorization", jwt)
+                .exchange()
+                .expectStatus().isOk();
+    }
+}
@@ -34,12 +34,13 @@ public class CacheConfigTest {
     public void cachesAreInitialisedProperly() {
         CacheManager cacheManager = cacheConfig.cacheManager(configContainer);
         assertTrue(cacheManager instanceof CaffeineCacheManager);
-        assertThat(cacheManager.getCacheNames()).hasSize(4);
+        assertThat(cacheManager.getCacheNames()).hasSize(5);
         assertThat(cacheManager.getCacheNames()).containsAll(List.of(
                 CacheNames.AUDIT,
                 CacheNames.API_KEY,
                 CacheNames.AGENT,
-                CacheNames.ADMIN
+                CacheNames.ADMIN,
+                CacheNames.VERIFIED_API_KEY
         ));
     }
 }
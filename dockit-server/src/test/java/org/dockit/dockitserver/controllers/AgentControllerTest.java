@@ -380,4 +380,26 @@ public class AgentControllerTest {
                 .exchange()
                 .expectStatus().isOk();
     }
+
+    @Test
+    public void pullHistoryFailsGivenInvalidAgent() {
+        String jwt = TokenObtain.getJwt(ADMIN_USERNAME, ADMIN_PASSWORD, client);
+
+        client.get().uri("/api/agent/history?id=" + UUID.randomUUID() + "&from=0&to=1000")
+                .header("Authorization", jwt)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    public void pullHistoryFailsGivenInvalidRange() {
+        String jwt = TokenObtain.getJwt(ADMIN_USERNAME, ADMIN_PASSWORD, client);
+
+        client.get().uri("/api/agent/history?id=" + agent.getId() + "&from=1000&to=0")
+                .header("Authorization", jwt)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
 }
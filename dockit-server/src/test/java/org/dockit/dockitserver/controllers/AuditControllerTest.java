@@ -36,6 +36,7 @@ import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -212,6 +213,59 @@ public class AuditControllerTest {
                 );
     }
 
+    @Test
+    public void getPageSucceeds() {
+        String jwt = TokenObtain.getJwt(ADMIN_USERNAME, ADMIN_PASSWORD, client);
+
+        client.get().uri("/api/audit/page?vmId=" + VM_ID + "&isAscending=" + true)
+                .header("Authorization", jwt)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Map.class)
+                .consumeWith(res -> assertThat((List<?>) res.getResponseBody().get("audits"))
+                        .isNotEmpty()
+                );
+    }
+
+    @Test
+    public void getPageFailsGivenInvalidCursor() {
+        String jwt = TokenObtain.getJwt(ADMIN_USERNAME, ADMIN_PASSWORD, client);
+
+        client.get().uri("/api/audit/page?cursor=invalid")
+                .header("Authorization", jwt)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    public void getPageFailsGivenInvalidSize() {
+        String jwt = TokenObtain.getJwt(ADMIN_USERNAME, ADMIN_PASSWORD, client);
+
+        client.get().uri("/api/audit/page?size=0")
+                .header("Authorization", jwt)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    public void streamSucceeds() {
+        String jwt = TokenObtain.getJwt(ADMIN_USERNAME, ADMIN_PASSWORD, client);
+
+        client.get().uri("/api/audit/stream?vmId=" + VM_ID)
+                .header("Authorization", jwt)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class)
+                .consumeWith(res -> assertThat(res.getResponseBody())
+                        .contains(VM_ID)
+                        .contains(DATA)
+                );
+    }
+
     @Test
     public void deleteAllByIdsFailGivenInsufficientPermissions() {
         String jwt = TokenObtain.getJwt(VIEWER_ADMIN_USERNAME, ADMIN_PASSWORD, client);
@@ -1,18 +1,27 @@
 package org.dockit.dockitserver.controllers;
 
+import com.icegreen.greenmail.configuration.GreenMailConfiguration;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import org.apache.commons.lang3.ArrayUtils;
 import org.dockit.dockitserver.DockitServerApplication;
 import org.dockit.dockitserver.entities.Admin;
 import org.dockit.dockitserver.entities.Agent;
 import org.dockit.dockitserver.entities.utils.EntityCreator;
 import org.dockit.dockitserver.security.encryption.AESGCMEncryptor;
+import org.dockit.dockitserver.security.key.KeyConstants;
 import org.dockit.dockitserver.security.keystore.KeyStoreHandler;
 import org.dockit.dockitserver.services.templates.AdminService;
 import org.dockit.dockitserver.services.templates.AgentService;
+import org.dockit.dockitserver.services.templates.AuditService;
 import org.dockit.dockitserver.testUtils.TokenObtain;
+import org.dockit.dockitserver.testUtils.WireTestUtils;
+import org.dockit.dockitserver.wire.WireConstants;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.extension.RegisterExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.server.LocalServerPort;
@@ -24,18 +33,25 @@ import org.springframework.test.web.reactive.server.WebTestClient;
 import org.springframework.web.reactive.function.BodyInserters;
 
 import javax.crypto.BadPaddingException;
+import javax.crypto.Cipher;
 import javax.crypto.IllegalBlockSizeException;
 import javax.crypto.NoSuchPaddingException;
 import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
 import java.security.InvalidAlgorithmParameterException;
 import java.security.InvalidKeyException;
 import java.security.Key;
 import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
 import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
 @DirtiesContext
 @ActiveProfiles("test")
 @SpringBootTest(classes = DockitServerApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
@@ -51,6 +67,8 @@ public class WriteControllerTest {
     AdminService adminService;
     @Autowired
     KeyStoreHandler keyStoreHandler;
+    @Autowired
+    AuditService auditService;
 
     static final String AGENT_NAME = "agent";
     static final String AGENT_PASSWORD = "password";
@@ -62,6 +80,12 @@ public class WriteControllerTest {
     static final LocalDateTime TIME_STAMP = LocalDateTime.now();
     static final String DUMMY_URL_STRING = "http://someurl.com";
 
+    // Alerts written by the agent are mailed when they are saved
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP)
+            .withConfiguration(GreenMailConfiguration.aConfig().withUser("emailUser", "password"))
+            .withPerMethodLifecycle(false);
+
 
     String encryptedData;
 
@@ -156,6 +180,23 @@ public class WriteControllerTest {
                 .expectStatus().is5xxServerError();
     }
 
+    @Test
+    public void writeControllerFailsGivenInvalidAPIKey() {
+        Map<String, Object> json = Map.of(
+                "vmId", VM_ID,
+                "category", CATEGORY,
+                "timeStamp", TIME_STAMP.toString(),
+                "data", encryptedData
+        );
+
+        client.post().uri("/api/write?id=" + agentId)
+                .header("X-API-KEY", "invalid" + apiToken)
+                .accept(MediaType.APPLICATION_JSON)
+                .body(BodyInserters.fromValue(json))
+                .exchange()
+                .expectStatus().is4xxClientError();
+    }
+
     @Test
     public void writeControllerSucceeds() {
         Map<String, Object> json = Map.of(
@@ -173,6 +214,240 @@ public class WriteControllerTest {
                 .expectStatus().isOk();
     }
 
+    @Test
+    public void writeControllerReturnsConflictGivenUnchangedOfUnknownSnapshot() throws InvalidAlgorithmParameterException,
+            NoSuchPaddingException, IllegalBlockSizeException, NoSuchAlgorithmException, BadPaddingException,
+            InvalidKeyException {
+        Agent agent = agentService.findById(agentId).get();
+        Key key = keyStoreHandler.getKey(agentId.toString(), agent.getPassword().toCharArray()).get();
+        String change = "dockit-change:{\"type\":\"unchanged\",\"hash\":\"unknown\"}\n";
+        Map<String, Object> json = Map.of(
+                "vmId", VM_ID,
+                "category", CATEGORY,
+                "timeStamp", TIME_STAMP.toString(),
+                "data", AESGCMEncryptor.encrypt(change, agentId.toString(), (SecretKey) key)
+        );
+
+        client.post().uri("/api/write?id=" + agentId)
+                .header("X-API-KEY", apiToken)
+                .accept(MediaType.APPLICATION_JSON)
+                .body(BodyInserters.fromValue(json))
+                .exchange()
+                .expectStatus().isEqualTo(409);
+    }
+
+    @Test
+    public void writeControllerSucceedsGivenCompressedData() throws InvalidAlgorithmParameterException,
+            NoSuchPaddingException, IllegalBlockSizeException, NoSuchAlgorithmException, BadPaddingException,
+            InvalidKeyException {
+        Agent agent = agentService.findById(agentId).get();
+        Key key = keyStoreHandler.getKey(agentId.toString(), agent.getPassword().toCharArray()).get();
+        byte[] compressed = WireTestUtils.deflate(DATA.repeat(100).getBytes());
+        Map<String, Object> json = Map.of(
+                "vmId", VM_ID,
+                "category", CATEGORY,
+                "timeStamp", TIME_STAMP.toString(),
+                "data", encryptBytes(compressed, (SecretKey) key),
+                "encoding", "deflate"
+        );
+
+        client.post().uri("/api/write?id=" + agentId)
+                .header("X-API-KEY", apiToken)
+                .accept(MediaType.APPLICATION_JSON)
+                .body(BodyInserters.fromValue(json))
+                .exchange()
+                .expectStatus().isOk();
+    }
+
+    @Test
+    public void writeControllerFailsGivenUnsupportedEncoding() {
+        Map<String, Object> json = Map.of(
+                "vmId", VM_ID,
+                "category", CATEGORY,
+                "timeStamp", TIME_STAMP.toString(),
+                "data", encryptedData,
+                "encoding", "gzip"
+        );
+
+        client.post().uri("/api/write?id=" + agentId)
+                .header("X-API-KEY", apiToken)
+                .accept(MediaType.APPLICATION_JSON)
+                .body(BodyInserters.fromValue(json))
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    public void writeBatchReturnsStatusForEachAudit() {
+        Map<String, Object> validJson = Map.of(
+                "vmId", VM_ID,
+                "category", CATEGORY,
+                "timeStamp", TIME_STAMP.toString(),
+                "data", encryptedData
+        );
+        Map<String, Object> invalidJson = Map.of(
+                "vmId", VM_ID,
+                "categor", CATEGORY,
+                "timeStamp", TIME_STAMP.toString(),
+                "data", encryptedData
+        );
+        Map<String, Object> unencryptedJson = Map.of(
+                "vmId", VM_ID,
+                "category", CATEGORY,
+                "timeStamp", TIME_STAMP.toString(),
+                "data", DATA
+        );
+        long auditCount = auditService.count();
+
+        client.post().uri("/api/write/batch?id=" + agentId)
+                .header("X-API-KEY", apiToken)
+                .accept(MediaType.APPLICATION_JSON)
+                .body(BodyInserters.fromValue(List.of(validJson, invalidJson, unencryptedJson, validJson)))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(List.class)
+                .consumeWith(res -> {
+                    List<Map<String, Object>> statuses = res.getResponseBody();
+                    assertThat(statuses).hasSize(4);
+                    assertThat(statuses).extracting(status -> status.get("status"))
+                            .containsExactly(200, 400, 500, 200);
+                    assertThat(statuses).extracting(status -> status.get("index"))
+                            .containsExactly(0, 1, 2, 3);
+                });
+
+        assertThat(auditService.count()).isEqualTo(auditCount + 2);
+    }
+
+    @Test
+    public void writeBatchFailsGivenInvalidAgent() {
+        Map<String, Object> json = Map.of(
+                "vmId", VM_ID,
+                "category", CATEGORY,
+                "timeStamp", TIME_STAMP.toString(),
+                "data", encryptedData
+        );
+
+        client.post().uri("/api/write/batch?id=" + UUID.randomUUID())
+                .header("X-API-KEY", apiToken)
+                .accept(MediaType.APPLICATION_JSON)
+                .body(BodyInserters.fromValue(List.of(json)))
+                .exchange()
+                .expectStatus().is4xxClientError();
+    }
+
+    @Test
+    public void writeBinarySucceeds() {
+        byte[] body = WireTestUtils.frame(VM_ID, CATEGORY, TIME_STAMP, Base64.getDecoder().decode(encryptedData));
+
+        client.post().uri("/api/write?id=" + agentId)
+                .header("X-API-KEY", apiToken)
+                .contentType(MediaType.parseMediaType(WireConstants.MEDIA_TYPE))
+                .accept(MediaType.APPLICATION_JSON)
+                .body(BodyInserters.fromValue(body))
+                .exchange()
+                .expectStatus().isOk();
+    }
+
+    @Test
+    public void writeBinaryFailsGivenMalformedBody() {
+        client.post().uri("/api/write?id=" + agentId)
+                .header("X-API-KEY", apiToken)
+                .contentType(MediaType.parseMediaType(WireConstants.MEDIA_TYPE))
+                .accept(MediaType.APPLICATION_JSON)
+                .body(BodyInserters.fromValue(DATA.getBytes()))
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    public void writeBatchBinaryReturnsStatusForEachAudit() {
+        byte[] payload = Base64.getDecoder().decode(encryptedData);
+        byte[] body = WireTestUtils.frame(VM_ID, CATEGORY, TIME_STAMP, payload, DATA.getBytes(), payload);
+        long auditCount = auditService.count();
+
+        client.post().uri("/api/write/batch?id=" + agentId)
+                .header("X-API-KEY", apiToken)
+                .contentType(MediaType.parseMediaType(WireConstants.MEDIA_TYPE))
+                .accept(MediaType.APPLICATION_JSON)
+                .body(BodyInserters.fromValue(body))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(List.class)
+                .consumeWith(res -> {
+                    List<Map<String, Object>> statuses = res.getResponseBody();
+                    assertThat(statuses).extracting(status -> status.get("status"))
+                            .containsExactly(200, 500, 200);
+                });
+
+        assertThat(auditService.count()).isEqualTo(auditCount + 2);
+    }
+
+    @Test
+    public void writeAlertSucceedsGivenValueExceedingThreshold() {
+        Map<String, Object> json = Map.of(
+                "vmId", VM_ID,
+                "category", "vm_memory",
+                "timeStamp", TIME_STAMP.toString(),
+                "value", 95.0,
+                "detectedAt", System.currentTimeMillis()
+        );
+
+        client.post().uri("/api/write/alert?id=" + agentId)
+                .header("X-API-KEY", apiToken)
+                .accept(MediaType.APPLICATION_JSON)
+                .body(BodyInserters.fromValue(json))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Map.class)
+                .consumeWith(res -> assertThat(Objects.requireNonNull(res.getResponseBody())).containsKey("latency"));
+    }
+
+    @Test
+    public void writeAlertFailsGivenValueBelowThresholds() {
+        Map<String, Object> json = Map.of(
+                "vmId", VM_ID,
+                "category", "vm_memory",
+                "timeStamp", TIME_STAMP.toString(),
+                "value", 1.0,
+                "detectedAt", System.currentTimeMillis()
+        );
+
+        client.post().uri("/api/write/alert?id=" + agentId)
+                .header("X-API-KEY", apiToken)
+                .accept(MediaType.APPLICATION_JSON)
+                .body(BodyInserters.fromValue(json))
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    public void writeAlertFailsGivenUnknownCategory() {
+        Map<String, Object> json = Map.of(
+                "vmId", VM_ID,
+                "category", CATEGORY,
+                "timeStamp", TIME_STAMP.toString(),
+                "value", 95.0,
+                "detectedAt", System.currentTimeMillis()
+        );
+
+        client.post().uri("/api/write/alert?id=" + agentId)
+                .header("X-API-KEY", apiToken)
+                .accept(MediaType.APPLICATION_JSON)
+                .body(BodyInserters.fromValue(json))
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    private String encryptBytes(byte[] data, SecretKey key) throws NoSuchPaddingException, NoSuchAlgorithmException,
+            InvalidKeyException, InvalidAlgorithmParameterException, IllegalBlockSizeException, BadPaddingException {
+        byte[] iv = new byte[KeyConstants.IV_SIZE_GCM];
+        new SecureRandom().nextBytes(iv);
+        Cipher cipher = Cipher.getInstance(KeyConstants.AES_GCM_CIPHER);
+        cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(KeyConstants.GCM_TAG_LENGTH, iv));
+        cipher.updateAAD(agentId.toString().getBytes());
+        return Base64.getEncoder().encodeToString(ArrayUtils.addAll(iv, cipher.doFinal(data)));
+    }
+
     private void createAgent() {
         // Create agent this way to have the generated key for data encryption/decryption
         String jwt = TokenObtain.getJwt(ADMIN_USERNAME, ADMIN_PASSWORD, client);
@@ -0,0 +1,129 @@
+package org.dockit.dockitserver.controllers.utils;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AuditChangeResolverTest {
+    private static final UUID AGENT_ID = UUID.randomUUID();
+    private static final String VM_ID = "vm";
+    private static final String CATEGORY = "vm_process";
+    private static final String DELIMITER = "/_/_/";
+    private static final String BASE = "{\"pid\":1,\"name\":\"a\"}" + DELIMITER + "{\"pid\":2,\"name\":\"b\"}"
+            + DELIMITER + "{\"pid\":3,\"name\":\"c\"}" + DELIMITER;
+    private static final String CURRENT = "{\"pid\":1,\"name\":\"a\"}" + DELIMITER + "{\"pid\":3,\"name\":\"d\"}"
+            + DELIMITER + "{\"pid\":4,\"name\":\"e\"}" + DELIMITER;
+    private static final String DELTA = "{\"removed\":[\"[2]\"],\"changed\":[{\"name\":\"d\",\"pid\":3}],"
+            + "\"added\":[{\"pid\":4,\"name\":\"e\"}]}";
+
+    private static final String DUPLICATE_BASE = "{\"pid\":1,\"name\":\"a\"}" + DELIMITER
+            + "{\"pid\":1,\"name\":\"b\"}" + DELIMITER + "{\"pid\":2,\"name\":\"c\"}" + DELIMITER;
+    private static final String DUPLICATE_CURRENT = "{\"pid\":1,\"name\":\"a\"}" + DELIMITER
+            + "{\"pid\":2,\"name\":\"c\"}" + DELIMITER;
+    private static final String DUPLICATE_DELTA = "{\"removed\":[\"[1]#1\"]}";
+
+    private AuditChangeResolver auditChangeResolver;
+
+    @BeforeEach
+    public void setup() {
+        auditChangeResolver = new AuditChangeResolver();
+    }
+
+    @Test
+    public void resolveReturnsPlainDataAsItIs() {
+        assertThat(auditChangeResolver.resolve(AGENT_ID, VM_ID, CATEGORY, BASE)).contains(BASE);
+    }
+
+    @Test
+    public void resolveReturnsBodyOfKeyframe() {
+        assertThat(auditChangeResolver.resolve(AGENT_ID, VM_ID, CATEGORY, keyframe(BASE))).contains(BASE);
+    }
+
+    @Test
+    public void resolveReturnsEmptyGivenKeyframeWithWrongHash() {
+        String change = "dockit-change:{\"type\":\"keyframe\",\"hash\":\"%s\"}\n%s"
+                .formatted(SnapshotDelta.hash(CURRENT), BASE);
+
+        assertThat(auditChangeResolver.resolve(AGENT_ID, VM_ID, CATEGORY, change)).isEmpty();
+    }
+
+    @Test
+    public void resolveReturnsBaseGivenUnchanged() {
+        auditChangeResolver.resolve(AGENT_ID, VM_ID, CATEGORY, keyframe(BASE));
+
+        assertThat(auditChangeResolver.resolve(AGENT_ID, VM_ID, CATEGORY, unchanged(BASE))).contains(BASE);
+    }
+
+    @Test
+    public void resolveReturnsEmptyGivenUnchangedWithoutKeyframe() {
+        assertThat(auditChangeResolver.resolve(AGENT_ID, VM_ID, CATEGORY, unchanged(BASE))).isEmpty();
+    }
+
+    @Test
+    public void resolveKeepsSnapshotsOfVmsApart() {
+        auditChangeResolver.resolve(AGENT_ID, VM_ID, CATEGORY, keyframe(BASE));
+
+        assertThat(auditChangeResolver.resolve(AGENT_ID, "other vm", CATEGORY, unchanged(BASE))).isEmpty();
+    }
+
+    @Test
+    public void resolveAppliesDeltaToBase() {
+        auditChangeResolver.resolve(AGENT_ID, VM_ID, CATEGORY, keyframe(BASE));
+
+        assertThat(auditChangeResolver.resolve(AGENT_ID, VM_ID, CATEGORY, delta(BASE, CURRENT))).contains(CURRENT);
+        assertThat(auditChangeResolver.resolve(AGENT_ID, VM_ID, CATEGORY, unchanged(CURRENT))).contains(CURRENT);
+    }
+
+    @Test
+    public void resolveAppliesDeltaToEntriesSharingKey() {
+        auditChangeResolver.resolve(AGENT_ID, VM_ID, CATEGORY, keyframe(DUPLICATE_BASE));
+
+        assertThat(auditChangeResolver.resolve(AGENT_ID, VM_ID, CATEGORY,
+                delta(DUPLICATE_BASE, DUPLICATE_CURRENT, DUPLICATE_DELTA))).contains(DUPLICATE_CURRENT);
+    }
+
+    @Test
+    public void resolveReturnsEmptyGivenDeltaOfUnknownBase() {
+        auditChangeResolver.resolve(AGENT_ID, VM_ID, CATEGORY, keyframe(CURRENT));
+
+        assertThat(auditChangeResolver.resolve(AGENT_ID, VM_ID, CATEGORY, delta(BASE, CURRENT))).isEmpty();
+    }
+
+    @Test
+    public void resolveReturnsEmptyGivenUnchangedAfterAgentWasEvicted() {
+        auditChangeResolver.resolve(AGENT_ID, VM_ID, CATEGORY, keyframe(BASE));
+        UUID otherAgentId = UUID.randomUUID();
+        auditChangeResolver.resolve(otherAgentId, VM_ID, CATEGORY, keyframe(BASE));
+
+        auditChangeResolver.evict(AGENT_ID);
+
+        assertThat(auditChangeResolver.resolve(AGENT_ID, VM_ID, CATEGORY, unchanged(BASE))).isEmpty();
+        assertThat(auditChangeResolver.resolve(otherAgentId, VM_ID, CATEGORY, unchanged(BASE))).contains(BASE);
+    }
+
+    @Test
+    public void resolveReturnsEmptyGivenMalformedHeader() {
+        assertThat(auditChangeResolver.resolve(AGENT_ID, VM_ID, CATEGORY, "dockit-change:{\"type\"\n")).isEmpty();
+        assertThat(auditChangeResolver.resolve(AGENT_ID, VM_ID, CATEGORY, "dockit-change:{}")).isEmpty();
+    }
+
+    private static String keyframe(String data) {
+        return "dockit-change:{\"type\":\"keyframe\",\"hash\":\"%s\"}\n%s".formatted(SnapshotDelta.hash(data), data);
+    }
+
+    private static String unchanged(String data) {
+        return "dockit-change:{\"type\":\"unchanged\",\"hash\":\"%s\"}\n".formatted(SnapshotDelta.hash(data));
+    }
+
+    private static String delta(String base, String current) {
+        return delta(base, current, DELTA);
+    }
+
+    private static String delta(String base, String current, String delta) {
+        return "dockit-change:{\"type\":\"delta\",\"hash\":\"%s\",\"base\":\"%s\",\"key\":[\"pid\"]}\n%s"
+                .formatted(SnapshotDelta.hash(current), SnapshotDelta.hash(base), delta);
+    }
+}
@@ -0,0 +1,36 @@
+package org.dockit.dockitserver.controllers.utils;
+
+import org.dockit.dockitserver.entities.Audit;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AuditCursorTest {
+
+    @Test
+    public void decodeReturnsEncodedCursor() {
+        Audit audit = new Audit();
+        audit.setId(UUID.randomUUID());
+        audit.setTimeStamp(LocalDateTime.now());
+
+        Optional<AuditCursor> cursor = AuditCursor.decode(AuditCursor.of(audit).encode());
+
+        assertThat(cursor).isPresent();
+        assertThat(cursor.get().getId()).isEqualTo(audit.getId());
+        assertThat(cursor.get().getTimeStamp()).isEqualTo(audit.getTimeStamp());
+    }
+
+    @Test
+    public void decodeReturnsEmptyGivenInvalidCursor() {
+        assertThat(AuditCursor.decode("invalid")).isEmpty();
+    }
+
+    @Test
+    public void decodeReturnsEmptyGivenInvalidBase64() {
+        assertThat(AuditCursor.decode("not base64!")).isEmpty();
+    }
+}
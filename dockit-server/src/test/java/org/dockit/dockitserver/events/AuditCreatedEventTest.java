@@ -6,6 +6,7 @@ import com.icegreen.greenmail.util.ServerSetupTest;
 import com.nimbusds.jose.shaded.gson.Gson;
 import org.dockit.dockitserver.DockitServerApplication;
 import org.dockit.dockitserver.analyze.AuditCategories;
+import org.dockit.dockitserver.analyze.pipeline.AuditAnalysisPipeline;
 import org.dockit.dockitserver.entities.Agent;
 import org.dockit.dockitserver.entities.Alert;
 import org.dockit.dockitserver.entities.Audit;
@@ -36,6 +37,7 @@ import java.net.URL;
 import java.security.InvalidAlgorithmParameterException;
 import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -63,6 +65,9 @@ public class AuditCreatedEventTest {
     @Autowired
     private KeyStoreHandler keyStoreHandler;
 
+    @Autowired
+    private AuditAnalysisPipeline auditAnalysisPipeline;
+
     private Agent agent;
     private Audit alertAudit;
     private Audit noAlertAudit;
@@ -110,6 +115,7 @@ public class AuditCreatedEventTest {
     @Test
     public void listenerGeneratesAlertIfItShould() {
         auditService.save(alertAudit);
+        assertThat(auditAnalysisPipeline.awaitIdle(Duration.ofSeconds(10))).isTrue();
 
         List<Alert> alert = alertService.findByAgent(agent);
 
@@ -122,6 +128,7 @@ public class AuditCreatedEventTest {
     @Test
     public void listenerDoesNotGenerateAlertGivenInsufficientUsage() {
         auditService.save(noAlertAudit);
+        assertThat(auditAnalysisPipeline.awaitIdle(Duration.ofSeconds(10))).isTrue();
 
         List<Alert> alert = alertService.findByAgent(agent);
 
@@ -131,6 +138,7 @@ public class AuditCreatedEventTest {
     @Test
     public void listenerDoesNotGenerateAlertGivenUnknownCategory() {
         auditService.save(invalidCategortyAudit);
+        assertThat(auditAnalysisPipeline.awaitIdle(Duration.ofSeconds(10))).isTrue();
 
         List<Alert> alert = alertService.findByAgent(agent);
 
@@ -8,6 +8,7 @@ import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 import org.dockit.dockitserver.DockitServerApplication;
 import org.dockit.dockitserver.analyze.AuditCategories;
+import org.dockit.dockitserver.analyze.pipeline.AuditAnalysisPipeline;
 import org.dockit.dockitserver.config.ConfigContainer;
 import org.dockit.dockitserver.entities.Agent;
 import org.dockit.dockitserver.entities.Audit;
@@ -43,6 +44,7 @@ import java.security.InvalidAlgorithmParameterException;
 import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -74,6 +76,9 @@ public class UserIntrusionEventListenerTest {
     @Autowired
     private ConfigContainer configContainer;
 
+    @Autowired
+    private AuditAnalysisPipeline auditAnalysisPipeline;
+
     private Agent agent;
     private Audit alertAudit;
 
@@ -115,6 +120,7 @@ public class UserIntrusionEventListenerTest {
     @Test
     public void userIntrusionAlertSentWhenAgentServerIsNotAlive() throws MessagingException, IOException {
         auditService.save(alertAudit);
+        assertThat(auditAnalysisPipeline.awaitIdle(Duration.ofSeconds(10))).isTrue();
 
         assertThat(greenMail.getReceivedMessages()).hasSize(2);
 
@@ -140,6 +146,7 @@ public class UserIntrusionEventListenerTest {
     public void userIntrusionAlertSentWhenServerIsAlive() throws MessagingException, IOException {
         agentService.updateAgentUrl(agent.getId(), new URL(AGENT_URL));
         auditService.save(alertAudit);
+        assertThat(auditAnalysisPipeline.awaitIdle(Duration.ofSeconds(10))).isTrue();
 
         assertThat(greenMail.getReceivedMessages()).hasSize(2);
 
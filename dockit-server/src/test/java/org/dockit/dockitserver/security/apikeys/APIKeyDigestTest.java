@@ -0,0 +1,30 @@
+package org.dockit.dockitserver.security.apikeys;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class APIKeyDigestTest {
+
+    private static final int LENGTH = 32;
+
+    @Test
+    public void digestIsDeterministic() {
+        String key = APIKeyGenerator.generateApiKey();
+        assertThat(APIKeyDigest.digest(key)).isEqualTo(APIKeyDigest.digest(key));
+    }
+
+    @Test
+    public void digestDiffersForDifferentKeys() {
+        assertThat(APIKeyDigest.digest(APIKeyGenerator.generateApiKey()))
+                .isNotEqualTo(APIKeyDigest.digest(APIKeyGenerator.generateApiKey()));
+    }
+
+    @Test
+    public void digestHasAppropriateLength() {
+        String digest = APIKeyDigest.digest(APIKeyGenerator.generateApiKey());
+        assertThat(Base64.getUrlDecoder().decode(digest)).hasSize(LENGTH);
+    }
+}
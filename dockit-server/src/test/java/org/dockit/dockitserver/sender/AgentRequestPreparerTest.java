@@ -14,6 +14,7 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.security.Key;
 import java.util.Optional;
@@ -84,6 +85,7 @@ public class AgentRequestPreparerTest {
 
         assertThat(httpRequest).isPresent();
         assertThat(httpRequest.get().method()).isEqualTo("POST");
+        assertThat(httpRequest.get().version()).contains(HttpClient.Version.HTTP_1_1);
     }
 
 }
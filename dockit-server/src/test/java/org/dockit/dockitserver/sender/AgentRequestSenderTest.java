@@ -1,110 +1,155 @@
 package org.dockit.dockitserver.sender;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.dockit.dockitserver.entities.Agent;
-import org.junit.Ignore;
-import org.junit.Test;
-import org.junit.jupiter.api.BeforeAll;
-import org.junit.runner.RunWith;
-import org.mockito.InjectMocks;
-import org.mockito.Mock;
-import org.mockito.junit.MockitoJUnitRunner;
-import org.springframework.boot.test.mock.mockito.MockBean;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
 
+import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URL;
+import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
 import java.util.Optional;
 import java.util.UUID;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
-@RunWith(MockitoJUnitRunner.class)
 public class AgentRequestSenderTest {
     private final String AGENT_URL = "http://localhost:4567";
-    private final String SOME_URL = "http://someurl.com";
     private final String USER_NAME = "someuser";
+    private final String HISTORY_RESPONSE = "{\"data\":\"encrypted samples\",\"encoding\":\"identity\"}";
 
-    @Mock
-    @MockBean
     private AgentRequestPreparer agentRequestPreparer;
-
-    @InjectMocks
+    private HttpClient httpClient;
+    private HttpResponse<Object> response;
+    private MeterRegistry meterRegistry;
     private AgentRequestSender agentRequestSender;
 
-    private UUID agentId;
-
-    @BeforeAll
-    public void setup() {
-        agentId = UUID.randomUUID();
+    private Agent agent;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setup() throws MalformedURLException {
+        agentRequestPreparer = mock(AgentRequestPreparer.class);
+        httpClient = mock(HttpClient.class);
+        response = mock(HttpResponse.class);
+        meterRegistry = new SimpleMeterRegistry();
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("dockit.server.agent.http.request-timeout", "2000");
+        agentRequestSender = new AgentRequestSender(agentRequestPreparer, httpClient, meterRegistry, environment);
+
+        agent = new Agent();
+        agent.setId(UUID.randomUUID());
+        agent.setAgentUrl(new URL(AGENT_URL));
     }
 
     @Test
-    @Ignore("Enable this test if the agent is running at the same time with the given URL!")
-    public void isAgentAliveReturnsTrueGivenAgentIsAlive() throws MalformedURLException {
-        Agent agent = new Agent();
-        URL agentUrl = new URL(AGENT_URL);
-        agent.setAgentUrl(agentUrl);
+    public void isAgentAliveReturnsTrueGivenAgentIsAlive() throws IOException, InterruptedException {
+        when(response.statusCode()).thenReturn(200);
+        when(httpClient.send(any(), any())).thenReturn(response);
 
         assertTrue(agentRequestSender.isAgentServerAlive(agent));
+        verify(httpClient).send(argThat(request -> request.timeout().equals(Optional.of(Duration.ofSeconds(2)))),
+                any());
+        assertThat(meterRegistry.get("dockit.agent.requests").tag("request", "ping")
+                .tag("outcome", "success").timer().count()).isEqualTo(1);
     }
 
     @Test
-    public void isAgentAliveReturnsFalseGivenAgentIsNotAlive() throws MalformedURLException {
-        Agent agent = new Agent();
-        URL agentUrl = new URL(SOME_URL);
-        agent.setAgentUrl(agentUrl);
+    public void isAgentAliveReturnsFalseGivenAgentIsNotAlive() throws IOException, InterruptedException {
+        when(httpClient.send(any(), any())).thenThrow(new IOException("Connection refused"));
 
         assertFalse(agentRequestSender.isAgentServerAlive(agent));
+        assertThat(meterRegistry.get("dockit.agent.requests").tag("request", "ping")
+                .tag("outcome", "error").timer().count()).isEqualTo(1);
     }
 
     @Test
-    public void sendIntrusionRequestReturnsFalseGivenEmptyRequest() throws MalformedURLException {
+    public void sendIntrusionRequestReturnsFalseGivenEmptyRequest() {
         when(agentRequestPreparer.prepareIntrusionRequest(any(), any())).thenReturn(Optional.empty());
 
-        Agent agent = new Agent();
-        agent.setId(agentId);
-        URL agentUrl = new URL(SOME_URL);
-        agent.setAgentUrl(agentUrl);
-
         assertFalse(agentRequestSender.sendIntrusionRequest(agent, USER_NAME));
     }
 
     @Test
-    @Ignore("Enable this test if the agent is running at the same time with the given URL!")
-    public void sendIntrusionRequestReturnsTrueGivenRequestWasSentSuccessfully() throws MalformedURLException {
-        HttpRequest request = HttpRequest.newBuilder(URI.create(AGENT_URL
-                        + AgentRequestConstants.PING_ENDPOINT))
-                .GET()
-                .header("accept", "application/json")
-                .build();
-        when(agentRequestPreparer.prepareIntrusionRequest(any(), any())).thenReturn(Optional.of(request));
-
-        Agent agent = new Agent();
-        agent.setId(agentId);
-        URL agentUrl = new URL(AGENT_URL);
-        agent.setAgentUrl(agentUrl);
+    public void sendIntrusionRequestReturnsTrueGivenRequestWasSentSuccessfully()
+            throws IOException, InterruptedException {
+        when(agentRequestPreparer.prepareIntrusionRequest(any(), any())).thenReturn(Optional.of(request()));
+        when(response.statusCode()).thenReturn(200);
+        when(httpClient.send(any(), any())).thenReturn(response);
 
         assertTrue(agentRequestSender.sendIntrusionRequest(agent, USER_NAME));
+        assertThat(meterRegistry.get("dockit.agent.requests").tag("request", "intrusion")
+                .tag("outcome", "success").timer().count()).isEqualTo(1);
     }
 
     @Test
-    public void sendIntrusionRequestReturnsFalse() throws MalformedURLException {
-        HttpRequest request = HttpRequest.newBuilder(URI.create(SOME_URL
-                        + AgentRequestConstants.PING_ENDPOINT))
-                .GET()
-                .header("accept", "application/json")
-                .build();
-        when(agentRequestPreparer.prepareIntrusionRequest(any(), any())).thenReturn(Optional.of(request));
-
-        Agent agent = new Agent();
-        agent.setId(agentId);
-        URL agentUrl = new URL(AGENT_URL);
-        agent.setAgentUrl(agentUrl);
+    public void sendIntrusionRequestReturnsFalse() throws IOException, InterruptedException {
+        when(agentRequestPreparer.prepareIntrusionRequest(any(), any())).thenReturn(Optional.of(request()));
+        when(response.statusCode()).thenReturn(500);
+        when(httpClient.send(any(), any())).thenReturn(response);
 
         assertFalse(agentRequestSender.sendIntrusionRequest(agent, USER_NAME));
+        assertThat(meterRegistry.get("dockit.agent.requests").tag("request", "intrusion")
+                .tag("outcome", "failure").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void sendThresholdsRequestReturnsTrueGivenRequestWasSentSuccessfully()
+            throws IOException, InterruptedException {
+        when(agentRequestPreparer.prepareThresholdsRequest(any())).thenReturn(Optional.of(request()));
+        when(response.statusCode()).thenReturn(200);
+        when(httpClient.send(any(), any())).thenReturn(response);
+
+        assertTrue(agentRequestSender.sendThresholdsRequest(agent));
+        assertThat(meterRegistry.get("dockit.agent.requests").tag("request", "thresholds")
+                .tag("outcome", "success").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void sendHistoryRequestReturnsResponseBodyGivenRequestWasSentSuccessfully()
+            throws IOException, InterruptedException {
+        when(agentRequestPreparer.prepareHistoryRequest(any(), anyLong(), anyLong(), any()))
+                .thenReturn(Optional.of(request()));
+        when(response.statusCode()).thenReturn(200);
+        when(response.body()).thenReturn(HISTORY_RESPONSE);
+        when(httpClient.send(any(), any())).thenReturn(response);
+
+        assertThat(agentRequestSender.sendHistoryRequest(agent, 0, 1000, null)).contains(HISTORY_RESPONSE);
+        assertThat(meterRegistry.get("dockit.agent.requests").tag("request", "history")
+                .tag("outcome", "success").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void sendHistoryRequestReturnsEmptyGivenHistoryIsNotEnabled() throws IOException, InterruptedException {
+        when(agentRequestPreparer.prepareHistoryRequest(any(), anyLong(), anyLong(), any()))
+                .thenReturn(Optional.of(request()));
+        when(response.statusCode()).thenReturn(404);
+        when(httpClient.send(any(), any())).thenReturn(response);
+
+        assertThat(agentRequestSender.sendHistoryRequest(agent, 0, 1000, null)).isEmpty();
+        assertThat(meterRegistry.get("dockit.agent.requests").tag("request", "history")
+                .tag("outcome", "failure").timer().count()).isEqualTo(1);
+    }
+
+    private HttpRequest request() {
+        return HttpRequest.newBuilder(URI.create(AGENT_URL + AgentRequestConstants.COMMAND_ENDPOINT))
+                .POST(HttpRequest.BodyPublishers.ofString(""))
+                .header("accept", "application/json")
+                .build();
     }
 }
@@ -6,6 +6,7 @@ import org.dockit.dockitserver.entities.APIKey;
 import org.dockit.dockitserver.entities.Agent;
 import org.dockit.dockitserver.services.templates.APIKeyService;
 import org.dockit.dockitserver.entities.utils.EntityCreator;
+import org.dockit.dockitserver.security.apikeys.APIKeyDigest;
 import org.dockit.dockitserver.services.templates.AgentService;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
@@ -92,6 +93,24 @@ public class APIKeyServiceTest {
         assertThat(token.get().getAgent().getId()).isEqualTo(agent1.getId());
     }
 
+    @Test
+    public void findAllByLookupDigestReturnsToken() {
+        List<APIKey> tokens = APIKeyService.findAllByLookupDigest(APIKeyDigest.digest("token2"));
+
+        assertThat(tokens).hasSize(1);
+        assertThat(tokens.get(0).getAgent().getAgentName()).isEqualTo("agent2");
+    }
+
+    @Test
+    public void findAllByLookupDigestReturnsEmptyListGivenUnknownToken() {
+        assertThat(APIKeyService.findAllByLookupDigest(APIKeyDigest.digest("unknown"))).isEmpty();
+    }
+
+    @Test
+    public void findAllWithoutLookupDigestReturnsEmptyListGivenNewTokens() {
+        assertThat(APIKeyService.findAllWithoutLookupDigest()).isEmpty();
+    }
+
     @Test
     public void saveCachesTheResultOfTheOperation() {
         Cache cache = cacheManager.getCache(CACHE_NAME);
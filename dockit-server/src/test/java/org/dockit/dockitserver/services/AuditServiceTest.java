@@ -22,6 +22,7 @@ import org.springframework.test.context.junit.jupiter.SpringExtension;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.time.LocalDateTime;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
@@ -213,6 +214,51 @@ public class AuditServiceTest {
         assertThat(audits.get(0).getTimeStamp()).isBetween(startInterval, endInterval);
     }
 
+    @Test
+    public void findPageReturnsAscendingPages() {
+        List<Audit> firstPage = auditService.findPage(audit2.getVmId(), null, null, null, true, 1);
+        assertThat(firstPage).hasSize(1);
+        assertThat(firstPage.get(0).getId()).isEqualTo(audit2.getId());
+
+        Audit last = firstPage.get(0);
+        List<Audit> secondPage = auditService.findPage(audit2.getVmId(), null, last.getTimeStamp(), last.getId(),
+                true, 1);
+        assertThat(secondPage).hasSize(1);
+        assertThat(secondPage.get(0).getId()).isEqualTo(audit3.getId());
+    }
+
+    @Test
+    public void findPageReturnsDescendingPages() {
+        List<Audit> firstPage = auditService.findPage(audit2.getVmId(), null, null, null, false, 1);
+        assertThat(firstPage).hasSize(1);
+        assertThat(firstPage.get(0).getId()).isEqualTo(audit3.getId());
+
+        Audit last = firstPage.get(0);
+        List<Audit> secondPage = auditService.findPage(audit2.getVmId(), null, last.getTimeStamp(), last.getId(),
+                false, 10);
+        assertThat(secondPage).hasSize(1);
+        assertThat(secondPage.get(0).getId()).isEqualTo(audit2.getId());
+    }
+
+    @Test
+    public void findPageFiltersByCategory() {
+        List<Audit> audits = auditService.findPage(null, audit1.getCategory(), null, null, true, 10);
+
+        assertThat(audits).isNotEmpty();
+        assertThat(audits).allMatch(a -> a.getCategory().equals(audit1.getCategory()));
+        assertThat(audits).isSortedAccordingTo(Comparator.comparing(Audit::getTimeStamp));
+    }
+
+    @Test
+    public void findPageFiltersByVmIdAndCategory() {
+        List<Audit> audits = auditService.findPage(audit1.getVmId(), audit1.getCategory(), null, null, false, 10);
+
+        assertThat(audits).isNotEmpty();
+        assertThat(audits).allMatch(a -> a.getVmId().equals(audit1.getVmId())
+                && a.getCategory().equals(audit1.getCategory()));
+        assertThat(audits).isSortedAccordingTo(Comparator.comparing(Audit::getTimeStamp).reversed());
+    }
+
     @Test
     public void saveCachesAudit() {
         Audit tempAudit = EntityCreator.createAudit("vm4",
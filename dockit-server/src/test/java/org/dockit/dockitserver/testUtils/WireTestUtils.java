@@ -0,0 +1,58 @@
+package org.dockit.dockitserver.testUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.zip.Deflater;
+
+public class WireTestUtils {
+    public static byte[] frame(String vmId, String category, LocalDateTime timeStamp, byte[]... payloads) {
+        return frame(vmId, category, timeStamp, 0, payloads);
+    }
+
+    public static byte[] frame(String vmId, String category, LocalDateTime timeStamp, int encoding,
+                               byte[]... payloads) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.writeBytes(new byte[]{'D', 'K', 'A', 1});
+        writeVarint(out, payloads.length);
+        for (byte[] payload : payloads) {
+            writeString(out, vmId);
+            writeString(out, category);
+            long epochSecond = timeStamp.toEpochSecond(ZoneOffset.UTC);
+            writeVarint(out, (epochSecond << 1) ^ (epochSecond >> 63));
+            writeVarint(out, timeStamp.getNano());
+            out.write(encoding);
+            writeVarint(out, payload.length);
+            out.writeBytes(payload);
+        }
+        return out.toByteArray();
+    }
+
+    public static byte[] deflate(byte[] data) {
+        Deflater deflater = new Deflater();
+        deflater.setInput(data);
+        deflater.finish();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[1024];
+        while (!deflater.finished()) {
+            out.write(buffer, 0, deflater.deflate(buffer));
+        }
+        deflater.end();
+        return out.toByteArray();
+    }
+
+    public static void writeVarint(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    public static void writeString(ByteArrayOutputStream out, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarint(out, bytes.length);
+        out.writeBytes(bytes);
+    }
+}
@@ -0,0 +1,74 @@
+package org.dockit.dockitserver.wire;
+
+import org.dockit.dockitserver.testUtils.WireTestUtils;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FrameDecoderTest {
+    private static final String VM_ID = "vm";
+    private static final String CATEGORY = "vm_cpu";
+    private static final LocalDateTime TIME_STAMP = LocalDateTime.of(2023, 11, 5, 10, 30, 15, 123456789);
+    private static final byte[] PAYLOAD = "payload".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    public void decodeReadsEveryAudit() {
+        byte[] body = WireTestUtils.frame(VM_ID, CATEGORY, TIME_STAMP, PAYLOAD, new byte[0]);
+
+        Optional<List<FrameDecoder.Frame>> frames = FrameDecoder.decode(ByteBuffer.wrap(body));
+
+        assertThat(frames).isPresent();
+        assertThat(frames.get()).hasSize(2);
+        FrameDecoder.Frame frame = frames.get().get(0);
+        assertThat(frame.getVmId()).isEqualTo(VM_ID);
+        assertThat(frame.getCategory()).isEqualTo(CATEGORY);
+        assertThat(frame.getTimeStamp()).isEqualTo(TIME_STAMP);
+        assertThat(frame.getEncoding()).isEqualTo(PayloadEncoding.IDENTITY);
+        assertThat(frame.getPayload()).isEqualTo(ByteBuffer.wrap(PAYLOAD));
+        assertThat(frames.get().get(1).getPayload().remaining()).isZero();
+    }
+
+    @Test
+    public void decodeReadsEncodingOfPayload() {
+        byte[] deflated = WireTestUtils.frame(VM_ID, CATEGORY, TIME_STAMP, WireConstants.DEFLATE, PAYLOAD);
+        byte[] unknown = WireTestUtils.frame(VM_ID, CATEGORY, TIME_STAMP, 7, PAYLOAD);
+
+        assertThat(FrameDecoder.decode(ByteBuffer.wrap(deflated)).get().get(0).getEncoding())
+                .isEqualTo(PayloadEncoding.DEFLATE);
+        assertThat(FrameDecoder.decode(ByteBuffer.wrap(unknown))).isEmpty();
+    }
+
+    @Test
+    public void decodeReturnsEmptyGivenWrongMagicOrVersion() {
+        byte[] body = WireTestUtils.frame(VM_ID, CATEGORY, TIME_STAMP, PAYLOAD);
+        byte[] wrongMagic = body.clone();
+        wrongMagic[0] = 'X';
+        byte[] wrongVersion = body.clone();
+        wrongVersion[3] = 2;
+
+        assertThat(FrameDecoder.decode(ByteBuffer.wrap(wrongMagic))).isEmpty();
+        assertThat(FrameDecoder.decode(ByteBuffer.wrap(wrongVersion))).isEmpty();
+    }
+
+    @Test
+    public void decodeReturnsEmptyGivenTruncatedOrTrailingBytes() {
+        byte[] body = WireTestUtils.frame(VM_ID, CATEGORY, TIME_STAMP, PAYLOAD);
+
+        assertThat(FrameDecoder.decode(ByteBuffer.wrap(Arrays.copyOf(body, body.length - 1)))).isEmpty();
+        assertThat(FrameDecoder.decode(ByteBuffer.wrap(Arrays.copyOf(body, body.length + 1)))).isEmpty();
+    }
+
+    @Test
+    public void decodeReturnsEmptyGivenCountLargerThanBody() {
+        byte[] body = {'D', 'K', 'A', 1, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x7F};
+
+        assertThat(FrameDecoder.decode(ByteBuffer.wrap(body))).isEmpty();
+    }
+}
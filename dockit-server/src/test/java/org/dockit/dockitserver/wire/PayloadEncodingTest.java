@@ -0,0 +1,45 @@
+package org.dockit.dockitserver.wire;
+
+import org.dockit.dockitserver.testUtils.WireTestUtils;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class PayloadEncodingTest {
+    private static final byte[] DATA = "{\"pid\":1,\"name\":\"java\"}/_/_/".repeat(100)
+            .getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    public void isSupportedAcceptsKnownEncodings() {
+        assertThat(PayloadEncoding.isSupported(null)).isTrue();
+        assertThat(PayloadEncoding.isSupported(PayloadEncoding.IDENTITY)).isTrue();
+        assertThat(PayloadEncoding.isSupported(PayloadEncoding.DEFLATE)).isTrue();
+        assertThat(PayloadEncoding.isSupported("gzip")).isFalse();
+    }
+
+    @Test
+    public void decodeReturnsPayloadGivenIdentity() {
+        assertThat(PayloadEncoding.decode(DATA, null)).isSameAs(DATA);
+        assertThat(PayloadEncoding.decode(DATA, PayloadEncoding.IDENTITY)).isSameAs(DATA);
+    }
+
+    @Test
+    public void decodeInflatesDeflatedPayload() {
+        assertThat(PayloadEncoding.decode(WireTestUtils.deflate(DATA), PayloadEncoding.DEFLATE)).isEqualTo(DATA);
+    }
+
+    @Test
+    public void decodeThrowsGivenMalformedPayload() {
+        byte[] deflated = WireTestUtils.deflate(DATA);
+
+        assertThatThrownBy(() -> PayloadEncoding.decode(DATA, PayloadEncoding.DEFLATE))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PayloadEncoding.decode(Arrays.copyOf(deflated, deflated.length - 4),
+                PayloadEncoding.DEFLATE)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PayloadEncoding.decode(DATA, "gzip")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
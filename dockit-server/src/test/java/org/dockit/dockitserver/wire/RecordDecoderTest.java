@@ -0,0 +1,120 @@
+package org.dockit.dockitserver.wire;
+
+import org.dockit.dockitserver.testUtils.WireTestUtils;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RecordDecoderTest {
+    private static final String DELIMITER = "/_/_/";
+
+    @Test
+    public void decodeReturnsTextOfLegacyPayload() {
+        String data = "{\"pid\":1}" + DELIMITER;
+
+        assertThat(RecordDecoder.decode(data.getBytes(StandardCharsets.UTF_8))).contains(data);
+        assertThat(RecordDecoder.decode(new byte[0])).contains("");
+    }
+
+    @Test
+    public void decodeReturnsSingleObject() {
+        ByteArrayOutputStream out = header(WireConstants.SINGLE, "load", "cores");
+        WireTestUtils.writeVarint(out, 1);
+        writeDouble(out, 0.5);
+        out.write(WireConstants.LONG);
+        WireTestUtils.writeVarint(out, 8);
+
+        assertThat(RecordDecoder.decode(out.toByteArray())).contains("{\"load\":0.5,\"cores\":4}");
+    }
+
+    @Test
+    public void decodeReturnsDelimitedObjectsSkippingAbsentFields() {
+        ByteArrayOutputStream out = header(WireConstants.DELIMITED, "pid", "name");
+        WireTestUtils.writeVarint(out, 2);
+        out.write(WireConstants.LONG);
+        WireTestUtils.writeVarint(out, 2);
+        out.write(WireConstants.STRING);
+        WireTestUtils.writeString(out, "java");
+        out.write(WireConstants.LONG);
+        WireTestUtils.writeVarint(out, 3);
+        out.write(WireConstants.ABSENT);
+
+        assertThat(RecordDecoder.decode(out.toByteArray()))
+                .contains("{\"pid\":1,\"name\":\"java\"}" + DELIMITER + "{\"pid\":-2}" + DELIMITER);
+    }
+
+    @Test
+    public void decodeReturnsNestedValuesAndLiteralNumbers() {
+        ByteArrayOutputStream out = header(WireConstants.SINGLE, "value");
+        WireTestUtils.writeVarint(out, 1);
+        out.write(WireConstants.OBJECT);
+        WireTestUtils.writeVarint(out, 2);
+        WireTestUtils.writeString(out, "list");
+        out.write(WireConstants.ARRAY);
+        WireTestUtils.writeVarint(out, 3);
+        out.write(WireConstants.NULL);
+        out.write(WireConstants.TRUE);
+        out.write(WireConstants.FALSE);
+        WireTestUtils.writeString(out, "big");
+        out.write(WireConstants.NUMBER);
+        WireTestUtils.writeString(out, "1.0E400");
+
+        assertThat(RecordDecoder.decode(out.toByteArray()))
+                .contains("{\"value\":{\"list\":[null,true,false],\"big\":1.0E400}}");
+    }
+
+    @Test
+    public void decodeReturnsEmptyGivenMalformedRecords() {
+        ByteArrayOutputStream out = header(WireConstants.SINGLE, "pid");
+        WireTestUtils.writeVarint(out, 1);
+        out.write(WireConstants.STRING);
+        WireTestUtils.writeString(out, "name");
+        byte[] payload = out.toByteArray();
+        byte[] unknownTag = payload.clone();
+        unknownTag[unknownTag.length - 6] = 42;
+
+        assertThat(RecordDecoder.decode(payload)).isPresent();
+        assertThat(RecordDecoder.decode(Arrays.copyOf(payload, payload.length - 1))).isEmpty();
+        assertThat(RecordDecoder.decode(Arrays.copyOf(payload, payload.length + 1))).isEmpty();
+        assertThat(RecordDecoder.decode(unknownTag)).isEmpty();
+    }
+
+    @Test
+    public void decodeReturnsEmptyGivenCountExceedingPayload() {
+        ByteArrayOutputStream withoutFields = header(WireConstants.DELIMITED);
+        WireTestUtils.writeVarint(withoutFields, Long.MAX_VALUE);
+        ByteArrayOutputStream withFields = header(WireConstants.DELIMITED, "pid", "name");
+        WireTestUtils.writeVarint(withFields, 2);
+        withFields.write(WireConstants.ABSENT);
+        withFields.write(WireConstants.ABSENT);
+        withFields.write(WireConstants.ABSENT);
+        ByteArrayOutputStream emptyRecord = header(WireConstants.DELIMITED);
+        WireTestUtils.writeVarint(emptyRecord, 1);
+
+        assertThat(RecordDecoder.decode(withoutFields.toByteArray())).isEmpty();
+        assertThat(RecordDecoder.decode(withFields.toByteArray())).isEmpty();
+        assertThat(RecordDecoder.decode(emptyRecord.toByteArray())).contains("{}" + DELIMITER);
+    }
+
+    private static ByteArrayOutputStream header(byte layout, String... fields) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(WireConstants.RECORD_MAGIC);
+        out.write(WireConstants.VERSION);
+        out.write(layout);
+        WireTestUtils.writeVarint(out, fields.length);
+        for (String field : fields) {
+            WireTestUtils.writeString(out, field);
+        }
+        return out;
+    }
+
+    private static void writeDouble(ByteArrayOutputStream out, double value) {
+        out.write(WireConstants.DOUBLE);
+        out.writeBytes(ByteBuffer.allocate(Double.BYTES).putDouble(value).array());
+    }
+}
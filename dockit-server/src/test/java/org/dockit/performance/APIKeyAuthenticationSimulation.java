@@ -0,0 +1,145 @@
+package org.dockit.performance;
+
+import com.nimbusds.jose.shaded.gson.Gson;
+import io.gatling.javaapi.core.CoreDsl;
+import io.gatling.javaapi.core.PopulationBuilder;
+import io.gatling.javaapi.core.ScenarioBuilder;
+import io.gatling.javaapi.core.Simulation;
+import io.gatling.javaapi.http.HttpDsl;
+import io.gatling.javaapi.http.HttpProtocolBuilder;
+import org.dockit.dockitserver.security.encryption.AESGCMEncryptor;
+import org.dockit.performance.utils.PerformanceTokenObtainer;
+
+import javax.crypto.BadPaddingException;
+import javax.crypto.IllegalBlockSizeException;
+import javax.crypto.NoSuchPaddingException;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.security.InvalidAlgorithmParameterException;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
+
+import static io.gatling.javaapi.core.CoreDsl.StringBody;
+import static io.gatling.javaapi.core.CoreDsl.atOnceUsers;
+import static io.gatling.javaapi.core.CoreDsl.constantUsersPerSec;
+import static io.gatling.javaapi.http.HttpDsl.http;
+import static io.gatling.javaapi.http.HttpDsl.status;
+
+/**
+ * Loads the write endpoint while the amount of registered agents grows. Each stage registers agents up to the
+ * given count, then sends writes using randomly picked api keys of the registered agents. Response times of the
+ * "write-request-N-agents" requests should stay flat between the stages.
+ * Stages can be changed with -DagentCounts=10,100,500
+ */
+public class APIKeyAuthenticationSimulation extends Simulation {
+    private static final HttpProtocolBuilder HTTP_PROTOCOL_BUILDER = setupProtocolForSimulation();
+
+    private static final List<Integer> AGENT_COUNTS = Arrays.stream(System.getProperty("agentCounts", "10,50,250")
+                    .split(","))
+            .map(String::trim)
+            .map(Integer::parseInt)
+            .sorted()
+            .toList();
+
+    private static final List<Map<String, String>> REGISTERED_AGENTS = new CopyOnWriteArrayList<>();
+
+    public APIKeyAuthenticationSimulation() {
+        this.setUp(buildStages())
+                .protocols(HTTP_PROTOCOL_BUILDER);
+    }
+
+    private static HttpProtocolBuilder setupProtocolForSimulation() {
+        return HttpDsl.http.baseUrl("http://localhost:8080")
+                .acceptHeader("application/json")
+                .maxConnectionsPerHost(10)
+                .userAgentHeader("Gatling/Performance Test");
+    }
+
+    private static PopulationBuilder buildStages() {
+        List<PopulationBuilder> stages = new ArrayList<>();
+        for (int agentCount : AGENT_COUNTS) {
+            stages.add(buildRegisterScenario(agentCount).injectOpen(atOnceUsers(1)));
+            stages.add(buildWriteScenario(agentCount).injectOpen(constantUsersPerSec(10)
+                    .during(Duration.ofSeconds(30))));
+        }
+        // Chain the stages so that every load stage starts after its agents are registered
+        Collections.reverse(stages);
+        PopulationBuilder chain = stages.get(0);
+        for (PopulationBuilder stage : stages.subList(1, stages.size())) {
+            chain = stage.andThen(chain);
+        }
+        return chain;
+    }
+
+    private static ScenarioBuilder buildRegisterScenario(int agentCount) {
+        return CoreDsl.scenario("Register %d agents".formatted(agentCount))
+                .exec(session -> {
+                    while (REGISTERED_AGENTS.size() < agentCount) {
+                        REGISTERED_AGENTS.add(PerformanceTokenObtainer.getAPIToken());
+                    }
+                    return session;
+                });
+    }
+
+    private static ScenarioBuilder buildWriteScenario(int agentCount) {
+        return CoreDsl.scenario("Authenticate with %d agents".formatted(agentCount))
+                .feed(feedData())
+                .exec(http("write-request-%d-agents".formatted(agentCount))
+                        .post("/api/write?id=${agentId}")
+                        .header("Content-Type", "application/json")
+                        .header("X-API-KEY", "${key}")
+                        .body(StringBody("""
+                                {
+                                "vmId": "${vmId}",
+                                "category": "${category}",
+                                "timeStamp": "${timeStamp}",
+                                "data": "${data}"
+                                }
+                                """))
+                        .check(status().is(200)));
+    }
+
+    private static Iterator<Map<String, Object>> feedData() {
+        return Stream.generate(() -> {
+            Map<String, String> agent = REGISTERED_AGENTS.get(ThreadLocalRandom.current()
+                    .nextInt(REGISTERED_AGENTS.size()));
+            byte[] decodedKey = Base64.getDecoder().decode(agent.get("agentKey"));
+            SecretKey key = new SecretKeySpec(decodedKey, 0, decodedKey.length, "AES");
+            try {
+                return Map.<String, Object>of(
+                        "agentId", agent.get("agentId"),
+                        "key", agent.get("key"),
+                        "vmId", UUID.randomUUID().toString(),
+                        "category", "vm_cpu",
+                        "timeStamp", LocalDateTime.now().toString(),
+                        "data", getRandomData(key, agent.get("agentId"))
+                );
+            } catch (InvalidAlgorithmParameterException | NoSuchPaddingException | IllegalBlockSizeException |
+                     NoSuchAlgorithmException | BadPaddingException | InvalidKeyException e) {
+                throw new RuntimeException(e);
+            }
+        }).iterator();
+    }
+
+    private static String getRandomData(SecretKey secretKey, String agentId) throws InvalidAlgorithmParameterException,
+            NoSuchPaddingException, IllegalBlockSizeException, NoSuchAlgorithmException, BadPaddingException, InvalidKeyException {
+        Map<String, ?> cpuUsageData = Map.of(
+                "cpu_load", Math.random() * 100
+        );
+        Gson gson = new Gson();
+        return AESGCMEncryptor.encrypt(gson.toJson(cpuUsageData), agentId, secretKey);
+    }
+}